@@ -0,0 +1,221 @@
+package com.testtask.bankcardmanager.archive;
+
+import com.testtask.bankcardmanager.archive.ColumnarTransactionWriter.BlockInfo;
+import com.testtask.bankcardmanager.model.Money;
+import com.testtask.bankcardmanager.repository.projection.TransactionProjection;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Read-only view over a file produced by {@link ColumnarTransactionWriter}. Only the footer index is
+ * kept in memory; lookups use it to skip blocks whose card range or date range cannot match and fetch
+ * just the columns they need with positional reads at long offsets, so files larger than 2 GB are
+ * fine. Instances are thread-safe.
+ */
+public final class ColumnarTransactionReader implements Closeable {
+    private static final Comparator<TransactionProjection> NEWEST_FIRST = Comparator
+            .comparing(TransactionProjection::getTransactionDate)
+            .thenComparing(TransactionProjection::getId)
+            .reversed();
+
+    private static final int HEADER_BYTES = 8;
+    private static final int TRAILER_BYTES = 12;
+
+    private final FileChannel channel;
+    private final BlockInfo[] blocks;
+    private final long rowCount;
+
+    private ColumnarTransactionReader(FileChannel channel, BlockInfo[] blocks, long rowCount) {
+        this.channel = channel;
+        this.blocks = blocks;
+        this.rowCount = rowCount;
+    }
+
+    public static ColumnarTransactionReader open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            if (size < HEADER_BYTES + TRAILER_BYTES) {
+                throw new IOException("Not a transaction archive: " + file);
+            }
+            ByteBuffer header = read(channel, 0, HEADER_BYTES);
+            ByteBuffer trailer = read(channel, size - TRAILER_BYTES, TRAILER_BYTES);
+            if (header.getInt(0) != ColumnarTransactionWriter.MAGIC || trailer.getInt(8) != ColumnarTransactionWriter.MAGIC) {
+                throw new IOException("Not a transaction archive: " + file);
+            }
+            int version = header.getInt(4);
+            if (version < ColumnarTransactionWriter.MIN_VERSION || version > ColumnarTransactionWriter.VERSION) {
+                throw new IOException("Unsupported transaction archive version " + version + ": " + file);
+            }
+
+            long footerOffset = trailer.getLong(0);
+            long footerLength = size - TRAILER_BYTES - footerOffset;
+            if (footerOffset < HEADER_BYTES || footerLength < 4 + 8 || footerLength > Integer.MAX_VALUE) {
+                throw new IOException("Corrupt footer in transaction archive: " + file);
+            }
+            ByteBuffer footer = read(channel, footerOffset, (int) footerLength);
+            BlockInfo[] blocks = new BlockInfo[footer.getInt()];
+            for (int i = 0; i < blocks.length; i++) {
+                blocks[i] = new BlockInfo(footer.getLong(), footer.getInt(), footer.getInt(),
+                        footer.getLong(), footer.getLong(), footer.getLong(), footer.getLong());
+            }
+            return new ColumnarTransactionReader(channel, blocks, footer.getLong());
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Returns up to {@code limit} rows of the given cards that sort strictly before the
+     * ({@code beforeDate}, {@code beforeId}) position, newest first. A {@code null} date means no bound.
+     */
+    public List<TransactionProjection> findByCards(NavigableSet<Long> cardIds, LocalDateTime beforeDate, long beforeId, int limit) {
+        long beforeMicros = beforeDate != null ? ColumnarTransactionWriter.toMicros(beforeDate) : Long.MAX_VALUE;
+        List<TransactionProjection> matches = new ArrayList<>();
+        for (BlockInfo block : blocks) {
+            Long firstCard = cardIds.ceiling(block.minCardId);
+            if (firstCard == null || firstCard > block.maxCardId || block.minDate > beforeMicros) {
+                continue;
+            }
+            Block columns = new Block(block);
+            long[] blockCards = columns.longs(ColumnarTransactionWriter.COLUMN_CARD_ID);
+            long[] dates = null;
+            long[] ids = null;
+            for (int row = 0; row < block.rows; row++) {
+                if (!cardIds.contains(blockCards[row])) {
+                    continue;
+                }
+                if (dates == null) {
+                    dates = columns.longs(ColumnarTransactionWriter.COLUMN_DATE);
+                    ids = columns.longs(ColumnarTransactionWriter.COLUMN_ID);
+                }
+                if (dates[row] < beforeMicros || (dates[row] == beforeMicros && ids[row] < beforeId)) {
+                    matches.add(columns.row(row, ids, blockCards, dates));
+                }
+            }
+        }
+        matches.sort(NEWEST_FIRST);
+        return matches.size() > limit ? new ArrayList<>(matches.subList(0, limit)) : matches;
+    }
+
+    /**
+     * Inflates the id column of every block and counts the rows, proving the file is readable end to end.
+     */
+    public long countRows() {
+        long rows = 0;
+        for (BlockInfo block : blocks) {
+            rows += new Block(block).longs(ColumnarTransactionWriter.COLUMN_ID).length;
+        }
+        return rows;
+    }
+
+    /**
+     * Inflates one long column of one block, or returns {@code null} when the block was written by a
+     * version that did not have the column yet.
+     */
+    long[] readColumn(int block, int column) {
+        Block columns = new Block(blocks[block]);
+        return column < columns.columnCount ? columns.longs(column) : null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("Transaction archive ends before offset " + (position + length));
+            }
+        }
+        return buffer.flip();
+    }
+
+    private final class Block {
+        private final BlockInfo info;
+        private final long[] columnOffsets = new long[ColumnarTransactionWriter.COLUMN_COUNT];
+        private final int[] columnLengths = new int[ColumnarTransactionWriter.COLUMN_COUNT];
+        private final int columnCount;
+        private long[] amounts;
+        private byte[] statuses;
+        private long[] createdAts;
+
+        private Block(BlockInfo info) {
+            this.info = info;
+            ByteBuffer header = readBlock(info.offset, Math.min(info.length, 8 + 4 * ColumnarTransactionWriter.COLUMN_COUNT));
+            this.columnCount = Math.min(header.getInt(4), ColumnarTransactionWriter.COLUMN_COUNT);
+            long offset = info.offset + 8 + 4L * header.getInt(4);
+            for (int i = 0; i < columnCount; i++) {
+                columnLengths[i] = header.getInt(8 + 4 * i);
+                columnOffsets[i] = offset;
+                offset += columnLengths[i];
+            }
+        }
+
+        private TransactionProjection row(int row, long[] ids, long[] cardIds, long[] dates) {
+            if (amounts == null) {
+                amounts = longs(ColumnarTransactionWriter.COLUMN_AMOUNT);
+                statuses = inflate(ColumnarTransactionWriter.COLUMN_STATUS, info.rows);
+                createdAts = longs(ColumnarTransactionWriter.COLUMN_CREATED_AT);
+            }
+            return new TransactionProjection(ids[row], cardIds[row], Money.ofMinor(amounts[row]),
+                    ColumnarTransactionWriter.fromMicros(dates[row]), ColumnarTransactionWriter.statusOf(statuses[row]),
+                    ColumnarTransactionWriter.fromMicros(createdAts[row]));
+        }
+
+        private long[] longs(int column) {
+            long[] values = new long[info.rows];
+            ByteBuffer.wrap(inflate(column, info.rows * 8)).asLongBuffer().get(values);
+            return values;
+        }
+
+        private byte[] inflate(int column, int rawLength) {
+            Inflater inflater = new Inflater();
+            try {
+                inflater.setInput(readBlock(columnOffsets[column], columnLengths[column]));
+                byte[] raw = new byte[rawLength];
+                int read = 0;
+                while (read < rawLength && !inflater.finished() && !inflater.needsInput()) {
+                    read += inflater.inflate(raw, read, rawLength - read);
+                }
+                if (read != rawLength) {
+                    throw new IllegalStateException("Truncated column " + column + " in archive block at offset " + info.offset);
+                }
+                return raw;
+            } catch (DataFormatException e) {
+                throw new IllegalStateException("Corrupt column " + column + " in archive block at offset " + info.offset, e);
+            } finally {
+                inflater.end();
+            }
+        }
+
+        private ByteBuffer readBlock(long position, int length) {
+            try {
+                return read(channel, position, length);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read archive block at offset " + info.offset, e);
+            }
+        }
+    }
+}
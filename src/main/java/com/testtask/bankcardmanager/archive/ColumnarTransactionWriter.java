@@ -0,0 +1,241 @@
+package com.testtask.bankcardmanager.archive;
+
+import com.testtask.bankcardmanager.model.enums.TransactionStatus;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.Deflater;
+
+/**
+ * Writes one archived month of transactions as an immutable columnar file. Rows are appended in
+ * (card_id, transaction_date DESC, id DESC) order and cut into blocks of {@code blockRows}; inside a
+ * block every column is deflated on its own, so readers only inflate the columns they touch. The
+ * footer keeps min/max card id and date per block for skipping.
+ * <pre>
+ * file   := MAGIC VERSION block* footer footerOffset:long MAGIC
+ * block  := rows:int columns:int compressedLength:int[columns] column[columns]
+ * footer := blockCount:int (offset:long length:int rows:int minCard:long maxCard:long minDate:long maxDate:long)* totalRows:long
+ * </pre>
+ * Dates are stored as epoch microseconds of the local date-time, null references as 0 and null
+ * expiry or capture times as {@link Long#MIN_VALUE}. Statuses are stored as the fixed codes of
+ * {@link #statusCode}, never as enum ordinals, so reordering {@link TransactionStatus} cannot change
+ * archived rows. Version 1 files lack the transfer id and capture time columns.
+ */
+public final class ColumnarTransactionWriter implements Closeable {
+    static final int MAGIC = 0x54584131;
+    static final int VERSION = 2;
+    static final int MIN_VERSION = 1;
+    static final int COLUMN_COUNT = 10;
+    static final int COLUMN_ID = 0;
+    static final int COLUMN_CARD_ID = 1;
+    static final int COLUMN_AMOUNT = 2;
+    static final int COLUMN_DATE = 3;
+    static final int COLUMN_STATUS = 4;
+    static final int COLUMN_CREATED_AT = 5;
+    static final int COLUMN_REVERSAL_OF = 6;
+    static final int COLUMN_EXPIRES_AT = 7;
+    static final int COLUMN_TRANSFER_ID = 8;
+    static final int COLUMN_CAPTURED_AT = 9;
+    static final int BLOCK_INFO_BYTES = 8 + 4 + 4 + 8 * 4;
+
+    private final FileChannel channel;
+    private final int blockRows;
+    private final long[] ids;
+    private final long[] cardIds;
+    private final long[] amounts;
+    private final long[] dates;
+    private final byte[] statuses;
+    private final long[] createdAts;
+    private final long[] reversalOfs;
+    private final long[] expiresAts;
+    private final long[] transferIds;
+    private final long[] capturedAts;
+    private final List<BlockInfo> blocks = new ArrayList<>();
+    private final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+
+    private int size;
+    private long position;
+    private long totalRows;
+
+    public ColumnarTransactionWriter(Path file, int blockRows) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        this.blockRows = blockRows;
+        this.ids = new long[blockRows];
+        this.cardIds = new long[blockRows];
+        this.amounts = new long[blockRows];
+        this.dates = new long[blockRows];
+        this.statuses = new byte[blockRows];
+        this.createdAts = new long[blockRows];
+        this.reversalOfs = new long[blockRows];
+        this.expiresAts = new long[blockRows];
+        this.transferIds = new long[blockRows];
+        this.capturedAts = new long[blockRows];
+        write(ByteBuffer.allocate(8).putInt(MAGIC).putInt(VERSION).flip());
+    }
+
+    public void append(long id, long cardId, long amountMinorUnits, LocalDateTime transactionDate, TransactionStatus status,
+                       LocalDateTime createdAt, Long reversalOf, LocalDateTime expiresAt, Long transferId,
+                       LocalDateTime capturedAt) throws IOException {
+        ids[size] = id;
+        cardIds[size] = cardId;
+        amounts[size] = amountMinorUnits;
+        dates[size] = toMicros(transactionDate);
+        statuses[size] = statusCode(status);
+        createdAts[size] = toMicros(createdAt);
+        reversalOfs[size] = reversalOf != null ? reversalOf : 0L;
+        expiresAts[size] = expiresAt != null ? toMicros(expiresAt) : Long.MIN_VALUE;
+        transferIds[size] = transferId != null ? transferId : 0L;
+        capturedAts[size] = capturedAt != null ? toMicros(capturedAt) : Long.MIN_VALUE;
+        if (++size == blockRows) {
+            flushBlock();
+        }
+    }
+
+    public long getRowCount() {
+        return totalRows + size;
+    }
+
+    /**
+     * Flushes the last block, writes the footer and forces the file to disk.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (size > 0) {
+                flushBlock();
+            }
+            long footerOffset = position;
+            ByteBuffer footer = ByteBuffer.allocate(4 + blocks.size() * BLOCK_INFO_BYTES + 8 + 8 + 4);
+            footer.putInt(blocks.size());
+            for (BlockInfo block : blocks) {
+                footer.putLong(block.offset).putInt(block.length).putInt(block.rows)
+                        .putLong(block.minCardId).putLong(block.maxCardId)
+                        .putLong(block.minDate).putLong(block.maxDate);
+            }
+            footer.putLong(totalRows).putLong(footerOffset).putInt(MAGIC);
+            write(footer.flip());
+            channel.force(true);
+        } finally {
+            deflater.end();
+            channel.close();
+        }
+    }
+
+    private void flushBlock() throws IOException {
+        byte[][] columns = {
+                compress(longs(ids)), compress(longs(cardIds)), compress(longs(amounts)), compress(longs(dates)),
+                compress(Arrays.copyOf(statuses, size)), compress(longs(createdAts)),
+                compress(longs(reversalOfs)), compress(longs(expiresAts)),
+                compress(longs(transferIds)), compress(longs(capturedAts))
+        };
+        int length = 8 + 4 * COLUMN_COUNT;
+        for (byte[] column : columns) {
+            length += column.length;
+        }
+        ByteBuffer block = ByteBuffer.allocate(length).putInt(size).putInt(COLUMN_COUNT);
+        for (byte[] column : columns) {
+            block.putInt(column.length);
+        }
+        for (byte[] column : columns) {
+            block.put(column);
+        }
+
+        long minDate = Long.MAX_VALUE;
+        long maxDate = Long.MIN_VALUE;
+        for (int i = 0; i < size; i++) {
+            minDate = Math.min(minDate, dates[i]);
+            maxDate = Math.max(maxDate, dates[i]);
+        }
+        blocks.add(new BlockInfo(position, length, size, cardIds[0], cardIds[size - 1], minDate, maxDate));
+        write(block.flip());
+        totalRows += size;
+        size = 0;
+    }
+
+    private byte[] longs(long[] column) {
+        ByteBuffer buffer = ByteBuffer.allocate(size * 8);
+        for (int i = 0; i < size; i++) {
+            buffer.putLong(column[i]);
+        }
+        return buffer.array();
+    }
+
+    private byte[] compress(byte[] raw) {
+        deflater.reset();
+        deflater.setInput(raw);
+        deflater.finish();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, raw.length / 4));
+        byte[] chunk = new byte[8192];
+        while (!deflater.finished()) {
+            int written = deflater.deflate(chunk);
+            out.write(chunk, 0, written);
+        }
+        return out.toByteArray();
+    }
+
+    private void write(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer);
+        }
+    }
+
+    static byte statusCode(TransactionStatus status) {
+        return switch (status) {
+            case PENDING -> 0;
+            case COMPLETED -> 1;
+            case FAILED -> 2;
+            case CANCELLED -> 3;
+            case REVERSED -> 4;
+        };
+    }
+
+    static TransactionStatus statusOf(byte code) {
+        return switch (code) {
+            case 0 -> TransactionStatus.PENDING;
+            case 1 -> TransactionStatus.COMPLETED;
+            case 2 -> TransactionStatus.FAILED;
+            case 3 -> TransactionStatus.CANCELLED;
+            case 4 -> TransactionStatus.REVERSED;
+            default -> throw new IllegalStateException("Unknown archived transaction status code " + code);
+        };
+    }
+
+    static long toMicros(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + dateTime.getNano() / 1_000;
+    }
+
+    static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+
+    static final class BlockInfo {
+        final long offset;
+        final int length;
+        final int rows;
+        final long minCardId;
+        final long maxCardId;
+        final long minDate;
+        final long maxDate;
+
+        BlockInfo(long offset, int length, int rows, long minCardId, long maxCardId, long minDate, long maxDate) {
+            this.offset = offset;
+            this.length = length;
+            this.rows = rows;
+            this.minCardId = minCardId;
+            this.maxCardId = maxCardId;
+            this.minDate = minDate;
+            this.maxDate = maxDate;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.testtask.bankcardmanager.archive;
+
+import com.testtask.bankcardmanager.dto.response.TransactionResponse;
+import com.testtask.bankcardmanager.pagination.KeysetCursor;
+import com.testtask.bankcardmanager.repository.projection.TransactionProjection;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Date;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Read side of the transaction archive: the {@code transaction_archive} catalogue plus one
+ * {@link ColumnarTransactionReader} per archived month, opened on first use.
+ * Archived months are always older than every row still in {@code transaction}, so history
+ * listings continue here once the hot rows run out.
+ */
+@Component
+public class TransactionArchive {
+    private static final Logger log = LoggerFactory.getLogger(TransactionArchive.class);
+
+    private static final String HAS_MONTHS_SQL = "SELECT EXISTS (SELECT 1 FROM transaction_archive)";
+    private static final String LIST_MONTHS_SQL = "SELECT month, file_name FROM transaction_archive ORDER BY month DESC";
+    private static final String IS_ARCHIVED_SQL = "SELECT EXISTS (SELECT 1 FROM transaction_archive WHERE month = ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Path directory;
+    private final Map<String, ColumnarTransactionReader> readers = new ConcurrentHashMap<>();
+
+    public TransactionArchive(JdbcTemplate jdbcTemplate, @Value("${archive.dir}") String directory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.directory = Paths.get(directory);
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public boolean hasArchivedMonths() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(HAS_MONTHS_SQL, Boolean.class));
+    }
+
+    public boolean isArchived(YearMonth month) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(IS_ARCHIVED_SQL, Boolean.class, Date.valueOf(month.atDay(1))));
+    }
+
+    /**
+     * Returns up to {@code limit} archived transactions of the given cards that sort after
+     * {@code position} in (transaction_date desc, id desc) order, walking months newest first.
+     */
+    public List<TransactionResponse> findHistory(Collection<Long> cardIds, @Nullable KeysetCursor position, int limit) {
+        List<TransactionResponse> rows = new ArrayList<>();
+        if (cardIds.isEmpty()) {
+            return rows;
+        }
+        NavigableSet<Long> cards = new TreeSet<>(cardIds);
+        LocalDateTime beforeDate = position != null ? position.getTimestamp() : null;
+        long beforeId = position != null ? position.getId() : Long.MAX_VALUE;
+
+        for (ArchivedMonth month : jdbcTemplate.query(LIST_MONTHS_SQL, (rs, rowNum) ->
+                new ArchivedMonth(YearMonth.from(rs.getDate("month").toLocalDate()), rs.getString("file_name")))) {
+            if (rows.size() >= limit) {
+                break;
+            }
+            if (beforeDate != null && month.month.atDay(1).atStartOfDay().isAfter(beforeDate)) {
+                continue;
+            }
+            for (TransactionProjection row : reader(month.fileName).findByCards(cards, beforeDate, beforeId, limit - rows.size())) {
+                rows.add(new TransactionResponse(row.getId(), row.getCardId(), row.getAmount(),
+                        row.getTransactionDate(), row.getStatus(), row.getCreatedAt()));
+            }
+        }
+        return rows;
+    }
+
+    private ColumnarTransactionReader reader(String fileName) {
+        return readers.computeIfAbsent(fileName, name -> {
+            try {
+                return ColumnarTransactionReader.open(directory.resolve(name));
+            } catch (IOException e) {
+                throw new IllegalStateException("Transaction archive file " + name + " is unavailable", e);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void close() {
+        readers.values().forEach(reader -> {
+            try {
+                reader.close();
+            } catch (IOException e) {
+                log.warn("Failed to close transaction archive reader", e);
+            }
+        });
+        readers.clear();
+    }
+
+    private static final class ArchivedMonth {
+        private final YearMonth month;
+        private final String fileName;
+
+        private ArchivedMonth(YearMonth month, String fileName) {
+            this.month = month;
+            this.fileName = fileName;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.testtask.bankcardmanager.archive;
+
+import com.testtask.bankcardmanager.model.Money;
+import com.testtask.bankcardmanager.model.enums.TransactionStatus;
+import com.testtask.bankcardmanager.scheduling.TransactionPartitionManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Moves whole months of {@code transaction} older than the retention window into columnar archive
+ * files. For each month the partition is locked against writes, streamed to a temp file in
+ * (card_id, transaction_date desc, id desc) order, verified, renamed into place and then dropped in
+ * the same transaction that records it in {@code transaction_archive}. Months are archived oldest
+ * first and the run stops at the first month it cannot archive, so the archive never overlaps hot rows.
+ */
+@Component
+public class TransactionArchiver {
+    private static final Logger log = LoggerFactory.getLogger(TransactionArchiver.class);
+
+    private static final String SET_LOCK_TIMEOUT_SQL = "SET LOCAL lock_timeout = %d";
+    private static final String LOCK_PARTITION_SQL = "LOCK TABLE %s IN SHARE MODE";
+    private static final String HAS_PENDING_SQL = "SELECT EXISTS (SELECT 1 FROM %s WHERE status = 'PENDING')";
+    private static final String COUNT_SQL = "SELECT count(*) FROM %s";
+    private static final String SELECT_ROWS_SQL =
+            "SELECT id, card_id, amount, transaction_date, status, created_at, reversal_of, expires_at, transfer_id, captured_at " +
+            "FROM %s " +
+            "ORDER BY card_id, transaction_date DESC, id DESC";
+    private static final String INSERT_CATALOGUE_SQL =
+            "INSERT INTO transaction_archive (month, file_name, row_count, archived_at) VALUES (?, ?, ?, ?)";
+    private static final String DROP_PARTITION_SQL = "DROP TABLE %s";
+    private static final int FETCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionArchive transactionArchive;
+    private final TransactionPartitionManager partitionManager;
+    private final Clock clock;
+    private final int retentionMonths;
+    private final int blockRows;
+    private final long lockTimeoutMs;
+
+    public TransactionArchiver(JdbcTemplate jdbcTemplate,
+                               PlatformTransactionManager transactionManager,
+                               TransactionArchive transactionArchive,
+                               TransactionPartitionManager partitionManager,
+                               Clock clock,
+                               @Value("${archive.retention-months}") int retentionMonths,
+                               @Value("${archive.block-rows}") int blockRows,
+                               @Value("${archive.lock-timeout-ms}") long lockTimeoutMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionArchive = transactionArchive;
+        this.partitionManager = partitionManager;
+        this.clock = clock;
+        this.retentionMonths = retentionMonths;
+        this.blockRows = blockRows;
+        this.lockTimeoutMs = lockTimeoutMs;
+    }
+
+    public void archiveExpiredMonths() {
+        if (retentionMonths <= 0) {
+            return;
+        }
+        YearMonth oldestKept = YearMonth.now(clock).minusMonths(retentionMonths);
+        List<YearMonth> expired = partitionManager.getAttachedMonths().stream()
+                .filter(month -> month.isBefore(oldestKept))
+                .sorted()
+                .toList();
+        for (YearMonth month : expired) {
+            try {
+                if (!archiveMonth(month)) {
+                    return;
+                }
+            } catch (RuntimeException e) {
+                log.error("Failed to archive transactions of {}", month, e);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Archives one attached month. Returns {@code false} without changes while the month still has
+     * pending holds.
+     */
+    public boolean archiveMonth(YearMonth month) {
+        String partition = TransactionPartitionManager.partitionName(month);
+        String fileName = "transactions-" + month + ".txa";
+        Path target = transactionArchive.getDirectory().resolve(fileName);
+        Path temp = transactionArchive.getDirectory().resolve(fileName + ".tmp");
+
+        Boolean archived = transactionTemplate.execute(status -> {
+            jdbcTemplate.execute(String.format(SET_LOCK_TIMEOUT_SQL, lockTimeoutMs));
+            jdbcTemplate.execute(String.format(LOCK_PARTITION_SQL, partition));
+            if (Boolean.TRUE.equals(jdbcTemplate.queryForObject(String.format(HAS_PENDING_SQL, partition), Boolean.class))) {
+                log.warn("Transactions of {} still have pending holds, archiving postponed", month);
+                return false;
+            }
+            long expected = jdbcTemplate.queryForObject(String.format(COUNT_SQL, partition), Long.class);
+            long written;
+            try {
+                Files.createDirectories(target.getParent());
+                written = writeFile(partition, temp);
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                try (ColumnarTransactionReader reader = ColumnarTransactionReader.open(target)) {
+                    if (written != expected || reader.getRowCount() != expected || reader.countRows() != expected) {
+                        throw new IllegalStateException("Archive of " + month + " holds " + reader.countRows()
+                                + " rows, expected " + expected);
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to write archive file " + target, e);
+            }
+
+            jdbcTemplate.update(INSERT_CATALOGUE_SQL, Date.valueOf(month.atDay(1)), fileName, written,
+                    Timestamp.valueOf(LocalDateTime.now(clock)));
+            jdbcTemplate.execute(String.format(DROP_PARTITION_SQL, partition));
+            return true;
+        });
+
+        if (Boolean.TRUE.equals(archived)) {
+            log.info("Archived transactions of {} into {}", month, target);
+            return true;
+        }
+        return false;
+    }
+
+    private long writeFile(String partition, Path file) throws IOException {
+        try (ColumnarTransactionWriter writer = new ColumnarTransactionWriter(file, blockRows)) {
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(String.format(SELECT_ROWS_SQL, partition));
+                statement.setFetchSize(FETCH_SIZE);
+                return statement;
+            }, rs -> {
+                try {
+                    writer.append(rs.getLong("id"), rs.getLong("card_id"),
+                            Money.of(rs.getBigDecimal("amount")).getMinorUnits(),
+                            rs.getObject("transaction_date", LocalDateTime.class),
+                            TransactionStatus.valueOf(rs.getString("status")),
+                            rs.getObject("created_at", LocalDateTime.class),
+                            rs.getObject("reversal_of", Long.class),
+                            rs.getObject("expires_at", LocalDateTime.class),
+                            rs.getObject("transfer_id", Long.class),
+                            rs.getObject("captured_at", LocalDateTime.class));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            return writer.getRowCount();
+        }
+    }
+}
@@ -1,13 +1,39 @@
 package com.testtask.bankcardmanager.config;
 
+import com.testtask.bankcardmanager.scheduling.HashedTimingWheel;
+import com.testtask.bankcardmanager.scheduling.PartitionedExecutor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
 import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.Executors;
 
+/**
+ * Scheduled methods run on the auto-configured task scheduler, sized by {@code spring.task.scheduling.pool.size}
+ * to the number of {@code @Scheduled} methods; keep the two in step when adding a job.
+ */
 @Configuration
+@EnableScheduling
 public class AppConfig {
     @Bean
     public Clock clock() {
         return Clock.systemDefaultZone();
     }
+
+    @Bean(destroyMethod = "close")
+    public HashedTimingWheel holdExpiryWheel(Clock clock,
+                                             @Value("${hold.expiry.tick-ms}") long tickMs,
+                                             @Value("${hold.expiry.wheel-size}") int wheelSize,
+                                             @Value("${hold.expiry.workers}") int workers) {
+        return new HashedTimingWheel(Duration.ofMillis(tickMs), wheelSize, Executors.newFixedThreadPool(workers), clock);
+    }
+
+    @Bean(destroyMethod = "close")
+    public PartitionedExecutor transferExecutor(@Value("${transfer.async.workers}") int workers,
+                                                @Value("${transfer.async.queue-capacity}") int queueCapacity) {
+        return new PartitionedExecutor("transfer-worker", workers, queueCapacity);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,80 @@
+package com.testtask.bankcardmanager.config;
+
+import com.testtask.bankcardmanager.ledger.JdbcLedgerProjector;
+import com.testtask.bankcardmanager.ledger.LedgerEngine;
+import com.testtask.bankcardmanager.ledger.LedgerPartition;
+import com.testtask.bankcardmanager.ledger.LedgerProjector;
+import com.testtask.bankcardmanager.model.Money;
+import com.testtask.bankcardmanager.repository.DashboardAggregates;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Enables the in-process ledger engine for transfers and withdrawals. Their transaction rows, daily
+ * summaries, dashboard aggregates, ledger outbox rows and account events are all written by
+ * {@link JdbcLedgerProjector} when the entries are projected. Features that change balances or delete cards directly in the database
+ * would invalidate the balances the engine holds in memory, so authorization holds, reversals and user
+ * erasure refuse to run while the engine is enabled. Card imports and status changes stay available:
+ * the engine reads a card's balance from the database on first use and does not track status, which
+ * is read without a row lock before an entry is submitted, so a posting racing a block may still go through.
+ */
+@Configuration
+@ConditionalOnProperty(name = "ledger.engine.enabled", havingValue = "true")
+public class LedgerConfig {
+
+    @Value("${ledger.engine.directory}")
+    private String directory;
+
+    @Value("${ledger.engine.partitions}")
+    private int partitionCount;
+
+    @Value("${ledger.engine.ring-buffer-size}")
+    private int ringBufferSize;
+
+    @Value("${ledger.engine.snapshot-interval}")
+    private int snapshotInterval;
+
+    @Value("${ledger.engine.segment-size-bytes}")
+    private int segmentSize;
+
+    @Value("${ledger.engine.fsync}")
+    private boolean fsync;
+
+    @Value("${ledger.engine.projection-batch-size}")
+    private int projectionBatchSize;
+
+    @Value("${ledger.engine.timeout-ms}")
+    private long timeoutMs;
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    @DependsOn("liquibase")
+    public LedgerEngine ledgerEngine(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                     DashboardAggregates dashboardAggregates, ApplicationEventPublisher eventPublisher,
+                                     Clock clock) throws IOException {
+        LedgerProjector projector = new JdbcLedgerProjector(jdbcTemplate, new TransactionTemplate(transactionManager),
+                dashboardAggregates, eventPublisher, clock.getZone());
+
+        List<LedgerPartition> partitions = new ArrayList<>(partitionCount);
+        for (int i = 0; i < partitionCount; i++) {
+            partitions.add(new LedgerPartition(i, Path.of(directory), segmentSize, fsync, ringBufferSize, snapshotInterval,
+                    cardId -> Money.of(jdbcTemplate.queryForObject(
+                            "SELECT available_balance FROM bank_cards WHERE id = ?", BigDecimal.class, cardId)).getMinorUnits(),
+                    projector, projectionBatchSize, clock));
+        }
+        return new LedgerEngine(partitions, timeoutMs);
+    }
+}
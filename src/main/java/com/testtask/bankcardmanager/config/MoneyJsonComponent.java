@@ -0,0 +1,49 @@
+package com.testtask.bankcardmanager.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.testtask.bankcardmanager.model.Money;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+
+@JsonComponent
+public class MoneyJsonComponent {
+
+    public static class Serializer extends JsonSerializer<Money> {
+        private static final int MAX_LENGTH = 22;
+        private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> new char[MAX_LENGTH]);
+
+        @Override
+        public void serialize(Money value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+            char[] buffer = BUFFER.get();
+            long minorUnits = value.getMinorUnits();
+            boolean negative = minorUnits < 0;
+            int position = MAX_LENGTH;
+            for (int i = 0; i < Money.SCALE; i++) {
+                buffer[--position] = (char) ('0' + Math.abs(minorUnits % 10));
+                minorUnits /= 10;
+            }
+            buffer[--position] = '.';
+            do {
+                buffer[--position] = (char) ('0' + Math.abs(minorUnits % 10));
+                minorUnits /= 10;
+            } while (minorUnits != 0);
+            if (negative) {
+                buffer[--position] = '-';
+            }
+            gen.writeNumber(buffer, position, MAX_LENGTH - position);
+        }
+    }
+
+    public static class Deserializer extends JsonDeserializer<Money> {
+        @Override
+        public Money deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            return Money.of(parser.getDecimalValue());
+        }
+    }
+}
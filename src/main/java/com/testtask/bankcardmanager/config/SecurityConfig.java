@@ -58,18 +58,38 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.GET, "/api/users").hasAuthority("ROLE_ADMIN")
                         .requestMatchers(HttpMethod.POST, "/api/cards").hasAuthority("ROLE_ADMIN")
                         .requestMatchers(HttpMethod.GET, "/api/cards").hasAuthority("ROLE_ADMIN")
+                        .requestMatchers(HttpMethod.POST, "/api/cards/import").hasAuthority("ROLE_ADMIN")
+                        .requestMatchers(HttpMethod.POST, "/api/cards/status").hasAuthority("ROLE_ADMIN")
+                        .requestMatchers(HttpMethod.GET, "/api/users/scroll").hasAuthority("ROLE_ADMIN")
+                        .requestMatchers(HttpMethod.GET, "/api/cards/scroll").hasAuthority("ROLE_ADMIN")
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/cards/{cardId}/transactions").authenticated() // Изменен, чтобы быть более общим ниже
+                        .requestMatchers(HttpMethod.GET, "/api/cards/{cardId}/transactions/export").authenticated()
+                        .requestMatchers(HttpMethod.GET, "/api/cards/{cardId}/summaries").authenticated()
+                        .requestMatchers(HttpMethod.POST, "/api/cards/summaries/rebuild").hasAuthority("ROLE_ADMIN")
                         .requestMatchers(HttpMethod.PATCH, "/api/users/{id}/status").hasAuthority("ROLE_ADMIN")
+                        .requestMatchers(HttpMethod.POST, "/api/users/{id}/erasure").hasAuthority("ROLE_ADMIN")
+                        .requestMatchers(HttpMethod.GET, "/api/users/{id}/erasure").hasAuthority("ROLE_ADMIN")
                         .requestMatchers(HttpMethod.GET, "/api/users/{id}").hasAuthority("ROLE_ADMIN")
                         .requestMatchers(HttpMethod.GET, "/api/cards/{id}").authenticated()
                         .requestMatchers(HttpMethod.PATCH, "/api/cards/{id}").hasAuthority("ROLE_ADMIN")
                         .requestMatchers(HttpMethod.DELETE, "/api/cards/{id}").hasAuthority("ROLE_ADMIN")
                         .requestMatchers("/api/user/cards").authenticated()
                         .requestMatchers("/api/user/transactions").authenticated()
+                        .requestMatchers(HttpMethod.GET, "/api/user/transactions/export").authenticated()
+                        .requestMatchers(HttpMethod.GET, "/api/user/events").authenticated()
                         .requestMatchers("/api/user/cards/{id}/block").authenticated()
                         .requestMatchers("/api/user/cards/transfer").authenticated()
                         .requestMatchers("/api/user/cards/{id}/withdraw").authenticated()
+                        .requestMatchers("/api/user/cards/{id}/holds").authenticated()
+                        .requestMatchers("/api/user/holds/**").authenticated()
+                        .requestMatchers("/api/user/transfers/{transferId}").authenticated()
+                        .requestMatchers(HttpMethod.GET, "/api/transactions").hasAuthority("ROLE_ADMIN")
+                        .requestMatchers(HttpMethod.POST, "/api/transactions/{id}/reversal").hasAuthority("ROLE_ADMIN")
+                        .requestMatchers(HttpMethod.POST, "/api/transactions/reversals").hasAuthority("ROLE_ADMIN")
+                        .requestMatchers(HttpMethod.POST, "/api/statements/runs").hasAuthority("ROLE_ADMIN")
+                        .requestMatchers(HttpMethod.GET, "/api/events").hasAuthority("ROLE_ADMIN")
+                        .requestMatchers(HttpMethod.GET, "/api/dashboard").hasAuthority("ROLE_ADMIN")
                         .anyRequest().authenticated()
                 );
 
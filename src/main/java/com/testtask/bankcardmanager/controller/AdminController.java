@@ -4,7 +4,10 @@ import com.testtask.bankcardmanager.dto.request.CreateUserRequest;
 import com.testtask.bankcardmanager.dto.request.GetUsersRequest;
 import com.testtask.bankcardmanager.dto.request.UpdateUserStatusRequest;
 import com.testtask.bankcardmanager.dto.response.ErrorResponse;
+import com.testtask.bankcardmanager.dto.response.ScrollPage;
+import com.testtask.bankcardmanager.dto.response.UserErasureResponse;
 import com.testtask.bankcardmanager.dto.response.UserResponse;
+import com.testtask.bankcardmanager.service.UserErasureService;
 import com.testtask.bankcardmanager.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -15,6 +18,8 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -31,9 +36,11 @@ import org.springframework.web.bind.annotation.*;
 public class AdminController {
 
     private final UserService userService;
+    private final UserErasureService userErasureService;
 
-    public AdminController(UserService userService) {
+    public AdminController(UserService userService, UserErasureService userErasureService) {
         this.userService = userService;
+        this.userErasureService = userErasureService;
     }
 
     @Operation(summary = "Создать нового пользователя (ADMIN)", description = "Создает пользователя с ролью ROLE_USER. Требуется роль ROLE_ADMIN.")
@@ -211,6 +218,28 @@ public class AdminController {
         return ResponseEntity.ok(userPage);
     }
 
+    @Operation(summary = "Получить список пользователей без подсчёта (ADMIN)", description = "Возвращает пользователей в порядке возрастания ID с теми же фильтрами, что и основной список, но без COUNT(*) и OFFSET: следующая страница запрашивается по курсору. По запросу без фильтров возвращается оценка общего количества по статистике планировщика. Требуется роль ROLE_ADMIN.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Страница пользователей",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ScrollPage.class))),
+            @ApiResponse(responseCode = "400", description = "Неверный курсор или параметры",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Доступ запрещен",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/scroll")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ResponseEntity<ScrollPage<UserResponse>> scrollUsers(
+            @ParameterObject @Valid GetUsersRequest getUsersRequest,
+            @Parameter(description = "Курсор следующей страницы из предыдущего ответа") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Размер страницы (1-100)") @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size,
+            @Parameter(description = "Вернуть оценку общего количества пользователей") @RequestParam(defaultValue = "false") boolean includeTotal) {
+        return ResponseEntity.ok(userService.scrollUsers(getUsersRequest, cursor, size, includeTotal));
+    }
+
     @Operation(summary = "Обновить статус блокировки пользователя (ADMIN)", description = "Блокирует или разблокирует аккаунт пользователя. Требуется роль ROLE_ADMIN. Администратор не может заблокировать сам себя.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Статус пользователя обновлен",
@@ -277,4 +306,45 @@ public class AdminController {
         UserResponse updatedUser = userService.updateUserStatus(id, request.getLocked());
         return ResponseEntity.ok(updatedUser);
     }
+
+    @Operation(summary = "Удалить пользователя и его данные (ADMIN)", description = "Сразу отключает аккаунт и блокирует активные карты, затем в фоне частями удаляет транзакции, сводки, выписки, события, запросы переводов, карты и самого пользователя. Повторный запрос продолжает прерванное удаление с последнего шага. Требуется роль ROLE_ADMIN. Администратор не может удалить сам себя.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Удаление запущено",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = UserErasureResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Попытка удалить себя",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Доступ запрещен",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Пользователь не найден",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PostMapping("/{id}/erasure")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ResponseEntity<UserErasureResponse> startErasure(
+            @Parameter(description = "ID удаляемого пользователя", required = true) @PathVariable Long id) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(userErasureService.startErasure(id));
+    }
+
+    @Operation(summary = "Получить ход удаления пользователя (ADMIN)", description = "Возвращает текущий шаг и количество удаленных строк. Требуется роль ROLE_ADMIN.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Ход удаления",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = UserErasureResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Доступ запрещен",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Удаление не запрашивалось",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/{id}/erasure")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ResponseEntity<UserErasureResponse> getErasure(
+            @Parameter(description = "ID удаляемого пользователя", required = true) @PathVariable Long id) {
+        return ResponseEntity.ok(userErasureService.getErasure(id));
+    }
 }
\ No newline at end of file
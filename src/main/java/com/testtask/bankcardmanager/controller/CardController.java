@@ -1,12 +1,25 @@
 package com.testtask.bankcardmanager.controller;
 
+import com.testtask.bankcardmanager.dto.request.BulkCardStatusRequest;
 import com.testtask.bankcardmanager.dto.request.CreateCardRequest;
+import com.testtask.bankcardmanager.dto.request.ExportFormat;
 import com.testtask.bankcardmanager.dto.request.GetCardsRequest;
+import com.testtask.bankcardmanager.dto.request.ImportFormat;
 import com.testtask.bankcardmanager.dto.request.UpdateCardRequest;
+import com.testtask.bankcardmanager.dto.response.BulkCardStatusResponse;
+import com.testtask.bankcardmanager.dto.response.CardDailySummaryResponse;
+import com.testtask.bankcardmanager.dto.response.CardImportResponse;
 import com.testtask.bankcardmanager.dto.response.CardResponse;
+import com.testtask.bankcardmanager.dto.response.CursorPage;
 import com.testtask.bankcardmanager.dto.response.ErrorResponse;
+import com.testtask.bankcardmanager.dto.response.ScrollPage;
 import com.testtask.bankcardmanager.dto.response.TransactionResponse;
+import com.testtask.bankcardmanager.service.CardDailySummaryService;
+import com.testtask.bankcardmanager.service.CardImportService;
 import com.testtask.bankcardmanager.service.CardService;
+import com.testtask.bankcardmanager.service.CardStatusService;
+import com.testtask.bankcardmanager.service.TransactionExport;
+import com.testtask.bankcardmanager.service.TransactionExportService;
 import com.testtask.bankcardmanager.service.TransactionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -18,18 +31,25 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
+import java.time.LocalDate;
 import java.util.List;
 
+
 @RestController
 @RequestMapping("/api/cards")
 @Tag(name = "Card Controller (Admin)", description = "API для управления картами (преимущественно Администратором)")
@@ -37,10 +57,20 @@ public class CardController {
 
     private final CardService cardService;
     private final TransactionService transactionService;
+    private final TransactionExportService transactionExportService;
+    private final CardDailySummaryService cardDailySummaryService;
+    private final CardImportService cardImportService;
+    private final CardStatusService cardStatusService;
 
-    public CardController(CardService cardService, TransactionService transactionService) {
+    public CardController(CardService cardService, TransactionService transactionService,
+                          TransactionExportService transactionExportService, CardDailySummaryService cardDailySummaryService,
+                          CardImportService cardImportService, CardStatusService cardStatusService) {
         this.cardService = cardService;
         this.transactionService = transactionService;
+        this.transactionExportService = transactionExportService;
+        this.cardDailySummaryService = cardDailySummaryService;
+        this.cardImportService = cardImportService;
+        this.cardStatusService = cardStatusService;
     }
 
     @Operation(summary = "Создать новую карту (ADMIN)", description = "Создает новую банковскую карту для указанного пользователя. Требуется роль ROLE_ADMIN.")
@@ -108,6 +138,54 @@ public class CardController {
         return ResponseEntity.status(HttpStatus.CREATED).body(createdCard);
     }
 
+    @Operation(summary = "Массовый выпуск карт (ADMIN)", description = "Принимает файл CSV (с заголовком user_id,card_number,card_holder,expiry_date,status,balance) или NDJSON (по одному объекту CreateCardRequest на строку). Строки проверяются и шифруются параллельно, владельцы ищутся пакетно, карты загружаются через COPY порциями. Ошибочные строки не прерывают импорт и возвращаются с номерами строк. Требуется роль ROLE_ADMIN.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Импорт завершен, в ответе итоги и ошибки по строкам",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = CardImportResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Отсутствует или неверен заголовок CSV",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Доступ запрещен (не администратор)",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ResponseEntity<CardImportResponse> importCards(
+            @Parameter(description = "Формат файла") @RequestParam(defaultValue = "CSV") ImportFormat format,
+            InputStream body) {
+        return ResponseEntity.ok(cardImportService.importCards(body, format));
+    }
+
+    @Operation(summary = "Массовое изменение статуса карт (ADMIN)", description = "Блокирует, разблокирует или помечает истекшими все карты, подходящие под фильтры (владелец, текущий статус, список ID, срок действия раньше месяца). Карты обновляются пачками по возрастанию ID, каждая пачка фиксируется отдельно. Истекшие карты не разблокируются и не блокируются. Требуется роль ROLE_ADMIN.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Статусы изменены, в ответе ID затронутых карт",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = BulkCardStatusResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Не задан ни один фильтр или невалидный запрос",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponse.class),
+                            examples = @ExampleObject(name = "No Filter", summary = "Фильтры не заданы", value =
+                                    """
+                                    {
+                                      "timestamp": "2024-07-29T14:20:00.123Z",
+                                      "status": 400,
+                                      "error": "Card Operation Failed",
+                                      "message": "A bulk status change needs at least one filter",
+                                      "path": "/api/cards/status",
+                                      "validationErrors": null
+                                    }"""))),
+            @ApiResponse(responseCode = "403", description = "Доступ запрещен (не администратор)",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PostMapping("/status")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ResponseEntity<BulkCardStatusResponse> updateCardStatuses(@Valid @RequestBody BulkCardStatusRequest request) {
+        return ResponseEntity.ok(cardStatusService.updateStatuses(request));
+    }
+
     @Operation(summary = "Получить карту по ID", description = "Возвращает информацию о карте по ее ID. Доступно Администратору или владельцу карты.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Карта найдена",
@@ -213,6 +291,28 @@ public class CardController {
         return ResponseEntity.ok(cardPage);
     }
 
+    @Operation(summary = "Получить список карт без подсчёта (ADMIN)", description = "Возвращает карты в порядке возрастания ID с теми же фильтрами, что и основной список, но без COUNT(*) и OFFSET: следующая страница запрашивается по курсору. По запросу без фильтров возвращается оценка общего количества по статистике планировщика. Требуется роль ROLE_ADMIN.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Страница карт",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ScrollPage.class))),
+            @ApiResponse(responseCode = "400", description = "Неверный курсор или параметры",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Доступ запрещен (не администратор)",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/scroll")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ResponseEntity<ScrollPage<CardResponse>> scrollCards(
+            @ParameterObject @Valid GetCardsRequest getCardsRequest,
+            @Parameter(description = "Курсор следующей страницы из предыдущего ответа") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Размер страницы (1-100)") @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size,
+            @Parameter(description = "Вернуть оценку общего количества карт") @RequestParam(defaultValue = "false") boolean includeTotal) {
+        return ResponseEntity.ok(cardService.scrollCards(getCardsRequest, cursor, size, includeTotal));
+    }
+
     @Operation(summary = "Обновить информацию о карте (ADMIN)", description = "Обновляет владельца, статус или лимит карты. Требуется роль ROLE_ADMIN.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Карта обновлена",
@@ -331,11 +431,11 @@ public class CardController {
         return ResponseEntity.noContent().build();
     }
 
-    @Operation(summary = "Получить историю транзакций карты (ADMIN)", description = "Возвращает список всех транзакций для указанной карты. Требуется роль ROLE_ADMIN.")
+    @Operation(summary = "Получить историю транзакций карты (ADMIN)", description = "Возвращает транзакции карты от новых к старым с курсорной пагинацией: для следующей страницы передайте nextCursor из предыдущего ответа. Требуется роль ROLE_ADMIN.")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Список транзакций получен",
+            @ApiResponse(responseCode = "200", description = "Страница транзакций получена",
                     content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
-                            array = @ArraySchema(schema = @Schema(implementation = TransactionResponse.class)))),
+                            schema = @Schema(implementation = CursorPage.class))),
             @ApiResponse(responseCode = "401", description = "Неавторизованный доступ",
                     content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
                             schema = @Schema(implementation = ErrorResponse.class),
@@ -378,9 +478,77 @@ public class CardController {
     })
     @GetMapping("/{cardId}/transactions")
     @PreAuthorize("hasAuthority('ROLE_ADMIN')")
-    public ResponseEntity<List<TransactionResponse>> getCardTransactions(
-            @Parameter(description = "ID карты для получения транзакций", required = true) @PathVariable Long cardId) {
-        List<TransactionResponse> transactions = transactionService.getAllTransactionsByCardId(cardId);
+    public ResponseEntity<CursorPage<TransactionResponse>> getCardTransactions(
+            @Parameter(description = "ID карты для получения транзакций", required = true) @PathVariable Long cardId,
+            @Parameter(description = "Курсор следующей страницы из предыдущего ответа") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Размер страницы (1-100)") @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size) {
+        CursorPage<TransactionResponse> transactions = transactionService.getCardTransactions(cardId, cursor, size);
         return ResponseEntity.ok(transactions);
     }
+
+    @Operation(summary = "Выгрузить историю транзакций карты", description = "Потоково выгружает все транзакции карты (от новых к старым) в формате NDJSON или CSV. Доступно администратору и владельцу карты.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Выгрузка начата",
+                    content = {@Content(mediaType = "application/x-ndjson"), @Content(mediaType = "text/csv")}),
+            @ApiResponse(responseCode = "403", description = "Доступ запрещен (чужая карта)",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Карта не найдена",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/{cardId}/transactions/export")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN') or @cardSecurityService.isOwner(authentication, #cardId)")
+    public ResponseEntity<StreamingResponseBody> exportCardTransactions(
+            @Parameter(description = "ID карты", required = true) @PathVariable Long cardId,
+            @Parameter(description = "Формат выгрузки") @RequestParam(defaultValue = "NDJSON") ExportFormat format) {
+        TransactionExport export = transactionExportService.exportCardTransactions(cardId, format);
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"card-" + cardId + "-transactions." + format.getFileExtension() + "\"")
+                .body(export::writeTo);
+    }
+
+    @Operation(summary = "Получить дневные итоги по карте", description = "Возвращает по каждому дню диапазона (не более 366 дней) количество транзакций, сумму списаний и сумму пополнений. Дни без транзакций не возвращаются. Доступно администратору и владельцу карты.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Итоги получены",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            array = @ArraySchema(schema = @Schema(implementation = CardDailySummaryResponse.class)))),
+            @ApiResponse(responseCode = "400", description = "Неверный диапазон дат",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Доступ запрещен (чужая карта)",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Карта не найдена",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/{cardId}/summaries")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN') or @cardSecurityService.isOwner(authentication, #cardId)")
+    public ResponseEntity<List<CardDailySummaryResponse>> getDailySummaries(
+            @Parameter(description = "ID карты", required = true) @PathVariable Long cardId,
+            @Parameter(description = "Первый день диапазона", example = "2024-07-01", required = true) @RequestParam LocalDate from,
+            @Parameter(description = "Последний день диапазона (включительно)", example = "2024-07-31", required = true) @RequestParam LocalDate to) {
+        return ResponseEntity.ok(cardDailySummaryService.getDailySummaries(cardId, from, to));
+    }
+
+    @Operation(summary = "Пересчитать дневные итоги (ADMIN)", description = "Пересчитывает дневные итоги всех карт по исходным транзакциям за указанный диапазон (не более 366 дней), по одному дню в транзакции. Используется для первичного заполнения и сверки. Требуется роль ROLE_ADMIN.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Итоги пересчитаны"),
+            @ApiResponse(responseCode = "400", description = "Неверный диапазон дат",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Доступ запрещен",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PostMapping("/summaries/rebuild")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ResponseEntity<Void> rebuildDailySummaries(
+            @Parameter(description = "Первый день диапазона", example = "2024-07-01", required = true) @RequestParam LocalDate from,
+            @Parameter(description = "Последний день диапазона (включительно)", example = "2024-07-31", required = true) @RequestParam LocalDate to) {
+        cardDailySummaryService.rebuildDailySummaries(from, to);
+        return ResponseEntity.noContent().build();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,49 @@
+package com.testtask.bankcardmanager.controller;
+
+import com.testtask.bankcardmanager.dto.response.DashboardResponse;
+import com.testtask.bankcardmanager.dto.response.ErrorResponse;
+import com.testtask.bankcardmanager.service.DashboardService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/dashboard")
+@Tag(name = "Dashboard Controller (Admin)", description = "API сводных показателей для панели администратора")
+public class DashboardController {
+
+    private final DashboardService dashboardService;
+
+    public DashboardController(DashboardService dashboardService) {
+        this.dashboardService = dashboardService;
+    }
+
+    @Operation(summary = "Получить сводные показатели (ADMIN)", description = "Возвращает количество карт и суммарный баланс по статусам и объем переводов и снятий за последние дни. Показатели поддерживаются инкрементально и читаются за постоянное время, независимо от числа карт и транзакций. Требуется роль ROLE_ADMIN.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Сводные показатели",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = DashboardResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Неверное количество дней",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Доступ запрещен (не администратор)",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ResponseEntity<DashboardResponse> getDashboard(
+            @Parameter(description = "Количество последних дней объема операций, включая сегодняшний (1-31)") @RequestParam(defaultValue = "7") @Min(1) @Max(31) int days) {
+        return ResponseEntity.ok(dashboardService.getDashboard(days));
+    }
+}
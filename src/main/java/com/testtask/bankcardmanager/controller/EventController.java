@@ -0,0 +1,49 @@
+package com.testtask.bankcardmanager.controller;
+
+import com.testtask.bankcardmanager.dto.response.ErrorResponse;
+import com.testtask.bankcardmanager.dto.response.LedgerEventPage;
+import com.testtask.bankcardmanager.service.LedgerEventService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/events")
+@Tag(name = "Ledger Event Feed Controller (Admin)", description = "Лента событий журнала проводок для внешних систем (Администратор)")
+public class EventController {
+
+    private final LedgerEventService ledgerEventService;
+
+    public EventController(LedgerEventService ledgerEventService) {
+        this.ledgerEventService = ledgerEventService;
+    }
+
+    @Operation(summary = "Получить события журнала после позиции (ADMIN)", description = "Возвращает опубликованные события проводок с позицией больше after в порядке возрастания. " +
+            "Потребитель сохраняет nextAfter и передает его в следующем запросе. Требуется роль ROLE_ADMIN.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Порция событий получена"),
+            @ApiResponse(responseCode = "400", description = "Некорректная позиция или размер порции",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Доступ запрещен (не администратор)",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ResponseEntity<LedgerEventPage> getEvents(
+            @Parameter(description = "Последняя обработанная позиция (0 - с начала ленты)") @RequestParam(defaultValue = "0") @Min(0) long after,
+            @Parameter(description = "Максимальное число событий (1-1000)") @RequestParam(defaultValue = "100") @Min(1) @Max(1000) int limit) {
+        return ResponseEntity.ok(ledgerEventService.getEvents(after, limit));
+    }
+}
@@ -0,0 +1,61 @@
+package com.testtask.bankcardmanager.controller;
+
+import com.testtask.bankcardmanager.dto.response.ErrorResponse;
+import com.testtask.bankcardmanager.service.StatementService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.YearMonth;
+
+@RestController
+@RequestMapping("/api/statements")
+@Tag(name = "Statement Controller (Admin)", description = "API для формирования ежемесячных выписок (Администратор)")
+public class StatementController {
+
+    private final StatementService statementService;
+
+    public StatementController(StatementService statementService) {
+        this.statementService = statementService;
+    }
+
+    @Operation(summary = "Запустить формирование выписок за месяц (ADMIN)", description = "Запускает в фоне формирование выписок по всем картам за завершенный месяц. Повторный запуск за тот же месяц продолжает с незавершенных партиций пользователей. Требуется роль ROLE_ADMIN.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Формирование выписок запущено"),
+            @ApiResponse(responseCode = "400", description = "Месяц еще не завершен",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Доступ запрещен (не администратор)",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "409", description = "Формирование выписок уже выполняется",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponse.class),
+                            examples = @ExampleObject(name = "Already Running", summary = "Запуск уже выполняется", value =
+                                    """
+                                    {
+                                      "timestamp": "2024-08-01T01:05:00.123Z",
+                                      "status": 409,
+                                      "error": "Conflict",
+                                      "message": "A statement run is already in progress",
+                                      "path": "/api/statements/runs",
+                                      "validationErrors": null
+                                    }""")))
+    })
+    @PostMapping("/runs")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ResponseEntity<Void> startStatementRun(
+            @Parameter(description = "Месяц выписки в формате yyyy-MM", example = "2024-07", required = true) @RequestParam YearMonth period) {
+        statementService.startStatementRun(period);
+        return ResponseEntity.accepted().build();
+    }
+}
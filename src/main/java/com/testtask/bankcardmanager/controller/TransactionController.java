@@ -0,0 +1,130 @@
+package com.testtask.bankcardmanager.controller;
+
+import com.testtask.bankcardmanager.dto.request.BulkReversalRequest;
+import com.testtask.bankcardmanager.dto.request.TransactionSearchRequest;
+import com.testtask.bankcardmanager.dto.response.BulkReversalResponse;
+import com.testtask.bankcardmanager.dto.response.CursorPage;
+import com.testtask.bankcardmanager.dto.response.ErrorResponse;
+import com.testtask.bankcardmanager.dto.response.TransactionResponse;
+import com.testtask.bankcardmanager.service.TransactionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/transactions")
+@Tag(name = "Transaction Controller (Admin)", description = "API для операций над транзакциями (Администратор)")
+public class TransactionController {
+
+    private final TransactionService transactionService;
+
+    public TransactionController(TransactionService transactionService) {
+        this.transactionService = transactionService;
+    }
+
+    @Operation(summary = "Поиск транзакций (ADMIN)", description = "Ищет транзакции по карте, пользователю, диапазону сумм, периоду и статусу. Все фильтры необязательны и объединяются через AND. Результаты отсортированы от новых к старым и разбиты на страницы по курсору. Требуется роль ROLE_ADMIN.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Страница найденных транзакций",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = CursorPage.class))),
+            @ApiResponse(responseCode = "400", description = "Неверные фильтры или курсор",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponse.class),
+                            examples = @ExampleObject(name = "Invalid Range", summary = "Минимальная сумма больше максимальной", value =
+                                    """
+                                    {
+                                      "timestamp": "2024-07-29T14:10:00.123Z",
+                                      "status": 400,
+                                      "error": "Card Operation Failed",
+                                      "message": "The minimum amount must not exceed the maximum amount",
+                                      "path": "/api/transactions",
+                                      "validationErrors": null
+                                    }"""))),
+            @ApiResponse(responseCode = "403", description = "Доступ запрещен (не администратор)",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ResponseEntity<CursorPage<TransactionResponse>> searchTransactions(
+            @ParameterObject TransactionSearchRequest request,
+            @Parameter(description = "Курсор следующей страницы из предыдущего ответа") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Размер страницы (1-100)") @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size) {
+        return ResponseEntity.ok(transactionService.searchTransactions(request, cursor, size));
+    }
+
+    @Operation(summary = "Отменить транзакцию (ADMIN)", description = "Создает компенсирующую проводку на противоположную сумму, восстанавливает баланс карты и помечает исходную транзакцию как REVERSED. Требуется роль ROLE_ADMIN.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Транзакция отменена, возвращается компенсирующая проводка",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = TransactionResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Операция невозможна (транзакция не завершена, уже отменена или на карте недостаточно средств)",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponse.class),
+                            examples = @ExampleObject(name = "Not Reversible", summary = "Транзакция уже отменена", value =
+                                    """
+                                    {
+                                      "timestamp": "2024-07-29T14:00:00.123Z",
+                                      "status": 400,
+                                      "error": "Bad Request",
+                                      "message": "Only completed transactions that are not reversals themselves can be reversed",
+                                      "path": "/api/transactions/501/reversal",
+                                      "validationErrors": null
+                                    }"""))),
+            @ApiResponse(responseCode = "403", description = "Доступ запрещен (не администратор)",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Транзакция не найдена",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponse.class),
+                            examples = @ExampleObject(name = "Not Found", summary = "Транзакция не найдена", value =
+                                    """
+                                    {
+                                      "timestamp": "2024-07-29T14:01:00.123Z",
+                                      "status": 404,
+                                      "error": "Not Found",
+                                      "message": "Transaction not found with ID: 999",
+                                      "path": "/api/transactions/999/reversal",
+                                      "validationErrors": null
+                                    }""")))
+    })
+    @PostMapping("/{id}/reversal")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ResponseEntity<TransactionResponse> reverseTransaction(
+            @Parameter(description = "ID транзакции для отмены", required = true) @PathVariable Long id) {
+        TransactionResponse compensation = transactionService.reverseTransaction(id);
+        return ResponseEntity.status(HttpStatus.CREATED).body(compensation);
+    }
+
+    @Operation(summary = "Массовая отмена транзакций (ADMIN)", description = "Отменяет список транзакций пачками в порядке возрастания ID; каждая пачка фиксируется отдельно. Транзакции, которые нельзя отменить, пропускаются и возвращаются в ответе. Требуется роль ROLE_ADMIN.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Отмена выполнена",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = BulkReversalResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Невалидные входные данные",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Доступ запрещен (не администратор)",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PostMapping("/reversals")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ResponseEntity<BulkReversalResponse> reverseTransactions(@Valid @RequestBody BulkReversalRequest request) {
+        return ResponseEntity.ok(transactionService.reverseTransactions(request));
+    }
+}
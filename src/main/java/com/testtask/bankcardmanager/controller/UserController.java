@@ -1,15 +1,24 @@
 package com.testtask.bankcardmanager.controller;
 
+import com.testtask.bankcardmanager.dto.request.ExportFormat;
+import com.testtask.bankcardmanager.dto.request.PlaceHoldRequest;
 import com.testtask.bankcardmanager.dto.request.TransferRequest;
 import com.testtask.bankcardmanager.dto.request.WithdrawalRequest;
+import com.testtask.bankcardmanager.dto.response.AccountEventResponse;
 import com.testtask.bankcardmanager.dto.response.CardResponse;
+import com.testtask.bankcardmanager.dto.response.CursorPage;
 import com.testtask.bankcardmanager.dto.response.ErrorResponse;
+import com.testtask.bankcardmanager.dto.response.HoldResponse;
 import com.testtask.bankcardmanager.dto.response.TransactionResponse;
+import com.testtask.bankcardmanager.dto.response.TransferStatusResponse;
 import com.testtask.bankcardmanager.service.CardService;
+import com.testtask.bankcardmanager.service.HoldService;
+import com.testtask.bankcardmanager.service.TransactionExport;
+import com.testtask.bankcardmanager.service.TransactionExportService;
 import com.testtask.bankcardmanager.service.TransactionService;
+import com.testtask.bankcardmanager.service.TransferService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
-import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -17,16 +26,22 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.net.URI;
 
 @RestController
 @RequestMapping("/api/user")
@@ -35,10 +50,17 @@ public class UserController {
 
     private final CardService cardService;
     private final TransactionService transactionService;
+    private final HoldService holdService;
+    private final TransferService transferService;
+    private final TransactionExportService transactionExportService;
 
-    public UserController(CardService cardService, TransactionService transactionService) {
+    public UserController(CardService cardService, TransactionService transactionService, HoldService holdService,
+                          TransferService transferService, TransactionExportService transactionExportService) {
         this.cardService = cardService;
         this.transactionService = transactionService;
+        this.holdService = holdService;
+        this.transferService = transferService;
+        this.transactionExportService = transactionExportService;
     }
 
     @Operation(summary = "Получить список карт текущего пользователя", description = "Возвращает пагинированный список карт, принадлежащих аутентифицированному пользователю.")
@@ -79,11 +101,11 @@ public class UserController {
         return ResponseEntity.ok(cardPage);
     }
 
-    @Operation(summary = "Получить историю транзакций текущего пользователя", description = "Возвращает список всех транзакций по всем картам аутентифицированного пользователя.")
+    @Operation(summary = "Получить историю транзакций текущего пользователя", description = "Возвращает транзакции по всем картам аутентифицированного пользователя от новых к старым с курсорной пагинацией: для следующей страницы передайте nextCursor из предыдущего ответа.")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Список транзакций получен",
+            @ApiResponse(responseCode = "200", description = "Страница транзакций получена",
                     content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
-                            array = @ArraySchema(schema = @Schema(implementation = TransactionResponse.class)))),
+                            schema = @Schema(implementation = CursorPage.class))),
             @ApiResponse(responseCode = "401", description = "Пользователь не аутентифицирован",
                     content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
                             schema = @Schema(implementation = ErrorResponse.class),
@@ -113,11 +135,49 @@ public class UserController {
     })
     @GetMapping("/transactions")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<List<TransactionResponse>> getCurrentUserTransactions() {
-        List<TransactionResponse> transactions = transactionService.getTransactionsForCurrentUser();
+    public ResponseEntity<CursorPage<TransactionResponse>> getCurrentUserTransactions(
+            @Parameter(description = "Курсор следующей страницы из предыдущего ответа") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Размер страницы (1-100)") @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size) {
+        CursorPage<TransactionResponse> transactions = transactionService.getTransactionsForCurrentUser(cursor, size);
         return ResponseEntity.ok(transactions);
     }
 
+    @Operation(summary = "Выгрузить историю транзакций текущего пользователя", description = "Потоково выгружает все транзакции по всем картам пользователя (от новых к старым) в формате NDJSON или CSV.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Выгрузка начата",
+                    content = {@Content(mediaType = "application/x-ndjson"), @Content(mediaType = "text/csv")}),
+            @ApiResponse(responseCode = "401", description = "Пользователь не аутентифицирован",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/transactions/export")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<StreamingResponseBody> exportCurrentUserTransactions(
+            @Parameter(description = "Формат выгрузки") @RequestParam(defaultValue = "NDJSON") ExportFormat format) {
+        TransactionExport export = transactionExportService.exportCurrentUserTransactions(format);
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"transactions." + format.getFileExtension() + "\"")
+                .body(export::writeTo);
+    }
+
+    @Operation(summary = "Подписаться на события по счёту", description = "Открывает поток Server-Sent Events с новыми транзакциями (событие transaction) " +
+            "и изменениями баланса (событие balance) по всем картам пользователя. Первое событие и событие после переполнения буфера медленного клиента — " +
+            "resync: клиент должен перечитать карты и транзакции через REST.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Поток событий открыт",
+                    content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE,
+                            schema = @Schema(implementation = AccountEventResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Пользователь не аутентифицирован",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("isAuthenticated()")
+    public SseEmitter subscribeToAccountEvents() {
+        return cardService.subscribeToAccountEvents();
+    }
+
     @Operation(summary = "Заблокировать свою карту", description = "Пользователь может заблокировать свою собственную активную карту.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Карта успешно заблокирована"),
@@ -245,6 +305,53 @@ public class UserController {
         return ResponseEntity.ok().build();
     }
 
+    @Operation(summary = "Перевести средства асинхронно", description = "Принимает перевод в обработку и сразу возвращает его идентификатор. Переводы с одной карты выполняются строго по очереди; результат доступен через GET /api/user/transfers/{id}.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Перевод принят в обработку",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = TransferStatusResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Невалидные входные данные или одинаковые карты",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "503", description = "Очередь переводов для карты переполнена",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponse.class),
+                            examples = @ExampleObject(name = "Queue Full", summary = "Очередь переполнена", value =
+                                    """
+                                    {
+                                      "timestamp": "2024-07-29T13:55:00.123Z",
+                                      "status": 503,
+                                      "error": "Service Unavailable",
+                                      "message": "Too many pending transfers for the source card, please retry later",
+                                      "path": "/api/user/cards/transfer",
+                                      "validationErrors": null
+                                    }""")))
+    })
+    @PostMapping(value = "/cards/transfer", params = "async=true")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<TransferStatusResponse> submitTransfer(@Valid @RequestBody TransferRequest request) {
+        TransferStatusResponse transfer = transferService.submitTransfer(request);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/user/transfers/" + transfer.getId()))
+                .body(transfer);
+    }
+
+    @Operation(summary = "Получить статус асинхронного перевода", description = "Возвращает текущий статус перевода, принятого с параметром async=true.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Статус перевода получен",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = TransferStatusResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Перевод не найден",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/transfers/{transferId}")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<TransferStatusResponse> getTransferStatus(
+            @Parameter(description = "ID перевода", required = true) @PathVariable Long transferId) {
+        return ResponseEntity.ok(transferService.getTransferStatus(transferId));
+    }
+
     @Operation(summary = "Снять средства со своей карты", description = "Позволяет пользователю снять средства со своей активной карты, если не превышен дневной лимит и достаточно баланса.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Средства успешно сняты",
@@ -311,4 +418,102 @@ public class UserController {
         TransactionResponse transaction = cardService.withdrawFunds(id, request);
         return ResponseEntity.ok(transaction);
     }
+
+    @Operation(summary = "Заблокировать средства на своей карте (холд)", description = "Резервирует сумму на активной карте: уменьшается доступный баланс, учётный баланс не меняется до списания. Незавершённый холд снимается автоматически по истечении срока.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Холд успешно установлен",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = HoldResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Операция невозможна (недостаточно доступных средств, карта неактивна, неверная сумма)",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponse.class),
+                            examples = @ExampleObject(name = "Insufficient Funds", summary = "Недостаточно средств", value =
+                                    """
+                                    {
+                                      "timestamp": "2024-07-29T13:52:00.123Z",
+                                      "status": 400,
+                                      "error": "Bad Request",
+                                      "message": "Insufficient funds on the card",
+                                      "path": "/api/user/cards/101/holds",
+                                      "validationErrors": null
+                                    }"""))),
+            @ApiResponse(responseCode = "403", description = "Доступ запрещен (попытка использовать чужую карту)",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Карта не найдена",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PostMapping("/cards/{id}/holds")
+    @PreAuthorize("isAuthenticated() and @cardSecurityService.isOwner(authentication, #id)")
+    public ResponseEntity<HoldResponse> placeHold(
+            @Parameter(description = "ID карты для блокировки средств", required = true) @PathVariable Long id,
+            @Valid @RequestBody PlaceHoldRequest request) {
+        HoldResponse hold = holdService.placeHold(id, request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(hold);
+    }
+
+    @Operation(summary = "Списать заблокированные средства", description = "Завершает холд: сумма списывается с учётного баланса карты.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Холд успешно списан",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = HoldResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Операция невозможна (холд уже завершён, снят или истёк)",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponse.class),
+                            examples = @ExampleObject(name = "Hold Expired", summary = "Срок холда истёк", value =
+                                    """
+                                    {
+                                      "timestamp": "2024-07-29T13:53:00.123Z",
+                                      "status": 400,
+                                      "error": "Bad Request",
+                                      "message": "The hold has expired",
+                                      "path": "/api/user/holds/506/capture",
+                                      "validationErrors": null
+                                    }"""))),
+            @ApiResponse(responseCode = "403", description = "Доступ запрещен (чужой холд)",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Холд не найден",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PostMapping("/holds/{holdId}/capture")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN') or @transactionSecurityService.isOwner(authentication, #holdId)")
+    public ResponseEntity<HoldResponse> captureHold(
+            @Parameter(description = "ID холда", required = true) @PathVariable Long holdId) {
+        return ResponseEntity.ok(holdService.captureHold(holdId));
+    }
+
+    @Operation(summary = "Снять холд", description = "Отменяет холд и возвращает сумму в доступный баланс карты.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Холд успешно снят",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = HoldResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Операция невозможна (холд уже завершён или снят)",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponse.class),
+                            examples = @ExampleObject(name = "Not Pending", summary = "Холд уже завершён", value =
+                                    """
+                                    {
+                                      "timestamp": "2024-07-29T13:54:00.123Z",
+                                      "status": 400,
+                                      "error": "Bad Request",
+                                      "message": "The hold is no longer pending",
+                                      "path": "/api/user/holds/506/release",
+                                      "validationErrors": null
+                                    }"""))),
+            @ApiResponse(responseCode = "403", description = "Доступ запрещен (чужой холд)",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Холд не найден",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PostMapping("/holds/{holdId}/release")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN') or @transactionSecurityService.isOwner(authentication, #holdId)")
+    public ResponseEntity<HoldResponse> releaseHold(
+            @Parameter(description = "ID холда", required = true) @PathVariable Long holdId) {
+        return ResponseEntity.ok(holdService.releaseHold(holdId));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,71 @@
+package com.testtask.bankcardmanager.dto.request;
+
+import com.testtask.bankcardmanager.model.enums.CardStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+@Schema(description = "Запрос на массовое изменение статуса карт. Фильтры объединяются через AND, нужен хотя бы один")
+public class BulkCardStatusRequest {
+
+    @NotNull(message = "Target status cannot be null")
+    @Schema(description = "Новый статус карт", requiredMode = Schema.RequiredMode.REQUIRED, example = "BLOCKED")
+    private CardStatus targetStatus;
+
+    @Schema(description = "Фильтр по ID владельца карт", example = "2")
+    private Long userId;
+
+    @Schema(description = "Фильтр по текущему статусу карт", example = "ACTIVE")
+    private CardStatus currentStatus;
+
+    @Size(max = 100000, message = "No more than 100000 card IDs can be listed per request")
+    @Schema(description = "Фильтр по списку ID карт", example = "[1, 2, 3]")
+    private List<@NotNull(message = "Card ID cannot be null") Long> cardIds;
+
+    @Pattern(regexp = "^(20\\d{2})-(0[1-9]|1[0-2])$", message = "Expiry date must be in YYYY-MM format")
+    @Schema(description = "Фильтр: срок действия карты раньше указанного месяца", example = "2025-01", format = "yyyy-MM")
+    private String expiryBefore;
+
+    public CardStatus getTargetStatus() {
+        return targetStatus;
+    }
+
+    public void setTargetStatus(CardStatus targetStatus) {
+        this.targetStatus = targetStatus;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public CardStatus getCurrentStatus() {
+        return currentStatus;
+    }
+
+    public void setCurrentStatus(CardStatus currentStatus) {
+        this.currentStatus = currentStatus;
+    }
+
+    public List<Long> getCardIds() {
+        return cardIds;
+    }
+
+    public void setCardIds(List<Long> cardIds) {
+        this.cardIds = cardIds;
+    }
+
+    public String getExpiryBefore() {
+        return expiryBefore;
+    }
+
+    public void setExpiryBefore(String expiryBefore) {
+        this.expiryBefore = expiryBefore;
+    }
+}
@@ -0,0 +1,25 @@
+package com.testtask.bankcardmanager.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+@Schema(description = "Запрос на массовую отмену (сторнирование) транзакций")
+public class BulkReversalRequest {
+
+    @NotEmpty(message = "The list of transaction IDs cannot be empty")
+    @Size(max = 100000, message = "No more than 100000 transactions can be reversed per request")
+    @Schema(description = "ID транзакций для отмены", requiredMode = Schema.RequiredMode.REQUIRED, example = "[501, 502, 503]")
+    private List<@NotNull(message = "Transaction ID cannot be null") Long> transactionIds;
+
+    public List<Long> getTransactionIds() {
+        return transactionIds;
+    }
+
+    public void setTransactionIds(List<Long> transactionIds) {
+        this.transactionIds = transactionIds;
+    }
+}
@@ -0,0 +1,6 @@
+package com.testtask.bankcardmanager.dto.request;
+
+public enum ImportFormat {
+    CSV,
+    NDJSON
+}
@@ -0,0 +1,41 @@
+package com.testtask.bankcardmanager.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+import java.math.BigDecimal;
+
+@Schema(description = "Запрос на авторизацию (холд) средств на карте")
+public class PlaceHoldRequest {
+
+    @NotNull(message = "The hold amount cannot be empty")
+    @DecimalMin(value = "0.01", message = "The hold amount must be positive")
+    @Digits(integer=15, fraction=2, message = "Incorrect sum format (max. 15 integers, 2 fractional digits)")
+    @Schema(description = "Сумма холда", requiredMode = Schema.RequiredMode.REQUIRED, example = "100.00", type = "number", format = "double")
+    private BigDecimal amount;
+
+    @Min(value = 1, message = "The hold lifetime must be at least 1 second")
+    @Max(value = 2592000, message = "The hold lifetime cannot exceed 30 days")
+    @Schema(description = "Время жизни холда в секундах (по умолчанию из настроек)", example = "604800")
+    private Long ttlSeconds;
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public Long getTtlSeconds() {
+        return ttlSeconds;
+    }
+
+    public void setTtlSeconds(Long ttlSeconds) {
+        this.ttlSeconds = ttlSeconds;
+    }
+}
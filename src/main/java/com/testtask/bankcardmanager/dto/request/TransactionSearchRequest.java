@@ -0,0 +1,103 @@
+package com.testtask.bankcardmanager.dto.request;
+
+import com.testtask.bankcardmanager.model.enums.TransactionStatus;
+import io.swagger.v3.oas.annotations.Parameter;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public class TransactionSearchRequest {
+
+    @Parameter(description = "Фильтр по ID карты")
+    private Long cardId;
+
+    @Parameter(description = "Фильтр по ID пользователя (владельца карты)")
+    private Long userId;
+
+    @Parameter(description = "Минимальная сумма транзакции (включительно, со знаком)", example = "-1000.00")
+    private BigDecimal minAmount;
+
+    @Parameter(description = "Максимальная сумма транзакции (включительно, со знаком)", example = "1000.00")
+    private BigDecimal maxAmount;
+
+    @Parameter(description = "Начало периода (включительно)", example = "2024-07-01T00:00:00")
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime from;
+
+    @Parameter(description = "Конец периода (не включая)", example = "2024-08-01T00:00:00")
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime to;
+
+    @Parameter(description = "Фильтр по статусу транзакции (PENDING, COMPLETED, FAILED, CANCELLED, REVERSED)")
+    private TransactionStatus status;
+
+    public Long getCardId() {
+        return cardId;
+    }
+
+    public void setCardId(Long cardId) {
+        this.cardId = cardId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public BigDecimal getMinAmount() {
+        return minAmount;
+    }
+
+    public void setMinAmount(BigDecimal minAmount) {
+        this.minAmount = minAmount;
+    }
+
+    public BigDecimal getMaxAmount() {
+        return maxAmount;
+    }
+
+    public void setMaxAmount(BigDecimal maxAmount) {
+        this.maxAmount = maxAmount;
+    }
+
+    public LocalDateTime getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDateTime from) {
+        this.from = from;
+    }
+
+    public LocalDateTime getTo() {
+        return to;
+    }
+
+    public void setTo(LocalDateTime to) {
+        this.to = to;
+    }
+
+    public TransactionStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(TransactionStatus status) {
+        this.status = status;
+    }
+
+    @Override
+    public String toString() {
+        return "TransactionSearchRequest{" +
+                "cardId=" + cardId +
+                ", userId=" + userId +
+                ", minAmount=" + minAmount +
+                ", maxAmount=" + maxAmount +
+                ", from=" + from +
+                ", to=" + to +
+                ", status=" + status +
+                '}';
+    }
+}
@@ -20,7 +20,7 @@ public class TransferRequest {
 
     @NotNull(message = "The transfer amount cannot be empty")
     @DecimalMin(value = "0.01", message = "The transfer amount must be positive")
-    @Digits(integer=17, fraction=2, message = "Incorrect sum format (max. 17 integers, 2 fractional digits)")
+    @Digits(integer=15, fraction=2, message = "Incorrect sum format (max. 15 integers, 2 fractional digits)")
     @Schema(description = "Сумма перевода", requiredMode = Schema.RequiredMode.REQUIRED, example = "50.25", type = "number", format = "double")
     private BigDecimal amount;
 
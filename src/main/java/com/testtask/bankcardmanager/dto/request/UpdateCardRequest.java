@@ -19,7 +19,7 @@ public class UpdateCardRequest {
     private CardStatus status;
 
     @DecimalMin(value = "0.00", inclusive = true, message = "The daily withdrawal limit must be non-negative")
-    @Digits(integer=17, fraction=2, message = "The limit format is invalid (max. 17 integers, 2 fractional digits")
+    @Digits(integer=15, fraction=2, message = "The limit format is invalid (max. 15 integers, 2 fractional digits)")
     @Schema(description = "Новый дневной лимит снятия средств (опционально)", example = "10000.00", type = "number", format = "double", nullable = true)
     private BigDecimal dailyWithdrawalLimit;
 
@@ -12,7 +12,7 @@ public class WithdrawalRequest {
 
     @NotNull(message = "The withdrawal amount cannot be empty")
     @DecimalMin(value = "0.01", message = "The withdrawal amount must be positive")
-    @Digits(integer=17, fraction=2, message = "Incorrect sum format (max. 15 integers, 2 fractional digits)")
+    @Digits(integer=15, fraction=2, message = "Incorrect sum format (max. 15 integers, 2 fractional digits)")
     @Schema(description = "Сумма снятия", requiredMode = Schema.RequiredMode.REQUIRED, example = "100.00", type = "number", format = "double")
     private BigDecimal amount;
 
@@ -0,0 +1,64 @@
+package com.testtask.bankcardmanager.dto.response;
+
+import com.testtask.bankcardmanager.model.Money;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+@Schema(description = "Событие по счёту пользователя, доставляемое через Server-Sent Events")
+public class AccountEventResponse {
+
+    @Schema(description = "Тип события. RESYNC означает, что часть событий пропущена и состояние нужно перечитать через REST", example = "TRANSACTION")
+    private AccountEventType type;
+
+    @Schema(description = "ID карты, к которой относится событие", example = "101")
+    private Long cardId;
+
+    @Schema(description = "Новая транзакция (для события TRANSACTION)")
+    private TransactionResponse transaction;
+
+    @Schema(description = "Баланс карты после изменения (для события BALANCE)", example = "950.50", type = "number", format = "double")
+    private Money balance;
+
+    @Schema(description = "Доступный баланс карты после изменения (для события BALANCE)", example = "900.50", type = "number", format = "double")
+    private Money availableBalance;
+
+    @Schema(description = "Время события", example = "2024-07-29T13:30:00")
+    private LocalDateTime occurredAt;
+
+    public AccountEventResponse(AccountEventType type, Long cardId, TransactionResponse transaction,
+                                Money balance, Money availableBalance, LocalDateTime occurredAt) {
+        this.type = type;
+        this.cardId = cardId;
+        this.transaction = transaction;
+        this.balance = balance;
+        this.availableBalance = availableBalance;
+        this.occurredAt = occurredAt;
+    }
+
+    public static AccountEventResponse transaction(TransactionResponse transaction) {
+        return new AccountEventResponse(AccountEventType.TRANSACTION, transaction.getCardId(), transaction,
+                null, null, transaction.getCreatedAt());
+    }
+
+    public static AccountEventResponse balance(Long cardId, Money balance, Money availableBalance, LocalDateTime occurredAt) {
+        return new AccountEventResponse(AccountEventType.BALANCE, cardId, null, balance, availableBalance, occurredAt);
+    }
+
+    public static AccountEventResponse resync(LocalDateTime occurredAt) {
+        return new AccountEventResponse(AccountEventType.RESYNC, null, null, null, null, occurredAt);
+    }
+
+    public AccountEventType getType() { return type; }
+    public void setType(AccountEventType type) { this.type = type; }
+    public Long getCardId() { return cardId; }
+    public void setCardId(Long cardId) { this.cardId = cardId; }
+    public TransactionResponse getTransaction() { return transaction; }
+    public void setTransaction(TransactionResponse transaction) { this.transaction = transaction; }
+    public Money getBalance() { return balance; }
+    public void setBalance(Money balance) { this.balance = balance; }
+    public Money getAvailableBalance() { return availableBalance; }
+    public void setAvailableBalance(Money availableBalance) { this.availableBalance = availableBalance; }
+    public LocalDateTime getOccurredAt() { return occurredAt; }
+    public void setOccurredAt(LocalDateTime occurredAt) { this.occurredAt = occurredAt; }
+}
@@ -0,0 +1,7 @@
+package com.testtask.bankcardmanager.dto.response;
+
+public enum AccountEventType {
+    TRANSACTION,
+    BALANCE,
+    RESYNC
+}
@@ -0,0 +1,31 @@
+package com.testtask.bankcardmanager.dto.response;
+
+import com.testtask.bankcardmanager.model.enums.CardStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+
+@Schema(description = "Результат массового изменения статуса карт")
+public class BulkCardStatusResponse {
+
+    @Schema(description = "Новый статус карт", example = "BLOCKED", accessMode = Schema.AccessMode.READ_ONLY)
+    private CardStatus status;
+
+    @Schema(description = "Количество карт, статус которых изменён", example = "3", accessMode = Schema.AccessMode.READ_ONLY)
+    private int updated;
+
+    @Schema(description = "ID карт, статус которых изменён, по возрастанию", example = "[1, 2, 3]", accessMode = Schema.AccessMode.READ_ONLY)
+    private List<Long> cardIds;
+
+    public BulkCardStatusResponse(CardStatus status, int updated, List<Long> cardIds) {
+        this.status = status;
+        this.updated = updated;
+        this.cardIds = cardIds;
+    }
+
+    public CardStatus getStatus() { return status; }
+    public void setStatus(CardStatus status) { this.status = status; }
+    public int getUpdated() { return updated; }
+    public void setUpdated(int updated) { this.updated = updated; }
+    public List<Long> getCardIds() { return cardIds; }
+    public void setCardIds(List<Long> cardIds) { this.cardIds = cardIds; }
+}
@@ -0,0 +1,30 @@
+package com.testtask.bankcardmanager.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+
+@Schema(description = "Результат массовой отмены транзакций")
+public class BulkReversalResponse {
+
+    @Schema(description = "Количество запрошенных транзакций (без дубликатов)", example = "3", accessMode = Schema.AccessMode.READ_ONLY)
+    private int requested;
+
+    @Schema(description = "Количество отменённых транзакций", example = "2", accessMode = Schema.AccessMode.READ_ONLY)
+    private int reversed;
+
+    @Schema(description = "ID транзакций, которые не были отменены (не найдены, не завершены, уже отменены или недостаточно средств)", example = "[503]", accessMode = Schema.AccessMode.READ_ONLY)
+    private List<Long> skippedTransactionIds;
+
+    public BulkReversalResponse(int requested, int reversed, List<Long> skippedTransactionIds) {
+        this.requested = requested;
+        this.reversed = reversed;
+        this.skippedTransactionIds = skippedTransactionIds;
+    }
+
+    public int getRequested() { return requested; }
+    public void setRequested(int requested) { this.requested = requested; }
+    public int getReversed() { return reversed; }
+    public void setReversed(int reversed) { this.reversed = reversed; }
+    public List<Long> getSkippedTransactionIds() { return skippedTransactionIds; }
+    public void setSkippedTransactionIds(List<Long> skippedTransactionIds) { this.skippedTransactionIds = skippedTransactionIds; }
+}
@@ -0,0 +1,37 @@
+package com.testtask.bankcardmanager.dto.response;
+
+import com.testtask.bankcardmanager.model.Money;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.LocalDate;
+
+@Schema(description = "Итоги по карте за один день")
+public class CardDailySummaryResponse {
+
+    @Schema(description = "День", example = "2024-07-28", accessMode = Schema.AccessMode.READ_ONLY)
+    private LocalDate date;
+
+    @Schema(description = "Количество проведенных транзакций", example = "12", accessMode = Schema.AccessMode.READ_ONLY)
+    private long transactionCount;
+
+    @Schema(description = "Сумма списаний", example = "350.00", type = "number", format = "double", accessMode = Schema.AccessMode.READ_ONLY)
+    private Money debitTotal;
+
+    @Schema(description = "Сумма пополнений", example = "1200.00", type = "number", format = "double", accessMode = Schema.AccessMode.READ_ONLY)
+    private Money creditTotal;
+
+    public CardDailySummaryResponse(LocalDate date, long transactionCount, Money debitTotal, Money creditTotal) {
+        this.date = date;
+        this.transactionCount = transactionCount;
+        this.debitTotal = debitTotal;
+        this.creditTotal = creditTotal;
+    }
+
+    public LocalDate getDate() { return date; }
+    public void setDate(LocalDate date) { this.date = date; }
+    public long getTransactionCount() { return transactionCount; }
+    public void setTransactionCount(long transactionCount) { this.transactionCount = transactionCount; }
+    public Money getDebitTotal() { return debitTotal; }
+    public void setDebitTotal(Money debitTotal) { this.debitTotal = debitTotal; }
+    public Money getCreditTotal() { return creditTotal; }
+    public void setCreditTotal(Money creditTotal) { this.creditTotal = creditTotal; }
+}
@@ -0,0 +1,23 @@
+package com.testtask.bankcardmanager.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Ошибка в строке файла импорта карт")
+public class CardImportError {
+
+    @Schema(description = "Номер строки в файле (начиная с 1, заголовок CSV тоже считается)", example = "17", accessMode = Schema.AccessMode.READ_ONLY)
+    private long line;
+
+    @Schema(description = "Причина, по которой строка не импортирована", example = "User not found with ID: 42", accessMode = Schema.AccessMode.READ_ONLY)
+    private String message;
+
+    public CardImportError(long line, String message) {
+        this.line = line;
+        this.message = message;
+    }
+
+    public long getLine() { return line; }
+    public void setLine(long line) { this.line = line; }
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+}
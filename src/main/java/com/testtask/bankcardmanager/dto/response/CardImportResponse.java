@@ -0,0 +1,36 @@
+package com.testtask.bankcardmanager.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+
+@Schema(description = "Результат массового выпуска карт")
+public class CardImportResponse {
+
+    @Schema(description = "Количество непустых строк с данными в файле", example = "10000", accessMode = Schema.AccessMode.READ_ONLY)
+    private int received;
+
+    @Schema(description = "Количество выпущенных карт", example = "9998", accessMode = Schema.AccessMode.READ_ONLY)
+    private int imported;
+
+    @Schema(description = "Количество отклонённых строк", example = "2", accessMode = Schema.AccessMode.READ_ONLY)
+    private int failed;
+
+    @Schema(description = "Ошибки по строкам (не больше настроенного лимита, в порядке строк файла)", accessMode = Schema.AccessMode.READ_ONLY)
+    private List<CardImportError> errors;
+
+    public CardImportResponse(int received, int imported, int failed, List<CardImportError> errors) {
+        this.received = received;
+        this.imported = imported;
+        this.failed = failed;
+        this.errors = errors;
+    }
+
+    public int getReceived() { return received; }
+    public void setReceived(int received) { this.received = received; }
+    public int getImported() { return imported; }
+    public void setImported(int imported) { this.imported = imported; }
+    public int getFailed() { return failed; }
+    public void setFailed(int failed) { this.failed = failed; }
+    public List<CardImportError> getErrors() { return errors; }
+    public void setErrors(List<CardImportError> errors) { this.errors = errors; }
+}
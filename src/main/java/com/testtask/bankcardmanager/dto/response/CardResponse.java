@@ -1,8 +1,8 @@
 package com.testtask.bankcardmanager.dto.response;
 
+import com.testtask.bankcardmanager.model.Money;
 import com.testtask.bankcardmanager.model.enums.CardStatus;
 import io.swagger.v3.oas.annotations.media.Schema;
-import java.math.BigDecimal;
 import java.time.YearMonth;
 
 @Schema(description = "Ответ с информацией о банковской карте")
@@ -24,16 +24,19 @@ public class CardResponse {
     private CardStatus status;
 
     @Schema(description = "Текущий баланс карты", example = "950.50", type = "number", format = "double", accessMode = Schema.AccessMode.READ_ONLY)
-    private BigDecimal balance;
+    private Money balance;
+
+    @Schema(description = "Доступный баланс карты (за вычетом активных холдов)", example = "900.50", type = "number", format = "double", accessMode = Schema.AccessMode.READ_ONLY)
+    private Money availableBalance;
 
     @Schema(description = "Дневной лимит снятия средств", example = "5000.00", type = "number", format = "double", accessMode = Schema.AccessMode.READ_ONLY)
-    private BigDecimal dailyWithdrawalLimit;
+    private Money dailyWithdrawalLimit;
 
     @Schema(description = "ID пользователя-владельца карты", example = "1", accessMode = Schema.AccessMode.READ_ONLY)
     private Long userId;
 
     public CardResponse(Long id, String cardNumberMasked, String cardHolder,
-                        YearMonth expiryDate, CardStatus status, BigDecimal balance, Long userId,BigDecimal dailyWithdrawalLimit) {
+                        YearMonth expiryDate, CardStatus status, Money balance, Long userId,Money dailyWithdrawalLimit) {
         this.id = id;
         this.cardNumberMasked = cardNumberMasked;
         this.cardHolder = cardHolder;
@@ -54,10 +57,12 @@ public class CardResponse {
     public void setExpiryDate(YearMonth expiryDate) { this.expiryDate = expiryDate; }
     public CardStatus getStatus() { return status; }
     public void setStatus(CardStatus status) { this.status = status; }
-    public BigDecimal getBalance() { return balance; }
-    public void setBalance(BigDecimal balance) { this.balance = balance; }
-    public BigDecimal getDailyWithdrawalLimit() { return dailyWithdrawalLimit; }
-    public void setDailyWithdrawalLimit(BigDecimal dailyWithdrawalLimit) { this.dailyWithdrawalLimit = dailyWithdrawalLimit; }
+    public Money getBalance() { return balance; }
+    public void setBalance(Money balance) { this.balance = balance; }
+    public Money getAvailableBalance() { return availableBalance; }
+    public void setAvailableBalance(Money availableBalance) { this.availableBalance = availableBalance; }
+    public Money getDailyWithdrawalLimit() { return dailyWithdrawalLimit; }
+    public void setDailyWithdrawalLimit(Money dailyWithdrawalLimit) { this.dailyWithdrawalLimit = dailyWithdrawalLimit; }
     public Long getUserId() { return userId; }
     public void setUserId(Long userId) { this.userId = userId; }
 }
\ No newline at end of file
@@ -0,0 +1,31 @@
+package com.testtask.bankcardmanager.dto.response;
+
+import com.testtask.bankcardmanager.model.Money;
+import com.testtask.bankcardmanager.model.enums.CardStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Количество карт и их суммарный баланс в одном статусе")
+public class CardStatusTotalResponse {
+
+    @Schema(description = "Статус карт", example = "ACTIVE", accessMode = Schema.AccessMode.READ_ONLY)
+    private CardStatus status;
+
+    @Schema(description = "Количество карт", example = "1520", accessMode = Schema.AccessMode.READ_ONLY)
+    private long cardCount;
+
+    @Schema(description = "Суммарный баланс карт", example = "1250000.00", type = "number", format = "double", accessMode = Schema.AccessMode.READ_ONLY)
+    private Money balance;
+
+    public CardStatusTotalResponse(CardStatus status, long cardCount, Money balance) {
+        this.status = status;
+        this.cardCount = cardCount;
+        this.balance = balance;
+    }
+
+    public CardStatus getStatus() { return status; }
+    public void setStatus(CardStatus status) { this.status = status; }
+    public long getCardCount() { return cardCount; }
+    public void setCardCount(long cardCount) { this.cardCount = cardCount; }
+    public Money getBalance() { return balance; }
+    public void setBalance(Money balance) { this.balance = balance; }
+}
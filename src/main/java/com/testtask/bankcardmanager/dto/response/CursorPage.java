@@ -0,0 +1,24 @@
+package com.testtask.bankcardmanager.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+
+@Schema(description = "Страница результатов с курсорной пагинацией")
+public class CursorPage<T> {
+
+    @Schema(description = "Элементы текущей страницы", accessMode = Schema.AccessMode.READ_ONLY)
+    private List<T> content;
+
+    @Schema(description = "Непрозрачный курсор для запроса следующей страницы (null, если страница последняя)", example = "MjAyNC0wNy0yOFQxMDoxNTozMHw1MDU", accessMode = Schema.AccessMode.READ_ONLY)
+    private String nextCursor;
+
+    public CursorPage(List<T> content, String nextCursor) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getContent() { return content; }
+    public void setContent(List<T> content) { this.content = content; }
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+}
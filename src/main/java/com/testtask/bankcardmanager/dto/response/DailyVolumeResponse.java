@@ -0,0 +1,43 @@
+package com.testtask.bankcardmanager.dto.response;
+
+import com.testtask.bankcardmanager.model.Money;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.LocalDate;
+
+@Schema(description = "Объем переводов и снятий за один день")
+public class DailyVolumeResponse {
+
+    @Schema(description = "День", example = "2024-07-28", accessMode = Schema.AccessMode.READ_ONLY)
+    private LocalDate date;
+
+    @Schema(description = "Количество переводов между картами", example = "340", accessMode = Schema.AccessMode.READ_ONLY)
+    private long transferCount;
+
+    @Schema(description = "Сумма переводов между картами", example = "56000.00", type = "number", format = "double", accessMode = Schema.AccessMode.READ_ONLY)
+    private Money transferAmount;
+
+    @Schema(description = "Количество снятий", example = "95", accessMode = Schema.AccessMode.READ_ONLY)
+    private long withdrawalCount;
+
+    @Schema(description = "Сумма снятий", example = "12300.00", type = "number", format = "double", accessMode = Schema.AccessMode.READ_ONLY)
+    private Money withdrawalAmount;
+
+    public DailyVolumeResponse(LocalDate date, long transferCount, Money transferAmount, long withdrawalCount, Money withdrawalAmount) {
+        this.date = date;
+        this.transferCount = transferCount;
+        this.transferAmount = transferAmount;
+        this.withdrawalCount = withdrawalCount;
+        this.withdrawalAmount = withdrawalAmount;
+    }
+
+    public LocalDate getDate() { return date; }
+    public void setDate(LocalDate date) { this.date = date; }
+    public long getTransferCount() { return transferCount; }
+    public void setTransferCount(long transferCount) { this.transferCount = transferCount; }
+    public Money getTransferAmount() { return transferAmount; }
+    public void setTransferAmount(Money transferAmount) { this.transferAmount = transferAmount; }
+    public long getWithdrawalCount() { return withdrawalCount; }
+    public void setWithdrawalCount(long withdrawalCount) { this.withdrawalCount = withdrawalCount; }
+    public Money getWithdrawalAmount() { return withdrawalAmount; }
+    public void setWithdrawalAmount(Money withdrawalAmount) { this.withdrawalAmount = withdrawalAmount; }
+}
@@ -0,0 +1,37 @@
+package com.testtask.bankcardmanager.dto.response;
+
+import com.testtask.bankcardmanager.model.Money;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+
+@Schema(description = "Сводные показатели для панели администратора")
+public class DashboardResponse {
+
+    @Schema(description = "Общее количество карт", example = "2000", accessMode = Schema.AccessMode.READ_ONLY)
+    private long cardCount;
+
+    @Schema(description = "Суммарный баланс всех карт", example = "1500000.00", type = "number", format = "double", accessMode = Schema.AccessMode.READ_ONLY)
+    private Money totalBalance;
+
+    @Schema(description = "Карты по статусам", accessMode = Schema.AccessMode.READ_ONLY)
+    private List<CardStatusTotalResponse> cardsByStatus;
+
+    @Schema(description = "Объем операций по дням, по возрастанию даты", accessMode = Schema.AccessMode.READ_ONLY)
+    private List<DailyVolumeResponse> dailyVolume;
+
+    public DashboardResponse(long cardCount, Money totalBalance, List<CardStatusTotalResponse> cardsByStatus, List<DailyVolumeResponse> dailyVolume) {
+        this.cardCount = cardCount;
+        this.totalBalance = totalBalance;
+        this.cardsByStatus = cardsByStatus;
+        this.dailyVolume = dailyVolume;
+    }
+
+    public long getCardCount() { return cardCount; }
+    public void setCardCount(long cardCount) { this.cardCount = cardCount; }
+    public Money getTotalBalance() { return totalBalance; }
+    public void setTotalBalance(Money totalBalance) { this.totalBalance = totalBalance; }
+    public List<CardStatusTotalResponse> getCardsByStatus() { return cardsByStatus; }
+    public void setCardsByStatus(List<CardStatusTotalResponse> cardsByStatus) { this.cardsByStatus = cardsByStatus; }
+    public List<DailyVolumeResponse> getDailyVolume() { return dailyVolume; }
+    public void setDailyVolume(List<DailyVolumeResponse> dailyVolume) { this.dailyVolume = dailyVolume; }
+}
@@ -0,0 +1,50 @@
+package com.testtask.bankcardmanager.dto.response;
+
+import com.testtask.bankcardmanager.model.Money;
+import com.testtask.bankcardmanager.model.enums.TransactionStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.LocalDateTime;
+
+@Schema(description = "Ответ с информацией об авторизационном холде")
+public class HoldResponse {
+
+    @Schema(description = "Уникальный идентификатор холда (ID транзакции)", example = "506", accessMode = Schema.AccessMode.READ_ONLY)
+    private Long id;
+
+    @Schema(description = "ID карты, на которой заблокированы средства", example = "101", accessMode = Schema.AccessMode.READ_ONLY)
+    private Long cardId;
+
+    @Schema(description = "Заблокированная сумма (отрицательная, как у списаний)", example = "-100.00", type = "number", format = "double", accessMode = Schema.AccessMode.READ_ONLY)
+    private Money amount;
+
+    @Schema(description = "Статус холда: PENDING, COMPLETED (списан) или CANCELLED (снят/истёк)", example = "PENDING", accessMode = Schema.AccessMode.READ_ONLY)
+    private TransactionStatus status;
+
+    @Schema(description = "Дата и время авторизации", example = "2024-07-28T10:15:30", accessMode = Schema.AccessMode.READ_ONLY)
+    private LocalDateTime createdAt;
+
+    @Schema(description = "Дата и время автоматического снятия холда", example = "2024-08-04T10:15:30", accessMode = Schema.AccessMode.READ_ONLY)
+    private LocalDateTime expiresAt;
+
+    public HoldResponse(Long id, Long cardId, Money amount, TransactionStatus status, LocalDateTime createdAt, LocalDateTime expiresAt) {
+        this.id = id;
+        this.cardId = cardId;
+        this.amount = amount;
+        this.status = status;
+        this.createdAt = createdAt;
+        this.expiresAt = expiresAt;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public Long getCardId() { return cardId; }
+    public void setCardId(Long cardId) { this.cardId = cardId; }
+    public Money getAmount() { return amount; }
+    public void setAmount(Money amount) { this.amount = amount; }
+    public TransactionStatus getStatus() { return status; }
+    public void setStatus(TransactionStatus status) { this.status = status; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    public LocalDateTime getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(LocalDateTime expiresAt) { this.expiresAt = expiresAt; }
+}
@@ -0,0 +1,25 @@
+package com.testtask.bankcardmanager.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Порция ленты событий журнала проводок")
+public class LedgerEventPage {
+
+    @Schema(description = "События в порядке возрастания позиции", accessMode = Schema.AccessMode.READ_ONLY)
+    private List<LedgerEventResponse> events;
+
+    @Schema(description = "Значение параметра after для следующего запроса (равно переданному, если новых событий нет)", example = "1042", accessMode = Schema.AccessMode.READ_ONLY)
+    private Long nextAfter;
+
+    public LedgerEventPage(List<LedgerEventResponse> events, Long nextAfter) {
+        this.events = events;
+        this.nextAfter = nextAfter;
+    }
+
+    public List<LedgerEventResponse> getEvents() { return events; }
+    public void setEvents(List<LedgerEventResponse> events) { this.events = events; }
+    public Long getNextAfter() { return nextAfter; }
+    public void setNextAfter(Long nextAfter) { this.nextAfter = nextAfter; }
+}
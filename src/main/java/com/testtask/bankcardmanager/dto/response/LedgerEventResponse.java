@@ -0,0 +1,58 @@
+package com.testtask.bankcardmanager.dto.response;
+
+import com.testtask.bankcardmanager.model.Money;
+import com.testtask.bankcardmanager.model.enums.LedgerEventType;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+@Schema(description = "Событие журнала проводок")
+public class LedgerEventResponse {
+
+    @Schema(description = "Позиция события в ленте, строго возрастает", example = "1042", accessMode = Schema.AccessMode.READ_ONLY)
+    private Long position;
+
+    @Schema(description = "Тип события", example = "TRANSFER_DEBIT", accessMode = Schema.AccessMode.READ_ONLY)
+    private LedgerEventType type;
+
+    @Schema(description = "ID транзакции", example = "505", accessMode = Schema.AccessMode.READ_ONLY)
+    private Long transactionId;
+
+    @Schema(description = "ID карты", example = "101", accessMode = Schema.AccessMode.READ_ONLY)
+    private Long cardId;
+
+    @Schema(description = "ID владельца карты", example = "1", accessMode = Schema.AccessMode.READ_ONLY)
+    private Long userId;
+
+    @Schema(description = "Сумма проводки (отрицательная для списаний)", example = "-150.75", type = "number", format = "double", accessMode = Schema.AccessMode.READ_ONLY)
+    private Money amount;
+
+    @Schema(description = "Время проводки", example = "2024-07-28T10:15:30", accessMode = Schema.AccessMode.READ_ONLY)
+    private LocalDateTime occurredAt;
+
+    public LedgerEventResponse(Long position, LedgerEventType type, Long transactionId, Long cardId, Long userId,
+                               Money amount, LocalDateTime occurredAt) {
+        this.position = position;
+        this.type = type;
+        this.transactionId = transactionId;
+        this.cardId = cardId;
+        this.userId = userId;
+        this.amount = amount;
+        this.occurredAt = occurredAt;
+    }
+
+    public Long getPosition() { return position; }
+    public void setPosition(Long position) { this.position = position; }
+    public LedgerEventType getType() { return type; }
+    public void setType(LedgerEventType type) { this.type = type; }
+    public Long getTransactionId() { return transactionId; }
+    public void setTransactionId(Long transactionId) { this.transactionId = transactionId; }
+    public Long getCardId() { return cardId; }
+    public void setCardId(Long cardId) { this.cardId = cardId; }
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+    public Money getAmount() { return amount; }
+    public void setAmount(Money amount) { this.amount = amount; }
+    public LocalDateTime getOccurredAt() { return occurredAt; }
+    public void setOccurredAt(LocalDateTime occurredAt) { this.occurredAt = occurredAt; }
+}
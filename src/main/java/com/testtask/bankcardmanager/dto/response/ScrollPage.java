@@ -0,0 +1,30 @@
+package com.testtask.bankcardmanager.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+
+@Schema(description = "Страница результатов без подсчёта общего количества (курсорная пагинация)")
+public class ScrollPage<T> {
+
+    @Schema(description = "Элементы текущей страницы", accessMode = Schema.AccessMode.READ_ONLY)
+    private List<T> content;
+
+    @Schema(description = "Непрозрачный курсор для запроса следующей страницы (null, если страница последняя)", example = "MTAyNA", accessMode = Schema.AccessMode.READ_ONLY)
+    private String nextCursor;
+
+    @Schema(description = "Оценка общего количества записей по статистике планировщика (только без фильтров и по запросу, иначе null)", example = "125000", accessMode = Schema.AccessMode.READ_ONLY)
+    private Long approximateTotal;
+
+    public ScrollPage(List<T> content, String nextCursor, Long approximateTotal) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+        this.approximateTotal = approximateTotal;
+    }
+
+    public List<T> getContent() { return content; }
+    public void setContent(List<T> content) { this.content = content; }
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+    public Long getApproximateTotal() { return approximateTotal; }
+    public void setApproximateTotal(Long approximateTotal) { this.approximateTotal = approximateTotal; }
+}
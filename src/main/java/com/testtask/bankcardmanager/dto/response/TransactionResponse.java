@@ -1,8 +1,8 @@
 package com.testtask.bankcardmanager.dto.response;
 
+import com.testtask.bankcardmanager.model.Money;
 import com.testtask.bankcardmanager.model.enums.TransactionStatus;
 import io.swagger.v3.oas.annotations.media.Schema;
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Schema(description = "Ответ с информацией о транзакции")
@@ -15,7 +15,7 @@ public class TransactionResponse {
     private Long cardId;
 
     @Schema(description = "Сумма транзакции (отрицательная для списаний, положительная для пополнений)", example = "-50.00", type = "number", format = "double", accessMode = Schema.AccessMode.READ_ONLY)
-    private BigDecimal amount;
+    private Money amount;
 
     @Schema(description = "Дата и время проведения транзакции", example = "2024-07-28T10:15:30", accessMode = Schema.AccessMode.READ_ONLY)
     private LocalDateTime transactionDate;
@@ -26,7 +26,7 @@ public class TransactionResponse {
     @Schema(description = "Дата и время создания записи о транзакции", example = "2024-07-28T10:15:31", accessMode = Schema.AccessMode.READ_ONLY)
     private LocalDateTime createdAt;
 
-    public TransactionResponse(Long id, Long cardId, BigDecimal amount, LocalDateTime transactionDate, TransactionStatus status, LocalDateTime createdAt) {
+    public TransactionResponse(Long id, Long cardId, Money amount, LocalDateTime transactionDate, TransactionStatus status, LocalDateTime createdAt) {
         this.id = id;
         this.cardId = cardId;
         this.amount = amount;
@@ -39,8 +39,8 @@ public class TransactionResponse {
     public void setId(Long id) { this.id = id; }
     public Long getCardId() { return cardId; }
     public void setCardId(Long cardId) { this.cardId = cardId; }
-    public BigDecimal getAmount() { return amount; }
-    public void setAmount(BigDecimal amount) { this.amount = amount; }
+    public Money getAmount() { return amount; }
+    public void setAmount(Money amount) { this.amount = amount; }
     public LocalDateTime getTransactionDate() { return transactionDate; }
     public void setTransactionDate(LocalDateTime transactionDate) { this.transactionDate = transactionDate; }
     public TransactionStatus getStatus() { return status; }
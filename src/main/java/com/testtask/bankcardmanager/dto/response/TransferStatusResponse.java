@@ -0,0 +1,63 @@
+package com.testtask.bankcardmanager.dto.response;
+
+import com.testtask.bankcardmanager.model.Money;
+import com.testtask.bankcardmanager.model.enums.TransactionStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.LocalDateTime;
+
+@Schema(description = "Статус асинхронного перевода")
+public class TransferStatusResponse {
+
+    @Schema(description = "Уникальный идентификатор перевода", example = "3001", accessMode = Schema.AccessMode.READ_ONLY)
+    private Long id;
+
+    @Schema(description = "ID карты-отправителя", example = "101", accessMode = Schema.AccessMode.READ_ONLY)
+    private Long fromCardId;
+
+    @Schema(description = "ID карты-получателя", example = "102", accessMode = Schema.AccessMode.READ_ONLY)
+    private Long toCardId;
+
+    @Schema(description = "Сумма перевода", example = "50.25", type = "number", format = "double", accessMode = Schema.AccessMode.READ_ONLY)
+    private Money amount;
+
+    @Schema(description = "Статус перевода: PENDING, COMPLETED или FAILED", example = "PENDING", accessMode = Schema.AccessMode.READ_ONLY)
+    private TransactionStatus status;
+
+    @Schema(description = "Причина отказа (для статуса FAILED)", example = "Insufficient funds on the source card", accessMode = Schema.AccessMode.READ_ONLY)
+    private String failureReason;
+
+    @Schema(description = "Дата и время приёма перевода", example = "2024-07-28T10:15:30", accessMode = Schema.AccessMode.READ_ONLY)
+    private LocalDateTime createdAt;
+
+    @Schema(description = "Дата и время последнего изменения статуса", example = "2024-07-28T10:15:31", accessMode = Schema.AccessMode.READ_ONLY)
+    private LocalDateTime updatedAt;
+
+    public TransferStatusResponse(Long id, Long fromCardId, Long toCardId, Money amount, TransactionStatus status,
+                                  String failureReason, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.fromCardId = fromCardId;
+        this.toCardId = toCardId;
+        this.amount = amount;
+        this.status = status;
+        this.failureReason = failureReason;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public Long getFromCardId() { return fromCardId; }
+    public void setFromCardId(Long fromCardId) { this.fromCardId = fromCardId; }
+    public Long getToCardId() { return toCardId; }
+    public void setToCardId(Long toCardId) { this.toCardId = toCardId; }
+    public Money getAmount() { return amount; }
+    public void setAmount(Money amount) { this.amount = amount; }
+    public TransactionStatus getStatus() { return status; }
+    public void setStatus(TransactionStatus status) { this.status = status; }
+    public String getFailureReason() { return failureReason; }
+    public void setFailureReason(String failureReason) { this.failureReason = failureReason; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -0,0 +1,57 @@
+package com.testtask.bankcardmanager.dto.response;
+
+import com.testtask.bankcardmanager.model.enums.UserErasureStatus;
+import com.testtask.bankcardmanager.model.enums.UserErasureStep;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.LocalDateTime;
+
+@Schema(description = "Ход удаления пользователя и его данных")
+public class UserErasureResponse {
+
+    @Schema(description = "ID удаляемого пользователя", example = "5", accessMode = Schema.AccessMode.READ_ONLY)
+    private Long userId;
+
+    @Schema(description = "Состояние удаления", example = "RUNNING", accessMode = Schema.AccessMode.READ_ONLY)
+    private UserErasureStatus status;
+
+    @Schema(description = "Текущий шаг удаления", example = "TRANSACTIONS", accessMode = Schema.AccessMode.READ_ONLY)
+    private UserErasureStep step;
+
+    @Schema(description = "Количество уже удаленных строк", example = "45000", accessMode = Schema.AccessMode.READ_ONLY)
+    private long deletedRows;
+
+    @Schema(description = "Время запроса удаления", example = "2024-07-29T13:00:00", accessMode = Schema.AccessMode.READ_ONLY)
+    private LocalDateTime requestedAt;
+
+    @Schema(description = "Время завершения удаления", example = "2024-07-29T13:02:10", accessMode = Schema.AccessMode.READ_ONLY)
+    private LocalDateTime completedAt;
+
+    @Schema(description = "Ошибка последней попытки", example = "null", accessMode = Schema.AccessMode.READ_ONLY)
+    private String lastError;
+
+    public UserErasureResponse(Long userId, UserErasureStatus status, UserErasureStep step, long deletedRows,
+                               LocalDateTime requestedAt, LocalDateTime completedAt, String lastError) {
+        this.userId = userId;
+        this.status = status;
+        this.step = step;
+        this.deletedRows = deletedRows;
+        this.requestedAt = requestedAt;
+        this.completedAt = completedAt;
+        this.lastError = lastError;
+    }
+
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+    public UserErasureStatus getStatus() { return status; }
+    public void setStatus(UserErasureStatus status) { this.status = status; }
+    public UserErasureStep getStep() { return step; }
+    public void setStep(UserErasureStep step) { this.step = step; }
+    public long getDeletedRows() { return deletedRows; }
+    public void setDeletedRows(long deletedRows) { this.deletedRows = deletedRows; }
+    public LocalDateTime getRequestedAt() { return requestedAt; }
+    public void setRequestedAt(LocalDateTime requestedAt) { this.requestedAt = requestedAt; }
+    public LocalDateTime getCompletedAt() { return completedAt; }
+    public void setCompletedAt(LocalDateTime completedAt) { this.completedAt = completedAt; }
+    public String getLastError() { return lastError; }
+    public void setLastError(String lastError) { this.lastError = lastError; }
+}
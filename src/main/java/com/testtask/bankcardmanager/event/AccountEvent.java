@@ -0,0 +1,25 @@
+package com.testtask.bankcardmanager.event;
+
+import com.testtask.bankcardmanager.dto.response.AccountEventResponse;
+
+/**
+ * Application event carrying one change to a user's account. Published inside the posting
+ * transaction and delivered by {@link AccountEventBus} only once that transaction commits.
+ */
+public class AccountEvent {
+    private final Long userId;
+    private final AccountEventResponse payload;
+
+    public AccountEvent(Long userId, AccountEventResponse payload) {
+        this.userId = userId;
+        this.payload = payload;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public AccountEventResponse getPayload() {
+        return payload;
+    }
+}
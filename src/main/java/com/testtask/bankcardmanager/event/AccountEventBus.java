@@ -0,0 +1,204 @@
+package com.testtask.bankcardmanager.event;
+
+import com.testtask.bankcardmanager.dto.response.AccountEventResponse;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * In-process fan-out of {@link AccountEvent}s to the SSE subscriptions of their user. Events are taken
+ * only after the posting transaction commits. Each subscription owns a bounded buffer drained by a
+ * shared delivery pool, so a slow client never blocks a posting thread: when its buffer overflows the
+ * backlog is dropped and the client gets a single {@code resync} event telling it to reload its state
+ * over REST. Every new subscription starts with a {@code resync} as well.
+ */
+@Component
+public class AccountEventBus {
+    private static final Logger log = LoggerFactory.getLogger(AccountEventBus.class);
+
+    private final Map<Long, Deque<Subscription>> subscriptions = new ConcurrentHashMap<>();
+    private final Executor deliveryExecutor;
+    private final Clock clock;
+    private final int bufferSize;
+    private final long timeoutMs;
+    private final int maxSubscriptionsPerUser;
+
+    @Autowired
+    public AccountEventBus(Clock clock,
+                           @Value("${events.buffer-size}") int bufferSize,
+                           @Value("${events.timeout-ms}") long timeoutMs,
+                           @Value("${events.max-subscriptions-per-user}") int maxSubscriptionsPerUser,
+                           @Value("${events.delivery-threads}") int deliveryThreads) {
+        this(Executors.newFixedThreadPool(deliveryThreads, new CustomizableThreadFactory("account-events-")),
+                clock, bufferSize, timeoutMs, maxSubscriptionsPerUser);
+    }
+
+    AccountEventBus(Executor deliveryExecutor, Clock clock, int bufferSize, long timeoutMs, int maxSubscriptionsPerUser) {
+        this.deliveryExecutor = deliveryExecutor;
+        this.clock = clock;
+        this.bufferSize = bufferSize;
+        this.timeoutMs = timeoutMs;
+        this.maxSubscriptionsPerUser = maxSubscriptionsPerUser;
+    }
+
+    public SseEmitter subscribe(Long userId) {
+        return subscribe(userId, new SseEmitter(timeoutMs));
+    }
+
+    SseEmitter subscribe(Long userId, SseEmitter emitter) {
+        Subscription subscription = new Subscription(userId, emitter);
+        emitter.onCompletion(subscription::close);
+        emitter.onTimeout(subscription::close);
+        emitter.onError(error -> subscription.close());
+
+        Deque<Subscription> userSubscriptions = subscriptions.compute(userId, (id, existing) -> {
+            Deque<Subscription> deque = existing != null ? existing : new ConcurrentLinkedDeque<>();
+            deque.addLast(subscription);
+            return deque;
+        });
+        while (userSubscriptions.size() > maxSubscriptionsPerUser) {
+            Subscription oldest = userSubscriptions.pollFirst();
+            if (oldest != null) {
+                oldest.emitter.complete();
+                oldest.close();
+            }
+        }
+        subscription.schedule();
+        return emitter;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAccountEvent(AccountEvent event) {
+        Deque<Subscription> userSubscriptions = subscriptions.get(event.getUserId());
+        if (userSubscriptions == null) {
+            return;
+        }
+        for (Subscription subscription : userSubscriptions) {
+            subscription.offer(event.getPayload());
+        }
+    }
+
+    @Scheduled(fixedRateString = "${events.heartbeat-ms}")
+    public void sendHeartbeats() {
+        for (Deque<Subscription> userSubscriptions : subscriptions.values()) {
+            for (Subscription subscription : userSubscriptions) {
+                subscription.heartbeatDue.set(true);
+                subscription.schedule();
+            }
+        }
+    }
+
+    public int getSubscriptionCount() {
+        return subscriptions.values().stream().mapToInt(Deque::size).sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscriptions.values().forEach(userSubscriptions -> userSubscriptions.forEach(subscription -> subscription.emitter.complete()));
+        subscriptions.clear();
+        if (deliveryExecutor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    private final class Subscription {
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<AccountEventResponse> buffer = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicBoolean resyncDue = new AtomicBoolean(true);
+        private final AtomicBoolean heartbeatDue = new AtomicBoolean();
+        private volatile boolean closed;
+
+        private Subscription(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        private void offer(AccountEventResponse event) {
+            if (!buffer.offer(event)) {
+                buffer.clear();
+                resyncDue.set(true);
+                log.debug("Event buffer of a subscription of user {} overflowed, requesting resync", userId);
+            }
+            schedule();
+        }
+
+        private void schedule() {
+            if (closed || !scheduled.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                deliveryExecutor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                scheduled.set(false);
+            }
+        }
+
+        private void drain() {
+            try {
+                while (!closed) {
+                    if (resyncDue.getAndSet(false)) {
+                        send(AccountEventResponse.resync(LocalDateTime.now(clock)));
+                        continue;
+                    }
+                    if (heartbeatDue.getAndSet(false)) {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                        continue;
+                    }
+                    AccountEventResponse event = buffer.poll();
+                    if (event == null) {
+                        break;
+                    }
+                    send(event);
+                }
+            } catch (IOException | IllegalStateException e) {
+                close();
+            } finally {
+                scheduled.set(false);
+            }
+            if (!closed && (resyncDue.get() || heartbeatDue.get() || !buffer.isEmpty())) {
+                schedule();
+            }
+        }
+
+        private void send(AccountEventResponse event) throws IOException {
+            emitter.send(SseEmitter.event()
+                    .name(event.getType().name().toLowerCase())
+                    .data(event, MediaType.APPLICATION_JSON));
+        }
+
+        private void close() {
+            closed = true;
+            buffer.clear();
+            subscriptions.computeIfPresent(userId, (id, remaining) -> {
+                remaining.remove(this);
+                return remaining.isEmpty() ? null : remaining;
+            });
+        }
+    }
+}
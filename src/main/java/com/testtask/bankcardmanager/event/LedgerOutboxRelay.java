@@ -0,0 +1,125 @@
+package com.testtask.bankcardmanager.event;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Publishes {@code ledger_outbox} rows to the change feed by stamping them with a feed position.
+ * Outbox ids come from a sequence and commit out of order, so the feed cannot page over them
+ * directly; positions are instead handed out in ordered batches by one relay at a time, which makes
+ * them follow commit order. Nodes race for a transaction-scoped advisory lock and the loser skips the
+ * tick instead of queueing; the batch itself is claimed with {@code FOR UPDATE SKIP LOCKED} so the
+ * relay never waits on rows held by another session.
+ * <p>
+ * Published rows are kept for {@code outbox.retention.days} so feed consumers can catch up, then
+ * {@link #purgePublished()} deletes them; it runs as a cluster job, not on the relay's own tick.
+ */
+@Component
+public class LedgerOutboxRelay {
+    private static final Logger log = LoggerFactory.getLogger(LedgerOutboxRelay.class);
+
+    static final long RELAY_LOCK_KEY = 0x6c65646765724f42L;
+    private static final int MAX_BATCHES_PER_TICK = 20;
+
+    private static final String TRY_LOCK_SQL = "SELECT pg_try_advisory_xact_lock(?)";
+    private static final String CLAIM_BATCH_SQL =
+            "SELECT id FROM ledger_outbox WHERE feed_position IS NULL ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED";
+    private static final String STAMP_SQL =
+            "UPDATE ledger_outbox SET feed_position = nextval('ledger_feed_position_seq'), published_at = ? WHERE id = ?";
+    private static final String PURGE_BATCH_SQL =
+            "DELETE FROM ledger_outbox WHERE id IN " +
+            "(SELECT id FROM ledger_outbox WHERE published_at < ? ORDER BY published_at LIMIT ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final int batchSize;
+    private final int retentionDays;
+    private final int purgeBatchSize;
+
+    public LedgerOutboxRelay(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, Clock clock,
+                             @Value("${outbox.relay.batch-size}") int batchSize,
+                             @Value("${outbox.retention.days}") int retentionDays,
+                             @Value("${outbox.retention.batch-size}") int purgeBatchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+        this.batchSize = batchSize;
+        this.retentionDays = retentionDays;
+        this.purgeBatchSize = purgeBatchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.interval-ms}")
+    public void relay() {
+        int published = 0;
+        for (int i = 0; i < MAX_BATCHES_PER_TICK; i++) {
+            int batch = relayBatch();
+            published += batch;
+            if (batch < batchSize) {
+                break;
+            }
+        }
+        if (published > 0) {
+            log.debug("Published {} ledger events to the feed", published);
+        }
+    }
+
+    /**
+     * Stamps one batch of unpublished events in id order. Returns 0 when another node holds the relay.
+     */
+    public int relayBatch() {
+        Integer published = transactionTemplate.execute(status -> {
+            if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject(TRY_LOCK_SQL, Boolean.class, RELAY_LOCK_KEY))) {
+                return 0;
+            }
+            List<Long> ids = jdbcTemplate.queryForList(CLAIM_BATCH_SQL, Long.class, batchSize);
+            if (ids.isEmpty()) {
+                return 0;
+            }
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now(clock));
+            List<Object[]> args = new ArrayList<>(ids.size());
+            for (Long id : ids) {
+                args.add(new Object[]{now, id});
+            }
+            jdbcTemplate.batchUpdate(STAMP_SQL, args);
+            return ids.size();
+        });
+        return published != null ? published : 0;
+    }
+
+    /**
+     * Deletes events published more than {@code outbox.retention.days} ago, oldest first, one statement
+     * per batch of {@code outbox.retention.batch-size}. Unpublished rows have no {@code published_at} and
+     * are never touched. Returns how many rows were deleted.
+     */
+    public long purgePublished() {
+        if (retentionDays <= 0) {
+            return 0;
+        }
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now(clock).minusDays(retentionDays));
+        long purged = 0;
+        while (true) {
+            int deleted = jdbcTemplate.update(PURGE_BATCH_SQL, cutoff, purgeBatchSize);
+            purged += deleted;
+            if (deleted < purgeBatchSize) {
+                break;
+            }
+        }
+        if (purged > 0) {
+            log.info("Purged {} ledger events published before {}", purged, cutoff);
+        }
+        return purged;
+    }
+}
@@ -0,0 +1,11 @@
+package com.testtask.bankcardmanager.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class JobAlreadyRunningException extends RuntimeException {
+    public JobAlreadyRunningException(String message) {
+        super(message);
+    }
+}
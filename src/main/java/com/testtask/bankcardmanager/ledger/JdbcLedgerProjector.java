@@ -0,0 +1,178 @@
+package com.testtask.bankcardmanager.ledger;
+
+import com.testtask.bankcardmanager.dto.response.AccountEventResponse;
+import com.testtask.bankcardmanager.dto.response.TransactionResponse;
+import com.testtask.bankcardmanager.event.AccountEvent;
+import com.testtask.bankcardmanager.model.Money;
+import com.testtask.bankcardmanager.model.enums.CardStatus;
+import com.testtask.bankcardmanager.model.enums.LedgerEventType;
+import com.testtask.bankcardmanager.model.enums.TransactionStatus;
+import com.testtask.bankcardmanager.repository.CardDailySummaryRepository;
+import com.testtask.bankcardmanager.repository.DashboardAggregates;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Applies engine entries to the relational tables in one transaction per batch: balances, transaction
+ * rows, daily summaries, dashboard aggregates, ledger outbox rows and the projection offset. The
+ * dashboard therefore moves together with {@code bank_cards} and never sees the projection lag. Account events for the owners'
+ * streams are published inside that transaction, so they are delivered only once the batch commits,
+ * exactly like postings made without the engine.
+ */
+public class JdbcLedgerProjector implements LedgerProjector {
+    private static final String UPDATE_BALANCE_SQL =
+            "UPDATE bank_cards SET balance = balance + ?, available_balance = available_balance + ?, updated_at = ? WHERE id = ?";
+    private static final String INSERT_TRANSACTION_SQL =
+            "INSERT INTO transaction (id, card_id, amount, transaction_date, status, created_at, transfer_id) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String NEXT_TRANSACTION_IDS_SQL = "SELECT nextval('transaction_id_seq') FROM generate_series(1, ?)";
+    private static final String INSERT_OUTBOX_SQL =
+            "INSERT INTO ledger_outbox (event_type, transaction_id, card_id, user_id, amount, occurred_at) " +
+            "SELECT ?, ?, id, user_id, ?, ? FROM bank_cards WHERE id = ?";
+    private static final String SELECT_CARDS_SQL =
+            "SELECT id, user_id, status, balance, available_balance FROM bank_cards WHERE id = ANY(?)";
+    private static final String NEXT_TRANSFER_IDS_SQL = "SELECT nextval('transfer_id_seq') FROM generate_series(1, ?)";
+    private static final String UPSERT_OFFSET_SQL =
+            "INSERT INTO ledger_projection_offset (partition_id, last_sequence) VALUES (?, ?) " +
+                    "ON CONFLICT (partition_id) DO UPDATE SET last_sequence = EXCLUDED.last_sequence";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final DashboardAggregates dashboardAggregates;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ZoneId zone;
+
+    public JdbcLedgerProjector(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                               DashboardAggregates dashboardAggregates, ApplicationEventPublisher eventPublisher, ZoneId zone) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.dashboardAggregates = dashboardAggregates;
+        this.eventPublisher = eventPublisher;
+        this.zone = zone;
+    }
+
+    @Override
+    public long lastProjectedSequence(int partition) {
+        return jdbcTemplate.query("SELECT last_sequence FROM ledger_projection_offset WHERE partition_id = ?",
+                rs -> rs.next() ? rs.getLong(1) : 0L, partition);
+    }
+
+    @Override
+    public void project(int partition, List<LedgerEntry> entries) {
+        List<Object[]> balanceUpdates = new ArrayList<>(entries.size() * 2);
+        List<Object[]> transactionInserts = new ArrayList<>(entries.size() * 2);
+        List<Object[]> summaryUpserts = new ArrayList<>(entries.size() * 2);
+        List<Object[]> outboxInserts = new ArrayList<>(entries.size() * 2);
+        List<TransactionResponse> postings = new ArrayList<>(entries.size() * 2);
+        Map<Long, Money> cardDeltas = new TreeMap<>();
+        Map<LocalDate, DailyVolume> volumes = new TreeMap<>();
+        String status = TransactionStatus.COMPLETED.name();
+        int transfers = (int) entries.stream().filter(entry -> entry.getType() == LedgerEntryType.TRANSFER).count();
+        Iterator<Long> transferIds = transfers == 0 ? Collections.emptyIterator()
+                : jdbcTemplate.queryForList(NEXT_TRANSFER_IDS_SQL, Long.class, transfers).iterator();
+        // Debit rows take the id allocated before the entry was submitted; only transfer credits need new ids.
+        Iterator<Long> creditIds = transfers == 0 ? Collections.emptyIterator()
+                : jdbcTemplate.queryForList(NEXT_TRANSACTION_IDS_SQL, Long.class, transfers).iterator();
+
+        for (LedgerEntry entry : entries) {
+            Timestamp time = Timestamp.valueOf(LocalDateTime.ofInstant(Instant.ofEpochMilli(entry.getTimestamp()), zone));
+            Money money = Money.ofMinor(entry.getAmount());
+            BigDecimal amount = money.toBigDecimal();
+            Date day = Date.valueOf(time.toLocalDateTime().toLocalDate());
+
+            Long transferId = entry.getType() == LedgerEntryType.TRANSFER ? transferIds.next() : null;
+            Long debitId = entry.getTransactionId();
+            cardDeltas.merge(entry.getCardId(), money.negate(), Money::plus);
+            volumes.computeIfAbsent(day.toLocalDate(), d -> new DailyVolume()).add(entry.getType(), money);
+
+            balanceUpdates.add(new Object[]{amount.negate(), amount.negate(), time, entry.getCardId()});
+            transactionInserts.add(new Object[]{debitId, entry.getCardId(), amount.negate(), time, status, time, transferId});
+            summaryUpserts.add(new Object[]{entry.getCardId(), day, amount, BigDecimal.ZERO});
+            outboxInserts.add(new Object[]{(transferId != null ? LedgerEventType.TRANSFER_DEBIT : LedgerEventType.WITHDRAWAL).name(),
+                    debitId, amount.negate(), time, entry.getCardId()});
+            postings.add(posting(debitId, entry.getCardId(), amount.negate(), time));
+            if (transferId != null) {
+                Long creditId = creditIds.next();
+                balanceUpdates.add(new Object[]{amount, amount, time, entry.getCounterpartCardId()});
+                transactionInserts.add(new Object[]{creditId, entry.getCounterpartCardId(), amount, time, status, time, transferId});
+                summaryUpserts.add(new Object[]{entry.getCounterpartCardId(), day, BigDecimal.ZERO, amount});
+                outboxInserts.add(new Object[]{LedgerEventType.TRANSFER_CREDIT.name(), creditId, amount, time, entry.getCounterpartCardId()});
+                postings.add(posting(creditId, entry.getCounterpartCardId(), amount, time));
+                cardDeltas.merge(entry.getCounterpartCardId(), money, Money::plus);
+            }
+        }
+        long lastSequence = entries.get(entries.size() - 1).getSequence();
+
+        transactionTemplate.executeWithoutResult(tx -> {
+            jdbcTemplate.batchUpdate(UPDATE_BALANCE_SQL, balanceUpdates);
+            jdbcTemplate.batchUpdate(INSERT_TRANSACTION_SQL, transactionInserts);
+            jdbcTemplate.batchUpdate(CardDailySummaryRepository.ADD_ENTRY_SQL, summaryUpserts);
+            jdbcTemplate.batchUpdate(INSERT_OUTBOX_SQL, outboxInserts);
+            jdbcTemplate.update(UPSERT_OFFSET_SQL, partition, lastSequence);
+            volumes.forEach((day, volume) -> dashboardAggregates.addVolume(day, volume.transferCount, volume.transferAmount,
+                    volume.withdrawalCount, volume.withdrawalAmount));
+            applyCardChanges(cardDeltas, postings);
+        });
+    }
+
+    /**
+     * Adds the balance change of every touched card to the dashboard totals of its current status and
+     * publishes the account events; both need the rows as they are after this batch.
+     */
+    private void applyCardChanges(Map<Long, Money> cardDeltas, List<TransactionResponse> postings) {
+        Map<Long, Long> owners = new HashMap<>();
+        List<AccountEvent> balances = new ArrayList<>(cardDeltas.size());
+        DashboardAggregates.CardTotalsDelta totals = new DashboardAggregates.CardTotalsDelta();
+        LocalDateTime occurredAt = postings.get(postings.size() - 1).getCreatedAt();
+        jdbcTemplate.query(SELECT_CARDS_SQL, rs -> {
+            long cardId = rs.getLong("id");
+            long userId = rs.getLong("user_id");
+            owners.put(cardId, userId);
+            totals.add(CardStatus.valueOf(rs.getString("status")), 0, cardDeltas.get(cardId));
+            balances.add(new AccountEvent(userId, AccountEventResponse.balance(cardId,
+                    Money.of(rs.getBigDecimal("balance")), Money.of(rs.getBigDecimal("available_balance")), occurredAt)));
+        }, (Object) cardDeltas.keySet().toArray(new Long[0]));
+        dashboardAggregates.apply(totals);
+        for (TransactionResponse posting : postings) {
+            eventPublisher.publishEvent(new AccountEvent(owners.get(posting.getCardId()), AccountEventResponse.transaction(posting)));
+        }
+        balances.forEach(eventPublisher::publishEvent);
+    }
+
+    private static TransactionResponse posting(Long id, Long cardId, BigDecimal amount, Timestamp time) {
+        LocalDateTime at = time.toLocalDateTime();
+        return new TransactionResponse(id, cardId, Money.of(amount), at, TransactionStatus.COMPLETED, at);
+    }
+
+    private static final class DailyVolume {
+        private long transferCount;
+        private Money transferAmount = Money.ZERO;
+        private long withdrawalCount;
+        private Money withdrawalAmount = Money.ZERO;
+
+        private void add(LedgerEntryType type, Money amount) {
+            if (type == LedgerEntryType.TRANSFER) {
+                transferCount++;
+                transferAmount = transferAmount.plus(amount);
+            } else {
+                withdrawalCount++;
+                withdrawalAmount = withdrawalAmount.plus(amount);
+            }
+        }
+    }
+}
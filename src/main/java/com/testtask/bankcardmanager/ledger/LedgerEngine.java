@@ -0,0 +1,82 @@
+package com.testtask.bankcardmanager.ledger;
+
+import com.testtask.bankcardmanager.model.Money;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Routes balance mutations to partitions by card owner, so both sides of a transfer between
+ * a user's own cards are always handled by the same single-writer partition.
+ */
+public class LedgerEngine implements Closeable {
+
+    private final List<LedgerPartition> partitions;
+    private final long timeoutMs;
+
+    public LedgerEngine(List<LedgerPartition> partitions, long timeoutMs) {
+        if (partitions.isEmpty()) {
+            throw new IllegalArgumentException("Ledger engine needs at least one partition");
+        }
+        this.partitions = List.copyOf(partitions);
+        this.timeoutMs = timeoutMs;
+    }
+
+    public void start() throws IOException {
+        for (LedgerPartition partition : partitions) {
+            partition.start();
+        }
+    }
+
+    public LedgerEntry transfer(Long userId, Long fromCardId, Long toCardId, Money amount, Long transactionId) {
+        return await(partitionFor(userId).submit(LedgerEntryType.TRANSFER, fromCardId, toCardId, amount.getMinorUnits(), transactionId));
+    }
+
+    public LedgerEntry withdraw(Long userId, Long cardId, Money amount, Long transactionId) {
+        return await(partitionFor(userId).submit(LedgerEntryType.WITHDRAWAL, cardId, 0L, amount.getMinorUnits(), transactionId));
+    }
+
+    @Override
+    public void close() throws IOException {
+        IOException failure = null;
+        for (LedgerPartition partition : partitions) {
+            try {
+                partition.close();
+            } catch (IOException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private LedgerPartition partitionFor(Long userId) {
+        return partitions.get(Math.floorMod(userId.hashCode(), partitions.size()));
+    }
+
+    private LedgerEntry await(CompletableFuture<LedgerEntry> result) {
+        try {
+            return result.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Ledger operation failed", e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Ledger operation did not complete within " + timeoutMs + " ms", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the ledger", e);
+        }
+    }
+}
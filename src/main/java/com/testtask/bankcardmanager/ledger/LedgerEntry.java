@@ -0,0 +1,87 @@
+package com.testtask.bankcardmanager.ledger;
+
+import java.nio.ByteBuffer;
+
+/**
+ * One journaled ledger operation. {@code transactionId} is the id of the debit row the projector will
+ * write, allocated by the caller before submitting so it can answer with it; {@code 0} for {@code OPEN}.
+ */
+public final class LedgerEntry {
+    static final int SIZE = Long.BYTES * 6 + 1;
+
+    private final long sequence;
+    private final LedgerEntryType type;
+    private final long cardId;
+    private final long counterpartCardId;
+    private final long amount;
+    private final long timestamp;
+    private final long transactionId;
+
+    public LedgerEntry(long sequence, LedgerEntryType type, long cardId, long counterpartCardId, long amount, long timestamp,
+                       long transactionId) {
+        this.sequence = sequence;
+        this.type = type;
+        this.cardId = cardId;
+        this.counterpartCardId = counterpartCardId;
+        this.amount = amount;
+        this.timestamp = timestamp;
+        this.transactionId = transactionId;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public LedgerEntryType getType() {
+        return type;
+    }
+
+    public long getCardId() {
+        return cardId;
+    }
+
+    public long getCounterpartCardId() {
+        return counterpartCardId;
+    }
+
+    public long getAmount() {
+        return amount;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public long getTransactionId() {
+        return transactionId;
+    }
+
+    void writeTo(ByteBuffer buffer) {
+        buffer.putLong(sequence);
+        buffer.put(type.code());
+        buffer.putLong(cardId);
+        buffer.putLong(counterpartCardId);
+        buffer.putLong(amount);
+        buffer.putLong(timestamp);
+        buffer.putLong(transactionId);
+    }
+
+    static LedgerEntry readFrom(ByteBuffer buffer) {
+        long sequence = buffer.getLong();
+        LedgerEntryType type = LedgerEntryType.fromCode(buffer.get());
+        return new LedgerEntry(sequence, type, buffer.getLong(), buffer.getLong(), buffer.getLong(), buffer.getLong(), buffer.getLong());
+    }
+
+    @Override
+    public String toString() {
+        return "LedgerEntry{" +
+                "sequence=" + sequence +
+                ", type=" + type +
+                ", cardId=" + cardId +
+                ", counterpartCardId=" + counterpartCardId +
+                ", amount=" + amount +
+                ", timestamp=" + timestamp +
+                ", transactionId=" + transactionId +
+                '}';
+    }
+}
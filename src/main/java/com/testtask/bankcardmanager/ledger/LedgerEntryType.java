@@ -0,0 +1,17 @@
+package com.testtask.bankcardmanager.ledger;
+
+public enum LedgerEntryType {
+    OPEN,
+    TRANSFER,
+    WITHDRAWAL;
+
+    private static final LedgerEntryType[] VALUES = values();
+
+    static LedgerEntryType fromCode(byte code) {
+        return VALUES[code];
+    }
+
+    byte code() {
+        return (byte) ordinal();
+    }
+}
@@ -0,0 +1,133 @@
+package com.testtask.bankcardmanager.ledger;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * Append-only journal of ledger entries, split into fixed-size memory-mapped segments.
+ * Segment file names carry the sequence of their first entry so that whole segments can be
+ * dropped once they are covered by a snapshot and by the database projection.
+ */
+public class LedgerJournal implements Closeable {
+    private static final String SUFFIX = ".journal";
+
+    private final Path directory;
+    private final String prefix;
+    private final int segmentSize;
+    private final boolean fsync;
+    private final TreeMap<Long, Path> segments = new TreeMap<>();
+
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+
+    public LedgerJournal(Path directory, String prefix, int segmentSize, boolean fsync) throws IOException {
+        if (segmentSize < LedgerEntry.SIZE) {
+            throw new IllegalArgumentException("Journal segment size must hold at least one entry");
+        }
+        this.directory = directory;
+        this.prefix = prefix;
+        this.segmentSize = segmentSize - segmentSize % LedgerEntry.SIZE;
+        this.fsync = fsync;
+
+        Files.createDirectories(directory);
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, prefix + "-*" + SUFFIX)) {
+            for (Path file : stream) {
+                segments.put(parseStartSequence(file), file);
+            }
+        }
+
+        if (segments.isEmpty()) {
+            openSegment(1L);
+        } else {
+            mapSegment(segments.lastEntry().getValue());
+            while (buffer.remaining() >= LedgerEntry.SIZE && buffer.getLong(buffer.position()) != 0L) {
+                buffer.position(buffer.position() + LedgerEntry.SIZE);
+            }
+        }
+    }
+
+    public void append(LedgerEntry entry) throws IOException {
+        if (buffer.remaining() < LedgerEntry.SIZE) {
+            roll(entry.getSequence());
+        }
+        entry.writeTo(buffer);
+        if (fsync) {
+            buffer.force();
+        }
+    }
+
+    public void replay(long afterSequence, Consumer<LedgerEntry> consumer) throws IOException {
+        for (Map.Entry<Long, Path> segment : segments.entrySet()) {
+            ByteBuffer view;
+            if (segment.getKey().equals(segments.lastKey())) {
+                view = buffer.duplicate().flip();
+            } else {
+                try (FileChannel readChannel = FileChannel.open(segment.getValue(), StandardOpenOption.READ)) {
+                    view = readChannel.map(FileChannel.MapMode.READ_ONLY, 0, readChannel.size());
+                }
+            }
+            while (view.remaining() >= LedgerEntry.SIZE && view.getLong(view.position()) != 0L) {
+                LedgerEntry entry = LedgerEntry.readFrom(view);
+                if (entry.getSequence() > afterSequence) {
+                    consumer.accept(entry);
+                }
+            }
+        }
+    }
+
+    public void deleteSegmentsUpTo(long sequence) throws IOException {
+        List<Long> obsolete = new ArrayList<>();
+        for (Long start : segments.keySet()) {
+            Long nextStart = segments.higherKey(start);
+            if (nextStart == null || nextStart - 1 > sequence) {
+                break;
+            }
+            obsolete.add(start);
+        }
+        for (Long start : obsolete) {
+            Files.deleteIfExists(segments.remove(start));
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            buffer.force();
+            channel.close();
+            channel = null;
+        }
+    }
+
+    private void roll(long nextSequence) throws IOException {
+        close();
+        openSegment(nextSequence);
+    }
+
+    private void openSegment(long startSequence) throws IOException {
+        Path file = directory.resolve(String.format("%s-%020d%s", prefix, startSequence, SUFFIX));
+        segments.put(startSequence, file);
+        mapSegment(file);
+    }
+
+    private void mapSegment(Path file) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+    }
+
+    private long parseStartSequence(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(prefix.length() + 1, name.length() - SUFFIX.length()));
+    }
+}
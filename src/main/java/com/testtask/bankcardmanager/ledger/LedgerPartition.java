@@ -0,0 +1,217 @@
+package com.testtask.bankcardmanager.ledger;
+
+import com.testtask.bankcardmanager.exception.CardOperationException;
+import com.testtask.bankcardmanager.exception.InsufficientFundsException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * Owns the balances of one slice of cards. All mutations are executed by a single writer thread
+ * that takes commands from a bounded ring buffer, so the balance map needs no locking. Every
+ * accepted command is journaled before its future is completed.
+ */
+public class LedgerPartition implements Closeable {
+
+    private final int id;
+    private final LedgerJournal journal;
+    private final Path snapshotFile;
+    private final LongUnaryOperator openingBalanceLoader;
+    private final LedgerProjectionWorker projection;
+    private final Clock clock;
+    private final int snapshotInterval;
+    private final BlockingQueue<LedgerCommand> ringBuffer;
+    private final Map<Long, Long> balances = new HashMap<>();
+
+    private long sequence;
+    private long snapshotSequence;
+    private volatile boolean running;
+    private Thread writer;
+
+    public LedgerPartition(int id, Path directory, int segmentSize, boolean fsync, int ringBufferSize, int snapshotInterval,
+                           LongUnaryOperator openingBalanceLoader, LedgerProjector projector, int projectionBatchSize, Clock clock) throws IOException {
+        this.id = id;
+        this.journal = new LedgerJournal(directory, "partition-" + id, segmentSize, fsync);
+        this.snapshotFile = directory.resolve("partition-" + id + ".snapshot");
+        this.openingBalanceLoader = openingBalanceLoader;
+        this.projection = new LedgerProjectionWorker(id, projector, projectionBatchSize);
+        this.clock = clock;
+        this.snapshotInterval = snapshotInterval;
+        this.ringBuffer = new ArrayBlockingQueue<>(ringBufferSize);
+    }
+
+    public void start() throws IOException {
+        recover();
+        projection.start();
+        running = true;
+        writer = new Thread(this::run, "ledger-writer-" + id);
+        writer.start();
+    }
+
+    public CompletableFuture<LedgerEntry> submit(LedgerEntryType type, long cardId, long counterpartCardId, long amount,
+                                                 long transactionId) {
+        if (!running) {
+            throw new IllegalStateException("Ledger partition " + id + " is not running");
+        }
+        LedgerCommand command = new LedgerCommand(type, cardId, counterpartCardId, amount, transactionId);
+        if (!ringBuffer.offer(command)) {
+            throw new CardOperationException("The ledger is overloaded, please retry later");
+        }
+        return command.result;
+    }
+
+    @Override
+    public void close() throws IOException {
+        stopWriter();
+        snapshot();
+        stopProjection();
+        journal.close();
+    }
+
+    void halt() throws IOException {
+        stopWriter();
+        stopProjection();
+        journal.close();
+    }
+
+    Map<Long, Long> getBalances() {
+        return new HashMap<>(balances);
+    }
+
+    private void recover() throws IOException {
+        LedgerSnapshot snapshot = LedgerSnapshot.read(snapshotFile);
+        balances.putAll(snapshot.getBalances());
+        sequence = snapshot.getSequence();
+        snapshotSequence = sequence;
+        long projectedSequence = projection.loadProjectedSequence();
+
+        journal.replay(Math.min(snapshotSequence, projectedSequence), entry -> {
+            if (entry.getSequence() > snapshotSequence) {
+                apply(entry);
+                sequence = entry.getSequence();
+            }
+            projection.enqueue(entry);
+        });
+    }
+
+    private void run() {
+        while (running) {
+            LedgerCommand command;
+            try {
+                command = ringBuffer.poll(100, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            if (command != null) {
+                process(command);
+            }
+        }
+        LedgerCommand rejected;
+        while ((rejected = ringBuffer.poll()) != null) {
+            rejected.result.completeExceptionally(new IllegalStateException("Ledger partition " + id + " is shutting down"));
+        }
+    }
+
+    private void process(LedgerCommand command) {
+        try {
+            ensureOpened(command.cardId);
+            if (command.type == LedgerEntryType.TRANSFER) {
+                ensureOpened(command.counterpartCardId);
+            }
+            if (balances.get(command.cardId) < command.amount) {
+                command.result.completeExceptionally(new InsufficientFundsException("Insufficient funds on the card"));
+                return;
+            }
+            LedgerEntry entry = append(command.type, command.cardId, command.counterpartCardId, command.amount, command.transactionId);
+            command.result.complete(entry);
+
+            if (sequence - snapshotSequence >= snapshotInterval) {
+                snapshot();
+            }
+        } catch (IOException e) {
+            command.result.completeExceptionally(new UncheckedIOException(e));
+        } catch (RuntimeException e) {
+            command.result.completeExceptionally(e);
+        }
+    }
+
+    private void ensureOpened(long cardId) throws IOException {
+        if (!balances.containsKey(cardId)) {
+            append(LedgerEntryType.OPEN, cardId, 0L, openingBalanceLoader.applyAsLong(cardId), 0L);
+        }
+    }
+
+    private LedgerEntry append(LedgerEntryType type, long cardId, long counterpartCardId, long amount, long transactionId)
+            throws IOException {
+        LedgerEntry entry = new LedgerEntry(sequence + 1, type, cardId, counterpartCardId, amount, clock.millis(), transactionId);
+        journal.append(entry);
+        sequence = entry.getSequence();
+        apply(entry);
+        projection.enqueue(entry);
+        return entry;
+    }
+
+    private void apply(LedgerEntry entry) {
+        switch (entry.getType()) {
+            case OPEN -> balances.put(entry.getCardId(), entry.getAmount());
+            case TRANSFER -> {
+                balances.merge(entry.getCardId(), -entry.getAmount(), Math::addExact);
+                balances.merge(entry.getCounterpartCardId(), entry.getAmount(), Math::addExact);
+            }
+            case WITHDRAWAL -> balances.merge(entry.getCardId(), -entry.getAmount(), Math::addExact);
+        }
+    }
+
+    private void snapshot() throws IOException {
+        LedgerSnapshot.write(snapshotFile, sequence, balances);
+        snapshotSequence = sequence;
+        journal.deleteSegmentsUpTo(Math.min(snapshotSequence, projection.getProjectedSequence()));
+    }
+
+    private void stopWriter() {
+        running = false;
+        if (writer != null) {
+            try {
+                writer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void stopProjection() {
+        try {
+            projection.stop();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class LedgerCommand {
+        private final LedgerEntryType type;
+        private final long cardId;
+        private final long counterpartCardId;
+        private final long amount;
+        private final long transactionId;
+        private final CompletableFuture<LedgerEntry> result = new CompletableFuture<>();
+
+        private LedgerCommand(LedgerEntryType type, long cardId, long counterpartCardId, long amount, long transactionId) {
+            this.type = type;
+            this.cardId = cardId;
+            this.counterpartCardId = counterpartCardId;
+            this.amount = amount;
+            this.transactionId = transactionId;
+        }
+    }
+}
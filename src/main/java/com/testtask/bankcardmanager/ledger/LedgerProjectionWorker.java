@@ -0,0 +1,91 @@
+package com.testtask.bankcardmanager.ledger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+class LedgerProjectionWorker {
+    private static final Logger log = LoggerFactory.getLogger(LedgerProjectionWorker.class);
+    private static final long RETRY_DELAY_MS = 1000L;
+
+    private final int partition;
+    private final LedgerProjector projector;
+    private final int batchSize;
+    private final BlockingQueue<LedgerEntry> queue = new LinkedBlockingQueue<>();
+    private volatile long projectedSequence;
+    private volatile boolean running;
+    private Thread thread;
+
+    LedgerProjectionWorker(int partition, LedgerProjector projector, int batchSize) {
+        this.partition = partition;
+        this.projector = projector;
+        this.batchSize = batchSize;
+    }
+
+    long loadProjectedSequence() {
+        projectedSequence = projector.lastProjectedSequence(partition);
+        return projectedSequence;
+    }
+
+    long getProjectedSequence() {
+        return projectedSequence;
+    }
+
+    void enqueue(LedgerEntry entry) {
+        if (entry.getType() != LedgerEntryType.OPEN && entry.getSequence() > projectedSequence) {
+            queue.add(entry);
+        }
+    }
+
+    void start() {
+        running = true;
+        thread = new Thread(this::run, "ledger-projection-" + partition);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    void stop() throws InterruptedException {
+        running = false;
+        if (thread != null) {
+            thread.join();
+        }
+    }
+
+    private void run() {
+        List<LedgerEntry> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                if (batch.isEmpty()) {
+                    LedgerEntry first = queue.poll(100, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                }
+                projector.project(partition, batch);
+                projectedSequence = batch.get(batch.size() - 1).getSequence();
+                batch.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Failed to project {} ledger entries of partition {}, retrying", batch.size(), partition, e);
+                if (!running) {
+                    return;
+                }
+                try {
+                    Thread.sleep(RETRY_DELAY_MS);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.testtask.bankcardmanager.ledger;
+
+import java.util.List;
+
+public interface LedgerProjector {
+    long lastProjectedSequence(int partition);
+
+    void project(int partition, List<LedgerEntry> entries);
+}
@@ -0,0 +1,75 @@
+package com.testtask.bankcardmanager.ledger;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+public final class LedgerSnapshot {
+    private static final int MAGIC = 0x4C534E50;
+
+    private final long sequence;
+    private final Map<Long, Long> balances;
+
+    private LedgerSnapshot(long sequence, Map<Long, Long> balances) {
+        this.sequence = sequence;
+        this.balances = balances;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public Map<Long, Long> getBalances() {
+        return Collections.unmodifiableMap(balances);
+    }
+
+    public static void write(Path file, long sequence, Map<Long, Long> balances) throws IOException {
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileOutputStream fileOut = new FileOutputStream(tmp.toFile())) {
+            CheckedOutputStream checked = new CheckedOutputStream(new BufferedOutputStream(fileOut), new CRC32());
+            DataOutputStream out = new DataOutputStream(checked);
+            out.writeInt(MAGIC);
+            out.writeLong(sequence);
+            out.writeInt(balances.size());
+            for (Map.Entry<Long, Long> balance : balances.entrySet()) {
+                out.writeLong(balance.getKey());
+                out.writeLong(balance.getValue());
+            }
+            out.writeLong(checked.getChecksum().getValue());
+            out.flush();
+            fileOut.getFD().sync();
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public static LedgerSnapshot read(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return new LedgerSnapshot(0L, new HashMap<>());
+        }
+        try (InputStream fileIn = Files.newInputStream(file)) {
+            CheckedInputStream checked = new CheckedInputStream(new BufferedInputStream(fileIn), new CRC32());
+            DataInputStream in = new DataInputStream(checked);
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a ledger snapshot: " + file);
+            }
+            long sequence = in.readLong();
+            int size = in.readInt();
+            Map<Long, Long> balances = new HashMap<>(size * 2);
+            for (int i = 0; i < size; i++) {
+                balances.put(in.readLong(), in.readLong());
+            }
+            long expected = checked.getChecksum().getValue();
+            if (in.readLong() != expected) {
+                throw new IOException("Ledger snapshot checksum mismatch: " + file);
+            }
+            return new LedgerSnapshot(sequence, balances);
+        }
+    }
+}
@@ -7,11 +7,8 @@ import jakarta.persistence.*;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.time.YearMonth;
-import java.util.ArrayList;
-import java.util.List;
 
 @Entity
 @Table(name = "bank_cards")
@@ -27,7 +24,7 @@ public class Card {
     @Column(name = "card_holder", nullable = false, length = 100)
     private String cardHolder;
 
-    @Column(name = "expiry_date", nullable = false, columnDefinition = "VARCHAR(8)")
+    @Column(name = "expiry_date", nullable = false)
     @Convert(converter = YearMonthDateAttributeConverter.class)
     private YearMonth expiryDate;
 
@@ -36,17 +33,17 @@ public class Card {
     private CardStatus status;
 
     @Column(name = "balance", nullable = false, precision = 17, scale = 2)
-    private BigDecimal balance;
+    private Money balance;
+
+    @Column(name = "available_balance", nullable = false, precision = 17, scale = 2)
+    private Money availableBalance;
 
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
-    @OneToMany(mappedBy = "card", cascade = CascadeType.ALL, orphanRemoval = true,fetch = FetchType.LAZY)
-    private List<Transaction> historyOfTransactions = new ArrayList<>();
-
     @Column(name = "daily_withdrawal_limit", precision = 17, scale = 2, nullable = false)
-    private BigDecimal dailyWithdrawalLimit;
+    private Money dailyWithdrawalLimit;
 
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
@@ -58,8 +55,9 @@ public class Card {
 
     public Card() {}
 
-    public Card(BigDecimal balance, CardStatus status, YearMonth expiryDate, String cardHolder, String cardNumber) {
+    public Card(Money balance, CardStatus status, YearMonth expiryDate, String cardHolder, String cardNumber) {
         this.balance = balance;
+        this.availableBalance = balance;
         this.status = status;
         this.expiryDate = expiryDate;
         this.cardHolder = cardHolder;
@@ -106,16 +104,20 @@ public class Card {
         this.status = status;
     }
 
-    public BigDecimal getBalance() {
+    public Money getBalance() {
         return balance;
     }
 
-    public void setBalance(BigDecimal balance) {
+    public void setBalance(Money balance) {
         this.balance = balance;
     }
 
-    public List<Transaction> getHistoryOfTransactions() {
-        return historyOfTransactions;
+    public Money getAvailableBalance() {
+        return availableBalance;
+    }
+
+    public void setAvailableBalance(Money availableBalance) {
+        this.availableBalance = availableBalance;
     }
 
     public User getUser() {
@@ -126,11 +128,11 @@ public class Card {
         this.user = user;
     }
 
-    public BigDecimal getDailyWithdrawalLimit() {
+    public Money getDailyWithdrawalLimit() {
         return dailyWithdrawalLimit;
     }
 
-    public void setDailyWithdrawalLimit(BigDecimal dailyWithdrawalLimit) {
+    public void setDailyWithdrawalLimit(Money dailyWithdrawalLimit) {
         this.dailyWithdrawalLimit = dailyWithdrawalLimit;
     }
 
@@ -142,16 +144,6 @@ public class Card {
         return updatedAt;
     }
 
-    public void addTransaction(Transaction transaction) {
-        historyOfTransactions.add(transaction);
-        transaction.setCard(this);
-    }
-
-    public void removeTransaction(Transaction transaction) {
-        historyOfTransactions.remove(transaction);
-        transaction.setCard(null);
-    }
-
     @Override
     public boolean equals(Object o) {
         if(this == o) return true;
@@ -174,8 +166,8 @@ public class Card {
                 ", expiryDate=" + expiryDate +
                 ", status=" + status +
                 ", balance=" + balance +
+                ", availableBalance=" + availableBalance +
                 ", dailyWithdrawalLimit=" + dailyWithdrawalLimit +
-                ", historyOfTransactionsCount=" + (historyOfTransactions != null ? historyOfTransactions.size() : 0) +
                 ", createdAt=" + createdAt +
                 ", updatedAt=" + updatedAt +
                 '}';
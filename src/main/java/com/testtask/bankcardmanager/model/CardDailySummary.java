@@ -0,0 +1,76 @@
+package com.testtask.bankcardmanager.model;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+@Entity
+@Table(name = "card_daily_summary")
+@IdClass(CardDailySummary.Key.class)
+public class CardDailySummary {
+    @Id
+    @Column(name = "card_id")
+    private Long cardId;
+
+    @Id
+    @Column(name = "summary_date")
+    private LocalDate summaryDate;
+
+    @Column(name = "transaction_count", nullable = false)
+    private long transactionCount;
+
+    @Column(name = "debit_total", nullable = false, precision = 17, scale = 2)
+    private Money debitTotal;
+
+    @Column(name = "credit_total", nullable = false, precision = 17, scale = 2)
+    private Money creditTotal;
+
+    public CardDailySummary() {}
+
+    public Long getCardId() {
+        return cardId;
+    }
+
+    public LocalDate getSummaryDate() {
+        return summaryDate;
+    }
+
+    public long getTransactionCount() {
+        return transactionCount;
+    }
+
+    public Money getDebitTotal() {
+        return debitTotal;
+    }
+
+    public Money getCreditTotal() {
+        return creditTotal;
+    }
+
+    public static class Key implements Serializable {
+        private Long cardId;
+        private LocalDate summaryDate;
+
+        public Key() {}
+
+        public Key(Long cardId, LocalDate summaryDate) {
+            this.cardId = cardId;
+            this.summaryDate = summaryDate;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key key = (Key) o;
+            return Objects.equals(cardId, key.cardId) && Objects.equals(summaryDate, key.summaryDate);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(cardId, summaryDate);
+        }
+    }
+}
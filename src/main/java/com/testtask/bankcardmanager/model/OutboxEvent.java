@@ -0,0 +1,86 @@
+package com.testtask.bankcardmanager.model;
+
+import com.testtask.bankcardmanager.model.enums.LedgerEventType;
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "ledger_outbox")
+public class OutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 32)
+    private LedgerEventType eventType;
+
+    @Column(name = "transaction_id")
+    private Long transactionId;
+
+    @Column(name = "card_id", nullable = false)
+    private Long cardId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "amount", nullable = false, precision = 17, scale = 2)
+    private Money amount;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+
+    @Column(name = "feed_position", insertable = false, updatable = false)
+    private Long feedPosition;
+
+    @Column(name = "published_at", insertable = false, updatable = false)
+    private LocalDateTime publishedAt;
+
+    public OutboxEvent(LedgerEventType eventType, Long transactionId, Long cardId, Long userId, Money amount, LocalDateTime occurredAt) {
+        this.eventType = eventType;
+        this.transactionId = transactionId;
+        this.cardId = cardId;
+        this.userId = userId;
+        this.amount = amount;
+        this.occurredAt = occurredAt;
+    }
+
+    public OutboxEvent() {}
+
+    public Long getId() {
+        return id;
+    }
+
+    public LedgerEventType getEventType() {
+        return eventType;
+    }
+
+    public Long getTransactionId() {
+        return transactionId;
+    }
+
+    public Long getCardId() {
+        return cardId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Money getAmount() {
+        return amount;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+
+    public Long getFeedPosition() {
+        return feedPosition;
+    }
+
+    public LocalDateTime getPublishedAt() {
+        return publishedAt;
+    }
+}
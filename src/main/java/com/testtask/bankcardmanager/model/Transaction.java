@@ -4,7 +4,6 @@ import com.testtask.bankcardmanager.model.enums.TransactionStatus;
 import jakarta.persistence.*;
 import org.hibernate.annotations.CreationTimestamp;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
@@ -18,22 +17,35 @@ public class Transaction {
     private Card card;
 
     @Column(name = "amount", nullable = false, precision = 17, scale = 2)
-    private BigDecimal amount;
+    private Money amount;
 
-    @Column(name = "transaction_date", nullable = false)
+    // Partition key of the table: never rewritten once the row exists.
+    @Column(name = "transaction_date", nullable = false, updatable = false)
     private LocalDateTime transactionDate;
 
     @Enumerated(EnumType.STRING)
     @Column(name = "status", nullable = false, length = 10)
     private TransactionStatus status;
 
+    @Column(name = "expires_at")
+    private LocalDateTime expiresAt;
+
+    @Column(name = "reversal_of")
+    private Long reversalOf;
+
+    @Column(name = "transfer_id")
+    private Long transferId;
+
+    @Column(name = "captured_at")
+    private LocalDateTime capturedAt;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
 
 
-    public Transaction(Card card, BigDecimal amount, LocalDateTime transactionDate, TransactionStatus status, LocalDateTime createdAt) {
+    public Transaction(Card card, Money amount, LocalDateTime transactionDate, TransactionStatus status, LocalDateTime createdAt) {
         this.card = card;
         this.amount = amount;
         this.transactionDate = transactionDate;
@@ -55,11 +67,11 @@ public class Transaction {
         this.card = card;
     }
 
-    public BigDecimal getAmount() {
+    public Money getAmount() {
         return amount;
     }
 
-    public void setAmount(BigDecimal amount) {
+    public void setAmount(Money amount) {
         this.amount = amount;
     }
 
@@ -79,6 +91,38 @@ public class Transaction {
         this.status = status;
     }
 
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public Long getReversalOf() {
+        return reversalOf;
+    }
+
+    public void setReversalOf(Long reversalOf) {
+        this.reversalOf = reversalOf;
+    }
+
+    public Long getTransferId() {
+        return transferId;
+    }
+
+    public void setTransferId(Long transferId) {
+        this.transferId = transferId;
+    }
+
+    public LocalDateTime getCapturedAt() {
+        return capturedAt;
+    }
+
+    public void setCapturedAt(LocalDateTime capturedAt) {
+        this.capturedAt = capturedAt;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -9,7 +9,6 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
@@ -32,9 +31,6 @@ public class User implements UserDetails {
     @Column(name = "role", nullable = false)
     private Role role;
 
-    @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
-    private List<Card> cards = new ArrayList<>();
-
     @Column(name = "is_account_non_expired", nullable = false, columnDefinition = "BOOLEAN DEFAULT TRUE")
     private boolean accountNonExpired = true;
 
@@ -102,16 +98,6 @@ public class User implements UserDetails {
         return this.enabled;
     }
 
-    public void addCard(Card card) {
-        cards.add(card);
-        card.setUser(this);
-    }
-
-    public void removeCard(Card card) {
-        cards.remove(card);
-        card.setUser(null);
-    }
-
     public Long getId() {
         return id;
     }
@@ -136,10 +122,6 @@ public class User implements UserDetails {
         this.role = role;
     }
 
-    public List<Card> getCards() {
-        return cards;
-    }
-
     public void setAccountNonExpired(boolean accountNonExpired) {
         this.accountNonExpired = accountNonExpired;
     }
@@ -183,7 +165,6 @@ public class User implements UserDetails {
                 "id=" + id +
                 ", email='" + email + '\'' +
                 ", role=" + role +
-                ", cardsCount=" + (cards != null ? cards.size() : 0) +
                 ", accountNonExpired=" + accountNonExpired +
                 ", accountNonLocked=" + accountNonLocked +
                 ", credentialsNonExpired=" + credentialsNonExpired +
@@ -0,0 +1,21 @@
+package com.testtask.bankcardmanager.model.converter;
+
+import com.testtask.bankcardmanager.model.Money;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.math.BigDecimal;
+
+@Converter(autoApply = true)
+public class MoneyAttributeConverter implements AttributeConverter<Money, BigDecimal> {
+
+    @Override
+    public BigDecimal convertToDatabaseColumn(Money attribute) {
+        return (attribute == null ? null : attribute.toBigDecimal());
+    }
+
+    @Override
+    public Money convertToEntityAttribute(BigDecimal dbData) {
+        return (dbData == null ? null : Money.of(dbData));
+    }
+}
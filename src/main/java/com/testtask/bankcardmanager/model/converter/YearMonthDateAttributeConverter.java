@@ -3,20 +3,19 @@ package com.testtask.bankcardmanager.model.converter;
 import jakarta.persistence.AttributeConverter;
 import jakarta.persistence.Converter;
 
+import java.time.LocalDate;
 import java.time.YearMonth;
-import java.time.format.DateTimeFormatter;
 
 @Converter(autoApply = true)
-public class YearMonthDateAttributeConverter implements AttributeConverter<YearMonth, String> {
-    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM");
+public class YearMonthDateAttributeConverter implements AttributeConverter<YearMonth, LocalDate> {
 
     @Override
-    public String convertToDatabaseColumn(YearMonth attribute) {
-        return (attribute == null ? null : attribute.format(FORMATTER));
+    public LocalDate convertToDatabaseColumn(YearMonth attribute) {
+        return (attribute == null ? null : attribute.atDay(1));
     }
 
     @Override
-    public YearMonth convertToEntityAttribute(String dbDate) {
-        return (dbDate == null ? null : YearMonth.parse(dbDate, FORMATTER));
+    public YearMonth convertToEntityAttribute(LocalDate dbDate) {
+        return (dbDate == null ? null : YearMonth.from(dbDate));
     }
 }
@@ -0,0 +1,9 @@
+package com.testtask.bankcardmanager.model.enums;
+
+public enum LedgerEventType {
+    TRANSFER_DEBIT,
+    TRANSFER_CREDIT,
+    WITHDRAWAL,
+    CAPTURE,
+    REVERSAL
+}
@@ -0,0 +1,5 @@
+package com.testtask.bankcardmanager.model.enums;
+
+public enum UserErasureStatus {
+    RUNNING, COMPLETED, FAILED;
+}
@@ -0,0 +1,13 @@
+package com.testtask.bankcardmanager.model.enums;
+
+/**
+ * Steps of a user erasure in dependency order: rows referencing the user's cards first, then the
+ * cards, then the user.
+ */
+public enum UserErasureStep {
+    TRANSACTIONS, DAILY_SUMMARIES, STATEMENTS, OUTBOX, TRANSFER_REQUESTS, CARDS, USER, DONE;
+
+    public UserErasureStep next() {
+        return this == DONE ? DONE : values()[ordinal() + 1];
+    }
+}
@@ -0,0 +1,34 @@
+package com.testtask.bankcardmanager.pagination;
+
+import com.testtask.bankcardmanager.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position in a listing ordered by id ascending: the id of the last row the client has seen.
+ * Like {@link KeysetCursor} it is only exposed as an opaque token.
+ */
+public final class IdCursor {
+    private final long id;
+
+    public IdCursor(long id) {
+        this.id = id;
+    }
+
+    public static IdCursor decode(String token) {
+        try {
+            return new IdCursor(Long.parseLong(new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8)));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Malformed pagination cursor");
+        }
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(Long.toString(id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public long getId() {
+        return id;
+    }
+}
@@ -0,0 +1,64 @@
+package com.testtask.bankcardmanager.repository;
+
+import com.testtask.bankcardmanager.model.CardDailySummary;
+import com.testtask.bankcardmanager.model.Money;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface CardDailySummaryRepository extends JpaRepository<CardDailySummary, CardDailySummary.Key> {
+    /**
+     * Positional form of {@link #addEntries} for JDBC batches: card id, day, debit, credit.
+     */
+    String ADD_ENTRY_SQL =
+            "INSERT INTO card_daily_summary (card_id, summary_date, transaction_count, debit_total, credit_total) " +
+            "VALUES (?, ?, 1, ?, ?) ON CONFLICT (card_id, summary_date) DO UPDATE SET " +
+            "transaction_count = card_daily_summary.transaction_count + 1, " +
+            "debit_total = card_daily_summary.debit_total + EXCLUDED.debit_total, " +
+            "credit_total = card_daily_summary.credit_total + EXCLUDED.credit_total";
+
+    List<CardDailySummary> findByCardIdAndSummaryDateBetweenOrderBySummaryDateAsc(Long cardId, LocalDate from, LocalDate to);
+
+    @Modifying
+    @Query(value = "INSERT INTO card_daily_summary (card_id, summary_date, transaction_count, debit_total, credit_total) " +
+            "VALUES (:cardId, :day, :count, :debit, :credit) ON CONFLICT (card_id, summary_date) DO UPDATE SET " +
+            "transaction_count = card_daily_summary.transaction_count + EXCLUDED.transaction_count, " +
+            "debit_total = card_daily_summary.debit_total + EXCLUDED.debit_total, " +
+            "credit_total = card_daily_summary.credit_total + EXCLUDED.credit_total", nativeQuery = true)
+    void addEntries(@Param("cardId") Long cardId, @Param("day") LocalDate day, @Param("count") long count,
+                    @Param("debit") BigDecimal debit, @Param("credit") BigDecimal credit);
+
+    /**
+     * Adds one posted ledger row to its card's summary for the day; negative amounts count as debits.
+     */
+    default void addEntry(Long cardId, LocalDateTime transactionDate, Money amount) {
+        BigDecimal value = amount.toBigDecimal();
+        addEntries(cardId, transactionDate.toLocalDate(), 1,
+                amount.signum() < 0 ? value.negate() : BigDecimal.ZERO,
+                amount.signum() > 0 ? value : BigDecimal.ZERO);
+    }
+
+    @Modifying
+    @Query(value = "DELETE FROM card_daily_summary WHERE summary_date = :day", nativeQuery = true)
+    int deleteDay(@Param("day") LocalDate day);
+
+    /**
+     * Recomputes one day from the ledger; a captured hold counts on the day of its capture, as it does in {@link #addEntry}.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO card_daily_summary (card_id, summary_date, transaction_count, debit_total, credit_total) " +
+            "SELECT card_id, :day, count(*), COALESCE(SUM(-amount) FILTER (WHERE amount < 0), 0), " +
+            "COALESCE(SUM(amount) FILTER (WHERE amount > 0), 0) FROM transaction " +
+            "WHERE COALESCE(captured_at, transaction_date) >= :start AND COALESCE(captured_at, transaction_date) < :end " +
+            "AND transaction_date < :end AND status IN ('COMPLETED', 'REVERSED') " +
+            "GROUP BY card_id", nativeQuery = true)
+    int insertDayFromTransactions(@Param("day") LocalDate day, @Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+}
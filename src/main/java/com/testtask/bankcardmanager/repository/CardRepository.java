@@ -1,13 +1,45 @@
 package com.testtask.bankcardmanager.repository;
 
 import com.testtask.bankcardmanager.model.Card;
+import com.testtask.bankcardmanager.repository.projection.CardProjection;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface CardRepository extends JpaRepository<Card, Long>, JpaSpecificationExecutor<Card> {
+public interface CardRepository extends JpaRepository<Card, Long>, JpaSpecificationExecutor<Card>, CardRepositoryCustom {
     Optional<Card> findByCardNumber(String cardNumber);
+
+    /**
+     * Loads a card for mutation under a row lock ({@code SELECT ... FOR UPDATE}), so its balances and
+     * status cannot change between the read and the flush. Must be the first load of the card in the
+     * persistence context: a card that is already managed is locked but not re-read.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from Card c where c.id = :id")
+    Optional<Card> findByIdForUpdate(@Param("id") Long id);
+
+    @Query("select c.user.id from Card c where c.id = :id")
+    Optional<Long> findOwnerIdById(@Param("id") Long id);
+
+    @Query("select new com.testtask.bankcardmanager.repository.projection.CardProjection(c.id, c.cardNumber, c.cardHolder, c.expiryDate, " +
+            "c.status, c.balance, c.availableBalance, c.user.id, c.dailyWithdrawalLimit) from Card c where c.id = :id")
+    Optional<CardProjection> findProjectionById(@Param("id") Long id);
+
+    @Query("select c.id from Card c where c.user.id = :userId")
+    List<Long> findIdsByUserId(@Param("userId") Long userId);
+
+    @Modifying
+    @Query(value = "UPDATE bank_cards SET available_balance = available_balance - :amount, updated_at = CURRENT_TIMESTAMP " +
+            "WHERE id = :cardId AND status = 'ACTIVE' AND available_balance >= :amount", nativeQuery = true)
+    int reserveAvailableBalance(@Param("cardId") Long cardId, @Param("amount") BigDecimal amount);
 }
@@ -0,0 +1,15 @@
+package com.testtask.bankcardmanager.repository;
+
+import com.testtask.bankcardmanager.model.Card;
+import com.testtask.bankcardmanager.repository.projection.CardProjection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface CardRepositoryCustom {
+    Page<CardProjection> findProjections(Specification<Card> spec, Pageable pageable);
+    List<CardProjection> findProjections(Specification<Card> spec, Sort sort, int limit);
+}
@@ -0,0 +1,86 @@
+package com.testtask.bankcardmanager.repository;
+
+import com.testtask.bankcardmanager.model.Card;
+import com.testtask.bankcardmanager.repository.projection.CardProjection;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Specification queries that select straight into {@link CardProjection}, so listing pages never
+ * hydrate managed {@link Card} entities or their dirty-checking snapshots.
+ */
+public class CardRepositoryImpl implements CardRepositoryCustom {
+    private final EntityManager entityManager;
+
+    public CardRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Page<CardProjection> findProjections(Specification<Card> spec, Pageable pageable) {
+        TypedQuery<CardProjection> typedQuery = createProjectionQuery(spec, pageable.getSort());
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        List<CardProjection> content = typedQuery.getResultList();
+
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(spec));
+    }
+
+    @Override
+    public List<CardProjection> findProjections(Specification<Card> spec, Sort sort, int limit) {
+        return createProjectionQuery(spec, sort).setMaxResults(limit).getResultList();
+    }
+
+    private TypedQuery<CardProjection> createProjectionQuery(Specification<Card> spec, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<CardProjection> query = cb.createQuery(CardProjection.class);
+        Root<Card> root = query.from(Card.class);
+        query.select(cb.construct(CardProjection.class,
+                root.get("id"),
+                root.get("cardNumber"),
+                root.get("cardHolder"),
+                root.get("expiryDate"),
+                root.get("status"),
+                root.get("balance"),
+                root.get("availableBalance"),
+                root.get("user").get("id"),
+                root.get("dailyWithdrawalLimit")));
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        }
+        return entityManager.createQuery(query);
+    }
+
+    private long count(Specification<Card> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Card> root = query.from(Card.class);
+        query.select(cb.count(root));
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(Collections.emptyList());
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
@@ -0,0 +1,122 @@
+package com.testtask.bankcardmanager.repository;
+
+import com.testtask.bankcardmanager.model.Money;
+import com.testtask.bankcardmanager.model.enums.CardStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Writes deltas to the admin dashboard aggregates. Callers apply them inside the transaction that
+ * changes the cards, so the aggregates commit or roll back with the change. Every aggregate is striped
+ * over {@link #SLOTS} rows and each call picks one at random, which keeps concurrent writers off a single
+ * hot row; readers sum the slots. Rows of {@code dashboard_card_totals} are always written in status
+ * order so two transactions moving cards in opposite directions cannot deadlock.
+ */
+@Repository
+public class DashboardAggregates {
+    public static final int SLOTS = 16;
+
+    private static final String ADD_CARD_TOTALS_SQL =
+            "INSERT INTO dashboard_card_totals (status, slot, card_count, balance) VALUES (?, ?, ?, ?) " +
+            "ON CONFLICT (status, slot) DO UPDATE SET card_count = dashboard_card_totals.card_count + EXCLUDED.card_count, " +
+            "balance = dashboard_card_totals.balance + EXCLUDED.balance";
+    private static final String ADD_DAILY_VOLUME_SQL =
+            "INSERT INTO dashboard_daily_volume (day, slot, transfer_count, transfer_amount, withdrawal_count, withdrawal_amount) " +
+            "VALUES (?, ?, ?, ?, ?, ?) ON CONFLICT (day, slot) DO UPDATE SET " +
+            "transfer_count = dashboard_daily_volume.transfer_count + EXCLUDED.transfer_count, " +
+            "transfer_amount = dashboard_daily_volume.transfer_amount + EXCLUDED.transfer_amount, " +
+            "withdrawal_count = dashboard_daily_volume.withdrawal_count + EXCLUDED.withdrawal_count, " +
+            "withdrawal_amount = dashboard_daily_volume.withdrawal_amount + EXCLUDED.withdrawal_amount";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public DashboardAggregates(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void addCard(CardStatus status, Money balance) {
+        apply(new CardTotalsDelta().add(status, 1, balance));
+    }
+
+    public void moveCard(CardStatus from, CardStatus to, Money balance) {
+        if (from != to) {
+            apply(new CardTotalsDelta().move(from, to, balance));
+        }
+    }
+
+    public void addBalance(CardStatus status, Money delta) {
+        apply(new CardTotalsDelta().add(status, 0, delta));
+    }
+
+    public void apply(CardTotalsDelta delta) {
+        short slot = randomSlot();
+        List<Object[]> args = new ArrayList<>();
+        for (Map.Entry<CardStatus, Long> count : delta.counts.entrySet()) {
+            Money balance = delta.balances.get(count.getKey());
+            if (count.getValue() != 0 || balance.signum() != 0) {
+                args.add(new Object[]{count.getKey().name(), slot, count.getValue(), balance.toBigDecimal()});
+            }
+        }
+        if (!args.isEmpty()) {
+            jdbcTemplate.batchUpdate(ADD_CARD_TOTALS_SQL, args);
+        }
+    }
+
+    public void addTransfer(LocalDate day, Money amount) {
+        addVolume(day, 1, amount, 0, Money.ZERO);
+    }
+
+    public void addWithdrawal(LocalDate day, Money amount) {
+        addVolume(day, 0, Money.ZERO, 1, amount);
+    }
+
+    public void addVolume(LocalDate day, long transferCount, Money transferAmount, long withdrawalCount, Money withdrawalAmount) {
+        jdbcTemplate.update(ADD_DAILY_VOLUME_SQL, Date.valueOf(day), randomSlot(), transferCount, transferAmount.toBigDecimal(),
+                withdrawalCount, withdrawalAmount.toBigDecimal());
+    }
+
+    private static short randomSlot() {
+        return (short) ThreadLocalRandom.current().nextInt(SLOTS);
+    }
+
+    /**
+     * Card count and balance changes per status, accumulated before being written in one batch.
+     */
+    public static final class CardTotalsDelta {
+        private final Map<CardStatus, Long> counts = new EnumMap<>(CardStatus.class);
+        private final Map<CardStatus, Money> balances = new EnumMap<>(CardStatus.class);
+
+        public CardTotalsDelta add(CardStatus status, long count, Money balance) {
+            counts.merge(status, count, Long::sum);
+            balances.merge(status, balance, Money::plus);
+            return this;
+        }
+
+        public CardTotalsDelta move(CardStatus from, CardStatus to, Money balance) {
+            return add(from, -1, balance.negate()).add(to, 1, balance);
+        }
+
+        public boolean isEmpty() {
+            return counts.isEmpty();
+        }
+
+        /**
+         * Net change of the card count of {@code status}.
+         */
+        public int count(CardStatus status) {
+            return counts.getOrDefault(status, 0L).intValue();
+        }
+
+        public int size() {
+            return counts.size();
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.testtask.bankcardmanager.repository;
+
+import com.testtask.bankcardmanager.model.OutboxEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+    List<OutboxEvent> findByFeedPositionGreaterThanOrderByFeedPositionAsc(Long after, Limit limit);
+}
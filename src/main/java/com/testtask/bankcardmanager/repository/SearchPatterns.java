@@ -0,0 +1,26 @@
+package com.testtask.bankcardmanager.repository;
+
+import java.util.Locale;
+
+/**
+ * Builds LIKE patterns for the admin substring filters. The term is lower-cased to match the
+ * {@code lower(column)} trigram indexes and its wildcards are escaped, so a search for {@code "a_b"}
+ * matches that text literally instead of turning into a broader pattern.
+ */
+public final class SearchPatterns {
+    public static final char ESCAPE_CHAR = '\\';
+
+    private SearchPatterns() {
+    }
+
+    public static String contains(String term) {
+        StringBuilder pattern = new StringBuilder(term.length() + 2).append('%');
+        for (char c : term.toLowerCase(Locale.ROOT).toCharArray()) {
+            if (c == '%' || c == '_' || c == ESCAPE_CHAR) {
+                pattern.append(ESCAPE_CHAR);
+            }
+            pattern.append(c);
+        }
+        return pattern.append('%').toString();
+    }
+}
@@ -1,13 +1,62 @@
 package com.testtask.bankcardmanager.repository;
 
 import com.testtask.bankcardmanager.model.Transaction;
+import com.testtask.bankcardmanager.model.enums.TransactionStatus;
+import com.testtask.bankcardmanager.repository.projection.TransactionProjection;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Long>, JpaSpecificationExecutor<Transaction> {
-    List<Transaction> findByCardId(Long cardId);
+    Optional<Transaction> findByReversalOf(Long reversalOf);
+
+    @Query(value = "SELECT nextval('transfer_id_seq')", nativeQuery = true)
+    Long nextTransferId();
+
+    /**
+     * Allocates the id of a row the ledger projector writes later. Read-write even outside a caller's
+     * transaction, since Postgres refuses {@code nextval} in a read-only one.
+     */
+    @Transactional
+    @Query(value = "SELECT nextval('transaction_id_seq')", nativeQuery = true)
+    Long nextTransactionId();
+
+    @Query("select new com.testtask.bankcardmanager.repository.projection.TransactionProjection(t.id, t.card.id, t.amount, t.transactionDate, t.status, t.createdAt) " +
+            "from Transaction t where t.id = :id")
+    Optional<TransactionProjection> findProjectionById(@Param("id") Long id);
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"), @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("select new com.testtask.bankcardmanager.repository.projection.TransactionProjection(t.id, t.card.id, t.amount, t.transactionDate, t.status, t.createdAt) " +
+            "from Transaction t where t.card.id = :cardId order by t.transactionDate desc, t.id desc")
+    Stream<TransactionProjection> streamByCardId(@Param("cardId") Long cardId);
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"), @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("select new com.testtask.bankcardmanager.repository.projection.TransactionProjection(t.id, c.id, t.amount, t.transactionDate, t.status, t.createdAt) " +
+            "from Transaction t join t.card c where c.user.id = :userId order by t.transactionDate desc, t.id desc")
+    Stream<TransactionProjection> streamByUserId(@Param("userId") Long userId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select t.id as id, t.expiresAt as expiresAt from Transaction t where t.status = :status and t.expiresAt is not null")
+    Stream<HoldExpiry> streamHoldExpiries(@Param("status") TransactionStatus status);
+
+    @Query("select t.id from Transaction t where t.status = :status and t.expiresAt < :cutoff order by t.expiresAt")
+    List<Long> findExpiredHoldIds(@Param("status") TransactionStatus status, @Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    interface HoldExpiry {
+        Long getId();
+        LocalDateTime getExpiresAt();
+    }
 }
@@ -0,0 +1,28 @@
+package com.testtask.bankcardmanager.repository;
+
+import com.testtask.bankcardmanager.model.Transfer;
+import com.testtask.bankcardmanager.model.enums.TransactionStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TransferRepository extends JpaRepository<Transfer, Long> {
+    Optional<Transfer> findByIdAndUserId(Long id, Long userId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<Transfer> findWithLockById(Long id);
+
+    List<Transfer> findByStatusOrderByIdAsc(TransactionStatus status);
+
+    @Modifying
+    @Query("update Transfer t set t.status = :status, t.failureReason = :reason, t.updatedAt = CURRENT_TIMESTAMP where t.id = :id and t.status = com.testtask.bankcardmanager.model.enums.TransactionStatus.PENDING")
+    int finishPending(@Param("id") Long id, @Param("status") TransactionStatus status, @Param("reason") String reason);
+}
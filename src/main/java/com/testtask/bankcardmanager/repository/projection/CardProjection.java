@@ -0,0 +1,67 @@
+package com.testtask.bankcardmanager.repository.projection;
+
+import com.testtask.bankcardmanager.model.Money;
+import com.testtask.bankcardmanager.model.enums.CardStatus;
+
+import java.time.YearMonth;
+
+public class CardProjection {
+    private final Long id;
+    private final String cardNumber;
+    private final String cardHolder;
+    private final YearMonth expiryDate;
+    private final CardStatus status;
+    private final Money balance;
+    private final Money availableBalance;
+    private final Long userId;
+    private final Money dailyWithdrawalLimit;
+
+    public CardProjection(Long id, String cardNumber, String cardHolder, YearMonth expiryDate, CardStatus status,
+                          Money balance, Money availableBalance, Long userId, Money dailyWithdrawalLimit) {
+        this.id = id;
+        this.cardNumber = cardNumber;
+        this.cardHolder = cardHolder;
+        this.expiryDate = expiryDate;
+        this.status = status;
+        this.balance = balance;
+        this.availableBalance = availableBalance;
+        this.userId = userId;
+        this.dailyWithdrawalLimit = dailyWithdrawalLimit;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getCardNumber() {
+        return cardNumber;
+    }
+
+    public String getCardHolder() {
+        return cardHolder;
+    }
+
+    public YearMonth getExpiryDate() {
+        return expiryDate;
+    }
+
+    public CardStatus getStatus() {
+        return status;
+    }
+
+    public Money getBalance() {
+        return balance;
+    }
+
+    public Money getAvailableBalance() {
+        return availableBalance;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Money getDailyWithdrawalLimit() {
+        return dailyWithdrawalLimit;
+    }
+}
@@ -0,0 +1,49 @@
+package com.testtask.bankcardmanager.repository.projection;
+
+import com.testtask.bankcardmanager.model.Money;
+import com.testtask.bankcardmanager.model.enums.TransactionStatus;
+
+import java.time.LocalDateTime;
+
+public class TransactionProjection {
+    private final Long id;
+    private final Long cardId;
+    private final Money amount;
+    private final LocalDateTime transactionDate;
+    private final TransactionStatus status;
+    private final LocalDateTime createdAt;
+
+    public TransactionProjection(Long id, Long cardId, Money amount, LocalDateTime transactionDate,
+                                 TransactionStatus status, LocalDateTime createdAt) {
+        this.id = id;
+        this.cardId = cardId;
+        this.amount = amount;
+        this.transactionDate = transactionDate;
+        this.status = status;
+        this.createdAt = createdAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getCardId() {
+        return cardId;
+    }
+
+    public Money getAmount() {
+        return amount;
+    }
+
+    public LocalDateTime getTransactionDate() {
+        return transactionDate;
+    }
+
+    public TransactionStatus getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -0,0 +1,130 @@
+package com.testtask.bankcardmanager.scheduling;
+
+import com.testtask.bankcardmanager.model.Money;
+import com.testtask.bankcardmanager.model.enums.CardStatus;
+import com.testtask.bankcardmanager.repository.DashboardAggregates;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Moves cards whose expiry month has passed to {@code EXPIRED}. Due cards are read from the partial
+ * {@code idx_bank_cards_expiry_date_id} index in (expiry_date, id) order and expired in batches of
+ * {@code card.expiry.batch-size}, one short transaction per batch. The keyset keeps every batch from
+ * rescanning the entries the previous ones left behind. Once a month has been swept the index holds no
+ * due cards, so the daily run is a single empty index probe until the next month rolls over.
+ * <p>
+ * Runs through {@link ClusterJobRunner} split into {@code card.expiry.shards} shards by card id; the
+ * keyset of the last expired batch is the checkpoint an interrupted shard resumes from.
+ */
+@Component
+public class CardExpirySweeper {
+    private static final Logger log = LoggerFactory.getLogger(CardExpirySweeper.class);
+
+    private static final String FIRST_DUE_SQL =
+            "SELECT id, expiry_date FROM bank_cards WHERE status <> 'EXPIRED' AND expiry_date < ? " +
+            "AND mod(id, ?) = ? ORDER BY expiry_date, id LIMIT ?";
+    private static final String NEXT_DUE_SQL =
+            "SELECT id, expiry_date FROM bank_cards WHERE status <> 'EXPIRED' AND expiry_date < ? " +
+            "AND mod(id, ?) = ? AND (expiry_date, id) > (?, ?) ORDER BY expiry_date, id LIMIT ?";
+    private static final String EXPIRE_SQL =
+            "UPDATE bank_cards c SET status = 'EXPIRED', updated_at = ? FROM (SELECT id, status FROM bank_cards " +
+            "WHERE id = ANY(?) AND status <> 'EXPIRED' FOR UPDATE) previous WHERE c.id = previous.id " +
+            "RETURNING previous.status AS previous_status, c.balance";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final DashboardAggregates dashboardAggregates;
+    private final int batchSize;
+
+    public CardExpirySweeper(JdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager,
+                             Clock clock,
+                             DashboardAggregates dashboardAggregates,
+                             @Value("${card.expiry.batch-size}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+        this.dashboardAggregates = dashboardAggregates;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Expires every card of the context's shard whose expiry month is before the current one and returns
+     * how many were expired.
+     */
+    public int expireDueCards(JobContext context) {
+        Date firstValidMonth = Date.valueOf(YearMonth.now(clock).atDay(1));
+        int expired = 0;
+        DueCard last = DueCard.fromCheckpoint(context.getCheckpoint());
+        while (true) {
+            DueCard after = last;
+            List<DueCard> due = after == null
+                    ? jdbcTemplate.query(FIRST_DUE_SQL, (rs, rowNum) -> new DueCard(rs.getLong("id"),
+                            rs.getObject("expiry_date", LocalDate.class)), firstValidMonth,
+                            context.getShardCount(), context.getShard(), batchSize)
+                    : jdbcTemplate.query(NEXT_DUE_SQL, (rs, rowNum) -> new DueCard(rs.getLong("id"),
+                            rs.getObject("expiry_date", LocalDate.class)), firstValidMonth,
+                            context.getShardCount(), context.getShard(), Date.valueOf(after.expiryDate), after.id, batchSize);
+            if (due.isEmpty()) {
+                break;
+            }
+            Long[] ids = due.stream().map(card -> card.id).toArray(Long[]::new);
+            Integer updated = transactionTemplate.execute(status -> {
+                DashboardAggregates.CardTotalsDelta totals = new DashboardAggregates.CardTotalsDelta();
+                jdbcTemplate.query(EXPIRE_SQL, rs -> {
+                    totals.move(CardStatus.valueOf(rs.getString("previous_status")), CardStatus.EXPIRED,
+                            Money.of(rs.getBigDecimal("balance")));
+                }, Timestamp.valueOf(LocalDateTime.now(clock)), ids);
+                dashboardAggregates.apply(totals);
+                return totals.count(CardStatus.EXPIRED);
+            });
+            expired += updated != null ? updated : 0;
+            if (due.size() < batchSize) {
+                break;
+            }
+            last = due.get(due.size() - 1);
+            context.saveCheckpoint(last.toCheckpoint());
+        }
+        if (expired > 0) {
+            log.info("Expired {} cards with an expiry month before {}", expired, firstValidMonth);
+        }
+        return expired;
+    }
+
+    private static final class DueCard {
+        private final long id;
+        private final LocalDate expiryDate;
+
+        private DueCard(long id, LocalDate expiryDate) {
+            this.id = id;
+            this.expiryDate = expiryDate;
+        }
+
+        private static DueCard fromCheckpoint(String checkpoint) {
+            if (checkpoint == null) {
+                return null;
+            }
+            int separator = checkpoint.indexOf('/');
+            return new DueCard(Long.parseLong(checkpoint.substring(separator + 1)),
+                    LocalDate.parse(checkpoint.substring(0, separator)));
+        }
+
+        private String toCheckpoint() {
+            return expiryDate + "/" + id;
+        }
+    }
+}
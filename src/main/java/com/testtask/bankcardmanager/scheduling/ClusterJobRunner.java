@@ -0,0 +1,128 @@
+package com.testtask.bankcardmanager.scheduling;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.lang.management.ManagementFactory;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+/**
+ * Runs scheduled jobs at most once across all nodes. Every (job, shard) pair is guarded by a
+ * session-level advisory lock taken on a connection held for the whole run, so the lock goes away with
+ * the session if the node dies mid-run and no lease ever has to time out. A node that finds a shard
+ * locked skips it, which lets several nodes split a sharded job between them without a coordinator.
+ * The lock holder records the run in {@code scheduled_job}; a failed run keeps its checkpoint so the
+ * next one can resume, a completed run clears it.
+ * <p>
+ * Advisory locks are keyed by {@code (hashtext(job), shard)}, a key space separate from the single
+ * bigint keys used elsewhere.
+ */
+@Component
+public class ClusterJobRunner {
+    private static final Logger log = LoggerFactory.getLogger(ClusterJobRunner.class);
+
+    static final String TRY_LOCK_SQL = "SELECT pg_try_advisory_lock(hashtext(?), ?)";
+    static final String UNLOCK_SQL = "SELECT pg_advisory_unlock(hashtext(?), ?)";
+    private static final String START_RUN_SQL =
+            "INSERT INTO scheduled_job (job_name, shard, shard_count, owner, last_status, last_started_at) " +
+            "VALUES (?, ?, ?, ?, 'RUNNING', ?) ON CONFLICT (job_name, shard) DO UPDATE SET " +
+            "owner = EXCLUDED.owner, last_status = 'RUNNING', last_started_at = EXCLUDED.last_started_at, " +
+            "checkpoint = CASE WHEN scheduled_job.shard_count = EXCLUDED.shard_count THEN scheduled_job.checkpoint END, " +
+            "shard_count = EXCLUDED.shard_count RETURNING checkpoint";
+    private static final String SAVE_CHECKPOINT_SQL =
+            "UPDATE scheduled_job SET checkpoint = ? WHERE job_name = ? AND shard = ?";
+    private static final String FINISH_RUN_SQL =
+            "UPDATE scheduled_job SET last_status = ?, last_finished_at = ?, last_error = ?, " +
+            "checkpoint = CASE WHEN ? THEN NULL ELSE checkpoint END WHERE job_name = ? AND shard = ?";
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final Clock clock;
+    private final String owner = ManagementFactory.getRuntimeMXBean().getName();
+
+    public ClusterJobRunner(DataSource dataSource, JdbcTemplate jdbcTemplate, Clock clock) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = jdbcTemplate;
+        this.clock = clock;
+    }
+
+    /**
+     * Runs an unsharded job unless another node is already running it. Returns whether it ran here.
+     */
+    public boolean run(String job, Runnable body) {
+        return runSharded(job, 1, context -> body.run()) > 0;
+    }
+
+    /**
+     * Runs every shard of the job that no other node currently holds, one after another, and returns
+     * how many shards ran here. A failing shard is recorded and logged without stopping the others.
+     */
+    public int runSharded(String job, int shardCount, Consumer<JobContext> body) {
+        int ran = 0;
+        for (int shard = 0; shard < shardCount; shard++) {
+            if (runShard(job, shard, shardCount, body)) {
+                ran++;
+            }
+        }
+        return ran;
+    }
+
+    private boolean runShard(String job, int shard, int shardCount, Consumer<JobContext> body) {
+        try (Connection lockConnection = dataSource.getConnection()) {
+            if (!advisoryLock(lockConnection, TRY_LOCK_SQL, job, shard)) {
+                log.debug("Job {} shard {} is running on another node, skipping", job, shard);
+                return false;
+            }
+            try {
+                execute(job, shard, shardCount, body);
+            } finally {
+                advisoryLock(lockConnection, UNLOCK_SQL, job, shard);
+            }
+            return true;
+        } catch (SQLException e) {
+            log.error("Could not take the lock of job {} shard {}", job, shard, e);
+            return false;
+        }
+    }
+
+    private void execute(String job, int shard, int shardCount, Consumer<JobContext> body) {
+        String checkpoint = jdbcTemplate.queryForObject(START_RUN_SQL, String.class,
+                job, shard, shardCount, owner, now());
+        JobContext context = new JobContext(shard, shardCount, checkpoint,
+                value -> jdbcTemplate.update(SAVE_CHECKPOINT_SQL, value, job, shard));
+        try {
+            body.accept(context);
+            jdbcTemplate.update(FINISH_RUN_SQL, "COMPLETED", now(), null, true, job, shard);
+        } catch (RuntimeException e) {
+            log.error("Job {} shard {} failed", job, shard, e);
+            String error = String.valueOf(e.getMessage());
+            jdbcTemplate.update(FINISH_RUN_SQL, "FAILED", now(),
+                    error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error, false, job, shard);
+        }
+    }
+
+    private static boolean advisoryLock(Connection connection, String sql, String job, int shard) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, job);
+            statement.setInt(2, shard);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+
+    private Timestamp now() {
+        return Timestamp.valueOf(LocalDateTime.now(clock));
+    }
+}
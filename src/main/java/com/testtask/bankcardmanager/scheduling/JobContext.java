@@ -0,0 +1,41 @@
+package com.testtask.bankcardmanager.scheduling;
+
+import java.util.function.Consumer;
+
+/**
+ * What a job run sees of the cluster: the shard it holds out of {@code shardCount} and the checkpoint
+ * left by the previous run of that shard if it was interrupted. A sharded job only processes rows whose
+ * {@code mod(id, shardCount)} equals its shard.
+ */
+public class JobContext {
+    private final int shard;
+    private final int shardCount;
+    private final Consumer<String> checkpointWriter;
+    private String checkpoint;
+
+    public JobContext(int shard, int shardCount, String checkpoint, Consumer<String> checkpointWriter) {
+        this.shard = shard;
+        this.shardCount = shardCount;
+        this.checkpoint = checkpoint;
+        this.checkpointWriter = checkpointWriter;
+    }
+
+    /**
+     * A context for running a job outside the runner: the only shard, no checkpoint, nothing persisted.
+     */
+    public static JobContext standalone() {
+        return new JobContext(0, 1, null, checkpoint -> { });
+    }
+
+    public int getShard() { return shard; }
+    public int getShardCount() { return shardCount; }
+    public String getCheckpoint() { return checkpoint; }
+
+    /**
+     * Records how far the run got. The checkpoint is cleared once the run completes.
+     */
+    public void saveCheckpoint(String checkpoint) {
+        this.checkpoint = checkpoint;
+        checkpointWriter.accept(checkpoint);
+    }
+}
@@ -0,0 +1,48 @@
+package com.testtask.bankcardmanager.scheduling;
+
+import java.io.Closeable;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fixed set of single-threaded lanes with bounded queues. Tasks with the same key always land on the
+ * same lane, so they run one at a time and in submission order; a full lane rejects new work with
+ * {@link java.util.concurrent.RejectedExecutionException} instead of growing without bound.
+ */
+public class PartitionedExecutor implements Closeable {
+    private final ThreadPoolExecutor[] lanes;
+
+    public PartitionedExecutor(String name, int laneCount, int queueCapacity) {
+        this.lanes = new ThreadPoolExecutor[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            String threadName = name + "-" + i;
+            lanes[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, threadName);
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+        }
+    }
+
+    public void execute(long key, Runnable task) {
+        lanes[(int) Math.floorMod(key, (long) lanes.length)].execute(task);
+    }
+
+    @Override
+    public void close() {
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.shutdown();
+        }
+        for (ThreadPoolExecutor lane : lanes) {
+            try {
+                lane.awaitTermination(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
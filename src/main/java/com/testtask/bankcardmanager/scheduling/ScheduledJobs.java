@@ -0,0 +1,99 @@
+package com.testtask.bankcardmanager.scheduling;
+
+import com.testtask.bankcardmanager.archive.TransactionArchiver;
+import com.testtask.bankcardmanager.event.LedgerOutboxRelay;
+import com.testtask.bankcardmanager.service.DashboardService;
+import com.testtask.bankcardmanager.service.impl.HoldServiceImpl;
+import com.testtask.bankcardmanager.service.impl.StatementServiceImpl;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Triggers of the cluster-wide batch jobs. Every node fires them on its own schedule and
+ * {@link ClusterJobRunner} lets only one node run a job (or each shard of it) at a time. The ledger
+ * outbox relay itself is not listed here: it already serialises its batches with its own advisory
+ * lock. Only its retention purge runs as a job.
+ */
+@Component
+public class ScheduledJobs {
+    static final String PARTITION_MAINTENANCE = "transaction-partition-maintenance";
+    static final String HOLD_EXPIRY_SWEEP = "hold-expiry-sweep";
+    static final String MONTHLY_STATEMENTS = "monthly-statements";
+    static final String TRANSACTION_ARCHIVE = "transaction-archive";
+    static final String CARD_EXPIRY = "card-expiry";
+    static final String DASHBOARD_VERIFICATION = "dashboard-verification";
+    static final String OUTBOX_RETENTION = "ledger-outbox-retention";
+
+    private final ClusterJobRunner jobRunner;
+    private final TransactionPartitionManager partitionManager;
+    private final HoldServiceImpl holdService;
+    private final StatementServiceImpl statementService;
+    private final TransactionArchiver transactionArchiver;
+    private final CardExpirySweeper cardExpirySweeper;
+    private final DashboardService dashboardService;
+    private final LedgerOutboxRelay ledgerOutboxRelay;
+    private final int cardExpiryShards;
+
+    public ScheduledJobs(ClusterJobRunner jobRunner,
+                         TransactionPartitionManager partitionManager,
+                         HoldServiceImpl holdService,
+                         StatementServiceImpl statementService,
+                         TransactionArchiver transactionArchiver,
+                         CardExpirySweeper cardExpirySweeper,
+                         DashboardService dashboardService,
+                         LedgerOutboxRelay ledgerOutboxRelay,
+                         @Value("${card.expiry.shards}") int cardExpiryShards) {
+        this.jobRunner = jobRunner;
+        this.partitionManager = partitionManager;
+        this.holdService = holdService;
+        this.statementService = statementService;
+        this.transactionArchiver = transactionArchiver;
+        this.cardExpirySweeper = cardExpirySweeper;
+        this.dashboardService = dashboardService;
+        this.ledgerOutboxRelay = ledgerOutboxRelay;
+        this.cardExpiryShards = cardExpiryShards;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        maintainPartitions();
+    }
+
+    @Scheduled(cron = "${transaction.partition.cron}")
+    public void maintainPartitions() {
+        jobRunner.run(PARTITION_MAINTENANCE, partitionManager::maintainPartitions);
+    }
+
+    @Scheduled(initialDelayString = "${hold.expiry.sweep-interval-ms}", fixedDelayString = "${hold.expiry.sweep-interval-ms}")
+    public void sweepExpiredHolds() {
+        jobRunner.run(HOLD_EXPIRY_SWEEP, holdService::sweepExpiredHolds);
+    }
+
+    @Scheduled(cron = "${statement.cron}")
+    public void generateStatements() {
+        jobRunner.run(MONTHLY_STATEMENTS, statementService::generatePreviousMonth);
+    }
+
+    @Scheduled(cron = "${archive.cron}")
+    public void archiveTransactions() {
+        jobRunner.run(TRANSACTION_ARCHIVE, transactionArchiver::archiveExpiredMonths);
+    }
+
+    @Scheduled(cron = "${card.expiry.cron}")
+    public void expireCards() {
+        jobRunner.runSharded(CARD_EXPIRY, cardExpiryShards, cardExpirySweeper::expireDueCards);
+    }
+
+    @Scheduled(cron = "${dashboard.verify.cron}")
+    public void verifyDashboard() {
+        jobRunner.run(DASHBOARD_VERIFICATION, dashboardService::verifyCardTotals);
+    }
+
+    @Scheduled(cron = "${outbox.retention.cron}")
+    public void purgeLedgerOutbox() {
+        jobRunner.run(OUTBOX_RETENTION, ledgerOutboxRelay::purgePublished);
+    }
+}
@@ -0,0 +1,133 @@
+package com.testtask.bankcardmanager.scheduling;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.Clock;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Keeps the monthly partitions of {@code transaction} ahead of the clock. Old months are removed by
+ * {@link com.testtask.bankcardmanager.archive.TransactionArchiver}, which drops a partition only after
+ * archiving it. Runs on one node at a time through {@link ClusterJobRunner}.
+ * <p>
+ * Rows dated outside every monthly partition land in {@value #DEFAULT_PARTITION} instead of failing the
+ * insert. Each run gives every month found there its own partition: the default partition is detached,
+ * the month is created, its rows are moved over and the default is attached again, all in one
+ * transaction, because Postgres refuses to create a partition whose range already has rows in the default.
+ */
+@Component
+public class TransactionPartitionManager {
+    private static final Logger log = LoggerFactory.getLogger(TransactionPartitionManager.class);
+
+    static final String PARTITION_PREFIX = "transaction_p";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private static final String LIST_PARTITIONS_SQL =
+            "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+            "WHERE i.inhparent = 'transaction'::regclass";
+    private static final String CREATE_PARTITION_SQL =
+            "CREATE TABLE %s PARTITION OF transaction FOR VALUES FROM ('%s') TO ('%s')";
+    static final String DEFAULT_PARTITION = "transaction_default";
+    private static final String DETACH_DEFAULT_PARTITION_SQL =
+            "ALTER TABLE transaction DETACH PARTITION " + DEFAULT_PARTITION;
+    private static final String SELECT_DEFAULT_MONTHS_SQL =
+            "SELECT DISTINCT date_trunc('month', transaction_date)::date FROM " + DEFAULT_PARTITION;
+    private static final String MOVE_DEFAULT_ROWS_SQL =
+            "WITH moved AS (DELETE FROM " + DEFAULT_PARTITION + " WHERE transaction_date >= ? AND transaction_date < ? RETURNING *) " +
+            "INSERT INTO transaction SELECT * FROM moved";
+    private static final String ATTACH_DEFAULT_PARTITION_SQL =
+            "ALTER TABLE transaction ATTACH PARTITION " + DEFAULT_PARTITION + " DEFAULT";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final int monthsAhead;
+
+    public TransactionPartitionManager(JdbcTemplate jdbcTemplate,
+                                       PlatformTransactionManager transactionManager,
+                                       Clock clock,
+                                       @Value("${transaction.partition.months-ahead}") int monthsAhead) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+        this.monthsAhead = monthsAhead;
+    }
+
+    public void maintainPartitions() {
+        Set<YearMonth> attached = getAttachedMonths();
+        YearMonth current = YearMonth.now(clock);
+        Set<YearMonth> inDefault = new TreeSet<>();
+        for (Date month : jdbcTemplate.queryForList(SELECT_DEFAULT_MONTHS_SQL, Date.class)) {
+            inDefault.add(YearMonth.from(month.toLocalDate()));
+        }
+        for (YearMonth month : inDefault) {
+            splitFromDefault(month);
+            attached.add(month);
+        }
+        for (int i = 0; i <= monthsAhead; i++) {
+            YearMonth month = current.plusMonths(i);
+            if (!attached.contains(month)) {
+                createPartition(month);
+            }
+        }
+    }
+
+    private void splitFromDefault(YearMonth month) {
+        int moved = transactionTemplate.execute(status -> {
+            jdbcTemplate.execute(DETACH_DEFAULT_PARTITION_SQL);
+            createPartition(month);
+            int rows = jdbcTemplate.update(MOVE_DEFAULT_ROWS_SQL, month.atDay(1), month.plusMonths(1).atDay(1));
+            jdbcTemplate.execute(ATTACH_DEFAULT_PARTITION_SQL);
+            return rows;
+        });
+        log.warn("Moved {} transactions dated {} out of the default partition", moved, month);
+    }
+
+    /**
+     * Fails if a table of that name already exists, e.g. one left detached by hand: attaching or dropping
+     * it is an operator's decision, and silently skipping it would leave the month without a partition.
+     */
+    private void createPartition(YearMonth month) {
+        jdbcTemplate.execute(String.format(CREATE_PARTITION_SQL,
+                partitionName(month), month.atDay(1), month.plusMonths(1).atDay(1)));
+        log.info("Created transaction partition {}", partitionName(month));
+    }
+
+    public Set<YearMonth> getAttachedMonths() {
+        Set<YearMonth> attached = new HashSet<>();
+        for (String name : jdbcTemplate.queryForList(LIST_PARTITIONS_SQL, String.class)) {
+            YearMonth month = parseMonth(name);
+            if (month != null) {
+                attached.add(month);
+            }
+        }
+        return attached;
+    }
+
+    public static String partitionName(YearMonth month) {
+        return PARTITION_PREFIX + month.format(PARTITION_SUFFIX);
+    }
+
+    static YearMonth parseMonth(String partitionName) {
+        if (!partitionName.startsWith(PARTITION_PREFIX)) {
+            return null;
+        }
+        try {
+            return YearMonth.parse(partitionName.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
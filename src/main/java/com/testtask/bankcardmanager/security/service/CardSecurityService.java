@@ -1,6 +1,5 @@
 package com.testtask.bankcardmanager.security.service;
 
-import com.testtask.bankcardmanager.model.Card;
 import com.testtask.bankcardmanager.model.User;
 import com.testtask.bankcardmanager.repository.CardRepository;
 import com.testtask.bankcardmanager.repository.UserRepository;
@@ -38,12 +37,7 @@ public class CardSecurityService {
         }
         Long currentUserId = userOpt.get().getId();
 
-        Optional<Card> cardOpt = cardRepository.findById(cardId);
-        if (cardOpt.isEmpty()) {
-            return false;
-        }
-
-        Card card = cardOpt.get();
-        return card.getUser() != null && card.getUser().getId().equals(currentUserId);
+        Optional<Long> ownerId = cardRepository.findOwnerIdById(cardId);
+        return ownerId.isPresent() && ownerId.get().equals(currentUserId);
     }
 }
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.testtask.bankcardmanager.service;
+
+import com.testtask.bankcardmanager.dto.response.CardDailySummaryResponse;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface CardDailySummaryService {
+    List<CardDailySummaryResponse> getDailySummaries(Long cardId, LocalDate from, LocalDate to);
+    int rebuildDailySummaries(LocalDate from, LocalDate to);
+}
@@ -0,0 +1,10 @@
+package com.testtask.bankcardmanager.service;
+
+import com.testtask.bankcardmanager.dto.request.ImportFormat;
+import com.testtask.bankcardmanager.dto.response.CardImportResponse;
+
+import java.io.InputStream;
+
+public interface CardImportService {
+    CardImportResponse importCards(InputStream body, ImportFormat format);
+}
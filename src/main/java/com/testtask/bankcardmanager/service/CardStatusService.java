@@ -0,0 +1,8 @@
+package com.testtask.bankcardmanager.service;
+
+import com.testtask.bankcardmanager.dto.request.BulkCardStatusRequest;
+import com.testtask.bankcardmanager.dto.response.BulkCardStatusResponse;
+
+public interface CardStatusService {
+    BulkCardStatusResponse updateStatuses(BulkCardStatusRequest request);
+}
@@ -0,0 +1,9 @@
+package com.testtask.bankcardmanager.service;
+
+import com.testtask.bankcardmanager.dto.response.DashboardResponse;
+
+public interface DashboardService {
+    DashboardResponse getDashboard(int days);
+
+    int verifyCardTotals();
+}
@@ -0,0 +1,10 @@
+package com.testtask.bankcardmanager.service;
+
+import com.testtask.bankcardmanager.dto.request.PlaceHoldRequest;
+import com.testtask.bankcardmanager.dto.response.HoldResponse;
+
+public interface HoldService {
+    HoldResponse placeHold(Long cardId, PlaceHoldRequest request);
+    HoldResponse captureHold(Long holdId);
+    HoldResponse releaseHold(Long holdId);
+}
@@ -0,0 +1,7 @@
+package com.testtask.bankcardmanager.service;
+
+import com.testtask.bankcardmanager.dto.response.LedgerEventPage;
+
+public interface LedgerEventService {
+    LedgerEventPage getEvents(long after, int limit);
+}
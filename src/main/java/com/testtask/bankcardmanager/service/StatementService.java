@@ -0,0 +1,8 @@
+package com.testtask.bankcardmanager.service;
+
+import java.time.YearMonth;
+
+public interface StatementService {
+    void startStatementRun(YearMonth period);
+    int generateStatements(YearMonth period);
+}
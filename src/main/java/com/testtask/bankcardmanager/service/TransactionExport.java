@@ -0,0 +1,9 @@
+package com.testtask.bankcardmanager.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+@FunctionalInterface
+public interface TransactionExport {
+    void writeTo(OutputStream out) throws IOException;
+}
@@ -0,0 +1,8 @@
+package com.testtask.bankcardmanager.service;
+
+import com.testtask.bankcardmanager.dto.request.ExportFormat;
+
+public interface TransactionExportService {
+    TransactionExport exportCardTransactions(Long cardId, ExportFormat format);
+    TransactionExport exportCurrentUserTransactions(ExportFormat format);
+}
@@ -1,11 +1,18 @@
 package com.testtask.bankcardmanager.service;
 
+import com.testtask.bankcardmanager.dto.request.BulkReversalRequest;
+import com.testtask.bankcardmanager.dto.request.TransactionSearchRequest;
+import com.testtask.bankcardmanager.dto.response.BulkReversalResponse;
+import com.testtask.bankcardmanager.dto.response.CursorPage;
 import com.testtask.bankcardmanager.dto.response.TransactionResponse;
 
 import java.util.List;
 
 public interface TransactionService {
     TransactionResponse getTransactionById(Long id);
-    List<TransactionResponse> getAllTransactionsByCardId(Long cardId);
-    List<TransactionResponse> getTransactionsForCurrentUser();
+    CursorPage<TransactionResponse> getCardTransactions(Long cardId, String cursor, int size);
+    CursorPage<TransactionResponse> getTransactionsForCurrentUser(String cursor, int size);
+    CursorPage<TransactionResponse> searchTransactions(TransactionSearchRequest request, String cursor, int size);
+    TransactionResponse reverseTransaction(Long id);
+    BulkReversalResponse reverseTransactions(BulkReversalRequest request);
 }
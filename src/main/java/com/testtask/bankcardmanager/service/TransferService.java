@@ -0,0 +1,9 @@
+package com.testtask.bankcardmanager.service;
+
+import com.testtask.bankcardmanager.dto.request.TransferRequest;
+import com.testtask.bankcardmanager.dto.response.TransferStatusResponse;
+
+public interface TransferService {
+    TransferStatusResponse submitTransfer(TransferRequest request);
+    TransferStatusResponse getTransferStatus(Long transferId);
+}
@@ -0,0 +1,11 @@
+package com.testtask.bankcardmanager.service;
+
+import com.testtask.bankcardmanager.dto.response.UserErasureResponse;
+
+public interface UserErasureService {
+    UserErasureResponse startErasure(Long userId);
+
+    UserErasureResponse getErasure(Long userId);
+
+    UserErasureResponse eraseUser(Long userId);
+}
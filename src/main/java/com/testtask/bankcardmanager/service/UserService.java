@@ -2,6 +2,7 @@ package com.testtask.bankcardmanager.service;
 
 import com.testtask.bankcardmanager.dto.request.CreateUserRequest;
 import com.testtask.bankcardmanager.dto.request.GetUsersRequest;
+import com.testtask.bankcardmanager.dto.response.ScrollPage;
 import com.testtask.bankcardmanager.dto.response.UserResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -10,5 +11,6 @@ public interface UserService {
     UserResponse createUser(CreateUserRequest request);
     UserResponse getUserById(Long id);
     Page<UserResponse> getAllUsers(GetUsersRequest getUsersRequest, Pageable pageable);
+    ScrollPage<UserResponse> scrollUsers(GetUsersRequest getUsersRequest, String cursor, int size, boolean includeTotal);
     UserResponse updateUserStatus(Long id, Boolean locked);
 }
\ No newline at end of file
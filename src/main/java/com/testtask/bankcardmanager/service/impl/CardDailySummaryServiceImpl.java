@@ -0,0 +1,91 @@
+package com.testtask.bankcardmanager.service.impl;
+
+import com.testtask.bankcardmanager.archive.TransactionArchive;
+import com.testtask.bankcardmanager.dto.response.CardDailySummaryResponse;
+import com.testtask.bankcardmanager.exception.CardOperationException;
+import com.testtask.bankcardmanager.exception.ResourceNotFoundException;
+import com.testtask.bankcardmanager.repository.CardDailySummaryRepository;
+import com.testtask.bankcardmanager.repository.CardRepository;
+import com.testtask.bankcardmanager.service.CardDailySummaryService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Reads the per-card daily rollup that the posting paths maintain in their own transactions, and
+ * rebuilds it from raw {@code transaction} rows for backfill. A rebuild replaces one day per
+ * transaction, so it never holds locks over the whole range.
+ */
+@Service
+public class CardDailySummaryServiceImpl implements CardDailySummaryService {
+    private static final Logger log = LoggerFactory.getLogger(CardDailySummaryServiceImpl.class);
+    private static final long MAX_RANGE_DAYS = 366;
+
+    private final CardDailySummaryRepository summaryRepository;
+    private final CardRepository cardRepository;
+    private final TransactionArchive transactionArchive;
+    private final TransactionTemplate transactionTemplate;
+
+    public CardDailySummaryServiceImpl(CardDailySummaryRepository summaryRepository, CardRepository cardRepository,
+                                       TransactionArchive transactionArchive, PlatformTransactionManager transactionManager) {
+        this.summaryRepository = summaryRepository;
+        this.cardRepository = cardRepository;
+        this.transactionArchive = transactionArchive;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @PreAuthorize("hasAuthority('ROLE_ADMIN') or @cardSecurityService.isOwner(authentication, #cardId)")
+    public List<CardDailySummaryResponse> getDailySummaries(Long cardId, LocalDate from, LocalDate to) {
+        requireValidRange(from, to);
+        if (!cardRepository.existsById(cardId)) {
+            throw new ResourceNotFoundException("The card with id: " + cardId + " not found.");
+        }
+        return summaryRepository.findByCardIdAndSummaryDateBetweenOrderBySummaryDateAsc(cardId, from, to).stream()
+                .map(summary -> new CardDailySummaryResponse(summary.getSummaryDate(), summary.getTransactionCount(),
+                        summary.getDebitTotal(), summary.getCreditTotal()))
+                .toList();
+    }
+
+    @Override
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public int rebuildDailySummaries(LocalDate from, LocalDate to) {
+        requireValidRange(from, to);
+        for (YearMonth month = YearMonth.from(from); !month.isAfter(YearMonth.from(to)); month = month.plusMonths(1)) {
+            if (transactionArchive.isArchived(month)) {
+                throw new CardOperationException("Transactions of " + month + " are archived, their summaries cannot be rebuilt");
+            }
+        }
+        int days = 0;
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            LocalDate current = day;
+            Integer rows = transactionTemplate.execute(status -> {
+                summaryRepository.deleteDay(current);
+                return summaryRepository.insertDayFromTransactions(current, current.atStartOfDay(), current.plusDays(1).atStartOfDay());
+            });
+            log.debug("Rebuilt {} card summaries for {}", rows, current);
+            days++;
+        }
+        log.info("Rebuilt card daily summaries from {} to {}", from, to);
+        return days;
+    }
+
+    private static void requireValidRange(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new CardOperationException("The end of the range must not be before its start");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new CardOperationException("The range must not exceed " + MAX_RANGE_DAYS + " days");
+        }
+    }
+}
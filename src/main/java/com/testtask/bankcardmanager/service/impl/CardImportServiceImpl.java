@@ -0,0 +1,368 @@
+package com.testtask.bankcardmanager.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.testtask.bankcardmanager.dto.request.CreateCardRequest;
+import com.testtask.bankcardmanager.dto.request.ImportFormat;
+import com.testtask.bankcardmanager.dto.response.CardImportError;
+import com.testtask.bankcardmanager.dto.response.CardImportResponse;
+import com.testtask.bankcardmanager.exception.CardOperationException;
+import com.testtask.bankcardmanager.model.Money;
+import com.testtask.bankcardmanager.model.converter.CardNumberAttributeConverter;
+import com.testtask.bankcardmanager.model.enums.CardStatus;
+import com.testtask.bankcardmanager.repository.DashboardAggregates;
+import com.testtask.bankcardmanager.service.CardImportService;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.postgresql.PGConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk card issuance. The upload is read line by line and handled in chunks of
+ * {@code card-import.chunk-size} rows: every chunk is validated and its card numbers encrypted on a
+ * bounded pool, owners are resolved with one {@code id = ANY(?)} lookup for the ids not seen before,
+ * and the accepted rows are loaded with a single {@code COPY} in their own transaction. A rejected row
+ * never stops the import; a chunk the database refuses as a whole is reported row by row.
+ * <p>
+ * Card numbers are encrypted with a random IV, so duplicates are only detected within one upload.
+ */
+@Service
+public class CardImportServiceImpl implements CardImportService {
+    private static final Logger log = LoggerFactory.getLogger(CardImportServiceImpl.class);
+
+    private static final String CSV_HEADER = "user_id,card_number,card_holder,expiry_date,status,balance";
+    private static final int CSV_COLUMNS = 6;
+    private static final String EXISTING_USERS_SQL = "SELECT id FROM users WHERE id = ANY(?)";
+    private static final String COPY_SQL =
+            "COPY bank_cards (user_id, card_number_encrypt, card_holder, expiry_date, status, balance, available_balance, " +
+            "daily_withdrawal_limit) FROM STDIN WITH (FORMAT csv)";
+    private static final DateTimeFormatter EXPIRY_DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CardNumberAttributeConverter cardNumberConverter;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+    private final DashboardAggregates dashboardAggregates;
+    private final int workers;
+    private final int chunkSize;
+    private final int maxReportedErrors;
+    private final ExecutorService pool;
+
+    public CardImportServiceImpl(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                 CardNumberAttributeConverter cardNumberConverter, Validator validator,
+                                 ObjectMapper objectMapper, Clock clock, DashboardAggregates dashboardAggregates,
+                                 @Value("${card-import.workers}") int workers,
+                                 @Value("${card-import.chunk-size}") int chunkSize,
+                                 @Value("${card-import.max-reported-errors}") int maxReportedErrors) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.cardNumberConverter = cardNumberConverter;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+        this.dashboardAggregates = dashboardAggregates;
+        this.workers = workers;
+        this.chunkSize = chunkSize;
+        this.maxReportedErrors = maxReportedErrors;
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("card-import-");
+        threadFactory.setDaemon(true);
+        this.pool = Executors.newFixedThreadPool(workers, threadFactory);
+    }
+
+    @Override
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public CardImportResponse importCards(InputStream body, ImportFormat format) {
+        ImportReport report = new ImportReport(maxReportedErrors);
+        Set<String> seenCardNumbers = new HashSet<>();
+        Map<Long, Boolean> knownUsers = new HashMap<>();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            long lineNumber = 0;
+            String line;
+            if (format == ImportFormat.CSV) {
+                line = reader.readLine();
+                lineNumber++;
+                if (line == null || !CSV_HEADER.equals(line.strip())) {
+                    throw new CardOperationException("A CSV card import must start with the header: " + CSV_HEADER);
+                }
+            }
+            List<ImportRow> chunk = new ArrayList<>(chunkSize);
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                report.received++;
+                try {
+                    chunk.add(new ImportRow(lineNumber, format == ImportFormat.CSV ? parseCsv(line) : parseJson(line)));
+                } catch (JsonProcessingException | IllegalArgumentException e) {
+                    report.fail(lineNumber, "Malformed row: " + e.getMessage());
+                }
+                if (chunk.size() >= chunkSize) {
+                    loadChunk(chunk, seenCardNumbers, knownUsers, report);
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                loadChunk(chunk, seenCardNumbers, knownUsers, report);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read the card import", e);
+        }
+
+        report.errors.sort(Comparator.comparingLong(CardImportError::getLine));
+        log.info("Card import finished: {} rows received, {} cards issued, {} rows rejected",
+                report.received, report.imported, report.failed);
+        return new CardImportResponse(report.received, report.imported, report.failed, report.errors);
+    }
+
+    private void loadChunk(List<ImportRow> chunk, Set<String> seenCardNumbers, Map<Long, Boolean> knownUsers,
+                           ImportReport report) {
+        prepareInParallel(chunk);
+
+        List<ImportRow> valid = new ArrayList<>(chunk.size());
+        for (ImportRow row : chunk) {
+            if (row.error != null) {
+                report.fail(row.line, row.error);
+            } else if (!seenCardNumbers.add(row.request.getCardNumber())) {
+                report.fail(row.line, "Duplicate card number in this import");
+            } else {
+                valid.add(row);
+            }
+        }
+
+        Long[] unknownIds = valid.stream()
+                .map(row -> row.request.getUserId())
+                .filter(userId -> !knownUsers.containsKey(userId))
+                .distinct()
+                .toArray(Long[]::new);
+        if (unknownIds.length > 0) {
+            Set<Long> existing = new HashSet<>(jdbcTemplate.queryForList(EXISTING_USERS_SQL, Long.class, (Object) unknownIds));
+            for (Long userId : unknownIds) {
+                knownUsers.put(userId, existing.contains(userId));
+            }
+        }
+
+        List<ImportRow> accepted = new ArrayList<>(valid.size());
+        for (ImportRow row : valid) {
+            if (knownUsers.get(row.request.getUserId())) {
+                accepted.add(row);
+            } else {
+                report.fail(row.line, "User not found with ID: " + row.request.getUserId());
+            }
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        try {
+            copyRows(accepted);
+            report.imported += accepted.size();
+        } catch (DataAccessException e) {
+            String reason = "Rejected by the database: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            log.warn("Card import chunk of {} rows was rejected", accepted.size(), e);
+            accepted.forEach(row -> report.fail(row.line, reason));
+        }
+    }
+
+    private void prepareInParallel(List<ImportRow> chunk) {
+        int sliceSize = Math.max(1, (chunk.size() + workers - 1) / workers);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int from = 0; from < chunk.size(); from += sliceSize) {
+            List<ImportRow> slice = chunk.subList(from, Math.min(chunk.size(), from + sliceSize));
+            futures.add(pool.submit(() -> slice.forEach(this::prepare)));
+        }
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Card import was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to prepare card import rows", e.getCause());
+        }
+    }
+
+    private void prepare(ImportRow row) {
+        Set<ConstraintViolation<CreateCardRequest>> violations = validator.validate(row.request);
+        if (!violations.isEmpty()) {
+            row.error = violations.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining("; "));
+            return;
+        }
+        try {
+            row.expiry = YearMonth.parse(row.request.getExpiryDate(), EXPIRY_DATE_FORMATTER);
+            if (row.expiry.isBefore(YearMonth.now(clock))) {
+                row.error = "Expiry date cannot be in the past";
+                return;
+            }
+        } catch (DateTimeParseException e) {
+            row.error = "Invalid expiry date format. Expected YYYY-MM.";
+            return;
+        }
+        row.encryptedCardNumber = cardNumberConverter.convertToDatabaseColumn(row.request.getCardNumber());
+    }
+
+    private void copyRows(List<ImportRow> rows) {
+        StringBuilder data = new StringBuilder(rows.size() * 160);
+        DashboardAggregates.CardTotalsDelta totals = new DashboardAggregates.CardTotalsDelta();
+        for (ImportRow row : rows) {
+            CreateCardRequest request = row.request;
+            totals.add(request.getStatus(), 1, Money.of(request.getBalance()));
+            String balance = request.getBalance().toPlainString();
+            data.append(request.getUserId()).append(',')
+                    .append(quote(row.encryptedCardNumber)).append(',')
+                    .append(quote(request.getCardHolder())).append(',')
+                    .append(row.expiry.atDay(1)).append(',')
+                    .append(request.getStatus().name()).append(',')
+                    .append(balance).append(',')
+                    .append(balance).append(',')
+                    .append("0\n");
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+                try {
+                    return connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_SQL, new StringReader(data.toString()));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            dashboardAggregates.apply(totals);
+        });
+    }
+
+    private CreateCardRequest parseJson(String line) throws JsonProcessingException {
+        CreateCardRequest request = objectMapper.readValue(line, CreateCardRequest.class);
+        if (request == null) {
+            throw new IllegalArgumentException("expected a JSON object");
+        }
+        return request;
+    }
+
+    private static CreateCardRequest parseCsv(String line) {
+        List<String> fields = splitCsv(line);
+        if (fields.size() != CSV_COLUMNS) {
+            throw new IllegalArgumentException("expected " + CSV_COLUMNS + " columns, got " + fields.size());
+        }
+        CreateCardRequest request = new CreateCardRequest();
+        request.setUserId(fields.get(0).isEmpty() ? null : Long.valueOf(fields.get(0)));
+        request.setCardNumber(fields.get(1));
+        request.setCardHolder(fields.get(2));
+        request.setExpiryDate(fields.get(3));
+        request.setStatus(fields.get(4).isEmpty() ? null : CardStatus.valueOf(fields.get(4)));
+        request.setBalance(fields.get(5).isEmpty() ? null : new BigDecimal(fields.get(5)));
+        return request;
+    }
+
+    private static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>(CSV_COLUMNS);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString().strip());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("unterminated quoted field");
+        }
+        fields.add(field.toString().strip());
+        return fields;
+    }
+
+    private static String quote(String value) {
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private static final class ImportRow {
+        private final long line;
+        private final CreateCardRequest request;
+        private String encryptedCardNumber;
+        private YearMonth expiry;
+        private String error;
+
+        private ImportRow(long line, CreateCardRequest request) {
+            this.line = line;
+            this.request = request;
+        }
+    }
+
+    private static final class ImportReport {
+        private final int maxErrors;
+        private final List<CardImportError> errors = new ArrayList<>();
+        private int received;
+        private int imported;
+        private int failed;
+
+        private ImportReport(int maxErrors) {
+            this.maxErrors = maxErrors;
+        }
+
+        private void fail(long line, String message) {
+            failed++;
+            if (errors.size() < maxErrors) {
+                errors.add(new CardImportError(line, message));
+            }
+        }
+    }
+}
@@ -1,35 +1,57 @@
 package com.testtask.bankcardmanager.service.impl;
 
 import com.testtask.bankcardmanager.dto.request.*;
+import com.testtask.bankcardmanager.dto.response.AccountEventResponse;
 import com.testtask.bankcardmanager.dto.response.CardResponse;
+import com.testtask.bankcardmanager.dto.response.ScrollPage;
 import com.testtask.bankcardmanager.dto.response.TransactionResponse;
 import com.testtask.bankcardmanager.exception.CardOperationException;
 import com.testtask.bankcardmanager.exception.DailyLimitExceededException;
 import com.testtask.bankcardmanager.exception.InsufficientFundsException;
+import com.testtask.bankcardmanager.event.AccountEvent;
+import com.testtask.bankcardmanager.event.AccountEventBus;
 import com.testtask.bankcardmanager.exception.ResourceNotFoundException;
+import com.testtask.bankcardmanager.ledger.LedgerEngine;
+import com.testtask.bankcardmanager.ledger.LedgerEntry;
 import com.testtask.bankcardmanager.model.Card;
+import com.testtask.bankcardmanager.model.Money;
+import com.testtask.bankcardmanager.model.OutboxEvent;
 import com.testtask.bankcardmanager.model.Transaction;
 import com.testtask.bankcardmanager.model.User;
 import com.testtask.bankcardmanager.model.enums.CardStatus;
+import com.testtask.bankcardmanager.model.enums.LedgerEventType;
 import com.testtask.bankcardmanager.model.enums.TransactionStatus;
+import com.testtask.bankcardmanager.pagination.IdCursor;
+import com.testtask.bankcardmanager.repository.CardDailySummaryRepository;
 import com.testtask.bankcardmanager.repository.CardRepository;
+import com.testtask.bankcardmanager.repository.DashboardAggregates;
+import com.testtask.bankcardmanager.repository.OutboxEventRepository;
+import com.testtask.bankcardmanager.repository.SearchPatterns;
+import com.testtask.bankcardmanager.repository.TableStatistics;
 import com.testtask.bankcardmanager.repository.TransactionRepository;
+import com.testtask.bankcardmanager.repository.projection.CardProjection;
 import com.testtask.bankcardmanager.repository.UserRepository;
 import com.testtask.bankcardmanager.service.CardService;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.validation.ValidationException;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.lang.Nullable;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.math.BigDecimal;
 import java.time.Clock;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
@@ -42,14 +64,36 @@ public class CardServiceImpl implements CardService {
     private final CardRepository cardRepository;
     private final UserRepository userRepository;
     private final TransactionRepository transactionRepository;
+    private final CardDailySummaryRepository cardDailySummaryRepository;
+    private final OutboxEventRepository outboxEventRepository;
     private final Clock clock;
+    private final LedgerEngine ledgerEngine;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AccountEventBus accountEventBus;
+    private final TableStatistics tableStatistics;
+    private final DashboardAggregates dashboardAggregates;
+    private final TransactionTemplate transactionTemplate;
+    private static final String CARD_TABLE = "bank_cards";
+    private static final int MAX_PAGE_SIZE = 100;
     private static final DateTimeFormatter EXPIRY_DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM");
 
-    public CardServiceImpl(CardRepository cardRepository, UserRepository userRepository, TransactionRepository transactionRepository, Clock clock) {
+    public CardServiceImpl(CardRepository cardRepository, UserRepository userRepository, TransactionRepository transactionRepository,
+                           CardDailySummaryRepository cardDailySummaryRepository, OutboxEventRepository outboxEventRepository, Clock clock,
+                           @Nullable LedgerEngine ledgerEngine, ApplicationEventPublisher eventPublisher,
+                           AccountEventBus accountEventBus, TableStatistics tableStatistics, DashboardAggregates dashboardAggregates,
+                           PlatformTransactionManager transactionManager) {
         this.cardRepository = cardRepository;
         this.userRepository = userRepository;
         this.transactionRepository = transactionRepository;
+        this.cardDailySummaryRepository = cardDailySummaryRepository;
+        this.outboxEventRepository = outboxEventRepository;
         this.clock = clock;
+        this.ledgerEngine = ledgerEngine;
+        this.eventPublisher = eventPublisher;
+        this.accountEventBus = accountEventBus;
+        this.tableStatistics = tableStatistics;
+        this.dashboardAggregates = dashboardAggregates;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     @Override
@@ -63,8 +107,9 @@ public class CardServiceImpl implements CardService {
         card.setCardNumber(request.getCardNumber());
         card.setCardHolder(request.getCardHolder());
         card.setStatus(request.getStatus());
-        card.setBalance(request.getBalance());
-        card.setDailyWithdrawalLimit(BigDecimal.ZERO);
+        card.setBalance(Money.of(request.getBalance()));
+        card.setAvailableBalance(card.getBalance());
+        card.setDailyWithdrawalLimit(Money.ZERO);
 
         try {
             YearMonth expiry = YearMonth.parse(request.getExpiryDate(), EXPIRY_DATE_FORMATTER);
@@ -79,22 +124,62 @@ public class CardServiceImpl implements CardService {
         }
 
         Card savedCard = cardRepository.save(card);
+        dashboardAggregates.addCard(savedCard.getStatus(), savedCard.getBalance());
         return mapCardToCardResponse(savedCard);
     }
 
     @Override
     @PreAuthorize("hasAuthority('ROLE_ADMIN') or @cardSecurityService.isOwner(authentication, #id)")
     public CardResponse getCardById(Long id) {
-        Card card = cardRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("The card was not found with the ID: " + id));
-        return mapCardToCardResponse(card);
+        CardProjection card = cardRepository.findProjectionById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("The card was not found with the ID: " + id));
+        return mapCardProjectionToCardResponse(card);
     }
 
     @Override
     @Transactional(readOnly = true)
     @PreAuthorize("hasAuthority('ROLE_ADMIN')")
     public Page<CardResponse> getAllCards(GetCardsRequest getCardsRequest, Pageable pageable) {
-
+        Specification<Card> filter = cardFilter(getCardsRequest);
         Specification<Card> spec = (root, query, criteriaBuilder) -> {
+            if (query.getOrderList().isEmpty() && pageable.getSort().isUnsorted()) {
+                query.orderBy(criteriaBuilder.asc(root.get("id")));
+            }
+            return filter.toPredicate(root, query, criteriaBuilder);
+        };
+
+        Page<CardProjection> cardPage = cardRepository.findProjections(spec, pageable);
+
+        return cardPage.map(this::mapCardProjectionToCardResponse);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ScrollPage<CardResponse> scrollCards(GetCardsRequest getCardsRequest, String cursor, int size, boolean includeTotal) {
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        IdCursor position = cursor == null || cursor.isBlank() ? null : IdCursor.decode(cursor);
+
+        Specification<Card> spec = cardFilter(getCardsRequest);
+        if (position != null) {
+            spec = spec.and((root, query, criteriaBuilder) -> criteriaBuilder.greaterThan(root.get("id"), position.getId()));
+        }
+        List<CardResponse> rows = cardRepository.findProjections(spec, Sort.by("id"), limit + 1).stream()
+                .map(this::mapCardProjectionToCardResponse)
+                .toList();
+
+        boolean unfiltered = getCardsRequest.getUserId() == null && getCardsRequest.getStatus() == null
+                && (getCardsRequest.getCardHolder() == null || getCardsRequest.getCardHolder().isBlank());
+        Long approximateTotal = includeTotal && unfiltered ? tableStatistics.estimateRowCount(CARD_TABLE) : null;
+        if (rows.size() <= limit) {
+            return new ScrollPage<>(rows, null, approximateTotal);
+        }
+        List<CardResponse> page = rows.subList(0, limit);
+        return new ScrollPage<>(new ArrayList<>(page), new IdCursor(page.get(limit - 1).getId()).encode(), approximateTotal);
+    }
+
+    private static Specification<Card> cardFilter(GetCardsRequest getCardsRequest) {
+        return (root, query, criteriaBuilder) -> {
             List<Predicate> predicates = new ArrayList<>();
             if (getCardsRequest.getUserId() != null) {
                 predicates.add(criteriaBuilder.equal(root.get("user").get("id"), getCardsRequest.getUserId()));
@@ -103,25 +188,18 @@ public class CardServiceImpl implements CardService {
                 predicates.add(criteriaBuilder.equal(root.get("status"), getCardsRequest.getStatus()));
             }
             if (getCardsRequest.getCardHolder() != null && !getCardsRequest.getCardHolder().isBlank()) {
-                predicates.add(criteriaBuilder.like(criteriaBuilder.lower(root.get("cardHolder")), "%" + getCardsRequest.getCardHolder().toLowerCase() + "%"));
-            }
-            if (query.getOrderList().isEmpty() && pageable.getSort().isUnsorted()) {
-                query.orderBy(criteriaBuilder.asc(root.get("id")));
+                predicates.add(criteriaBuilder.like(criteriaBuilder.lower(root.get("cardHolder")),
+                        SearchPatterns.contains(getCardsRequest.getCardHolder()), SearchPatterns.ESCAPE_CHAR));
             }
-
             return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
         };
-
-        Page<Card> cardPage = cardRepository.findAll(spec, pageable);
-
-        return cardPage.map(this::mapCardToCardResponse);
     }
 
     @Override
     @Transactional
     @PreAuthorize("hasAuthority('ROLE_ADMIN')")
     public CardResponse updateCard(Long id, UpdateCardRequest request) {
-        Card card = cardRepository.findById(id)
+        Card card = cardRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new ResourceNotFoundException("The card was not found with the ID: " + id));
 
         boolean updated = false;
@@ -130,11 +208,12 @@ public class CardServiceImpl implements CardService {
             updated = true;
         }
         if (request.getStatus() != null) {
+            dashboardAggregates.moveCard(card.getStatus(), request.getStatus(), card.getBalance());
             card.setStatus(request.getStatus());
             updated = true;
         }
         if (request.getDailyWithdrawalLimit() != null) {
-            card.setDailyWithdrawalLimit(request.getDailyWithdrawalLimit());
+            card.setDailyWithdrawalLimit(Money.of(request.getDailyWithdrawalLimit()));
             updated = true;
         }
 
@@ -150,9 +229,10 @@ public class CardServiceImpl implements CardService {
     @Transactional
     @PreAuthorize("hasAuthority('ROLE_ADMIN')")
     public void deleteCard(Long id) {
-        Card card = cardRepository.findById(id)
+        Card card = cardRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new ResourceNotFoundException("A card with an ID " + id + " not found"));
         if (card.getStatus() != CardStatus.BLOCKED) {
+            dashboardAggregates.moveCard(card.getStatus(), CardStatus.BLOCKED, card.getBalance());
             card.setStatus(CardStatus.BLOCKED);
             cardRepository.save(card);
         }
@@ -167,16 +247,15 @@ public class CardServiceImpl implements CardService {
         Specification<Card> spec = (root, query, criteriaBuilder) ->
                 criteriaBuilder.equal(root.get("user").get("id"), currentUserId);
 
-        Page<Card> cardPage = cardRepository.findAll(spec, pageable);
-        return cardPage.map(this::mapCardToCardResponse);
+        Page<CardProjection> cardPage = cardRepository.findProjections(spec, pageable);
+        return cardPage.map(this::mapCardProjectionToCardResponse);
     }
 
     @Override
     @Transactional
     @PreAuthorize("isAuthenticated() and @cardSecurityService.isOwner(authentication, #cardId)")
     public void blockCard(Long cardId) {
-        Long currentUserId = getCurrentUserId();
-        Card card = cardRepository.findById(cardId)
+        Card card = cardRepository.findByIdForUpdate(cardId)
                 .orElseThrow(() -> new ResourceNotFoundException("A card with an ID " + cardId + " not found"));
 
         if (card.getStatus() == CardStatus.BLOCKED) {
@@ -187,84 +266,166 @@ public class CardServiceImpl implements CardService {
             throw new CardOperationException("You cannot block an expired card");
         }
 
+        dashboardAggregates.moveCard(card.getStatus(), CardStatus.BLOCKED, card.getBalance());
         card.setStatus(CardStatus.BLOCKED);
         cardRepository.save(card);
     }
 
     @Override
-    @Transactional
     @PreAuthorize("isAuthenticated()")
     public void transferFunds(TransferRequest request) {
-        Long currentUserId = getCurrentUserId();
+        executeTransfer(getCurrentUserId(), request.getFromCardId(), request.getToCardId(), Money.of(request.getAmount()));
+    }
 
-        if (request.getFromCardId().equals(request.getToCardId())) {
+    /**
+     * Moves money between two cards of {@code currentUserId}, which the caller must already have taken
+     * from the authenticated principal. Package-private so that only {@link #transferFunds} and the
+     * queued transfers of {@link TransferServiceImpl} can reach it; it carries no authorization of its own.
+     * <p>
+     * With the ledger engine on, the cards are only read to check ownership and status: the engine
+     * serialises the postings, so no row is locked and no transaction is held while waiting for it.
+     */
+    void executeTransfer(Long currentUserId, Long fromCardId, Long toCardId, Money amount) {
+        if (fromCardId.equals(toCardId)) {
             throw new CardOperationException("The source card and the destination card cannot be the same");
         }
 
-        Card fromCard = cardRepository.findById(request.getFromCardId())
-                .orElseThrow(() -> new ResourceNotFoundException("Source card with ID " + request.getFromCardId() + " not found"));
-        Card toCard = cardRepository.findById(request.getToCardId())
-                .orElseThrow(() -> new ResourceNotFoundException("Recipient card with ID " + request.getToCardId() + " not found"));
-
-        if (!fromCard.getUser().getId().equals(currentUserId) || !toCard.getUser().getId().equals(currentUserId)) {
-            throw new SecurityException("Both cards must belong to the current user.");
+        // The projector writes the transaction rows, dashboard deltas, outbox rows and account events.
+        if (ledgerEngine != null) {
+            CardProjection fromCard = cardRepository.findProjectionById(fromCardId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Source card with ID " + fromCardId + " not found"));
+            CardProjection toCard = cardRepository.findProjectionById(toCardId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Recipient card with ID " + toCardId + " not found"));
+            requireTransferable(currentUserId, fromCard.getUserId(), fromCard.getStatus(), toCard.getUserId(), toCard.getStatus());
+            ledgerEngine.transfer(currentUserId, fromCardId, toCardId, amount, transactionRepository.nextTransactionId());
+            return;
         }
+        transactionTemplate.executeWithoutResult(status -> transferLocked(currentUserId, fromCardId, toCardId, amount));
+    }
 
-        if (fromCard.getStatus() != CardStatus.ACTIVE) {
-            throw new CardOperationException("The source card is inactive");
-        }
-        if (toCard.getStatus() != CardStatus.ACTIVE) {
-            throw new CardOperationException("The recipient's card is inactive");
+    private void transferLocked(Long currentUserId, Long fromCardId, Long toCardId, Money amount) {
+        // Both rows are locked in id order, so opposite transfers between the same cards cannot deadlock.
+        Card fromCard;
+        Card toCard;
+        if (fromCardId < toCardId) {
+            fromCard = lockSourceCard(fromCardId);
+            toCard = lockRecipientCard(toCardId);
+        } else {
+            toCard = lockRecipientCard(toCardId);
+            fromCard = lockSourceCard(fromCardId);
         }
+        requireTransferable(currentUserId, fromCard.getUser().getId(), fromCard.getStatus(), toCard.getUser().getId(), toCard.getStatus());
 
-        if (fromCard.getBalance().compareTo(request.getAmount()) < 0) {
+        if (fromCard.getAvailableBalance().isLessThan(amount)) {
             throw new InsufficientFundsException("Insufficient funds on the source card");
         }
 
-        BigDecimal amount = request.getAmount();
-        fromCard.setBalance(fromCard.getBalance().subtract(amount));
-        toCard.setBalance(toCard.getBalance().add(amount));
+        fromCard.setBalance(fromCard.getBalance().minus(amount));
+        fromCard.setAvailableBalance(fromCard.getAvailableBalance().minus(amount));
+        toCard.setBalance(toCard.getBalance().plus(amount));
+        toCard.setAvailableBalance(toCard.getAvailableBalance().plus(amount));
 
         LocalDateTime transactionTime = LocalDateTime.now(clock);
 
         Transaction withdrawal = new Transaction(fromCard, amount.negate(), transactionTime, TransactionStatus.COMPLETED, transactionTime);
         Transaction deposit = new Transaction(toCard, amount, transactionTime, TransactionStatus.COMPLETED, transactionTime);
+        Long transferId = transactionRepository.nextTransferId();
+        withdrawal.setTransferId(transferId);
+        deposit.setTransferId(transferId);
 
         transactionRepository.save(withdrawal);
         transactionRepository.save(deposit);
+        cardDailySummaryRepository.addEntry(fromCard.getId(), transactionTime, withdrawal.getAmount());
+        cardDailySummaryRepository.addEntry(toCard.getId(), transactionTime, deposit.getAmount());
+        dashboardAggregates.addTransfer(transactionTime.toLocalDate(), amount);
+        publishPosting(LedgerEventType.TRANSFER_DEBIT, fromCard, withdrawal);
+        publishPosting(LedgerEventType.TRANSFER_CREDIT, toCard, deposit);
     }
 
     @Override
-    @Transactional
     @PreAuthorize("isAuthenticated() and @cardSecurityService.isOwner(authentication, #cardId)")
     public TransactionResponse withdrawFunds(Long cardId, WithdrawalRequest request) {
         Long currentUserId = getCurrentUserId();
-        BigDecimal amount = request.getAmount();
+        Money amount = Money.of(request.getAmount());
+
+        if (ledgerEngine != null) {
+            CardProjection card = cardRepository.findProjectionById(cardId)
+                    .orElseThrow(() -> new ResourceNotFoundException("A card with an ID " + cardId + " not found"));
+            requireActive(card.getStatus());
+            requireWithinDailyLimit(card.getDailyWithdrawalLimit(), amount);
+            Long transactionId = transactionRepository.nextTransactionId();
+            LedgerEntry entry = ledgerEngine.withdraw(currentUserId, cardId, amount, transactionId);
+            LocalDateTime entryTime = LocalDateTime.ofInstant(Instant.ofEpochMilli(entry.getTimestamp()), clock.getZone());
+            return new TransactionResponse(transactionId, cardId, amount.negate(), entryTime, TransactionStatus.COMPLETED, entryTime);
+        }
+        return transactionTemplate.execute(status -> withdrawLocked(cardId, amount));
+    }
 
-        Card card = cardRepository.findById(cardId)
+    private TransactionResponse withdrawLocked(Long cardId, Money amount) {
+        Card card = cardRepository.findByIdForUpdate(cardId)
                 .orElseThrow(() -> new ResourceNotFoundException("A card with an ID " + cardId + " not found"));
+        requireActive(card.getStatus());
 
-        if (card.getStatus() != CardStatus.ACTIVE) {
-            throw new CardOperationException("The operation is impossible: the card is inactive");
-        }
-
-        if (card.getBalance().compareTo(amount) < 0) {
+        if (card.getAvailableBalance().isLessThan(amount)) {
             throw new InsufficientFundsException("Insufficient funds on the card");
         }
+        requireWithinDailyLimit(card.getDailyWithdrawalLimit(), amount);
 
-        if (card.getDailyWithdrawalLimit() != null && amount.compareTo(card.getDailyWithdrawalLimit()) > 0) {
-            throw new DailyLimitExceededException("The daily withdrawal limit has been exceeded");
-        }
-
-        card.setBalance(card.getBalance().subtract(amount));
+        card.setBalance(card.getBalance().minus(amount));
+        card.setAvailableBalance(card.getAvailableBalance().minus(amount));
 
         LocalDateTime transactionTime = LocalDateTime.now(clock);
         Transaction withdrawal = new Transaction(card, amount.negate(), transactionTime, TransactionStatus.COMPLETED, transactionTime);
         Transaction savedTransaction = transactionRepository.save(withdrawal);
+        cardDailySummaryRepository.addEntry(cardId, transactionTime, withdrawal.getAmount());
+        dashboardAggregates.addBalance(card.getStatus(), withdrawal.getAmount());
+        dashboardAggregates.addWithdrawal(transactionTime.toLocalDate(), amount);
+        publishPosting(LedgerEventType.WITHDRAWAL, card, savedTransaction);
 
         return mapTransactionToTransactionDto(savedTransaction);
     }
 
+    private static void requireTransferable(Long currentUserId, Long fromUserId, CardStatus fromStatus,
+                                            Long toUserId, CardStatus toStatus) {
+        if (!fromUserId.equals(currentUserId) || !toUserId.equals(currentUserId)) {
+            throw new SecurityException("Both cards must belong to the current user.");
+        }
+        if (fromStatus != CardStatus.ACTIVE) {
+            throw new CardOperationException("The source card is inactive");
+        }
+        if (toStatus != CardStatus.ACTIVE) {
+            throw new CardOperationException("The recipient's card is inactive");
+        }
+    }
+
+    private static void requireActive(CardStatus status) {
+        if (status != CardStatus.ACTIVE) {
+            throw new CardOperationException("The operation is impossible: the card is inactive");
+        }
+    }
+
+    private static void requireWithinDailyLimit(Money dailyWithdrawalLimit, Money amount) {
+        if (dailyWithdrawalLimit != null && amount.isGreaterThan(dailyWithdrawalLimit)) {
+            throw new DailyLimitExceededException("The daily withdrawal limit has been exceeded");
+        }
+    }
+
+    private Card lockSourceCard(Long cardId) {
+        return cardRepository.findByIdForUpdate(cardId)
+                .orElseThrow(() -> new ResourceNotFoundException("Source card with ID " + cardId + " not found"));
+    }
+
+    private Card lockRecipientCard(Long cardId) {
+        return cardRepository.findByIdForUpdate(cardId)
+                .orElseThrow(() -> new ResourceNotFoundException("Recipient card with ID " + cardId + " not found"));
+    }
+
+    @Override
+    @PreAuthorize("isAuthenticated()")
+    public SseEmitter subscribeToAccountEvents() {
+        return accountEventBus.subscribe(getCurrentUserId());
+    }
+
     public Long getCurrentUserId() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication == null || !authentication.isAuthenticated() || "anonymousUser".equals(authentication.getPrincipal())) {
@@ -276,6 +437,20 @@ public class CardServiceImpl implements CardService {
         return user.getId();
     }
 
+    /**
+     * Records a posted entry in the ledger outbox within the posting transaction and announces it,
+     * with the card's new balances, to the owner's event stream. The bus delivers only after this
+     * transaction commits, so rolled back postings are never seen by either consumer.
+     */
+    private void publishPosting(LedgerEventType type, Card card, Transaction transaction) {
+        Long userId = card.getUser().getId();
+        outboxEventRepository.save(new OutboxEvent(type, transaction.getId(), card.getId(), userId,
+                transaction.getAmount(), transaction.getTransactionDate()));
+        eventPublisher.publishEvent(new AccountEvent(userId, AccountEventResponse.transaction(mapTransactionToTransactionDto(transaction))));
+        eventPublisher.publishEvent(new AccountEvent(userId, AccountEventResponse.balance(card.getId(), card.getBalance(),
+                card.getAvailableBalance(), transaction.getCreatedAt())));
+    }
+
     private TransactionResponse mapTransactionToTransactionDto(Transaction transaction) {
         return new TransactionResponse(
                 transaction.getId(),
@@ -288,7 +463,7 @@ public class CardServiceImpl implements CardService {
     }
 
     private CardResponse mapCardToCardResponse(Card card) {
-        return new CardResponse(
+        CardResponse response = new CardResponse(
                 card.getId(),
                 maskCardNumber(card.getCardNumber()),
                 card.getCardHolder(),
@@ -298,6 +473,23 @@ public class CardServiceImpl implements CardService {
                 card.getUser() != null ? card.getUser().getId() : null,
                 card.getDailyWithdrawalLimit()
         );
+        response.setAvailableBalance(card.getAvailableBalance());
+        return response;
+    }
+
+    private CardResponse mapCardProjectionToCardResponse(CardProjection card) {
+        CardResponse response = new CardResponse(
+                card.getId(),
+                maskCardNumber(card.getCardNumber()),
+                card.getCardHolder(),
+                card.getExpiryDate(),
+                card.getStatus(),
+                card.getBalance(),
+                card.getUserId(),
+                card.getDailyWithdrawalLimit()
+        );
+        response.setAvailableBalance(card.getAvailableBalance());
+        return response;
     }
 
     private static String maskCardNumber(String number) {
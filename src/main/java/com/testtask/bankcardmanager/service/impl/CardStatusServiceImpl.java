@@ -0,0 +1,146 @@
+package com.testtask.bankcardmanager.service.impl;
+
+import com.testtask.bankcardmanager.dto.request.BulkCardStatusRequest;
+import com.testtask.bankcardmanager.dto.response.BulkCardStatusResponse;
+import com.testtask.bankcardmanager.exception.CardOperationException;
+import com.testtask.bankcardmanager.model.Money;
+import com.testtask.bankcardmanager.model.enums.CardStatus;
+import com.testtask.bankcardmanager.repository.DashboardAggregates;
+import com.testtask.bankcardmanager.service.CardStatusService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Set-based card status changes. Matching cards are walked in id order in batches of
+ * {@code card.bulk-status.batch-size}; each batch selects the next ids and flips them with one
+ * {@code UPDATE ... RETURNING} in its own short transaction, so only the rows of the current batch are
+ * ever locked. The update re-checks the source status, which keeps a card changed concurrently by a
+ * user out of the result. Expired cards are never reactivated or blocked. The previous status and
+ * balance of every changed card feed the dashboard aggregates in the same transaction.
+ */
+@Service
+public class CardStatusServiceImpl implements CardStatusService {
+    private static final Logger log = LoggerFactory.getLogger(CardStatusServiceImpl.class);
+
+    private static final String SELECT_BATCH_SQL =
+            "SELECT id FROM bank_cards WHERE id > ? AND status = ANY(?)%s ORDER BY id LIMIT ?";
+    private static final String UPDATE_BATCH_SQL =
+            "UPDATE bank_cards c SET status = ?, updated_at = ? FROM (SELECT id, status FROM bank_cards " +
+            "WHERE id = ANY(?) AND status = ANY(?) FOR UPDATE) previous WHERE c.id = previous.id " +
+            "RETURNING c.id, previous.status AS previous_status, c.balance";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final DashboardAggregates dashboardAggregates;
+    private final int batchSize;
+
+    public CardStatusServiceImpl(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, Clock clock,
+                                 DashboardAggregates dashboardAggregates,
+                                 @Value("${card.bulk-status.batch-size}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+        this.dashboardAggregates = dashboardAggregates;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public BulkCardStatusResponse updateStatuses(BulkCardStatusRequest request) {
+        boolean hasCardIds = request.getCardIds() != null && !request.getCardIds().isEmpty();
+        if (request.getUserId() == null && request.getCurrentStatus() == null && !hasCardIds && request.getExpiryBefore() == null) {
+            throw new CardOperationException("A bulk status change needs at least one filter");
+        }
+        CardStatus target = request.getTargetStatus();
+        Set<CardStatus> sources = sourceStatuses(target);
+        if (request.getCurrentStatus() != null) {
+            sources.retainAll(EnumSet.of(request.getCurrentStatus()));
+        }
+        if (sources.isEmpty()) {
+            return new BulkCardStatusResponse(target, 0, List.of());
+        }
+        String[] sourceNames = sources.stream().map(Enum::name).toArray(String[]::new);
+
+        StringBuilder filter = new StringBuilder();
+        List<Object> filterArgs = new ArrayList<>();
+        if (request.getUserId() != null) {
+            filter.append(" AND user_id = ?");
+            filterArgs.add(request.getUserId());
+        }
+        if (hasCardIds) {
+            filter.append(" AND id = ANY(?)");
+            filterArgs.add(request.getCardIds().stream().distinct().toArray(Long[]::new));
+        }
+        if (request.getExpiryBefore() != null) {
+            filter.append(" AND expiry_date < ?");
+            filterArgs.add(Date.valueOf(YearMonth.parse(request.getExpiryBefore()).atDay(1)));
+        }
+        String selectSql = String.format(SELECT_BATCH_SQL, filter);
+
+        List<Long> updatedIds = new ArrayList<>();
+        long after = 0;
+        while (true) {
+            List<Object> args = new ArrayList<>();
+            args.add(after);
+            args.add(sourceNames);
+            args.addAll(filterArgs);
+            args.add(batchSize);
+            Batch batch = transactionTemplate.execute(status -> {
+                List<Long> selected = jdbcTemplate.queryForList(selectSql, Long.class, args.toArray());
+                if (selected.isEmpty()) {
+                    return new Batch(selected, List.of());
+                }
+                DashboardAggregates.CardTotalsDelta totals = new DashboardAggregates.CardTotalsDelta();
+                List<Long> updated = jdbcTemplate.query(UPDATE_BATCH_SQL, (rs, rowNum) -> {
+                    totals.move(CardStatus.valueOf(rs.getString("previous_status")), target, Money.of(rs.getBigDecimal("balance")));
+                    return rs.getLong("id");
+                }, target.name(), Timestamp.valueOf(LocalDateTime.now(clock)), selected.toArray(new Long[0]), sourceNames);
+                dashboardAggregates.apply(totals);
+                return new Batch(selected, updated);
+            });
+            updatedIds.addAll(batch.updated.stream().sorted().toList());
+            if (batch.selected.size() < batchSize) {
+                break;
+            }
+            after = batch.selected.get(batch.selected.size() - 1);
+        }
+
+        log.info("Bulk status change to {} updated {} cards", target, updatedIds.size());
+        return new BulkCardStatusResponse(target, updatedIds.size(), updatedIds);
+    }
+
+    private static Set<CardStatus> sourceStatuses(CardStatus target) {
+        return switch (target) {
+            case ACTIVE -> EnumSet.of(CardStatus.BLOCKED);
+            case BLOCKED -> EnumSet.of(CardStatus.ACTIVE);
+            case EXPIRED -> EnumSet.of(CardStatus.ACTIVE, CardStatus.BLOCKED);
+        };
+    }
+
+    private static final class Batch {
+        private final List<Long> selected;
+        private final List<Long> updated;
+
+        private Batch(List<Long> selected, List<Long> updated) {
+            this.selected = selected;
+            this.updated = updated;
+        }
+    }
+}
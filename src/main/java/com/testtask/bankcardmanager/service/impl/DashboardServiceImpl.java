@@ -0,0 +1,137 @@
+package com.testtask.bankcardmanager.service.impl;
+
+import com.testtask.bankcardmanager.dto.response.CardStatusTotalResponse;
+import com.testtask.bankcardmanager.dto.response.DailyVolumeResponse;
+import com.testtask.bankcardmanager.dto.response.DashboardResponse;
+import com.testtask.bankcardmanager.model.Money;
+import com.testtask.bankcardmanager.model.enums.CardStatus;
+import com.testtask.bankcardmanager.repository.DashboardAggregates;
+import com.testtask.bankcardmanager.service.DashboardService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Admin dashboard over the aggregates kept by {@link DashboardAggregates}. A load reads at most
+ * {@code statuses x slots} card total rows and {@code days x slots} volume rows through their primary
+ * keys, whatever the number of cards and transactions.
+ * <p>
+ * The nightly verification recounts {@code bank_cards} and compares it with the aggregates in the same
+ * REPEATABLE READ snapshot, so postings committed during the scan cannot show up as drift. Any
+ * difference is written back as one more delta, which stays correct next to concurrent writers.
+ */
+@Service
+public class DashboardServiceImpl implements DashboardService {
+    private static final Logger log = LoggerFactory.getLogger(DashboardServiceImpl.class);
+
+    private static final String RECORDED_TOTALS_SQL =
+            "SELECT status, sum(card_count) AS card_count, sum(balance) AS balance FROM dashboard_card_totals GROUP BY status";
+    private static final String ACTUAL_TOTALS_SQL =
+            "SELECT status, count(*) AS card_count, COALESCE(sum(balance), 0) AS balance FROM bank_cards GROUP BY status";
+    private static final String DAILY_VOLUME_SQL =
+            "SELECT day, sum(transfer_count) AS transfer_count, sum(transfer_amount) AS transfer_amount, " +
+            "sum(withdrawal_count) AS withdrawal_count, sum(withdrawal_amount) AS withdrawal_amount " +
+            "FROM dashboard_daily_volume WHERE day BETWEEN ? AND ? GROUP BY day ORDER BY day";
+    private static final int MAX_DAYS = 31;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DashboardAggregates dashboardAggregates;
+    private final TransactionTemplate snapshotTemplate;
+    private final TransactionTemplate writeTemplate;
+    private final Clock clock;
+
+    public DashboardServiceImpl(JdbcTemplate jdbcTemplate, DashboardAggregates dashboardAggregates,
+                                PlatformTransactionManager transactionManager, Clock clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dashboardAggregates = dashboardAggregates;
+        this.snapshotTemplate = new TransactionTemplate(transactionManager);
+        this.snapshotTemplate.setReadOnly(true);
+        this.snapshotTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.writeTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+    }
+
+    @Override
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public DashboardResponse getDashboard(int days) {
+        int window = Math.max(1, Math.min(days, MAX_DAYS));
+        Map<CardStatus, Totals> recorded = readTotals(RECORDED_TOTALS_SQL);
+        List<CardStatusTotalResponse> byStatus = new ArrayList<>();
+        long cardCount = 0;
+        Money totalBalance = Money.ZERO;
+        for (CardStatus status : CardStatus.values()) {
+            Totals totals = recorded.getOrDefault(status, Totals.EMPTY);
+            byStatus.add(new CardStatusTotalResponse(status, totals.cardCount, totals.balance));
+            cardCount += totals.cardCount;
+            totalBalance = totalBalance.plus(totals.balance);
+        }
+
+        LocalDate today = LocalDate.now(clock);
+        List<DailyVolumeResponse> volume = jdbcTemplate.query(DAILY_VOLUME_SQL, (rs, rowNum) -> new DailyVolumeResponse(
+                rs.getObject("day", LocalDate.class),
+                rs.getLong("transfer_count"),
+                Money.of(rs.getBigDecimal("transfer_amount")),
+                rs.getLong("withdrawal_count"),
+                Money.of(rs.getBigDecimal("withdrawal_amount"))
+        ), Date.valueOf(today.minusDays(window - 1L)), Date.valueOf(today));
+        return new DashboardResponse(cardCount, totalBalance, byStatus, volume);
+    }
+
+    @Override
+    public int verifyCardTotals() {
+        DashboardAggregates.CardTotalsDelta drift = snapshotTemplate.execute(status -> {
+            Map<CardStatus, Totals> actual = readTotals(ACTUAL_TOTALS_SQL);
+            Map<CardStatus, Totals> recorded = readTotals(RECORDED_TOTALS_SQL);
+            DashboardAggregates.CardTotalsDelta delta = new DashboardAggregates.CardTotalsDelta();
+            for (CardStatus cardStatus : CardStatus.values()) {
+                Totals expected = actual.getOrDefault(cardStatus, Totals.EMPTY);
+                Totals found = recorded.getOrDefault(cardStatus, Totals.EMPTY);
+                if (expected.cardCount != found.cardCount || !expected.balance.equals(found.balance)) {
+                    log.warn("Dashboard totals of {} cards drifted: recorded {} cards / {}, actual {} cards / {}",
+                            cardStatus, found.cardCount, found.balance, expected.cardCount, expected.balance);
+                    delta.add(cardStatus, expected.cardCount - found.cardCount, expected.balance.minus(found.balance));
+                }
+            }
+            return delta;
+        });
+        if (drift == null || drift.isEmpty()) {
+            return 0;
+        }
+        writeTemplate.executeWithoutResult(status -> dashboardAggregates.apply(drift));
+        return drift.size();
+    }
+
+    private Map<CardStatus, Totals> readTotals(String sql) {
+        Map<CardStatus, Totals> totals = new EnumMap<>(CardStatus.class);
+        jdbcTemplate.query(sql, rs -> {
+            totals.put(CardStatus.valueOf(rs.getString("status")),
+                    new Totals(rs.getLong("card_count"), Money.of(rs.getBigDecimal("balance"))));
+        });
+        return totals;
+    }
+
+    private static final class Totals {
+        private static final Totals EMPTY = new Totals(0, Money.ZERO);
+
+        private final long cardCount;
+        private final Money balance;
+
+        private Totals(long cardCount, Money balance) {
+            this.cardCount = cardCount;
+            this.balance = balance;
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package com.testtask.bankcardmanager.service.impl;
+
+import com.testtask.bankcardmanager.dto.request.PlaceHoldRequest;
+import com.testtask.bankcardmanager.dto.response.AccountEventResponse;
+import com.testtask.bankcardmanager.dto.response.HoldResponse;
+import com.testtask.bankcardmanager.dto.response.TransactionResponse;
+import com.testtask.bankcardmanager.event.AccountEvent;
+import com.testtask.bankcardmanager.exception.CardOperationException;
+import com.testtask.bankcardmanager.exception.InsufficientFundsException;
+import com.testtask.bankcardmanager.exception.ResourceNotFoundException;
+import com.testtask.bankcardmanager.ledger.LedgerEngine;
+import com.testtask.bankcardmanager.model.Card;
+import com.testtask.bankcardmanager.model.Money;
+import com.testtask.bankcardmanager.model.OutboxEvent;
+import com.testtask.bankcardmanager.model.Transaction;
+import com.testtask.bankcardmanager.model.enums.CardStatus;
+import com.testtask.bankcardmanager.model.enums.LedgerEventType;
+import com.testtask.bankcardmanager.model.enums.TransactionStatus;
+import com.testtask.bankcardmanager.repository.CardDailySummaryRepository;
+import com.testtask.bankcardmanager.repository.CardRepository;
+import com.testtask.bankcardmanager.repository.DashboardAggregates;
+import com.testtask.bankcardmanager.repository.OutboxEventRepository;
+import com.testtask.bankcardmanager.repository.TransactionRepository;
+import com.testtask.bankcardmanager.scheduling.HashedTimingWheel;
+import com.testtask.bankcardmanager.service.HoldService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.lang.Nullable;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Authorization holds. {@code available_balance} is reduced when a hold is placed, {@code balance}
+ * (the ledger balance) only when it is captured. Expiry is driven by an in-memory timing wheel,
+ * with a slow sweep over the partial pending index as a safety net for holds placed on other nodes.
+ * A capture publishes the completed transaction and the new balances to the owner's event stream.
+ */
+@Service
+public class HoldServiceImpl implements HoldService {
+    private static final Logger log = LoggerFactory.getLogger(HoldServiceImpl.class);
+
+    private static final String CAPTURE_SQL =
+            "WITH captured AS (UPDATE transaction SET status = 'COMPLETED', captured_at = ? " +
+            "WHERE id = ? AND status = 'PENDING' AND expires_at > ? RETURNING card_id, amount) " +
+            "UPDATE bank_cards c SET balance = c.balance + captured.amount, updated_at = ? FROM captured WHERE c.id = captured.card_id " +
+            "RETURNING c.user_id, c.status, c.balance, c.available_balance";
+    private static final String RELEASE_SQL =
+            "WITH released AS (UPDATE transaction SET status = 'CANCELLED' WHERE id = ? AND status = 'PENDING' RETURNING card_id, amount) " +
+            "UPDATE bank_cards c SET available_balance = c.available_balance - released.amount, updated_at = ? FROM released WHERE c.id = released.card_id";
+
+    private static final RowMapper<CapturedCard> CAPTURED_CARD_ROW_MAPPER = (rs, rowNum) ->
+            new CapturedCard(rs.getLong("user_id"), CardStatus.valueOf(rs.getString("status")),
+                    Money.of(rs.getBigDecimal("balance")), Money.of(rs.getBigDecimal("available_balance")));
+
+    private final CardRepository cardRepository;
+    private final TransactionRepository transactionRepository;
+    private final CardDailySummaryRepository cardDailySummaryRepository;
+    private final OutboxEventRepository outboxEventRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final DashboardAggregates dashboardAggregates;
+    private final ApplicationEventPublisher eventPublisher;
+    private final HashedTimingWheel expiryWheel;
+    private final Clock clock;
+    private final LedgerEngine ledgerEngine;
+    private final Duration defaultTtl;
+    private final int sweepBatchSize;
+
+    public HoldServiceImpl(CardRepository cardRepository, TransactionRepository transactionRepository,
+                           CardDailySummaryRepository cardDailySummaryRepository, OutboxEventRepository outboxEventRepository,
+                           JdbcTemplate jdbcTemplate, DashboardAggregates dashboardAggregates,
+                           ApplicationEventPublisher eventPublisher, HashedTimingWheel expiryWheel, Clock clock,
+                           @Nullable LedgerEngine ledgerEngine,
+                           @Value("${hold.default-ttl-seconds}") long defaultTtlSeconds,
+                           @Value("${hold.expiry.sweep-batch-size}") int sweepBatchSize) {
+        this.cardRepository = cardRepository;
+        this.transactionRepository = transactionRepository;
+        this.cardDailySummaryRepository = cardDailySummaryRepository;
+        this.outboxEventRepository = outboxEventRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.dashboardAggregates = dashboardAggregates;
+        this.eventPublisher = eventPublisher;
+        this.expiryWheel = expiryWheel;
+        this.clock = clock;
+        this.ledgerEngine = ledgerEngine;
+        this.defaultTtl = Duration.ofSeconds(defaultTtlSeconds);
+        this.sweepBatchSize = sweepBatchSize;
+    }
+
+    @Override
+    @Transactional
+    @PreAuthorize("isAuthenticated() and @cardSecurityService.isOwner(authentication, #cardId)")
+    public HoldResponse placeHold(Long cardId, PlaceHoldRequest request) {
+        if (ledgerEngine != null) {
+            throw new CardOperationException("Authorization holds are not available while the ledger engine is enabled");
+        }
+        Money amount = Money.of(request.getAmount());
+
+        if (cardRepository.reserveAvailableBalance(cardId, amount.toBigDecimal()) == 0) {
+            Card card = cardRepository.findById(cardId)
+                    .orElseThrow(() -> new ResourceNotFoundException("A card with an ID " + cardId + " not found"));
+            if (card.getStatus() != CardStatus.ACTIVE) {
+                throw new CardOperationException("The operation is impossible: the card is inactive");
+            }
+            throw new InsufficientFundsException("Insufficient funds on the card");
+        }
+
+        LocalDateTime now = LocalDateTime.now(clock);
+        Duration ttl = request.getTtlSeconds() != null ? Duration.ofSeconds(request.getTtlSeconds()) : defaultTtl;
+        Transaction hold = new Transaction(cardRepository.getReferenceById(cardId), amount.negate(), now, TransactionStatus.PENDING, now);
+        hold.setExpiresAt(now.plus(ttl));
+        Transaction savedHold = transactionRepository.save(hold);
+
+        scheduleAfterCommit(savedHold.getId(), savedHold.getExpiresAt());
+        return mapHoldToHoldResponse(savedHold, cardId, TransactionStatus.PENDING);
+    }
+
+    @Override
+    @Transactional
+    @PreAuthorize("hasAuthority('ROLE_ADMIN') or @transactionSecurityService.isOwner(authentication, #holdId)")
+    public HoldResponse captureHold(Long holdId) {
+        Transaction hold = findPendingHold(holdId);
+        LocalDateTime now = LocalDateTime.now(clock);
+        if (!hold.getExpiresAt().isAfter(now)) {
+            throw new CardOperationException("The hold has expired");
+        }
+
+        Timestamp timestamp = Timestamp.valueOf(now);
+        List<CapturedCard> captured = jdbcTemplate.query(CAPTURE_SQL, CAPTURED_CARD_ROW_MAPPER, timestamp, holdId, timestamp, timestamp);
+        if (captured.isEmpty()) {
+            throw new CardOperationException("The hold is no longer pending");
+        }
+        CapturedCard card = captured.get(0);
+        Long cardId = hold.getCard().getId();
+        cardDailySummaryRepository.addEntry(cardId, now, hold.getAmount());
+        dashboardAggregates.addBalance(card.status, hold.getAmount());
+        dashboardAggregates.addWithdrawal(now.toLocalDate(), hold.getAmount().negate());
+        outboxEventRepository.save(new OutboxEvent(LedgerEventType.CAPTURE, holdId, cardId, card.userId, hold.getAmount(), now));
+        eventPublisher.publishEvent(new AccountEvent(card.userId, AccountEventResponse.transaction(new TransactionResponse(
+                holdId, cardId, hold.getAmount(), hold.getTransactionDate(), TransactionStatus.COMPLETED, hold.getCreatedAt()))));
+        eventPublisher.publishEvent(new AccountEvent(card.userId, AccountEventResponse.balance(cardId, card.balance,
+                card.availableBalance, now)));
+        return mapHoldToHoldResponse(hold, cardId, TransactionStatus.COMPLETED);
+    }
+
+    @Override
+    @Transactional
+    @PreAuthorize("hasAuthority('ROLE_ADMIN') or @transactionSecurityService.isOwner(authentication, #holdId)")
+    public HoldResponse releaseHold(Long holdId) {
+        Transaction hold = findPendingHold(holdId);
+        if (!release(holdId)) {
+            throw new CardOperationException("The hold is no longer pending");
+        }
+        return mapHoldToHoldResponse(hold, hold.getCard().getId(), TransactionStatus.CANCELLED);
+    }
+
+    public boolean expireHold(Long holdId) {
+        try {
+            return release(holdId);
+        } catch (RuntimeException e) {
+            log.warn("Failed to expire hold {}, leaving it to the sweep", holdId, e);
+            return false;
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void scheduleOutstandingHolds() {
+        long scheduled = 0;
+        try (Stream<TransactionRepository.HoldExpiry> holds = transactionRepository.streamHoldExpiries(TransactionStatus.PENDING)) {
+            for (TransactionRepository.HoldExpiry hold : (Iterable<TransactionRepository.HoldExpiry>) holds::iterator) {
+                scheduleExpiry(hold.getId(), hold.getExpiresAt());
+                scheduled++;
+            }
+        }
+        log.info("Scheduled expiry for {} outstanding holds", scheduled);
+    }
+
+    public void sweepExpiredHolds() {
+        List<Long> expiredIds;
+        long released;
+        do {
+            expiredIds = transactionRepository.findExpiredHoldIds(
+                    TransactionStatus.PENDING, LocalDateTime.now(clock), PageRequest.of(0, sweepBatchSize));
+            released = expiredIds.stream().filter(this::expireHold).count();
+        } while (expiredIds.size() == sweepBatchSize && released > 0);
+    }
+
+    private boolean release(Long holdId) {
+        return jdbcTemplate.update(RELEASE_SQL, holdId, Timestamp.valueOf(LocalDateTime.now(clock))) > 0;
+    }
+
+    private Transaction findPendingHold(Long holdId) {
+        Transaction hold = transactionRepository.findById(holdId)
+                .orElseThrow(() -> new ResourceNotFoundException("Hold with ID " + holdId + " not found"));
+        if (hold.getExpiresAt() == null) {
+            throw new CardOperationException("Transaction " + holdId + " is not an authorization hold");
+        }
+        if (hold.getStatus() != TransactionStatus.PENDING) {
+            throw new CardOperationException("The hold is no longer pending");
+        }
+        return hold;
+    }
+
+    private void scheduleAfterCommit(Long holdId, LocalDateTime expiresAt) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            scheduleExpiry(holdId, expiresAt);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                scheduleExpiry(holdId, expiresAt);
+            }
+        });
+    }
+
+    private void scheduleExpiry(Long holdId, LocalDateTime expiresAt) {
+        expiryWheel.schedule(() -> expireHold(holdId), Duration.between(LocalDateTime.now(clock), expiresAt));
+    }
+
+    private HoldResponse mapHoldToHoldResponse(Transaction hold, Long cardId, TransactionStatus status) {
+        return new HoldResponse(
+                hold.getId(),
+                cardId,
+                hold.getAmount(),
+                status,
+                hold.getCreatedAt(),
+                hold.getExpiresAt()
+        );
+    }
+
+    /**
+     * The card row as the capture left it, read under the lock the capture took.
+     */
+    private static final class CapturedCard {
+        private final long userId;
+        private final CardStatus status;
+        private final Money balance;
+        private final Money availableBalance;
+
+        private CapturedCard(long userId, CardStatus status, Money balance, Money availableBalance) {
+            this.userId = userId;
+            this.status = status;
+            this.balance = balance;
+            this.availableBalance = availableBalance;
+        }
+    }
+}
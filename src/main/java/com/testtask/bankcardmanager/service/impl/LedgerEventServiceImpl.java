@@ -0,0 +1,46 @@
+package com.testtask.bankcardmanager.service.impl;
+
+import com.testtask.bankcardmanager.dto.response.LedgerEventPage;
+import com.testtask.bankcardmanager.dto.response.LedgerEventResponse;
+import com.testtask.bankcardmanager.exception.CardOperationException;
+import com.testtask.bankcardmanager.repository.OutboxEventRepository;
+import com.testtask.bankcardmanager.service.LedgerEventService;
+import org.springframework.data.domain.Limit;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Serves the ledger change feed. Only events the outbox relay has stamped with a feed position are
+ * visible, and positions are assigned in commit order, so a consumer that resumes from the last
+ * position it saw never misses an event.
+ */
+@Service
+public class LedgerEventServiceImpl implements LedgerEventService {
+    private static final int MAX_LIMIT = 1000;
+
+    private final OutboxEventRepository outboxEventRepository;
+
+    public LedgerEventServiceImpl(OutboxEventRepository outboxEventRepository) {
+        this.outboxEventRepository = outboxEventRepository;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public LedgerEventPage getEvents(long after, int limit) {
+        if (after < 0) {
+            throw new CardOperationException("The feed position must not be negative");
+        }
+        List<LedgerEventResponse> events = outboxEventRepository
+                .findByFeedPositionGreaterThanOrderByFeedPositionAsc(after, Limit.of(Math.max(1, Math.min(limit, MAX_LIMIT))))
+                .stream()
+                .map(event -> new LedgerEventResponse(event.getFeedPosition(), event.getEventType(), event.getTransactionId(),
+                        event.getCardId(), event.getUserId(), event.getAmount(), event.getOccurredAt()))
+                .toList();
+        long nextAfter = events.isEmpty() ? after : events.get(events.size() - 1).getPosition();
+        return new LedgerEventPage(events, nextAfter);
+    }
+}
@@ -0,0 +1,375 @@
+package com.testtask.bankcardmanager.service.impl;
+
+import com.testtask.bankcardmanager.exception.CardOperationException;
+import com.testtask.bankcardmanager.exception.JobAlreadyRunningException;
+import com.testtask.bankcardmanager.model.Money;
+import com.testtask.bankcardmanager.service.StatementService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Monthly card statements. Users are split into fixed id ranges recorded in
+ * {@code statement_run_partition}, which doubles as the checkpoint: a rerun for the same period only
+ * picks up partitions that are not COMPLETED. Each partition is read in one REPEATABLE READ snapshot,
+ * cards and their transactions in keyset pages, and written to a gzipped file plus one
+ * {@code card_statement} row per card. Every worker holds a single connection, so
+ * {@code statement.workers} must stay well below the connection pool size.
+ * <p>
+ * Closing balances are derived from the current balance minus everything posted after the period,
+ * taken from {@code card_daily_summary}, so that rollup has to be backfilled before the first run.
+ */
+@Service
+public class StatementServiceImpl implements StatementService {
+    private static final Logger log = LoggerFactory.getLogger(StatementServiceImpl.class);
+
+    private static final String USER_ID_RANGE_SQL = "SELECT min(id), max(id) FROM users";
+    private static final String INSERT_PARTITION_SQL =
+            "INSERT INTO statement_run_partition (period, first_user_id, last_user_id, status) VALUES (?, ?, ?, 'PENDING') " +
+            "ON CONFLICT (period, first_user_id) DO NOTHING";
+    private static final String PENDING_PARTITIONS_SQL =
+            "SELECT first_user_id, last_user_id FROM statement_run_partition WHERE period = ? AND status <> 'COMPLETED' " +
+            "ORDER BY first_user_id";
+    private static final String COMPLETE_PARTITION_SQL =
+            "UPDATE statement_run_partition SET status = 'COMPLETED', completed_at = ? WHERE period = ? AND first_user_id = ?";
+    private static final String CARDS_PAGE_SQL =
+            "SELECT id, user_id, balance FROM bank_cards WHERE user_id BETWEEN ? AND ? AND id > ? ORDER BY id LIMIT ?";
+    private static final String NET_AFTER_PERIOD_SQL =
+            "SELECT card_id, SUM(credit_total - debit_total) AS net FROM card_daily_summary " +
+            "WHERE card_id = ANY(?) AND summary_date >= ? GROUP BY card_id";
+    // A captured hold is posted at captured_at; it can only be later than transaction_date, which keeps the
+    // upper bound on the partition key for pruning.
+    static final String TRANSACTIONS_FIRST_PAGE_SQL =
+            "SELECT id, card_id, amount, COALESCE(captured_at, transaction_date) AS transaction_date, status FROM transaction " +
+            "WHERE card_id = ANY(?) AND COALESCE(captured_at, transaction_date) >= ? AND COALESCE(captured_at, transaction_date) < ? " +
+            "AND transaction_date < ? AND status IN ('COMPLETED', 'REVERSED') " +
+            "ORDER BY card_id, COALESCE(captured_at, transaction_date), id LIMIT ?";
+    static final String TRANSACTIONS_NEXT_PAGE_SQL =
+            "SELECT id, card_id, amount, COALESCE(captured_at, transaction_date) AS transaction_date, status FROM transaction " +
+            "WHERE card_id = ANY(?) AND COALESCE(captured_at, transaction_date) >= ? AND COALESCE(captured_at, transaction_date) < ? " +
+            "AND transaction_date < ? AND status IN ('COMPLETED', 'REVERSED') " +
+            "AND (card_id, COALESCE(captured_at, transaction_date), id) > (?, ?, ?) " +
+            "ORDER BY card_id, COALESCE(captured_at, transaction_date), id LIMIT ?";
+    private static final String UPSERT_STATEMENT_SQL =
+            "INSERT INTO card_statement (card_id, period, user_id, opening_balance, closing_balance, debit_total, credit_total, " +
+            "transaction_count, generated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?) ON CONFLICT (card_id, period) DO UPDATE SET " +
+            "user_id = EXCLUDED.user_id, opening_balance = EXCLUDED.opening_balance, closing_balance = EXCLUDED.closing_balance, " +
+            "debit_total = EXCLUDED.debit_total, credit_total = EXCLUDED.credit_total, " +
+            "transaction_count = EXCLUDED.transaction_count, generated_at = EXCLUDED.generated_at";
+
+    private static final RowMapper<StatementCard> CARD_ROW_MAPPER = (rs, rowNum) ->
+            new StatementCard(rs.getLong("id"), rs.getLong("user_id"), Money.of(rs.getBigDecimal("balance")));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate snapshotTemplate;
+    private final TransactionTemplate writeTemplate;
+    private final Clock clock;
+    private final int workers;
+    private final int partitionSize;
+    private final int pageSize;
+    private final Path outputDir;
+    private final ExecutorService coordinator;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public StatementServiceImpl(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, Clock clock,
+                                @Value("${statement.workers}") int workers,
+                                @Value("${statement.partition-size}") int partitionSize,
+                                @Value("${statement.page-size}") int pageSize,
+                                @Value("${statement.output-dir}") String outputDir) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.snapshotTemplate = new TransactionTemplate(transactionManager);
+        this.snapshotTemplate.setReadOnly(true);
+        this.snapshotTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.writeTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+        this.workers = workers;
+        this.partitionSize = partitionSize;
+        this.pageSize = pageSize;
+        this.outputDir = Path.of(outputDir);
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("statement-run-");
+        threadFactory.setDaemon(true);
+        this.coordinator = Executors.newSingleThreadExecutor(threadFactory);
+    }
+
+    public void generatePreviousMonth() {
+        try {
+            generateStatements(YearMonth.now(clock).minusMonths(1));
+        } catch (JobAlreadyRunningException e) {
+            log.warn("Skipping scheduled statement run: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public void startStatementRun(YearMonth period) {
+        requireCompletedMonth(period);
+        acquire();
+        coordinator.execute(() -> {
+            try {
+                runPartitions(period);
+            } catch (RuntimeException e) {
+                log.error("Statement run for {} failed", period, e);
+            } finally {
+                running.set(false);
+            }
+        });
+    }
+
+    @Override
+    public int generateStatements(YearMonth period) {
+        requireCompletedMonth(period);
+        acquire();
+        try {
+            return runPartitions(period);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private int runPartitions(YearMonth period) {
+        Date periodStart = Date.valueOf(period.atDay(1));
+        planPartitions(periodStart);
+        List<long[]> pending = jdbcTemplate.query(PENDING_PARTITIONS_SQL,
+                (rs, rowNum) -> new long[]{rs.getLong("first_user_id"), rs.getLong("last_user_id")}, periodStart);
+        log.info("Statement run for {}: {} partitions to process", period, pending.size());
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("statement-worker-");
+        threadFactory.setDaemon(true);
+        ExecutorService pool = Executors.newFixedThreadPool(workers, threadFactory);
+        try {
+            List<Future<?>> futures = new ArrayList<>(pending.size());
+            for (long[] partition : pending) {
+                futures.add(pool.submit(() -> processPartition(period, partition[0], partition[1])));
+            }
+            int completed = 0;
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                    completed++;
+                } catch (ExecutionException e) {
+                    log.error("Statement partition for {} failed and will be retried on the next run", period, e.getCause());
+                }
+            }
+            log.info("Statement run for {}: {} of {} partitions completed", period, completed, pending.size());
+            return completed;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Statement run for " + period + " was interrupted", e);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private void planPartitions(Date periodStart) {
+        long[] range = jdbcTemplate.queryForObject(USER_ID_RANGE_SQL,
+                (rs, rowNum) -> rs.getObject(1) == null ? null : new long[]{rs.getLong(1), rs.getLong(2)});
+        if (range == null) {
+            return;
+        }
+        List<Object[]> partitions = new ArrayList<>();
+        for (long first = (range[0] / partitionSize) * partitionSize; first <= range[1]; first += partitionSize) {
+            partitions.add(new Object[]{periodStart, first, first + partitionSize - 1});
+        }
+        jdbcTemplate.batchUpdate(INSERT_PARTITION_SQL, partitions);
+    }
+
+    private void processPartition(YearMonth period, long firstUserId, long lastUserId) {
+        Path target = outputDir.resolve(period.toString()).resolve("users-" + firstUserId + "-" + lastUserId + ".csv.gz");
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        Timestamp generatedAt = Timestamp.valueOf(LocalDateTime.now(clock));
+        try {
+            Files.createDirectories(target.getParent());
+            List<Object[]> statements = snapshotTemplate.execute(status ->
+                    writePartition(temp, period, firstUserId, lastUserId, generatedAt));
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            writeTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(UPSERT_STATEMENT_SQL, statements);
+                jdbcTemplate.update(COMPLETE_PARTITION_SQL, generatedAt, Date.valueOf(period.atDay(1)), firstUserId);
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private List<Object[]> writePartition(Path file, YearMonth period, long firstUserId, long lastUserId, Timestamp generatedAt) {
+        Timestamp from = Timestamp.valueOf(period.atDay(1).atStartOfDay());
+        Timestamp to = Timestamp.valueOf(period.plusMonths(1).atDay(1).atStartOfDay());
+        Date periodStart = Date.valueOf(period.atDay(1));
+        Date nextPeriodStart = Date.valueOf(period.plusMonths(1).atDay(1));
+
+        try (BufferedWriter out = new BufferedWriter(new OutputStreamWriter(
+                new GZIPOutputStream(Files.newOutputStream(file)), StandardCharsets.UTF_8))) {
+            List<Object[]> statements = new ArrayList<>();
+            long afterCardId = 0;
+            while (true) {
+                List<StatementCard> cards = jdbcTemplate.query(CARDS_PAGE_SQL, CARD_ROW_MAPPER,
+                        firstUserId, lastUserId, afterCardId, pageSize);
+                if (cards.isEmpty()) {
+                    return statements;
+                }
+                Long[] cardIds = cards.stream().map(card -> card.id).toArray(Long[]::new);
+                Map<Long, Money> netAfterPeriod = new HashMap<>();
+                jdbcTemplate.query(NET_AFTER_PERIOD_SQL,
+                        rs -> { netAfterPeriod.put(rs.getLong("card_id"), Money.of(rs.getBigDecimal("net"))); },
+                        cardIds, nextPeriodStart);
+
+                StatementPageWriter writer = new StatementPageWriter(out, cards, netAfterPeriod, statements, periodStart, generatedAt);
+                int fetched = pageSize;
+                while (fetched == pageSize) {
+                    int before = writer.rows;
+                    if (writer.lastCardId == null) {
+                        jdbcTemplate.query(TRANSACTIONS_FIRST_PAGE_SQL, writer::onTransaction, cardIds, from, to, to, pageSize);
+                    } else {
+                        jdbcTemplate.query(TRANSACTIONS_NEXT_PAGE_SQL, writer::onTransaction, cardIds, from, to, to,
+                                writer.lastCardId, writer.lastDate, writer.lastId, pageSize);
+                    }
+                    fetched = writer.rows - before;
+                }
+                writer.finish();
+                afterCardId = cards.get(cards.size() - 1).id;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void acquire() {
+        if (!running.compareAndSet(false, true)) {
+            throw new JobAlreadyRunningException("A statement run is already in progress");
+        }
+    }
+
+    private void requireCompletedMonth(YearMonth period) {
+        if (!period.isBefore(YearMonth.now(clock))) {
+            throw new CardOperationException("Statements can only be generated for completed months");
+        }
+    }
+
+    private static final class StatementCard {
+        private final long id;
+        private final long userId;
+        private final Money balance;
+
+        private StatementCard(long id, long userId, Money balance) {
+            this.id = id;
+            this.userId = userId;
+            this.balance = balance;
+        }
+    }
+
+    /**
+     * Writes one page of cards: transaction lines ({@code T,id,card,date,amount,status}) arrive in card
+     * order, and each card's trailer ({@code C,card,user,opening,closing,count,debit,credit}) is written
+     * as soon as the stream moves past it.
+     */
+    private static final class StatementPageWriter {
+        private final BufferedWriter out;
+        private final List<StatementCard> cards;
+        private final Map<Long, Money> netAfterPeriod;
+        private final List<Object[]> statements;
+        private final Date periodStart;
+        private final Timestamp generatedAt;
+
+        private int next;
+        private long count;
+        private Money debit = Money.ZERO;
+        private Money credit = Money.ZERO;
+        private int rows;
+        private Long lastCardId;
+        private Timestamp lastDate;
+        private long lastId;
+
+        private StatementPageWriter(BufferedWriter out, List<StatementCard> cards, Map<Long, Money> netAfterPeriod,
+                                    List<Object[]> statements, Date periodStart, Timestamp generatedAt) {
+            this.out = out;
+            this.cards = cards;
+            this.netAfterPeriod = netAfterPeriod;
+            this.statements = statements;
+            this.periodStart = periodStart;
+            this.generatedAt = generatedAt;
+        }
+
+        private void onTransaction(ResultSet rs) throws SQLException {
+            long cardId = rs.getLong("card_id");
+            while (cards.get(next).id < cardId) {
+                writeTrailer(cards.get(next++));
+            }
+            long id = rs.getLong("id");
+            Timestamp date = rs.getTimestamp("transaction_date");
+            Money amount = Money.of(rs.getBigDecimal("amount"));
+            write("T," + id + "," + cardId + "," + date.toLocalDateTime() + "," + amount + "," + rs.getString("status"));
+
+            count++;
+            if (amount.signum() < 0) {
+                debit = debit.minus(amount);
+            } else {
+                credit = credit.plus(amount);
+            }
+            rows++;
+            lastCardId = cardId;
+            lastDate = date;
+            lastId = id;
+        }
+
+        private void finish() {
+            while (next < cards.size()) {
+                writeTrailer(cards.get(next++));
+            }
+        }
+
+        private void writeTrailer(StatementCard card) {
+            Money closing = card.balance.minus(netAfterPeriod.getOrDefault(card.id, Money.ZERO));
+            Money opening = closing.minus(credit).plus(debit);
+            write("C," + card.id + "," + card.userId + "," + opening + "," + closing + "," + count + "," + debit + "," + credit);
+            statements.add(new Object[]{card.id, periodStart, card.userId, opening.toBigDecimal(), closing.toBigDecimal(),
+                    debit.toBigDecimal(), credit.toBigDecimal(), count, generatedAt});
+            count = 0;
+            debit = Money.ZERO;
+            credit = Money.ZERO;
+        }
+
+        private void write(String line) {
+            try {
+                out.write(line);
+                out.newLine();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
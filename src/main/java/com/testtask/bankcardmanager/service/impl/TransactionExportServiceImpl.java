@@ -0,0 +1,218 @@
+package com.testtask.bankcardmanager.service.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.testtask.bankcardmanager.archive.TransactionArchive;
+import com.testtask.bankcardmanager.dto.request.ExportFormat;
+import com.testtask.bankcardmanager.dto.response.TransactionResponse;
+import com.testtask.bankcardmanager.exception.ResourceNotFoundException;
+import com.testtask.bankcardmanager.model.User;
+import com.testtask.bankcardmanager.pagination.KeysetCursor;
+import com.testtask.bankcardmanager.repository.CardRepository;
+import com.testtask.bankcardmanager.repository.TransactionRepository;
+import com.testtask.bankcardmanager.repository.UserRepository;
+import com.testtask.bankcardmanager.repository.projection.TransactionProjection;
+import com.testtask.bankcardmanager.service.TransactionExport;
+import com.testtask.bankcardmanager.service.TransactionExportService;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Statement exports. Authorization and existence checks run when the export is created, on the
+ * request thread; rows are streamed later from a server-side cursor inside a read-only transaction
+ * and flushed in small groups, so heap use does not depend on the size of the history. Archived
+ * months are older than every hot row, so once the cursor runs dry the export continues through
+ * {@link TransactionArchive} page by page, in the same (transaction_date desc, id desc) order.
+ */
+@Service
+public class TransactionExportServiceImpl implements TransactionExportService {
+    private static final int FLUSH_EVERY_ROWS = 500;
+    private static final int ARCHIVE_PAGE_SIZE = 1000;
+    private static final String CSV_HEADER = "id,card_id,amount,transaction_date,status,created_at\n";
+
+    private final TransactionRepository transactionRepository;
+    private final CardRepository cardRepository;
+    private final UserRepository userRepository;
+    private final TransactionArchive transactionArchive;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public TransactionExportServiceImpl(TransactionRepository transactionRepository, CardRepository cardRepository,
+                                        UserRepository userRepository, TransactionArchive transactionArchive,
+                                        ObjectMapper objectMapper, PlatformTransactionManager transactionManager) {
+        this.transactionRepository = transactionRepository;
+        this.cardRepository = cardRepository;
+        this.userRepository = userRepository;
+        this.transactionArchive = transactionArchive;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Override
+    @PreAuthorize("hasAuthority('ROLE_ADMIN') or @cardSecurityService.isOwner(authentication, #cardId)")
+    public TransactionExport exportCardTransactions(Long cardId, ExportFormat format) {
+        if (!cardRepository.existsById(cardId)) {
+            throw new ResourceNotFoundException("The card with id: " + cardId + " not found.");
+        }
+        return out -> write(() -> transactionRepository.streamByCardId(cardId), () -> List.of(cardId), format, out);
+    }
+
+    @Override
+    @PreAuthorize("isAuthenticated()")
+    public TransactionExport exportCurrentUserTransactions(ExportFormat format) {
+        Long currentUserId = getCurrentUserId();
+        return out -> write(() -> transactionRepository.streamByUserId(currentUserId),
+                () -> cardRepository.findIdsByUserId(currentUserId), format, out);
+    }
+
+    private void write(Supplier<Stream<TransactionProjection>> query, Supplier<List<Long>> archivedCardIds,
+                       ExportFormat format, OutputStream out) throws IOException {
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<TransactionProjection> hot = query.get()) {
+                    Iterator<TransactionProjection> rows = withArchivedRows(hot.iterator(), archivedCardIds);
+                    if (format == ExportFormat.CSV) {
+                        writeCsv(rows, out);
+                    } else {
+                        writeNdjson(rows, out);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Appends the archived rows of the cards after {@code hotRows}; the archive is only consulted once
+     * the hot rows are exhausted.
+     */
+    private Iterator<TransactionProjection> withArchivedRows(Iterator<TransactionProjection> hotRows,
+                                                             Supplier<List<Long>> archivedCardIds) {
+        return new Iterator<>() {
+            private Iterator<TransactionProjection> archived;
+
+            @Override
+            public boolean hasNext() {
+                if (hotRows.hasNext()) {
+                    return true;
+                }
+                if (archived == null) {
+                    archived = archivedRows(archivedCardIds.get());
+                }
+                return archived.hasNext();
+            }
+
+            @Override
+            public TransactionProjection next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return archived == null ? hotRows.next() : archived.next();
+            }
+        };
+    }
+
+    private Iterator<TransactionProjection> archivedRows(List<Long> cardIds) {
+        if (cardIds.isEmpty() || !transactionArchive.hasArchivedMonths()) {
+            return Collections.emptyIterator();
+        }
+        return new Iterator<>() {
+            private List<TransactionResponse> page = transactionArchive.findHistory(cardIds, null, ARCHIVE_PAGE_SIZE);
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                if (next == page.size() && page.size() == ARCHIVE_PAGE_SIZE) {
+                    TransactionResponse last = page.get(page.size() - 1);
+                    page = transactionArchive.findHistory(cardIds,
+                            new KeysetCursor(last.getTransactionDate(), last.getId()), ARCHIVE_PAGE_SIZE);
+                    next = 0;
+                }
+                return next < page.size();
+            }
+
+            @Override
+            public TransactionProjection next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                TransactionResponse row = page.get(next++);
+                return new TransactionProjection(row.getId(), row.getCardId(), row.getAmount(),
+                        row.getTransactionDate(), row.getStatus(), row.getCreatedAt());
+            }
+        };
+    }
+
+    private void writeNdjson(Iterator<TransactionProjection> rows, OutputStream out) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        int written = 0;
+        while (rows.hasNext()) {
+            objectMapper.writeValue(generator, rows.next());
+            generator.writeRaw('\n');
+            if (++written % FLUSH_EVERY_ROWS == 0) {
+                generator.flush();
+            }
+        }
+        generator.flush();
+    }
+
+    private void writeCsv(Iterator<TransactionProjection> rows, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        int written = 0;
+        while (rows.hasNext()) {
+            TransactionProjection row = rows.next();
+            writer.write(String.valueOf(row.getId()));
+            writer.write(',');
+            writer.write(String.valueOf(row.getCardId()));
+            writer.write(',');
+            writer.write(row.getAmount().toString());
+            writer.write(',');
+            writer.write(row.getTransactionDate().toString());
+            writer.write(',');
+            writer.write(row.getStatus().name());
+            writer.write(',');
+            writer.write(row.getCreatedAt().toString());
+            writer.write('\n');
+            if (++written % FLUSH_EVERY_ROWS == 0) {
+                writer.flush();
+            }
+        }
+        writer.flush();
+    }
+
+    private Long getCurrentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated() || "anonymousUser".equals(authentication.getPrincipal())) {
+            throw new SecurityException("There is no authenticated user");
+        }
+        String userEmail = authentication.getName();
+        User user = userRepository.findByEmail(userEmail)
+                .orElseThrow(() -> new UsernameNotFoundException("User with email " + userEmail + " not found"));
+        return user.getId();
+    }
+}
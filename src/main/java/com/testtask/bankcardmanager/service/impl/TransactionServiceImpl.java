@@ -1,83 +1,426 @@
 package com.testtask.bankcardmanager.service.impl;
 
+import com.testtask.bankcardmanager.archive.TransactionArchive;
+import com.testtask.bankcardmanager.dto.request.BulkReversalRequest;
+import com.testtask.bankcardmanager.dto.request.TransactionSearchRequest;
+import com.testtask.bankcardmanager.dto.response.AccountEventResponse;
+import com.testtask.bankcardmanager.dto.response.BulkReversalResponse;
+import com.testtask.bankcardmanager.dto.response.CursorPage;
 import com.testtask.bankcardmanager.dto.response.TransactionResponse;
+import com.testtask.bankcardmanager.event.AccountEvent;
+import com.testtask.bankcardmanager.exception.CardOperationException;
+import com.testtask.bankcardmanager.exception.InsufficientFundsException;
 import com.testtask.bankcardmanager.exception.ResourceNotFoundException;
-import com.testtask.bankcardmanager.model.Card;
+import com.testtask.bankcardmanager.ledger.LedgerEngine;
+import com.testtask.bankcardmanager.model.Money;
 import com.testtask.bankcardmanager.model.Transaction;
 import com.testtask.bankcardmanager.model.User;
+import com.testtask.bankcardmanager.model.enums.CardStatus;
+import com.testtask.bankcardmanager.model.enums.TransactionStatus;
+import com.testtask.bankcardmanager.pagination.KeysetCursor;
+import com.testtask.bankcardmanager.repository.CardDailySummaryRepository;
 import com.testtask.bankcardmanager.repository.CardRepository;
+import com.testtask.bankcardmanager.repository.DashboardAggregates;
 import com.testtask.bankcardmanager.repository.TransactionRepository;
 import com.testtask.bankcardmanager.repository.UserRepository;
+import com.testtask.bankcardmanager.repository.projection.TransactionProjection;
 import com.testtask.bankcardmanager.service.TransactionService;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.lang.Nullable;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 
 @Service
 public class TransactionServiceImpl implements TransactionService {
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final String CARD_HISTORY_FIRST_PAGE_SQL =
+            "SELECT id, card_id, amount, transaction_date, status, created_at FROM transaction " +
+            "WHERE card_id = ? ORDER BY transaction_date DESC, id DESC LIMIT ?";
+    // The plain transaction_date bound duplicates the row comparison so the planner can prune monthly partitions.
+    private static final String CARD_HISTORY_NEXT_PAGE_SQL =
+            "SELECT id, card_id, amount, transaction_date, status, created_at FROM transaction " +
+            "WHERE card_id = ? AND transaction_date <= ? AND (transaction_date, id) < (?, ?) ORDER BY transaction_date DESC, id DESC LIMIT ?";
+    private static final String USER_FEED_FIRST_PAGE_SQL =
+            "SELECT t.id, t.card_id, t.amount, t.transaction_date, t.status, t.created_at FROM transaction t " +
+            "JOIN bank_cards c ON c.id = t.card_id WHERE c.user_id = ? " +
+            "ORDER BY t.transaction_date DESC, t.id DESC LIMIT ?";
+    private static final String USER_FEED_NEXT_PAGE_SQL =
+            "SELECT t.id, t.card_id, t.amount, t.transaction_date, t.status, t.created_at FROM transaction t " +
+            "JOIN bank_cards c ON c.id = t.card_id WHERE c.user_id = ? AND t.transaction_date <= ? AND (t.transaction_date, t.id) < (?, ?) " +
+            "ORDER BY t.transaction_date DESC, t.id DESC LIMIT ?";
+    private static final RowMapper<TransactionResponse> TRANSACTION_ROW_MAPPER = (rs, rowNum) -> new TransactionResponse(
+            rs.getLong("id"),
+            rs.getLong("card_id"),
+            Money.of(rs.getBigDecimal("amount")),
+            rs.getObject("transaction_date", LocalDateTime.class),
+            TransactionStatus.valueOf(rs.getString("status")),
+            rs.getObject("created_at", LocalDateTime.class));
+    // Pulls in the other leg of every requested transfer, so both legs are locked and reversed together.
+    private static final String SELECT_REVERSIBLE_SQL =
+            "SELECT id, card_id, amount, transfer_id, transaction_date, created_at, COALESCE(captured_at, transaction_date) AS posted_at " +
+            "FROM transaction " +
+            "WHERE (id = ANY(?) OR transfer_id IN (SELECT transfer_id FROM transaction WHERE id = ANY(?) AND transfer_id IS NOT NULL)) " +
+            "AND status = 'COMPLETED' AND reversal_of IS NULL ORDER BY id FOR UPDATE";
+    private static final String SELECT_LOCKED_CARDS_SQL =
+            "SELECT id, user_id, status, balance, available_balance FROM bank_cards WHERE id = ANY(?) ORDER BY id FOR UPDATE";
+    private static final String MARK_REVERSED_SQL =
+            "UPDATE transaction SET status = 'REVERSED' WHERE id = ?";
+    private static final String INSERT_COMPENSATION_SQL =
+            "INSERT INTO transaction (card_id, amount, transaction_date, status, created_at, reversal_of) VALUES (?, ?, ?, 'COMPLETED', ?, ?)";
+    private static final String UPDATE_BALANCES_SQL =
+            "UPDATE bank_cards SET balance = balance + ?, available_balance = available_balance + ?, updated_at = ? WHERE id = ?";
+    // Compensations of one chunk share their transaction_date, which limits the lookup to one partition.
+    private static final String INSERT_REVERSAL_OUTBOX_SQL =
+            "INSERT INTO ledger_outbox (event_type, transaction_id, card_id, user_id, amount, occurred_at) " +
+            "SELECT 'REVERSAL', t.id, t.card_id, c.user_id, t.amount, t.transaction_date FROM transaction t " +
+            "JOIN bank_cards c ON c.id = t.card_id WHERE t.reversal_of = ANY(?) AND t.transaction_date = ? ORDER BY t.id " +
+            "RETURNING transaction_id, card_id, user_id, amount";
+
     private final TransactionRepository transactionRepository;
     private final CardRepository cardRepository;
     private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final DashboardAggregates dashboardAggregates;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Clock clock;
+    private final LedgerEngine ledgerEngine;
+    private final TransactionArchive transactionArchive;
+    private final int reversalBatchSize;
 
-    public TransactionServiceImpl(TransactionRepository transactionRepository, CardRepository cardRepository, UserRepository userRepository) {
+    public TransactionServiceImpl(TransactionRepository transactionRepository, CardRepository cardRepository, UserRepository userRepository,
+                                  JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                  DashboardAggregates dashboardAggregates, ApplicationEventPublisher eventPublisher, Clock clock,
+                                  @Nullable LedgerEngine ledgerEngine, TransactionArchive transactionArchive,
+                                  @Value("${transaction.reversal.batch-size}") int reversalBatchSize) {
         this.transactionRepository = transactionRepository;
         this.cardRepository = cardRepository;
         this.userRepository = userRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.dashboardAggregates = dashboardAggregates;
+        this.eventPublisher = eventPublisher;
+        this.clock = clock;
+        this.ledgerEngine = ledgerEngine;
+        this.transactionArchive = transactionArchive;
+        this.reversalBatchSize = reversalBatchSize;
     }
 
     @Override
     @Transactional(readOnly = true)
     @PreAuthorize("hasAuthority('ROLE_ADMIN') or @transactionSecurityService.isOwner(authentication, #id)")
     public TransactionResponse getTransactionById(Long id) {
-        Transaction transaction = transactionRepository.findById(id)
+        TransactionProjection transaction = transactionRepository.findProjectionById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Transaction not found with ID: " + id));
-        return mapTransactionToTransactionDto(transaction);
+        return new TransactionResponse(
+                transaction.getId(),
+                transaction.getCardId(),
+                transaction.getAmount(),
+                transaction.getTransactionDate(),
+                transaction.getStatus(),
+                transaction.getCreatedAt()
+        );
     }
 
     @Override
     @Transactional(readOnly = true)
     @PreAuthorize("hasAuthority('ROLE_ADMIN') or @cardSecurityService.isOwner(authentication, #cardId)")
-    public List<TransactionResponse> getAllTransactionsByCardId(Long cardId) {
-        cardRepository.findById(cardId)
-                .orElseThrow(() -> new ResourceNotFoundException("The card with id: " + cardId + " not found."));
-        List<Transaction> transactions = transactionRepository.findByCardId(cardId);
+    public CursorPage<TransactionResponse> getCardTransactions(Long cardId, String cursor, int size) {
+        if (!cardRepository.existsById(cardId)) {
+            throw new ResourceNotFoundException("The card with id: " + cardId + " not found.");
+        }
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
 
-        return transactions.stream()
-                .map(this::mapTransactionToTransactionDto)
-                .collect(Collectors.toList());
+        List<TransactionResponse> rows;
+        KeysetCursor position = null;
+        if (cursor == null || cursor.isBlank()) {
+            rows = jdbcTemplate.query(CARD_HISTORY_FIRST_PAGE_SQL, TRANSACTION_ROW_MAPPER, cardId, limit + 1);
+        } else {
+            position = KeysetCursor.decode(cursor);
+            Timestamp after = Timestamp.valueOf(position.getTimestamp());
+            rows = jdbcTemplate.query(CARD_HISTORY_NEXT_PAGE_SQL, TRANSACTION_ROW_MAPPER,
+                    cardId, after, after, position.getId(), limit + 1);
+        }
+        if (rows.size() <= limit && transactionArchive.hasArchivedMonths()) {
+            rows = appendArchivedRows(rows, List.of(cardId), position, limit);
+        }
+        return toCursorPage(rows, limit);
     }
 
     @Override
     @Transactional(readOnly = true)
     @PreAuthorize("isAuthenticated()")
-    public List<TransactionResponse> getTransactionsForCurrentUser() {
+    public CursorPage<TransactionResponse> getTransactionsForCurrentUser(String cursor, int size) {
         Long currentUserId = getCurrentUserId();
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+
+        List<TransactionResponse> rows;
+        KeysetCursor position = null;
+        if (cursor == null || cursor.isBlank()) {
+            rows = jdbcTemplate.query(USER_FEED_FIRST_PAGE_SQL, TRANSACTION_ROW_MAPPER, currentUserId, limit + 1);
+        } else {
+            position = KeysetCursor.decode(cursor);
+            Timestamp after = Timestamp.valueOf(position.getTimestamp());
+            rows = jdbcTemplate.query(USER_FEED_NEXT_PAGE_SQL, TRANSACTION_ROW_MAPPER,
+                    currentUserId, after, after, position.getId(), limit + 1);
+        }
+        if (rows.size() <= limit && transactionArchive.hasArchivedMonths()) {
+            rows = appendArchivedRows(rows, cardRepository.findIdsByUserId(currentUserId), position, limit);
+        }
+        return toCursorPage(rows, limit);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public CursorPage<TransactionResponse> searchTransactions(TransactionSearchRequest request, String cursor, int size) {
+        if (request.getMinAmount() != null && request.getMaxAmount() != null
+                && request.getMinAmount().compareTo(request.getMaxAmount()) > 0) {
+            throw new CardOperationException("The minimum amount must not exceed the maximum amount");
+        }
+        if (request.getFrom() != null && request.getTo() != null && !request.getFrom().isBefore(request.getTo())) {
+            throw new CardOperationException("The start of the period must be before its end");
+        }
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        KeysetCursor position = cursor == null || cursor.isBlank() ? null : KeysetCursor.decode(cursor);
+
+        Specification<Transaction> spec = (root, query, criteriaBuilder) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (request.getCardId() != null) {
+                predicates.add(criteriaBuilder.equal(root.get("card").get("id"), request.getCardId()));
+            }
+            if (request.getUserId() != null) {
+                predicates.add(criteriaBuilder.equal(root.get("card").get("user").get("id"), request.getUserId()));
+            }
+            if (request.getMinAmount() != null) {
+                predicates.add(criteriaBuilder.greaterThanOrEqualTo(root.get("amount"), Money.of(request.getMinAmount())));
+            }
+            if (request.getMaxAmount() != null) {
+                predicates.add(criteriaBuilder.lessThanOrEqualTo(root.get("amount"), Money.of(request.getMaxAmount())));
+            }
+            if (request.getFrom() != null) {
+                predicates.add(criteriaBuilder.greaterThanOrEqualTo(root.get("transactionDate"), request.getFrom()));
+            }
+            if (request.getTo() != null) {
+                predicates.add(criteriaBuilder.lessThan(root.get("transactionDate"), request.getTo()));
+            }
+            if (request.getStatus() != null) {
+                predicates.add(criteriaBuilder.equal(root.get("status"), request.getStatus()));
+            }
+            if (position != null) {
+                Path<LocalDateTime> date = root.get("transactionDate");
+                Path<Long> id = root.get("id");
+                predicates.add(criteriaBuilder.lessThanOrEqualTo(date, position.getTimestamp()));
+                predicates.add(criteriaBuilder.or(
+                        criteriaBuilder.lessThan(date, position.getTimestamp()),
+                        criteriaBuilder.and(criteriaBuilder.equal(date, position.getTimestamp()), criteriaBuilder.lessThan(id, position.getId()))));
+            }
+            return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
+        };
+
+        List<TransactionResponse> rows = transactionRepository.findBy(spec, query -> query
+                        .sortBy(Sort.by(Sort.Direction.DESC, "transactionDate", "id"))
+                        .limit(limit + 1)
+                        .all())
+                .stream()
+                .map(this::mapTransactionToTransactionDto)
+                .toList();
+        return toCursorPage(rows, limit);
+    }
 
-        List<Card> userCards = cardRepository.findAll((root, query, criteriaBuilder) ->
-                criteriaBuilder.equal(root.get("user").get("id"), currentUserId));
+    @Override
+    @Transactional
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public TransactionResponse reverseTransaction(Long id) {
+        requireLedgerEngineDisabled();
+        Transaction transaction = transactionRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Transaction not found with ID: " + id));
+        if (transaction.getStatus() != TransactionStatus.COMPLETED || transaction.getReversalOf() != null) {
+            throw new CardOperationException("Only completed transactions that are not reversals themselves can be reversed");
+        }
 
-        if (userCards.isEmpty()) {
+        if (!reverseChunk(List.of(id)).contains(id)) {
+            throw new InsufficientFundsException("Insufficient funds on the card to reverse the transaction");
+        }
+        Transaction compensation = transactionRepository.findByReversalOf(id)
+                .orElseThrow(() -> new IllegalStateException("Compensating entry for transaction " + id + " was not written"));
+        return mapTransactionToTransactionDto(compensation);
+    }
+
+    @Override
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public BulkReversalResponse reverseTransactions(BulkReversalRequest request) {
+        requireLedgerEngineDisabled();
+        List<Long> ids = request.getTransactionIds().stream().distinct().sorted().toList();
+        Set<Long> done = new HashSet<>();
+
+        // A transfer leg may already have been reversed with its counterpart from an earlier chunk.
+        for (int from = 0; from < ids.size(); from += reversalBatchSize) {
+            List<Long> chunk = ids.subList(from, Math.min(from + reversalBatchSize, ids.size()));
+            done.addAll(transactionTemplate.execute(status -> reverseChunk(chunk)));
+        }
+        List<Long> skipped = ids.stream().filter(id -> !done.contains(id)).toList();
+        return new BulkReversalResponse(ids.size(), ids.size() - skipped.size(), skipped);
+    }
+
+    /**
+     * Reverses the given transactions and returns the ids of every leg it reversed. Both legs of a
+     * transfer are reversed together or not at all, so a reversal never re-credits the source while the
+     * destination keeps the money; a leg whose counterpart is already reversed is reversed alone.
+     * The reversed rows, their compensations and the new balances go to the owners' event streams and
+     * are delivered once the surrounding transaction commits.
+     */
+    private List<Long> reverseChunk(List<Long> sortedIds) {
+        Long[] ids = sortedIds.toArray(new Long[0]);
+        List<ReversalCandidate> candidates = jdbcTemplate.query(SELECT_REVERSIBLE_SQL,
+                (rs, rowNum) -> new ReversalCandidate(rs.getLong("id"), rs.getLong("card_id"), Money.of(rs.getBigDecimal("amount")),
+                        rs.getObject("transfer_id", Long.class), rs.getObject("transaction_date", LocalDateTime.class),
+                        rs.getObject("created_at", LocalDateTime.class), rs.getObject("posted_at", LocalDateTime.class)),
+                ids, ids);
+        if (candidates.isEmpty()) {
             return Collections.emptyList();
         }
 
-        List<Long> cardIds = userCards.stream().map(Card::getId).collect(Collectors.toList());
+        Map<Long, Money> available = new HashMap<>();
+        Map<Long, Money> balances = new HashMap<>();
+        Map<Long, CardStatus> statuses = new HashMap<>();
+        Map<Long, Long> owners = new HashMap<>();
+        jdbcTemplate.query(SELECT_LOCKED_CARDS_SQL, rs -> {
+                    long cardId = rs.getLong("id");
+                    available.put(cardId, Money.of(rs.getBigDecimal("available_balance")));
+                    balances.put(cardId, Money.of(rs.getBigDecimal("balance")));
+                    statuses.put(cardId, CardStatus.valueOf(rs.getString("status")));
+                    owners.put(cardId, rs.getLong("user_id"));
+                },
+                (Object) candidates.stream().map(c -> c.cardId).distinct().toArray(Long[]::new));
 
-        List<Transaction> transactions = transactionRepository.findAll((root, query, criteriaBuilder) ->
-                root.get("card").get("id").in(cardIds)
-        );
-        transactions.sort((t1, t2) -> t2.getTransactionDate().compareTo(t1.getTransactionDate()));
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now(clock));
+        List<Long> reversedIds = new ArrayList<>(candidates.size());
+        List<Object[]> markArgs = new ArrayList<>(candidates.size());
+        List<Object[]> insertArgs = new ArrayList<>(candidates.size());
+        List<Object[]> summaryArgs = new ArrayList<>(candidates.size());
+        Date today = Date.valueOf(now.toLocalDateTime().toLocalDate());
+        Map<Long, Money> deltas = new TreeMap<>();
+        Map<LocalDate, ReversedVolume> volumes = new TreeMap<>();
+        List<AccountEvent> events = new ArrayList<>();
+
+        Map<Object, List<ReversalCandidate>> groups = new LinkedHashMap<>();
+        for (ReversalCandidate candidate : candidates) {
+            Object key = candidate.transferId != null ? candidate.transferId : "transaction-" + candidate.id;
+            groups.computeIfAbsent(key, k -> new ArrayList<>()).add(candidate);
+        }
 
+        for (List<ReversalCandidate> group : groups.values()) {
+            Map<Long, Money> remaining = new HashMap<>();
+            boolean covered = true;
+            for (ReversalCandidate candidate : group) {
+                Money balance = remaining.getOrDefault(candidate.cardId, available.get(candidate.cardId)).minus(candidate.amount);
+                remaining.put(candidate.cardId, balance);
+                covered &= balance.signum() >= 0;
+            }
+            if (!covered) {
+                continue;
+            }
+            available.putAll(remaining);
+            for (ReversalCandidate candidate : group) {
+                Money compensation = candidate.amount.negate();
+                deltas.merge(candidate.cardId, compensation, Money::plus);
+                volumes.computeIfAbsent(candidate.postedAt.toLocalDate(), day -> new ReversedVolume()).remove(candidate);
+                reversedIds.add(candidate.id);
+                events.add(new AccountEvent(owners.get(candidate.cardId), AccountEventResponse.transaction(new TransactionResponse(
+                        candidate.id, candidate.cardId, candidate.amount, candidate.transactionDate,
+                        TransactionStatus.REVERSED, candidate.createdAt))));
+                markArgs.add(new Object[]{candidate.id});
+                insertArgs.add(new Object[]{candidate.cardId, compensation.toBigDecimal(), now, now, candidate.id});
+                summaryArgs.add(new Object[]{candidate.cardId, today,
+                        compensation.signum() < 0 ? compensation.negate().toBigDecimal() : BigDecimal.ZERO,
+                        compensation.signum() > 0 ? compensation.toBigDecimal() : BigDecimal.ZERO});
+            }
+        }
+        if (reversedIds.isEmpty()) {
+            return reversedIds;
+        }
 
-        return transactions.stream()
-                .map(this::mapTransactionToTransactionDto)
-                .collect(Collectors.toList());
+        List<Object[]> balanceArgs = new ArrayList<>(deltas.size());
+        deltas.forEach((cardId, delta) -> balanceArgs.add(new Object[]{delta.toBigDecimal(), delta.toBigDecimal(), now, cardId}));
+
+        jdbcTemplate.batchUpdate(MARK_REVERSED_SQL, markArgs);
+        jdbcTemplate.batchUpdate(INSERT_COMPENSATION_SQL, insertArgs);
+        jdbcTemplate.batchUpdate(UPDATE_BALANCES_SQL, balanceArgs);
+        jdbcTemplate.batchUpdate(CardDailySummaryRepository.ADD_ENTRY_SQL, summaryArgs);
+        jdbcTemplate.query(INSERT_REVERSAL_OUTBOX_SQL, rs -> {
+            events.add(new AccountEvent(rs.getLong("user_id"), AccountEventResponse.transaction(new TransactionResponse(
+                    rs.getLong("transaction_id"), rs.getLong("card_id"), Money.of(rs.getBigDecimal("amount")),
+                    now.toLocalDateTime(), TransactionStatus.COMPLETED, now.toLocalDateTime()))));
+        }, reversedIds.toArray(new Long[0]), now);
+
+        DashboardAggregates.CardTotalsDelta totals = new DashboardAggregates.CardTotalsDelta();
+        deltas.forEach((cardId, delta) -> totals.add(statuses.get(cardId), 0, delta));
+        dashboardAggregates.apply(totals);
+        volumes.forEach((day, volume) -> dashboardAggregates.addVolume(day, volume.transferCount, volume.transferAmount,
+                volume.withdrawalCount, volume.withdrawalAmount));
+
+        deltas.forEach((cardId, delta) -> events.add(new AccountEvent(owners.get(cardId), AccountEventResponse.balance(cardId,
+                balances.get(cardId).plus(delta), available.get(cardId), now.toLocalDateTime()))));
+        events.forEach(eventPublisher::publishEvent);
+        return reversedIds;
+    }
+
+    /**
+     * Archived months are strictly older than every hot row, so once the hot query runs dry the page
+     * continues from the archive at the last position seen.
+     */
+    private List<TransactionResponse> appendArchivedRows(List<TransactionResponse> rows, List<Long> cardIds,
+                                                         @Nullable KeysetCursor position, int limit) {
+        KeysetCursor from = rows.isEmpty() ? position
+                : new KeysetCursor(rows.get(rows.size() - 1).getTransactionDate(), rows.get(rows.size() - 1).getId());
+        List<TransactionResponse> combined = new ArrayList<>(rows);
+        combined.addAll(transactionArchive.findHistory(cardIds, from, limit + 1 - rows.size()));
+        return combined;
+    }
+
+    private static CursorPage<TransactionResponse> toCursorPage(List<TransactionResponse> rows, int limit) {
+        if (rows.size() <= limit) {
+            return new CursorPage<>(rows, null);
+        }
+        List<TransactionResponse> page = rows.subList(0, limit);
+        TransactionResponse last = page.get(limit - 1);
+        return new CursorPage<>(new ArrayList<>(page), new KeysetCursor(last.getTransactionDate(), last.getId()).encode());
+    }
+
+    private void requireLedgerEngineDisabled() {
+        if (ledgerEngine != null) {
+            throw new CardOperationException("Reversals are not available while the ledger engine is enabled");
+        }
     }
 
     private Long getCurrentUserId() {
@@ -101,4 +444,49 @@ public class TransactionServiceImpl implements TransactionService {
                 transaction.getCreatedAt()
         );
     }
-}
+
+    private static final class ReversalCandidate {
+        private final long id;
+        private final long cardId;
+        private final Money amount;
+        private final Long transferId;
+        private final LocalDateTime transactionDate;
+        private final LocalDateTime createdAt;
+        private final LocalDateTime postedAt;
+
+        private ReversalCandidate(long id, long cardId, Money amount, Long transferId, LocalDateTime transactionDate,
+                                  LocalDateTime createdAt, LocalDateTime postedAt) {
+            this.id = id;
+            this.cardId = cardId;
+            this.amount = amount;
+            this.transferId = transferId;
+            this.transactionDate = transactionDate;
+            this.createdAt = createdAt;
+            this.postedAt = postedAt;
+        }
+    }
+
+    /**
+     * Dashboard volume taken back from the day the reversed postings were counted on. A transfer is
+     * counted once, through its debit leg; credits that are not transfer legs were never counted.
+     */
+    private static final class ReversedVolume {
+        private long transferCount;
+        private Money transferAmount = Money.ZERO;
+        private long withdrawalCount;
+        private Money withdrawalAmount = Money.ZERO;
+
+        private void remove(ReversalCandidate candidate) {
+            if (candidate.amount.signum() >= 0) {
+                return;
+            }
+            if (candidate.transferId != null) {
+                transferCount--;
+                transferAmount = transferAmount.plus(candidate.amount);
+            } else {
+                withdrawalCount--;
+                withdrawalAmount = withdrawalAmount.plus(candidate.amount);
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,138 @@
+package com.testtask.bankcardmanager.service.impl;
+
+import com.testtask.bankcardmanager.dto.request.TransferRequest;
+import com.testtask.bankcardmanager.dto.response.TransferStatusResponse;
+import com.testtask.bankcardmanager.exception.CardOperationException;
+import com.testtask.bankcardmanager.exception.ResourceNotFoundException;
+import com.testtask.bankcardmanager.exception.TransferQueueFullException;
+import com.testtask.bankcardmanager.model.Money;
+import com.testtask.bankcardmanager.model.Transfer;
+import com.testtask.bankcardmanager.model.enums.TransactionStatus;
+import com.testtask.bankcardmanager.repository.TransferRepository;
+import com.testtask.bankcardmanager.scheduling.PartitionedExecutor;
+import com.testtask.bankcardmanager.service.TransferService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Asynchronous transfers: the request is stored as PENDING and executed on the lane owned by the
+ * source card, so transfers from one card are applied in submission order. The money movement and
+ * the COMPLETED status are committed together; a failure is recorded in a separate transaction.
+ */
+@Service
+public class TransferServiceImpl implements TransferService {
+    private static final Logger log = LoggerFactory.getLogger(TransferServiceImpl.class);
+    private static final int MAX_FAILURE_REASON_LENGTH = 255;
+
+    private final TransferRepository transferRepository;
+    private final CardServiceImpl cardService;
+    private final PartitionedExecutor transferExecutor;
+    private final TransactionTemplate transactionTemplate;
+
+    public TransferServiceImpl(TransferRepository transferRepository, CardServiceImpl cardService,
+                               PartitionedExecutor transferExecutor, PlatformTransactionManager transactionManager) {
+        this.transferRepository = transferRepository;
+        this.cardService = cardService;
+        this.transferExecutor = transferExecutor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    @PreAuthorize("isAuthenticated()")
+    public TransferStatusResponse submitTransfer(TransferRequest request) {
+        if (request.getFromCardId().equals(request.getToCardId())) {
+            throw new CardOperationException("The source card and the destination card cannot be the same");
+        }
+        Long currentUserId = cardService.getCurrentUserId();
+        Transfer transfer = transferRepository.save(
+                new Transfer(currentUserId, request.getFromCardId(), request.getToCardId(), Money.of(request.getAmount())));
+
+        try {
+            dispatch(transfer);
+        } catch (RejectedExecutionException e) {
+            transactionTemplate.executeWithoutResult(status ->
+                    transferRepository.finishPending(transfer.getId(), TransactionStatus.FAILED, "Transfer queue is full"));
+            throw new TransferQueueFullException("Too many pending transfers for the source card, please retry later");
+        }
+        return mapTransferToTransferStatusResponse(transfer);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @PreAuthorize("isAuthenticated()")
+    public TransferStatusResponse getTransferStatus(Long transferId) {
+        Long currentUserId = cardService.getCurrentUserId();
+        Transfer transfer = transferRepository.findByIdAndUserId(transferId, currentUserId)
+                .orElseThrow(() -> new ResourceNotFoundException("Transfer with ID " + transferId + " not found"));
+        return mapTransferToTransferStatusResponse(transfer);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumePendingTransfers() {
+        List<Transfer> pending = transferRepository.findByStatusOrderByIdAsc(TransactionStatus.PENDING);
+        for (Transfer transfer : pending) {
+            try {
+                dispatch(transfer);
+            } catch (RejectedExecutionException e) {
+                log.warn("Transfer queue is full, {} pending transfers will be resumed on the next start", pending.size());
+                return;
+            }
+        }
+        if (!pending.isEmpty()) {
+            log.info("Resumed {} pending transfers", pending.size());
+        }
+    }
+
+    private void dispatch(Transfer transfer) {
+        Long transferId = transfer.getId();
+        transferExecutor.execute(transfer.getFromCardId(), () -> execute(transferId));
+    }
+
+    private void execute(Long transferId) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Transfer transfer = transferRepository.findWithLockById(transferId).orElse(null);
+                if (transfer == null || transfer.getStatus() != TransactionStatus.PENDING) {
+                    return;
+                }
+                cardService.executeTransfer(transfer.getUserId(), transfer.getFromCardId(), transfer.getToCardId(), transfer.getAmount());
+                transfer.setStatus(TransactionStatus.COMPLETED);
+            });
+        } catch (RuntimeException e) {
+            String reason = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            if (reason.length() > MAX_FAILURE_REASON_LENGTH) {
+                reason = reason.substring(0, MAX_FAILURE_REASON_LENGTH);
+            }
+            String failureReason = reason;
+            try {
+                transactionTemplate.executeWithoutResult(status ->
+                        transferRepository.finishPending(transferId, TransactionStatus.FAILED, failureReason));
+            } catch (RuntimeException markFailure) {
+                log.error("Failed to record the failure of transfer {}", transferId, markFailure);
+            }
+        }
+    }
+
+    private TransferStatusResponse mapTransferToTransferStatusResponse(Transfer transfer) {
+        return new TransferStatusResponse(
+                transfer.getId(),
+                transfer.getFromCardId(),
+                transfer.getToCardId(),
+                transfer.getAmount(),
+                transfer.getStatus(),
+                transfer.getFailureReason(),
+                transfer.getCreatedAt(),
+                transfer.getUpdatedAt()
+        );
+    }
+}
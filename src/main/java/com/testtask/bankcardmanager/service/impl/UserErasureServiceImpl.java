@@ -0,0 +1,245 @@
+package com.testtask.bankcardmanager.service.impl;
+
+import com.testtask.bankcardmanager.dto.response.UserErasureResponse;
+import com.testtask.bankcardmanager.exception.CardOperationException;
+import com.testtask.bankcardmanager.exception.ResourceNotFoundException;
+import com.testtask.bankcardmanager.ledger.LedgerEngine;
+import com.testtask.bankcardmanager.model.Money;
+import com.testtask.bankcardmanager.model.User;
+import com.testtask.bankcardmanager.model.enums.CardStatus;
+import com.testtask.bankcardmanager.model.enums.UserErasureStatus;
+import com.testtask.bankcardmanager.model.enums.UserErasureStep;
+import com.testtask.bankcardmanager.repository.DashboardAggregates;
+import com.testtask.bankcardmanager.repository.UserRepository;
+import com.testtask.bankcardmanager.service.UserErasureService;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ValidationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Erases a user with set-based statements instead of ORM cascades. Starting an erasure disables the
+ * account and blocks its active cards in one short transaction, so no new postings arrive while the
+ * data goes. The erasure then deletes in dependency order ({@link UserErasureStep}), each step in
+ * chunks of {@code user-erasure.chunk-size} rows found through the card or user indexes, one
+ * transaction per chunk. Nothing is loaded into memory beyond the user's card ids, and no lock is held
+ * longer than one chunk. Every chunk commits the current step and the running row count to
+ * {@code user_erasure}; an interrupted or failed erasure resumes from that step when started again.
+ * <p>
+ * Months already moved to archive files and statement files on disk are not rewritten. Erasure is
+ * refused while the ledger engine is enabled: entries it has accepted but not yet projected would
+ * reference cards that no longer exist.
+ */
+@Service
+public class UserErasureServiceImpl implements UserErasureService {
+    private static final Logger log = LoggerFactory.getLogger(UserErasureServiceImpl.class);
+
+    private static final String DISABLE_USER_SQL =
+            "UPDATE users SET is_enabled = false, is_account_non_locked = false, updated_at = ? WHERE id = ?";
+    private static final String BLOCK_CARDS_SQL =
+            "UPDATE bank_cards SET status = 'BLOCKED', updated_at = ? WHERE user_id = ? AND status = 'ACTIVE' RETURNING balance";
+    private static final String START_ERASURE_SQL =
+            "INSERT INTO user_erasure (user_id, status, step, deleted_rows, requested_at, updated_at) " +
+            "VALUES (?, 'RUNNING', ?, 0, ?, ?) ON CONFLICT (user_id) DO UPDATE SET status = 'RUNNING', " +
+            "updated_at = EXCLUDED.updated_at, last_error = NULL";
+    private static final String SELECT_ERASURE_SQL =
+            "SELECT user_id, status, step, deleted_rows, requested_at, completed_at, last_error FROM user_erasure WHERE user_id = ?";
+    private static final String SELECT_CARD_IDS_SQL = "SELECT id FROM bank_cards WHERE user_id = ?";
+    private static final String DELETE_TRANSACTIONS_SQL =
+            "DELETE FROM transaction WHERE (id, transaction_date) IN " +
+            "(SELECT id, transaction_date FROM transaction WHERE card_id = ANY(?) LIMIT ?)";
+    private static final String DELETE_DAILY_SUMMARIES_SQL =
+            "DELETE FROM card_daily_summary WHERE (card_id, summary_date) IN " +
+            "(SELECT card_id, summary_date FROM card_daily_summary WHERE card_id = ANY(?) LIMIT ?)";
+    private static final String DELETE_STATEMENTS_SQL =
+            "DELETE FROM card_statement WHERE (card_id, period) IN " +
+            "(SELECT card_id, period FROM card_statement WHERE card_id = ANY(?) LIMIT ?)";
+    private static final String DELETE_OUTBOX_SQL =
+            "DELETE FROM ledger_outbox WHERE id IN (SELECT id FROM ledger_outbox WHERE user_id = ? LIMIT ?)";
+    private static final String DELETE_TRANSFER_REQUESTS_SQL =
+            "DELETE FROM transfer_request WHERE id IN (SELECT id FROM transfer_request WHERE user_id = ? LIMIT ?)";
+    private static final String DELETE_CARDS_SQL = "DELETE FROM bank_cards WHERE user_id = ? RETURNING status, balance";
+    private static final String DELETE_USER_SQL = "DELETE FROM users WHERE id = ?";
+    private static final String PROGRESS_SQL =
+            "UPDATE user_erasure SET step = ?, deleted_rows = deleted_rows + ?, updated_at = ? WHERE user_id = ?";
+    private static final String COMPLETE_SQL =
+            "UPDATE user_erasure SET status = 'COMPLETED', completed_at = ?, updated_at = ? WHERE user_id = ?";
+    private static final String FAIL_SQL =
+            "UPDATE user_erasure SET status = 'FAILED', last_error = ?, updated_at = ? WHERE user_id = ?";
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final UserRepository userRepository;
+    private final DashboardAggregates dashboardAggregates;
+    private final Clock clock;
+    private final LedgerEngine ledgerEngine;
+    private final int chunkSize;
+    private final ExecutorService coordinator;
+
+    public UserErasureServiceImpl(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                  UserRepository userRepository, DashboardAggregates dashboardAggregates, Clock clock,
+                                  @Nullable LedgerEngine ledgerEngine, @Value("${user-erasure.chunk-size}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.userRepository = userRepository;
+        this.dashboardAggregates = dashboardAggregates;
+        this.clock = clock;
+        this.ledgerEngine = ledgerEngine;
+        this.chunkSize = chunkSize;
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("user-erasure-");
+        threadFactory.setDaemon(true);
+        this.coordinator = Executors.newSingleThreadExecutor(threadFactory);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        coordinator.shutdownNow();
+    }
+
+    @Override
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public UserErasureResponse startErasure(Long userId) {
+        Optional<UserErasureResponse> completed = findCompleted(userId);
+        if (completed.isPresent()) {
+            return completed.get();
+        }
+        prepare(userId);
+        coordinator.execute(() -> run(userId));
+        return getErasure(userId);
+    }
+
+    @Override
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public UserErasureResponse eraseUser(Long userId) {
+        Optional<UserErasureResponse> completed = findCompleted(userId);
+        if (completed.isPresent()) {
+            return completed.get();
+        }
+        prepare(userId);
+        run(userId);
+        return getErasure(userId);
+    }
+
+    @Override
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public UserErasureResponse getErasure(Long userId) {
+        return findErasure(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("No erasure was requested for user with ID: " + userId));
+    }
+
+    private Optional<UserErasureResponse> findCompleted(Long userId) {
+        return findErasure(userId).filter(erasure -> erasure.getStatus() == UserErasureStatus.COMPLETED);
+    }
+
+    private Optional<UserErasureResponse> findErasure(Long userId) {
+        List<UserErasureResponse> rows = jdbcTemplate.query(SELECT_ERASURE_SQL, (rs, rowNum) -> new UserErasureResponse(
+                rs.getLong("user_id"),
+                UserErasureStatus.valueOf(rs.getString("status")),
+                UserErasureStep.valueOf(rs.getString("step")),
+                rs.getLong("deleted_rows"),
+                rs.getObject("requested_at", LocalDateTime.class),
+                rs.getObject("completed_at", LocalDateTime.class),
+                rs.getString("last_error")
+        ), userId);
+        return rows.stream().findFirst();
+    }
+
+    private void prepare(Long userId) {
+        if (ledgerEngine != null) {
+            throw new CardOperationException("User erasure is not available while the ledger engine is enabled");
+        }
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with ID: " + userId));
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && user.getEmail().equals(auth.getName())) {
+            throw new ValidationException("Administrator cannot erase their own account.");
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Timestamp now = now();
+            jdbcTemplate.update(DISABLE_USER_SQL, now, userId);
+            DashboardAggregates.CardTotalsDelta totals = new DashboardAggregates.CardTotalsDelta();
+            jdbcTemplate.query(BLOCK_CARDS_SQL, rs -> {
+                totals.move(CardStatus.ACTIVE, CardStatus.BLOCKED, Money.of(rs.getBigDecimal("balance")));
+            }, now, userId);
+            dashboardAggregates.apply(totals);
+            jdbcTemplate.update(START_ERASURE_SQL, userId, UserErasureStep.TRANSACTIONS.name(), now, now);
+        });
+        log.info("Erasure of user {} started", userId);
+    }
+
+    private void run(Long userId) {
+        try {
+            UserErasureStep step = getErasure(userId).getStep();
+            Long[] cardIds = jdbcTemplate.queryForList(SELECT_CARD_IDS_SQL, Long.class, userId).toArray(new Long[0]);
+            while (step != UserErasureStep.DONE) {
+                UserErasureStep current = step;
+                Boolean finished = transactionTemplate.execute(status -> {
+                    int deleted = deleteChunk(current, userId, cardIds);
+                    boolean last = current == UserErasureStep.CARDS || current == UserErasureStep.USER || deleted < chunkSize;
+                    jdbcTemplate.update(PROGRESS_SQL, (last ? current.next() : current).name(), deleted, now(), userId);
+                    return last;
+                });
+                if (Boolean.TRUE.equals(finished)) {
+                    step = step.next();
+                }
+            }
+            Timestamp now = now();
+            jdbcTemplate.update(COMPLETE_SQL, now, now, userId);
+            log.info("Erasure of user {} completed", userId);
+        } catch (RuntimeException e) {
+            log.error("Erasure of user {} failed and will resume from its last step when restarted", userId, e);
+            String error = String.valueOf(e.getMessage());
+            jdbcTemplate.update(FAIL_SQL, error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error,
+                    now(), userId);
+        }
+    }
+
+    private int deleteChunk(UserErasureStep step, Long userId, Long[] cardIds) {
+        return switch (step) {
+            case TRANSACTIONS -> jdbcTemplate.update(DELETE_TRANSACTIONS_SQL, cardIds, chunkSize);
+            case DAILY_SUMMARIES -> jdbcTemplate.update(DELETE_DAILY_SUMMARIES_SQL, cardIds, chunkSize);
+            case STATEMENTS -> jdbcTemplate.update(DELETE_STATEMENTS_SQL, cardIds, chunkSize);
+            case OUTBOX -> jdbcTemplate.update(DELETE_OUTBOX_SQL, userId, chunkSize);
+            case TRANSFER_REQUESTS -> jdbcTemplate.update(DELETE_TRANSFER_REQUESTS_SQL, userId, chunkSize);
+            case CARDS -> deleteCards(userId);
+            case USER -> jdbcTemplate.update(DELETE_USER_SQL, userId);
+            case DONE -> 0;
+        };
+    }
+
+    private int deleteCards(Long userId) {
+        DashboardAggregates.CardTotalsDelta totals = new DashboardAggregates.CardTotalsDelta();
+        int[] deleted = new int[1];
+        jdbcTemplate.query(DELETE_CARDS_SQL, rs -> {
+            Money balance = Money.of(rs.getBigDecimal("balance"));
+            totals.add(CardStatus.valueOf(rs.getString("status")), -1, balance.negate());
+            deleted[0]++;
+        }, userId);
+        dashboardAggregates.apply(totals);
+        return deleted[0];
+    }
+
+    private Timestamp now() {
+        return Timestamp.valueOf(LocalDateTime.now(clock));
+    }
+}
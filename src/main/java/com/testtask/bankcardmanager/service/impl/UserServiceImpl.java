@@ -2,11 +2,15 @@ package com.testtask.bankcardmanager.service.impl;
 
 import com.testtask.bankcardmanager.dto.request.CreateUserRequest;
 import com.testtask.bankcardmanager.dto.request.GetUsersRequest;
+import com.testtask.bankcardmanager.dto.response.ScrollPage;
 import com.testtask.bankcardmanager.dto.response.UserResponse;
 import com.testtask.bankcardmanager.exception.DuplicateEmailException;
 import com.testtask.bankcardmanager.exception.ResourceNotFoundException;
 import com.testtask.bankcardmanager.model.User;
 import com.testtask.bankcardmanager.model.enums.Role;
+import com.testtask.bankcardmanager.pagination.IdCursor;
+import com.testtask.bankcardmanager.repository.SearchPatterns;
+import com.testtask.bankcardmanager.repository.TableStatistics;
 import com.testtask.bankcardmanager.repository.UserRepository;
 import com.testtask.bankcardmanager.service.UserService;
 import jakarta.persistence.criteria.Predicate;
@@ -15,6 +19,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
@@ -28,12 +33,17 @@ import java.util.List;
 
 @Service
 public class UserServiceImpl implements UserService {
+    private static final String USER_TABLE = "users";
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final TableStatistics tableStatistics;
 
-    public UserServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public UserServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder, TableStatistics tableStatistics) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.tableStatistics = tableStatistics;
     }
 
     @Override
@@ -65,11 +75,54 @@ public class UserServiceImpl implements UserService {
     @Transactional(readOnly = true)
     @PreAuthorize("hasAuthority('ROLE_ADMIN')")
     public Page<UserResponse> getAllUsers(GetUsersRequest getUsersRequest, Pageable pageable) {
-
+        Specification<User> filter = userFilter(getUsersRequest);
         Specification<User> spec = (root, query, criteriaBuilder) -> {
+            if (query.getOrderList().isEmpty() && pageable.getSort().isUnsorted()) {
+                query.orderBy(criteriaBuilder.asc(root.get("id")));
+            }
+            return filter.toPredicate(root, query, criteriaBuilder);
+        };
+
+        Page<User> userPage = userRepository.findAll(spec, pageable);
+
+        return userPage.map(this::mapUserToUserDto);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ScrollPage<UserResponse> scrollUsers(GetUsersRequest getUsersRequest, String cursor, int size, boolean includeTotal) {
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        IdCursor position = cursor == null || cursor.isBlank() ? null : IdCursor.decode(cursor);
+
+        Specification<User> spec = userFilter(getUsersRequest);
+        if (position != null) {
+            spec = spec.and((root, query, criteriaBuilder) -> criteriaBuilder.greaterThan(root.get("id"), position.getId()));
+        }
+        List<UserResponse> rows = userRepository.findBy(spec, query -> query
+                        .sortBy(Sort.by("id"))
+                        .limit(limit + 1)
+                        .all())
+                .stream()
+                .map(this::mapUserToUserDto)
+                .toList();
+
+        boolean unfiltered = (getUsersRequest.getEmail() == null || getUsersRequest.getEmail().isBlank())
+                && getUsersRequest.getRole() == null && getUsersRequest.getLocked() == null;
+        Long approximateTotal = includeTotal && unfiltered ? tableStatistics.estimateRowCount(USER_TABLE) : null;
+        if (rows.size() <= limit) {
+            return new ScrollPage<>(rows, null, approximateTotal);
+        }
+        List<UserResponse> page = rows.subList(0, limit);
+        return new ScrollPage<>(new ArrayList<>(page), new IdCursor(page.get(limit - 1).getId()).encode(), approximateTotal);
+    }
+
+    private static Specification<User> userFilter(GetUsersRequest getUsersRequest) {
+        return (root, query, criteriaBuilder) -> {
             List<Predicate> predicates = new ArrayList<>();
             if (getUsersRequest.getEmail() != null && !getUsersRequest.getEmail().isBlank()) {
-                predicates.add(criteriaBuilder.like(criteriaBuilder.lower(root.get("email")), "%" + getUsersRequest.getEmail().toLowerCase() + "%"));
+                predicates.add(criteriaBuilder.like(criteriaBuilder.lower(root.get("email")),
+                        SearchPatterns.contains(getUsersRequest.getEmail()), SearchPatterns.ESCAPE_CHAR));
             }
             if (getUsersRequest.getRole() != null) {
                 predicates.add(criteriaBuilder.equal(root.get("role"), getUsersRequest.getRole()));
@@ -77,17 +130,8 @@ public class UserServiceImpl implements UserService {
             if (getUsersRequest.getLocked() != null) {
                 predicates.add(criteriaBuilder.equal(root.get("accountNonLocked"), !getUsersRequest.getLocked()));
             }
-
-            if (query.getOrderList().isEmpty() && pageable.getSort().isUnsorted()) {
-                query.orderBy(criteriaBuilder.asc(root.get("id")));
-            }
-
             return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
         };
-
-        Page<User> userPage = userRepository.findAll(spec, pageable);
-
-        return userPage.map(this::mapUserToUserDto);
     }
 
     @Override
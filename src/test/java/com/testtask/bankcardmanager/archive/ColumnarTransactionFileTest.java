@@ -0,0 +1,124 @@
+package com.testtask.bankcardmanager.archive;
+
+import com.testtask.bankcardmanager.model.Money;
+import com.testtask.bankcardmanager.model.enums.TransactionStatus;
+import com.testtask.bankcardmanager.repository.projection.TransactionProjection;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnarTransactionFileTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 3, 1, 0, 0, 0, 123_456_000);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Запись и чтение: строки карты возвращаются от новых к старым, остальные блоки пропускаются")
+    void roundTrip_ReturnsCardRowsNewestFirst() throws IOException {
+        Path file = writeArchive(10, 25);
+
+        try (ColumnarTransactionReader reader = ColumnarTransactionReader.open(file)) {
+            assertEquals(250, reader.getRowCount());
+            assertEquals(250, reader.countRows());
+
+            List<TransactionProjection> rows = reader.findByCards(new TreeSet<>(List.of(4L)), null, Long.MAX_VALUE, 100);
+
+            assertEquals(25, rows.size());
+            TransactionProjection newest = rows.get(0);
+            assertEquals(4L, newest.getCardId());
+            assertEquals(4L * 1000 + 24, newest.getId());
+            assertEquals(START.plusHours(24), newest.getTransactionDate());
+            assertEquals(Money.ofMinor(-2400), newest.getAmount());
+            assertEquals(TransactionStatus.COMPLETED, newest.getStatus());
+            assertEquals(START.plusHours(24).plusSeconds(1), newest.getCreatedAt());
+            assertEquals(4L * 1000, rows.get(24).getId());
+        }
+    }
+
+    @Test
+    @DisplayName("Чтение после курсора: несколько карт, строгое сравнение по (дата, id) и ограничение размера")
+    void findByCards_ContinuesAfterCursor() throws IOException {
+        Path file = writeArchive(10, 25);
+
+        try (ColumnarTransactionReader reader = ColumnarTransactionReader.open(file)) {
+            List<TransactionProjection> rows = reader.findByCards(new TreeSet<>(List.of(2L, 7L)),
+                    START.plusHours(10), 7L * 1000 + 10, 5);
+
+            assertEquals(5, rows.size());
+            assertEquals(2L * 1000 + 10, rows.get(0).getId());
+            assertEquals(7L * 1000 + 9, rows.get(1).getId());
+            assertEquals(2L * 1000 + 9, rows.get(2).getId());
+            assertTrue(reader.findByCards(new TreeSet<>(List.of(99L)), null, Long.MAX_VALUE, 5).isEmpty());
+        }
+    }
+
+    @Test
+    @DisplayName("Статусы пишутся фиксированными кодами, а не порядковыми номерами перечисления")
+    void statusCodes_AreFixed() throws IOException {
+        assertEquals(1, ColumnarTransactionWriter.statusCode(TransactionStatus.COMPLETED));
+        assertEquals(4, ColumnarTransactionWriter.statusCode(TransactionStatus.REVERSED));
+        for (TransactionStatus status : TransactionStatus.values()) {
+            assertEquals(status, ColumnarTransactionWriter.statusOf(ColumnarTransactionWriter.statusCode(status)));
+        }
+        assertThrows(IllegalStateException.class, () -> ColumnarTransactionWriter.statusOf((byte) 99));
+
+        Path file = writeArchive(1, 5);
+        try (ColumnarTransactionReader reader = ColumnarTransactionReader.open(file)) {
+            List<TransactionProjection> rows = reader.findByCards(new TreeSet<>(List.of(1L)), null, Long.MAX_VALUE, 5);
+            assertEquals(TransactionStatus.REVERSED, rows.get(4).getStatus());
+            assertEquals(TransactionStatus.COMPLETED, rows.get(3).getStatus());
+        }
+    }
+
+    @Test
+    @DisplayName("Идентификатор перевода и время захвата сохраняются в архиве, пустые значения различимы")
+    void transferIdAndCapturedAt_AreArchived() throws IOException {
+        Path file = writeArchive(1, 4);
+
+        try (ColumnarTransactionReader reader = ColumnarTransactionReader.open(file)) {
+            long[] transferIds = reader.readColumn(0, ColumnarTransactionWriter.COLUMN_TRANSFER_ID);
+            long[] capturedAts = reader.readColumn(0, ColumnarTransactionWriter.COLUMN_CAPTURED_AT);
+
+            assertArrayEquals(new long[]{0, 102, 0, 100}, transferIds);
+            assertEquals(START.plusHours(3).plusMinutes(5), ColumnarTransactionWriter.fromMicros(capturedAts[0]));
+            assertEquals(Long.MIN_VALUE, capturedAts[1]);
+            assertEquals(START.plusMinutes(5), ColumnarTransactionWriter.fromMicros(capturedAts[3]));
+        }
+    }
+
+    @Test
+    @DisplayName("Повреждённый файл отклоняется при открытии")
+    void open_RejectsForeignFile() throws IOException {
+        Path file = directory.resolve("broken.txa");
+        Files.write(file, new byte[64]);
+
+        assertThrows(IOException.class, () -> ColumnarTransactionReader.open(file));
+    }
+
+    private Path writeArchive(int cards, int rowsPerCard) throws IOException {
+        Path file = directory.resolve("transactions-2024-03.txa");
+        try (ColumnarTransactionWriter writer = new ColumnarTransactionWriter(file, 16)) {
+            for (long card = 1; card <= cards; card++) {
+                for (int i = rowsPerCard - 1; i >= 0; i--) {
+                    LocalDateTime date = START.plusHours(i);
+                    writer.append(card * 1000 + i, card, -100L * i, date,
+                            i % 5 == 0 ? TransactionStatus.REVERSED : TransactionStatus.COMPLETED,
+                            date.plusSeconds(1), null, null, i % 2 == 0 ? card * 100 + i : null,
+                            i % 3 == 0 ? date.plusMinutes(5) : null);
+                }
+            }
+        }
+        return file;
+    }
+}
@@ -0,0 +1,91 @@
+package com.testtask.bankcardmanager.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.testtask.bankcardmanager.config.MoneyJsonComponent;
+import com.testtask.bankcardmanager.model.Money;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the transfer hot path (compare, subtract, add, negate) and JSON serialization of freshly
+ * loaded amounts for BigDecimal against {@link Money}. Run with {@code main}; allocation rates come
+ * from the GC profiler.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoneyArithmeticBenchmark {
+
+    private BigDecimal decimalFrom;
+    private BigDecimal decimalTo;
+    private BigDecimal decimalAmount;
+    private Money moneyFrom;
+    private Money moneyTo;
+    private Money moneyAmount;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() {
+        decimalFrom = new BigDecimal("152340.55");
+        decimalTo = new BigDecimal("980.10");
+        decimalAmount = new BigDecimal("125.35");
+        moneyFrom = Money.of(decimalFrom);
+        moneyTo = Money.of(decimalTo);
+        moneyAmount = Money.of(decimalAmount);
+        objectMapper = new ObjectMapper().registerModule(new SimpleModule()
+                .addSerializer(Money.class, new MoneyJsonComponent.Serializer()));
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalTransfer() {
+        if (decimalFrom.compareTo(decimalAmount) < 0) {
+            throw new IllegalStateException();
+        }
+        BigDecimal from = decimalFrom.subtract(decimalAmount);
+        BigDecimal to = decimalTo.add(decimalAmount);
+        return from.add(to).add(decimalAmount.negate());
+    }
+
+    @Benchmark
+    public Money moneyTransfer() {
+        if (moneyFrom.isLessThan(moneyAmount)) {
+            throw new IllegalStateException();
+        }
+        Money from = moneyFrom.minus(moneyAmount);
+        Money to = moneyTo.plus(moneyAmount);
+        return from.plus(to).plus(moneyAmount.negate());
+    }
+
+    @Benchmark
+    public String bigDecimalJson() throws Exception {
+        return objectMapper.writeValueAsString(new DecimalAmounts(
+                BigDecimal.valueOf(15234055L, 2), BigDecimal.valueOf(98010L, 2), BigDecimal.valueOf(-12535L, 2)));
+    }
+
+    @Benchmark
+    public String moneyJson() throws Exception {
+        return objectMapper.writeValueAsString(new MoneyAmounts(
+                Money.ofMinor(15234055L), Money.ofMinor(98010L), Money.ofMinor(-12535L)));
+    }
+
+    public record DecimalAmounts(BigDecimal balance, BigDecimal dailyWithdrawalLimit, BigDecimal amount) {}
+
+    public record MoneyAmounts(Money balance, Money dailyWithdrawalLimit, Money amount) {}
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MoneyArithmeticBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
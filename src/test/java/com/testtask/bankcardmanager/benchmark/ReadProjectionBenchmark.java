@@ -0,0 +1,92 @@
+package com.testtask.bankcardmanager.benchmark;
+
+import com.testtask.bankcardmanager.BankCardManagerApplication;
+import com.testtask.bankcardmanager.model.Card;
+import com.testtask.bankcardmanager.repository.CardRepository;
+import com.testtask.bankcardmanager.repository.projection.CardProjection;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency and allocations per card listing page: {@code findAll} hydrating managed entities against
+ * the {@code findProjections} constructor query. Needs a populated database; pass the connection with
+ * {@code -Dspring.datasource.url=... -Dspring.datasource.username=... -Dspring.datasource.password=...}
+ * and run {@code main}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Dspring.jpa.show-sql=false"})
+public class ReadProjectionBenchmark {
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private CardRepository cardRepository;
+    private TransactionTemplate readOnlyTemplate;
+    private Pageable pageable;
+    private final Specification<Card> spec = (root, query, cb) -> cb.conjunction();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(BankCardManagerApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.liquibase.enabled=false");
+        cardRepository = context.getBean(CardRepository.class);
+        readOnlyTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTemplate.setReadOnly(true);
+        pageable = PageRequest.of(0, pageSize, Sort.by("id"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<String> entityPage() {
+        return readOnlyTemplate.execute(status -> {
+            Page<Card> page = cardRepository.findAll(spec, pageable);
+            return page.map(card -> card.getCardHolder() + card.getBalance() + card.getUser().getId()).getContent();
+        });
+    }
+
+    @Benchmark
+    public List<String> projectionPage() {
+        return readOnlyTemplate.execute(status -> {
+            Page<CardProjection> page = cardRepository.findProjections(spec, pageable);
+            return page.map(card -> card.getCardHolder() + card.getBalance() + card.getUserId()).getContent();
+        });
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        String[] springProperties = System.getProperties().stringPropertyNames().stream()
+                .filter(name -> name.startsWith("spring."))
+                .map(name -> "-D" + name + "=" + System.getProperty(name))
+                .toArray(String[]::new);
+        new Runner(new OptionsBuilder()
+                .include(ReadProjectionBenchmark.class.getSimpleName())
+                .jvmArgsAppend(springProperties)
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
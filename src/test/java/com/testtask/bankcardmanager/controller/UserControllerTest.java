@@ -3,15 +3,21 @@ package com.testtask.bankcardmanager.controller;
 import com.testtask.bankcardmanager.dto.request.TransferRequest;
 import com.testtask.bankcardmanager.dto.request.WithdrawalRequest;
 import com.testtask.bankcardmanager.dto.response.CardResponse;
+import com.testtask.bankcardmanager.dto.response.CursorPage;
 import com.testtask.bankcardmanager.dto.response.TransactionResponse;
+import com.testtask.bankcardmanager.dto.response.TransferStatusResponse;
 import com.testtask.bankcardmanager.exception.CardOperationException;
 import com.testtask.bankcardmanager.exception.DailyLimitExceededException;
 import com.testtask.bankcardmanager.exception.InsufficientFundsException;
 import com.testtask.bankcardmanager.exception.ResourceNotFoundException;
+import com.testtask.bankcardmanager.model.Money;
 import com.testtask.bankcardmanager.model.enums.CardStatus;
 import com.testtask.bankcardmanager.model.enums.TransactionStatus;
 import com.testtask.bankcardmanager.service.CardService;
+import com.testtask.bankcardmanager.service.HoldService;
+import com.testtask.bankcardmanager.service.TransactionExportService;
 import com.testtask.bankcardmanager.service.TransactionService;
+import com.testtask.bankcardmanager.service.TransferService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -46,6 +52,15 @@ class UserControllerTest {
     @Mock
     private TransactionService transactionService;
 
+    @Mock
+    private HoldService holdService;
+
+    @Mock
+    private TransferService transferService;
+
+    @Mock
+    private TransactionExportService transactionExportService;
+
     @InjectMocks
     private UserController userController;
 
@@ -56,9 +71,9 @@ class UserControllerTest {
     @BeforeEach
     void setUp() {
         YearMonth expiry = YearMonth.of(2025, 12);
-        cardResponse1 = new CardResponse(1L, "111111******4444", "Test User", expiry, CardStatus.ACTIVE, BigDecimal.valueOf(1000), 1L, BigDecimal.valueOf(500));
-        cardResponse2 = new CardResponse(2L, "555555******8888", "Test User", expiry, CardStatus.ACTIVE, BigDecimal.valueOf(500), 1L, BigDecimal.valueOf(200));
-        transactionResponse = new TransactionResponse(100L, 1L, BigDecimal.valueOf(-50), LocalDateTime.now(), TransactionStatus.COMPLETED, LocalDateTime.now());
+        cardResponse1 = new CardResponse(1L, "111111******4444", "Test User", expiry, CardStatus.ACTIVE, Money.of(BigDecimal.valueOf(1000)), 1L, Money.of(BigDecimal.valueOf(500)));
+        cardResponse2 = new CardResponse(2L, "555555******8888", "Test User", expiry, CardStatus.ACTIVE, Money.of(BigDecimal.valueOf(500)), 1L, Money.of(BigDecimal.valueOf(200)));
+        transactionResponse = new TransactionResponse(100L, 1L, Money.of(BigDecimal.valueOf(-50)), LocalDateTime.now(), TransactionStatus.COMPLETED, LocalDateTime.now());
     }
 
     @Test
@@ -81,16 +96,17 @@ class UserControllerTest {
     @Test
     @DisplayName("getCurrentUserTransactions - Успешное получение транзакций")
     void getCurrentUserTransactions_Success() {
-        List<TransactionResponse> transactionList = List.of(transactionResponse);
-        when(transactionService.getTransactionsForCurrentUser()).thenReturn(transactionList);
+        CursorPage<TransactionResponse> transactionPage = new CursorPage<>(List.of(transactionResponse), "next");
+        when(transactionService.getTransactionsForCurrentUser(null, 20)).thenReturn(transactionPage);
 
-        ResponseEntity<List<TransactionResponse>> response = userController.getCurrentUserTransactions();
+        ResponseEntity<CursorPage<TransactionResponse>> response = userController.getCurrentUserTransactions(null, 20);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
-        assertEquals(1, response.getBody().size());
-        assertEquals(transactionResponse, response.getBody().get(0));
-        verify(transactionService).getTransactionsForCurrentUser();
+        assertEquals(1, response.getBody().getContent().size());
+        assertEquals(transactionResponse, response.getBody().getContent().get(0));
+        assertEquals("next", response.getBody().getNextCursor());
+        verify(transactionService).getTransactionsForCurrentUser(null, 20);
     }
 
     @Test
@@ -144,6 +160,25 @@ class UserControllerTest {
         verify(cardService).transferFunds(request);
     }
 
+    @Test
+    @DisplayName("submitTransfer - Перевод принят в асинхронную обработку")
+    void submitTransfer_Accepted() {
+        TransferRequest request = new TransferRequest();
+        request.setFromCardId(1L);
+        request.setToCardId(2L);
+        request.setAmount(BigDecimal.valueOf(100));
+        TransferStatusResponse accepted = new TransferStatusResponse(3001L, 1L, 2L, Money.of(BigDecimal.valueOf(100)),
+                TransactionStatus.PENDING, null, LocalDateTime.now(), LocalDateTime.now());
+
+        when(transferService.submitTransfer(request)).thenReturn(accepted);
+
+        ResponseEntity<TransferStatusResponse> response = userController.submitTransfer(request);
+
+        assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+        assertEquals("/api/user/transfers/3001", response.getHeaders().getLocation().toString());
+        assertEquals(TransactionStatus.PENDING, response.getBody().getStatus());
+    }
+
     @Test
     @DisplayName("transferFunds - Ошибка: Недостаточно средств")
     void transferFunds_InsufficientFunds() {
@@ -0,0 +1,74 @@
+package com.testtask.bankcardmanager.dto.request;
+
+import com.testtask.bankcardmanager.model.Money;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Every amount accepted by validation must fit {@link Money}: an oversized amount has to be rejected
+ * as a validation error, not overflow into a 500 in {@link Money#of(BigDecimal)}.
+ */
+class AmountDigitsValidationTest {
+
+    private static final BigDecimal LARGEST_ACCEPTED = new BigDecimal("999999999999999.99");
+    private static final BigDecimal SMALLEST_REJECTED = new BigDecimal("1000000000000000.00");
+    private static final BigDecimal OVERFLOWING = new BigDecimal("100000000000000000");
+
+    private static ValidatorFactory validatorFactory;
+    private static Validator validator;
+
+    @BeforeAll
+    static void createValidator() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+    }
+
+    @AfterAll
+    static void closeValidator() {
+        validatorFactory.close();
+    }
+
+    @Test
+    @DisplayName("Суммы до 15 целых разрядов проходят валидацию и помещаются в Money")
+    void largestAcceptedAmount_FitsMoney() {
+        for (Object request : requestsWith(LARGEST_ACCEPTED)) {
+            assertTrue(validator.validate(request).isEmpty(), request.getClass().getSimpleName());
+        }
+        assertEquals(LARGEST_ACCEPTED, Money.of(LARGEST_ACCEPTED).toBigDecimal());
+    }
+
+    @Test
+    @DisplayName("Суммы от 16 целых разрядов отклоняются валидацией")
+    void oversizedAmounts_AreRejected() {
+        for (BigDecimal amount : List.of(SMALLEST_REJECTED, OVERFLOWING)) {
+            for (Object request : requestsWith(amount)) {
+                assertEquals(1, validator.validate(request).size(), request.getClass().getSimpleName() + " " + amount);
+            }
+        }
+        assertThrows(ArithmeticException.class, () -> Money.of(OVERFLOWING));
+    }
+
+    private static List<Object> requestsWith(BigDecimal amount) {
+        TransferRequest transfer = new TransferRequest();
+        transfer.setFromCardId(1L);
+        transfer.setToCardId(2L);
+        transfer.setAmount(amount);
+        WithdrawalRequest withdrawal = new WithdrawalRequest();
+        withdrawal.setAmount(amount);
+        PlaceHoldRequest hold = new PlaceHoldRequest();
+        hold.setAmount(amount);
+        UpdateCardRequest update = new UpdateCardRequest();
+        update.setDailyWithdrawalLimit(amount);
+        return List.of(transfer, withdrawal, hold, update);
+    }
+}
@@ -0,0 +1,118 @@
+package com.testtask.bankcardmanager.event;
+
+import com.testtask.bankcardmanager.dto.response.AccountEventResponse;
+import com.testtask.bankcardmanager.model.Money;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccountEventBusTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 7, 1, 12, 0);
+
+    private final Queue<Runnable> deliveries = new ArrayDeque<>();
+    private AccountEventBus bus;
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(Instant.parse("2024-07-01T12:00:00Z"), ZoneOffset.UTC);
+        bus = new AccountEventBus(deliveries::add, clock, 2, 60_000, 2);
+    }
+
+    @Test
+    @DisplayName("Первое событие подписки - resync, затем события пользователя по порядку")
+    void subscribe_StartsWithResyncAndDeliversInOrder() {
+        RecordingEmitter emitter = new RecordingEmitter();
+        bus.subscribe(1L, emitter);
+
+        bus.onAccountEvent(balance(1L, 10L, 100));
+        bus.onAccountEvent(balance(2L, 20L, 200));
+        runDeliveries();
+
+        assertEquals(List.of("resync", "balance"), emitter.names());
+        assertEquals(10L, emitter.payloads.get(1).getCardId());
+    }
+
+    @Test
+    @DisplayName("Переполнение буфера медленного клиента: накопленные события отбрасываются и отправляется один resync")
+    void slowSubscriber_OverflowDropsBacklogAndRequestsResync() {
+        RecordingEmitter emitter = new RecordingEmitter();
+        bus.subscribe(1L, emitter);
+        runDeliveries();
+
+        for (int i = 1; i <= 5; i++) {
+            bus.onAccountEvent(balance(1L, (long) i, i));
+        }
+        runDeliveries();
+
+        assertEquals(List.of("resync", "resync", "balance", "balance"), emitter.names());
+        assertEquals(4L, emitter.payloads.get(2).getCardId());
+        assertEquals(5L, emitter.payloads.get(3).getCardId());
+    }
+
+    @Test
+    @DisplayName("Ошибка записи в поток и превышение лимита подписок закрывают подписку")
+    void brokenAndExcessSubscriptions_AreRemoved() {
+        RecordingEmitter broken = new RecordingEmitter();
+        broken.failing = true;
+        bus.subscribe(1L, broken);
+        runDeliveries();
+        assertEquals(0, bus.getSubscriptionCount());
+
+        bus.subscribe(1L, new RecordingEmitter());
+        bus.subscribe(1L, new RecordingEmitter());
+        bus.subscribe(1L, new RecordingEmitter());
+        assertEquals(2, bus.getSubscriptionCount());
+    }
+
+    private void runDeliveries() {
+        Runnable delivery;
+        while ((delivery = deliveries.poll()) != null) {
+            delivery.run();
+        }
+    }
+
+    private static AccountEvent balance(Long userId, Long cardId, long units) {
+        Money amount = Money.ofMinor(units * 100);
+        return new AccountEvent(userId, AccountEventResponse.balance(cardId, amount, amount, NOW));
+    }
+
+    private static final class RecordingEmitter extends SseEmitter {
+        private final List<String> events = new ArrayList<>();
+        private final List<AccountEventResponse> payloads = new ArrayList<>();
+        private boolean failing;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (failing) {
+                throw new IOException("Broken pipe");
+            }
+            events.add(builder.build().stream()
+                    .map(part -> part.getData() instanceof String text ? text : "")
+                    .collect(Collectors.joining()));
+            builder.build().stream()
+                    .filter(part -> part.getData() instanceof AccountEventResponse)
+                    .forEach(part -> payloads.add((AccountEventResponse) part.getData()));
+        }
+
+        private List<String> names() {
+            return events.stream()
+                    .map(event -> event.substring(event.indexOf("event:") + 6, event.indexOf('\n', event.indexOf("event:"))))
+                    .toList();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.testtask.bankcardmanager.event;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LedgerOutboxRelayTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final Clock clock = Clock.fixed(Instant.parse("2026-10-19T12:00:00Z"), ZoneOffset.UTC);
+
+    @Test
+    @DisplayName("relayBatch - Позиции выдаются по порядку id захваченной порции")
+    void relayBatch_StampsClaimedEventsInIdOrder() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Boolean.class), eq(LedgerOutboxRelay.RELAY_LOCK_KEY))).thenReturn(true);
+        when(jdbcTemplate.queryForList(contains("SKIP LOCKED"), eq(Long.class), eq(3))).thenReturn(List.of(7L, 8L, 11L));
+
+        int published = new LedgerOutboxRelay(jdbcTemplate, transactionManager, clock, 3, 30, 100).relayBatch();
+
+        assertEquals(3, published);
+        verify(jdbcTemplate).batchUpdate(contains("nextval('ledger_feed_position_seq')"),
+                argThat((List<Object[]> args) -> args.size() == 3
+                        && args.get(0)[1].equals(7L) && args.get(1)[1].equals(8L) && args.get(2)[1].equals(11L)));
+    }
+
+    @Test
+    @DisplayName("relayBatch - Узел без advisory-блокировки пропускает такт")
+    void relayBatch_SkipsWhenAnotherNodeRelays() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Boolean.class), eq(LedgerOutboxRelay.RELAY_LOCK_KEY))).thenReturn(false);
+
+        int published = new LedgerOutboxRelay(jdbcTemplate, transactionManager, clock, 3, 30, 100).relayBatch();
+
+        assertEquals(0, published);
+        verify(jdbcTemplate, never()).queryForList(anyString(), eq(Long.class), any());
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    @DisplayName("purgePublished - Опубликованные события старше срока хранения удаляются порциями")
+    void purgePublished_DeletesInBatchesUntilShortBatch() {
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.of(2026, 9, 19, 12, 0));
+        when(jdbcTemplate.update(startsWith("DELETE FROM ledger_outbox"), eq(cutoff), eq(100))).thenReturn(100, 100, 42);
+
+        long purged = new LedgerOutboxRelay(jdbcTemplate, transactionManager, clock, 3, 30, 100).purgePublished();
+
+        assertEquals(242, purged);
+        verify(jdbcTemplate, times(3)).update(startsWith("DELETE FROM ledger_outbox"), eq(cutoff), eq(100));
+    }
+
+    @Test
+    @DisplayName("purgePublished - Нулевой срок хранения отключает очистку")
+    void purgePublished_DisabledWithoutRetention() {
+        long purged = new LedgerOutboxRelay(jdbcTemplate, transactionManager, clock, 3, 0, 100).purgePublished();
+
+        assertEquals(0, purged);
+        verifyNoInteractions(jdbcTemplate);
+    }
+}
@@ -0,0 +1,131 @@
+package com.testtask.bankcardmanager.ledger;
+
+import com.testtask.bankcardmanager.exception.InsufficientFundsException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LedgerPartitionReplayTest {
+
+    @TempDir
+    Path directory;
+
+    private final Clock clock = Clock.fixed(Instant.parse("2024-01-01T10:00:00Z"), ZoneId.of("UTC"));
+    private final Map<Long, Long> openingBalances = Map.of(1L, 100_000L, 2L, 50_000L, 3L, 25_000L);
+    private final AtomicInteger openingLoads = new AtomicInteger();
+
+    @Test
+    @DisplayName("Снапшот и журнал восстанавливают балансы после аварийной остановки")
+    void snapshotAndJournal_ReconstructBalancesExactly() throws Exception {
+        RecordingProjector projector = new RecordingProjector();
+        LedgerPartition partition = newPartition(projector, 7);
+        partition.start();
+        runRandomCommands(partition, 200);
+        partition.halt();
+        Map<Long, Long> expected = partition.getBalances();
+
+        assertTrue(Files.exists(directory.resolve("partition-0.snapshot")));
+        try (Stream<Path> files = Files.list(directory)) {
+            assertTrue(files.filter(f -> f.toString().endsWith(".journal")).count() > 1);
+        }
+
+        LedgerPartition recovered = newPartition(projector, 7);
+        recovered.start();
+        recovered.halt();
+
+        assertEquals(expected, recovered.getBalances());
+        assertEquals(openingBalances.size(), openingLoads.get());
+    }
+
+    @Test
+    @DisplayName("Только журнал (без снапшота) восстанавливает балансы")
+    void journalOnly_ReconstructsBalancesExactly() throws Exception {
+        RecordingProjector projector = new RecordingProjector();
+        LedgerPartition partition = newPartition(projector, Integer.MAX_VALUE);
+        partition.start();
+        runRandomCommands(partition, 150);
+        partition.halt();
+        Map<Long, Long> expected = partition.getBalances();
+
+        assertFalse(Files.exists(directory.resolve("partition-0.snapshot")));
+
+        LedgerPartition recovered = newPartition(projector, Integer.MAX_VALUE);
+        recovered.start();
+        recovered.halt();
+
+        assertEquals(expected, recovered.getBalances());
+    }
+
+    @Test
+    @DisplayName("Перевод с недостаточным балансом отклоняется и не попадает в журнал")
+    void transfer_InsufficientFunds_IsRejected() throws Exception {
+        RecordingProjector projector = new RecordingProjector();
+        LedgerPartition partition = newPartition(projector, Integer.MAX_VALUE);
+        partition.start();
+
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> partition.submit(LedgerEntryType.TRANSFER, 3L, 1L, 25_001L, 1L).join());
+        assertInstanceOf(InsufficientFundsException.class, exception.getCause());
+        partition.halt();
+
+        assertEquals(25_000L, partition.getBalances().get(3L));
+        assertEquals(100_000L, partition.getBalances().get(1L));
+        assertTrue(projector.projected.isEmpty());
+    }
+
+    private LedgerPartition newPartition(LedgerProjector projector, int snapshotInterval) throws IOException {
+        return new LedgerPartition(0, directory, LedgerEntry.SIZE * 16, false, 64, snapshotInterval,
+                cardId -> {
+                    openingLoads.incrementAndGet();
+                    return openingBalances.get(cardId);
+                },
+                projector, 10, clock);
+    }
+
+    private void runRandomCommands(LedgerPartition partition, int count) {
+        Random random = new Random(42);
+        for (int i = 0; i < count; i++) {
+            long cardId = 1 + random.nextInt(3);
+            long amount = 1 + random.nextInt(10_000);
+            try {
+                if (random.nextInt(4) == 0) {
+                    partition.submit(LedgerEntryType.WITHDRAWAL, cardId, 0L, amount, i + 1L).join();
+                } else {
+                    long counterpartCardId = cardId % 3 + 1;
+                    partition.submit(LedgerEntryType.TRANSFER, cardId, counterpartCardId, amount, i + 1L).join();
+                }
+            } catch (CompletionException e) {
+                assertInstanceOf(InsufficientFundsException.class, e.getCause());
+            }
+        }
+    }
+
+    private static class RecordingProjector implements LedgerProjector {
+        private final List<LedgerEntry> projected = Collections.synchronizedList(new ArrayList<>());
+        private volatile long lastSequence;
+
+        @Override
+        public long lastProjectedSequence(int partition) {
+            return lastSequence;
+        }
+
+        @Override
+        public void project(int partition, List<LedgerEntry> entries) {
+            projected.addAll(entries);
+            lastSequence = entries.get(entries.size() - 1).getSequence();
+        }
+    }
+}
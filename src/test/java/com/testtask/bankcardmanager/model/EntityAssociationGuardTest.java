@@ -0,0 +1,55 @@
+package com.testtask.bankcardmanager.model;
+
+import jakarta.persistence.ElementCollection;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.ManyToMany;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.OneToOne;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Entities must not map collections: a lazy collection is loaded whole the first time anything touches
+ * it, including {@code toString()} in a log line. Children are read through keyset-paged or streaming queries.
+ */
+class EntityAssociationGuardTest {
+
+    @Test
+    @DisplayName("Сущности не содержат коллекций, а ссылки на другие сущности загружаются лениво")
+    void entities_HaveNoCollectionsAndLazyReferences() throws Exception {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter(new AnnotationTypeFilter(Entity.class));
+        Set<BeanDefinition> entities = scanner.findCandidateComponents("com.testtask.bankcardmanager");
+        assertFalse(entities.isEmpty());
+
+        List<String> violations = new ArrayList<>();
+        for (BeanDefinition entity : entities) {
+            for (Field field : Class.forName(entity.getBeanClassName()).getDeclaredFields()) {
+                String name = field.getDeclaringClass().getSimpleName() + "." + field.getName();
+                if (field.isAnnotationPresent(OneToMany.class) || field.isAnnotationPresent(ManyToMany.class)
+                        || field.isAnnotationPresent(ElementCollection.class)) {
+                    violations.add(name + " maps a collection");
+                }
+                ManyToOne manyToOne = field.getAnnotation(ManyToOne.class);
+                OneToOne oneToOne = field.getAnnotation(OneToOne.class);
+                if ((manyToOne != null && manyToOne.fetch() != FetchType.LAZY)
+                        || (oneToOne != null && oneToOne.fetch() != FetchType.LAZY)) {
+                    violations.add(name + " is fetched eagerly");
+                }
+            }
+        }
+        assertTrue(violations.isEmpty(), String.join(", ", violations));
+    }
+}
@@ -0,0 +1,74 @@
+package com.testtask.bankcardmanager.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.testtask.bankcardmanager.config.MoneyJsonComponent;
+import com.testtask.bankcardmanager.model.converter.MoneyAttributeConverter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneyTest {
+
+    @Test
+    @DisplayName("Арифметика в минорных единицах")
+    void arithmetic_WorksInMinorUnits() {
+        Money balance = Money.of(new BigDecimal("1000.50"));
+        Money amount = Money.of(new BigDecimal("0.75"));
+
+        assertEquals(Money.ofMinor(99_975L), balance.minus(amount));
+        assertEquals(Money.ofMinor(100_125L), balance.plus(amount));
+        assertEquals(Money.ofMinor(-75L), amount.negate());
+        assertTrue(amount.isLessThan(balance));
+        assertTrue(balance.isGreaterThan(amount));
+    }
+
+    @Test
+    @DisplayName("Переполнение long приводит к ArithmeticException")
+    void arithmetic_Overflow_Throws() {
+        Money max = Money.ofMinor(Long.MAX_VALUE);
+        assertThrows(ArithmeticException.class, () -> max.plus(Money.ofMinor(1L)));
+        assertThrows(ArithmeticException.class, () -> Money.ofMinor(Long.MIN_VALUE).negate());
+    }
+
+    @Test
+    @DisplayName("Сумма с более чем двумя знаками после запятой отклоняется")
+    void of_MoreThanTwoFractionDigits_Throws() {
+        assertThrows(ArithmeticException.class, () -> Money.of(new BigDecimal("1.005")));
+        assertEquals(Money.ofMinor(150L), Money.of(new BigDecimal("1.5")));
+    }
+
+    @Test
+    @DisplayName("Строковое представление и преобразование в DECIMAL(17,2)")
+    void toStringAndConverter_RoundTrip() {
+        MoneyAttributeConverter converter = new MoneyAttributeConverter();
+        Money money = Money.ofMinor(-5L);
+
+        assertEquals("-0.05", money.toString());
+        assertEquals(new BigDecimal("-0.05"), converter.convertToDatabaseColumn(money));
+        assertEquals(money, converter.convertToEntityAttribute(new BigDecimal("-0.050")));
+        assertNull(converter.convertToDatabaseColumn(null));
+    }
+
+    @Test
+    @DisplayName("Строковое представление крайних значений совпадает с BigDecimal")
+    void toString_ExtremeValues() {
+        for (long minorUnits : new long[]{Long.MIN_VALUE, Long.MAX_VALUE, -100L, -1L, 0L, 7L}) {
+            assertEquals(BigDecimal.valueOf(minorUnits, 2).toPlainString(), Money.ofMinor(minorUnits).toString());
+        }
+    }
+
+    @Test
+    @DisplayName("JSON сериализуется как число с двумя знаками")
+    void json_SerializesAsNumber() throws Exception {
+        ObjectMapper mapper = new ObjectMapper().registerModule(new SimpleModule()
+                .addSerializer(Money.class, new MoneyJsonComponent.Serializer())
+                .addDeserializer(Money.class, new MoneyJsonComponent.Deserializer()));
+
+        assertEquals("1234.50", mapper.writeValueAsString(Money.ofMinor(123_450L)));
+        assertEquals(Money.ofMinor(123_450L), mapper.readValue("1234.5", Money.class));
+    }
+}
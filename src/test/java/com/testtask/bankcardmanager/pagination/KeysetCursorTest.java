@@ -0,0 +1,30 @@
+package com.testtask.bankcardmanager.pagination;
+
+import com.testtask.bankcardmanager.exception.InvalidCursorException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeysetCursorTest {
+
+    @Test
+    @DisplayName("encode/decode - Курсор восстанавливается без потерь")
+    void encodeDecode_RoundTrip() {
+        LocalDateTime timestamp = LocalDateTime.of(2024, 7, 28, 10, 15, 30, 123456000);
+
+        KeysetCursor decoded = KeysetCursor.decode(new KeysetCursor(timestamp, 505L).encode());
+
+        assertEquals(timestamp, decoded.getTimestamp());
+        assertEquals(505L, decoded.getId());
+    }
+
+    @Test
+    @DisplayName("decode - Ошибка: Повреждённый курсор")
+    void decode_Malformed() {
+        assertThrows(InvalidCursorException.class, () -> KeysetCursor.decode("not-a-cursor"));
+        assertThrows(InvalidCursorException.class, () -> KeysetCursor.decode("%%%"));
+    }
+}
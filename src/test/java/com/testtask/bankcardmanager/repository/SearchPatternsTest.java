@@ -0,0 +1,16 @@
+package com.testtask.bankcardmanager.repository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SearchPatternsTest {
+
+    @Test
+    @DisplayName("Шаблон поиска приводится к нижнему регистру, символы подстановки экранируются")
+    void contains_LowercasesAndEscapesWildcards() {
+        assertEquals("%ivan%", SearchPatterns.contains("IVAN"));
+        assertEquals("%a\\_b\\%c\\\\d%", SearchPatterns.contains("A_b%C\\d"));
+    }
+}
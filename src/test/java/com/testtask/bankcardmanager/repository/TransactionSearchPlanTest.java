@@ -0,0 +1,154 @@
+package com.testtask.bankcardmanager.repository;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Query-plan regression for {@code GET /api/transactions}: each filter shape must be served by its
+ * index on the seeded month partition. Runs only against a database migrated by Liquibase, given by
+ * {@code PLAN_TEST_DB_URL}, {@code PLAN_TEST_DB_USER} and {@code PLAN_TEST_DB_PASSWORD}; the seed data
+ * lives in a transaction that is rolled back at the end.
+ */
+@EnabledIfEnvironmentVariable(named = "PLAN_TEST_DB_URL", matches = ".+")
+class TransactionSearchPlanTest {
+
+    private static final Pattern INDEX_NAME = Pattern.compile("using (\\S+) on");
+    private static final String ORDER_AND_LIMIT = " ORDER BY t.transaction_date DESC, t.id DESC LIMIT 21";
+
+    private static Connection connection;
+    private static String seededPartition;
+    private static long cardId;
+    private static long userId;
+
+    @BeforeAll
+    static void seed() throws SQLException {
+        connection = DriverManager.getConnection(System.getenv("PLAN_TEST_DB_URL"),
+                System.getenv("PLAN_TEST_DB_USER"), System.getenv("PLAN_TEST_DB_PASSWORD"));
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO users (email, password, role) " +
+                    "SELECT 'plan-' || g || '@test.local', 'x', 'ROLE_USER' FROM generate_series(1, 200) g");
+            statement.execute("INSERT INTO bank_cards (user_id, card_number_encrypt, card_holder, expiry_date, status, balance, " +
+                    "available_balance, daily_withdrawal_limit) " +
+                    "SELECT u.id, 'plan-' || u.id || '-' || k, 'PLAN TEST', '2030-12-01', 'ACTIVE', 0, 0, 0 " +
+                    "FROM users u CROSS JOIN generate_series(1, 5) k WHERE u.email LIKE 'plan-%@test.local'");
+            statement.execute("INSERT INTO transaction (card_id, amount, transaction_date, status, created_at) " +
+                    "SELECT c.id, ((g * 37 + c.id) % 2000 - 1000) / 10.0, " +
+                    "date_trunc('month', localtimestamp) + ((c.id % 1000) * 200 + g) * interval '5 seconds', " +
+                    "CASE WHEN g % 100 = 0 THEN 'FAILED' ELSE 'COMPLETED' END, localtimestamp " +
+                    "FROM bank_cards c CROSS JOIN generate_series(1, 200) g WHERE c.card_holder = 'PLAN TEST'");
+            statement.execute("ANALYZE users, bank_cards, transaction");
+            try (ResultSet rs = statement.executeQuery("SELECT 'transaction_p' || to_char(localtimestamp, 'YYYY_MM'), " +
+                    "min(c.id), min(c.user_id) FROM bank_cards c WHERE c.card_holder = 'PLAN TEST'")) {
+                rs.next();
+                seededPartition = rs.getString(1);
+                cardId = rs.getLong(2);
+                userId = rs.getLong(3);
+            }
+        }
+    }
+
+    @AfterAll
+    static void rollback() throws SQLException {
+        if (connection != null) {
+            connection.rollback();
+            connection.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Поиск по карте использует idx_transaction_card_date_id")
+    void cardFilter_UsesCardHistoryIndex() throws SQLException {
+        String plan = explain("SELECT t.* FROM transaction t WHERE t.card_id = " + cardId + ORDER_AND_LIMIT);
+
+        assertIndexUsed(plan, "idx_transaction_card_date_id");
+    }
+
+    @Test
+    @DisplayName("Поиск по пользователю не сканирует таблицу транзакций целиком")
+    void userFilter_AvoidsSeqScan() throws SQLException {
+        String plan = explain("SELECT t.* FROM transaction t JOIN bank_cards c ON c.id = t.card_id " +
+                "WHERE c.user_id = " + userId + ORDER_AND_LIMIT);
+
+        assertFalse(parentIndexes(plan).isEmpty(), plan);
+        assertNoSeqScan(plan);
+    }
+
+    @Test
+    @DisplayName("Поиск по статусу использует idx_transaction_status_date_id")
+    void statusFilter_UsesStatusIndex() throws SQLException {
+        String plan = explain("SELECT t.* FROM transaction t WHERE t.status = 'FAILED'" + ORDER_AND_LIMIT);
+
+        assertIndexUsed(plan, "idx_transaction_status_date_id");
+    }
+
+    @Test
+    @DisplayName("Поиск по периоду использует idx_transaction_date_id и отсекает партиции")
+    void dateRange_UsesDateIndex() throws SQLException {
+        String plan = explain("SELECT t.* FROM transaction t WHERE t.transaction_date >= date_trunc('month', localtimestamp) " +
+                "AND t.transaction_date < date_trunc('month', localtimestamp) + interval '3 days'" + ORDER_AND_LIMIT);
+
+        assertIndexUsed(plan, "idx_transaction_date_id");
+        assertFalse(plan.contains("Seq Scan"), plan);
+    }
+
+    @Test
+    @DisplayName("Поиск по диапазону сумм идет по idx_transaction_date_id без полного сканирования")
+    void amountRange_UsesDateIndex() throws SQLException {
+        String plan = explain("SELECT t.* FROM transaction t WHERE t.amount >= 50 AND t.amount <= 60" + ORDER_AND_LIMIT);
+
+        assertIndexUsed(plan, "idx_transaction_date_id");
+    }
+
+    private static String explain(String sql) throws SQLException {
+        StringBuilder plan = new StringBuilder();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("EXPLAIN " + sql)) {
+            while (rs.next()) {
+                plan.append(rs.getString(1)).append('\n');
+            }
+        }
+        return plan.toString();
+    }
+
+    private static void assertIndexUsed(String plan, String parentIndex) throws SQLException {
+        assertTrue(parentIndexes(plan).contains(parentIndex), plan);
+        assertNoSeqScan(plan);
+    }
+
+    private static void assertNoSeqScan(String plan) {
+        assertFalse(plan.contains("Seq Scan on " + seededPartition), plan);
+    }
+
+    private static Set<String> parentIndexes(String plan) throws SQLException {
+        Set<String> parents = new HashSet<>();
+        Matcher matcher = INDEX_NAME.matcher(plan);
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT parent.relname FROM pg_class child JOIN pg_inherits i ON i.inhrelid = child.oid " +
+                "JOIN pg_class parent ON parent.oid = i.inhparent WHERE child.relname = ?")) {
+            while (matcher.find()) {
+                statement.setString(1, matcher.group(1));
+                try (ResultSet rs = statement.executeQuery()) {
+                    parents.add(rs.next() ? rs.getString(1) : matcher.group(1));
+                }
+            }
+        }
+        return parents;
+    }
+}
@@ -0,0 +1,103 @@
+package com.testtask.bankcardmanager.repository;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Seeded plan benchmark for the admin substring filters: with the trigram indexes the
+ * {@code lower(column) LIKE '%term%'} predicates become bitmap index scans, and dropping the index
+ * inside a savepoint brings back the sequential scan. Both plans are printed with their timings.
+ * Runs only against a database migrated by Liquibase, given by {@code PLAN_TEST_DB_URL},
+ * {@code PLAN_TEST_DB_USER} and {@code PLAN_TEST_DB_PASSWORD}; the seed data is rolled back.
+ */
+@EnabledIfEnvironmentVariable(named = "PLAN_TEST_DB_URL", matches = ".+")
+class TrigramSearchPlanTest {
+
+    private static final String CARD_SEARCH =
+            "SELECT c.id FROM bank_cards c WHERE lower(c.card_holder) LIKE '%" + "f3a9" + "%' ESCAPE '\\' ORDER BY c.id LIMIT 20";
+    private static final String USER_SEARCH =
+            "SELECT u.id FROM users u WHERE lower(u.email) LIKE '%" + "trgm-1234" + "%' ESCAPE '\\' ORDER BY u.id LIMIT 20";
+
+    private static Connection connection;
+
+    @BeforeAll
+    static void seed() throws SQLException {
+        connection = DriverManager.getConnection(System.getenv("PLAN_TEST_DB_URL"),
+                System.getenv("PLAN_TEST_DB_USER"), System.getenv("PLAN_TEST_DB_PASSWORD"));
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO users (email, password, role) " +
+                    "SELECT 'trgm-' || g || '@test.local', 'x', 'ROLE_USER' FROM generate_series(1, 50000) g");
+            statement.execute("INSERT INTO bank_cards (user_id, card_number_encrypt, card_holder, expiry_date, status, balance, " +
+                    "available_balance, daily_withdrawal_limit) " +
+                    "SELECT u.id, 'trgm-' || u.id, upper('holder ' || md5(u.id::text)), '2030-12-01', 'ACTIVE', 0, 0, 0 " +
+                    "FROM users u WHERE u.email LIKE 'trgm-%@test.local'");
+            statement.execute("ANALYZE users, bank_cards");
+        }
+    }
+
+    @AfterAll
+    static void rollback() throws SQLException {
+        if (connection != null) {
+            connection.rollback();
+            connection.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Поиск по держателю карты использует триграммный индекс, без него - полное сканирование")
+    void cardHolderSearch_UsesTrigramIndex() throws SQLException {
+        String indexed = explainAnalyze(CARD_SEARCH);
+        String sequential = explainWithoutIndex(CARD_SEARCH, "idx_bank_cards_card_holder_trgm");
+        String plans = "with trigram index:\n" + indexed + "\nwithout:\n" + sequential;
+
+        assertTrue(indexed.contains("Bitmap Index Scan on idx_bank_cards_card_holder_trgm"), plans);
+        assertFalse(indexed.contains("Seq Scan on bank_cards"), plans);
+        assertTrue(sequential.contains("Seq Scan on bank_cards"), plans);
+    }
+
+    @Test
+    @DisplayName("Поиск по email использует триграммный индекс, без него - полное сканирование")
+    void emailSearch_UsesTrigramIndex() throws SQLException {
+        String indexed = explainAnalyze(USER_SEARCH);
+        String sequential = explainWithoutIndex(USER_SEARCH, "idx_users_email_trgm");
+        String plans = "with trigram index:\n" + indexed + "\nwithout:\n" + sequential;
+
+        assertTrue(indexed.contains("Bitmap Index Scan on idx_users_email_trgm"), plans);
+        assertFalse(indexed.contains("Seq Scan on users"), plans);
+        assertTrue(sequential.contains("Seq Scan on users"), plans);
+    }
+
+    private static String explainWithoutIndex(String sql, String index) throws SQLException {
+        Savepoint savepoint = connection.setSavepoint();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP INDEX " + index);
+            return explainAnalyze(sql);
+        } finally {
+            connection.rollback(savepoint);
+        }
+    }
+
+    private static String explainAnalyze(String sql) throws SQLException {
+        StringBuilder plan = new StringBuilder();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("EXPLAIN (ANALYZE, COSTS OFF) " + sql)) {
+            while (rs.next()) {
+                plan.append(rs.getString(1)).append('\n');
+            }
+        }
+        return plan.toString();
+    }
+}
@@ -0,0 +1,115 @@
+package com.testtask.bankcardmanager.scheduling;
+
+import com.testtask.bankcardmanager.repository.DashboardAggregates;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CardExpirySweeperTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private DashboardAggregates dashboardAggregates;
+
+    private final Clock clock = Clock.fixed(Instant.parse("2026-10-19T12:00:00Z"), ZoneOffset.UTC);
+
+    @Test
+    @DisplayName("expireDueCards - Истекает карты пачками, продолжая после последней пары (expiry_date, id)")
+    void expireDueCards_WalksDueCardsByKeyset() throws Exception {
+        LocalDate august = LocalDate.of(2026, 8, 1);
+        LocalDate september = LocalDate.of(2026, 9, 1);
+        List<Object[]> dueArgs = new ArrayList<>();
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class))).thenAnswer(invocation -> {
+            Object[] args = invocation.getArguments();
+            dueArgs.add(Arrays.copyOfRange(args, 2, args.length));
+            return dueArgs.size() == 1
+                    ? mapRows(invocation.getArgument(1), new long[]{4, 9}, new LocalDate[]{august, september})
+                    : mapRows(invocation.getArgument(1), new long[]{12}, new LocalDate[]{september});
+        });
+        List<Integer> expiredRows = new ArrayList<>(List.of(2, 1));
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (int i = expiredRows.remove(0); i > 0; i--) {
+                ResultSet rs = mock(ResultSet.class);
+                when(rs.getString("previous_status")).thenReturn("ACTIVE");
+                when(rs.getBigDecimal("balance")).thenReturn(new BigDecimal("5.00"));
+                handler.processRow(rs);
+            }
+            return null;
+        }).when(jdbcTemplate).query(startsWith("UPDATE"), any(RowCallbackHandler.class), any(Object[].class));
+
+        List<String> checkpoints = new ArrayList<>();
+        JobContext context = new JobContext(1, 4, null, checkpoints::add);
+
+        int expired = new CardExpirySweeper(jdbcTemplate, transactionManager, clock, dashboardAggregates, 2).expireDueCards(context);
+
+        assertEquals(3, expired);
+        assertEquals(2, dueArgs.size());
+        assertArrayEquals(new Object[]{Date.valueOf("2026-10-01"), 4, 1, 2}, dueArgs.get(0));
+        assertArrayEquals(new Object[]{Date.valueOf("2026-10-01"), 4, 1, Date.valueOf(september), 9L, 2}, dueArgs.get(1));
+        assertEquals(List.of("2026-09-01/9"), checkpoints);
+        verify(dashboardAggregates, times(2)).apply(any(DashboardAggregates.CardTotalsDelta.class));
+    }
+
+    @Test
+    @DisplayName("expireDueCards - Прерванный запуск продолжает с сохраненной контрольной точки")
+    void expireDueCards_ResumesFromCheckpoint() {
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class))).thenReturn(List.of());
+
+        new CardExpirySweeper(jdbcTemplate, transactionManager, clock, dashboardAggregates, 100)
+                .expireDueCards(new JobContext(0, 1, "2026-08-01/42", checkpoint -> { }));
+
+        verify(jdbcTemplate).query(contains("(expiry_date, id) > (?, ?)"), any(RowMapper.class),
+                eq(Date.valueOf("2026-10-01")), eq(1), eq(0), eq(Date.valueOf("2026-08-01")), eq(42L), eq(100));
+    }
+
+    @Test
+    @DisplayName("expireDueCards - Без просроченных карт обновлений нет")
+    void expireDueCards_NothingDue() {
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class))).thenReturn(List.of());
+
+        assertEquals(0, new CardExpirySweeper(jdbcTemplate, transactionManager, clock, dashboardAggregates, 100).expireDueCards(JobContext.standalone()));
+        verify(jdbcTemplate, never()).query(startsWith("UPDATE"), any(RowCallbackHandler.class), any(Object[].class));
+    }
+
+    private static List<Object> mapRows(RowMapper<?> mapper, long[] ids, LocalDate[] dates) throws Exception {
+        List<Object> rows = new ArrayList<>();
+        for (int i = 0; i < ids.length; i++) {
+            ResultSet rs = mock(ResultSet.class);
+            when(rs.getLong("id")).thenReturn(ids[i]);
+            when(rs.getObject(eq("expiry_date"), eq(LocalDate.class))).thenReturn(dates[i]);
+            rows.add(mapper.mapRow(rs, i));
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,115 @@
+package com.testtask.bankcardmanager.scheduling;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ClusterJobRunnerTest {
+
+    @Mock
+    private DataSource dataSource;
+    @Mock
+    private Connection connection;
+    @Mock
+    private PreparedStatement lockStatement;
+    @Mock
+    private ResultSet lockResult;
+    @Mock
+    private PreparedStatement unlockStatement;
+    @Mock
+    private ResultSet unlockResult;
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private ClusterJobRunner jobRunner;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Clock clock = Clock.fixed(Instant.parse("2026-10-19T12:00:00Z"), ZoneOffset.UTC);
+        jobRunner = new ClusterJobRunner(dataSource, jdbcTemplate, clock);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(ClusterJobRunner.TRY_LOCK_SQL)).thenReturn(lockStatement);
+        when(lockStatement.executeQuery()).thenReturn(lockResult);
+        when(lockResult.next()).thenReturn(true);
+    }
+
+    @Test
+    @DisplayName("runSharded - Выполняет только свободные шарды и снимает блокировку после запуска")
+    void runSharded_RunsOnlyUnlockedShards() throws Exception {
+        when(lockResult.getBoolean(1)).thenReturn(true, false);
+        stubUnlock();
+        when(jdbcTemplate.queryForObject(startsWith("INSERT INTO scheduled_job"), eq(String.class), any(Object[].class)))
+                .thenReturn("2026-08-01/42");
+        List<JobContext> contexts = new ArrayList<>();
+
+        int ran = jobRunner.runSharded("card-expiry", 2, contexts::add);
+
+        assertEquals(1, ran);
+        assertEquals(1, contexts.size());
+        assertEquals(0, contexts.get(0).getShard());
+        assertEquals(2, contexts.get(0).getShardCount());
+        assertEquals("2026-08-01/42", contexts.get(0).getCheckpoint());
+        verify(lockStatement).setInt(2, 0);
+        verify(lockStatement).setInt(2, 1);
+        verify(unlockStatement).setString(1, "card-expiry");
+        verify(unlockStatement).setInt(2, 0);
+        verify(jdbcTemplate).update(startsWith("UPDATE scheduled_job SET last_status"),
+                eq("COMPLETED"), any(), isNull(), eq(true), eq("card-expiry"), eq(0));
+        verify(connection, times(2)).close();
+    }
+
+    @Test
+    @DisplayName("run - Ошибка задачи записывается в состояние, контрольная точка сохраняется")
+    void run_RecordsFailureAndKeepsCheckpoint() throws Exception {
+        when(lockResult.getBoolean(1)).thenReturn(true);
+        stubUnlock();
+
+        boolean ran = jobRunner.run("transaction-archive", () -> {
+            throw new IllegalStateException("disk full");
+        });
+
+        assertTrue(ran);
+        verify(jdbcTemplate).update(startsWith("UPDATE scheduled_job SET last_status"),
+                eq("FAILED"), any(), eq("disk full"), eq(false), eq("transaction-archive"), eq(0));
+        verify(unlockStatement).executeQuery();
+    }
+
+    @Test
+    @DisplayName("run - Задача, занятая другим узлом, пропускается без записи состояния")
+    void run_SkipsJobLockedElsewhere() throws Exception {
+        when(lockResult.getBoolean(1)).thenReturn(false);
+
+        assertFalse(jobRunner.run("hold-expiry-sweep", () -> fail("must not run")));
+
+        verifyNoInteractions(jdbcTemplate);
+        verify(connection, never()).prepareStatement(ClusterJobRunner.UNLOCK_SQL);
+        verify(connection).close();
+    }
+
+    private void stubUnlock() throws Exception {
+        when(connection.prepareStatement(ClusterJobRunner.UNLOCK_SQL)).thenReturn(unlockStatement);
+        when(unlockStatement.executeQuery()).thenReturn(unlockResult);
+    }
+}
@@ -0,0 +1,55 @@
+package com.testtask.bankcardmanager.scheduling;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HashedTimingWheelTest {
+
+    private HashedTimingWheel wheel;
+
+    @BeforeEach
+    void setUp() {
+        wheel = new HashedTimingWheel(Duration.ofMillis(10), 8, Executors.newSingleThreadExecutor(), Clock.systemUTC());
+    }
+
+    @AfterEach
+    void tearDown() {
+        wheel.close();
+    }
+
+    @Test
+    @DisplayName("schedule - Задача с задержкой больше оборота колеса выполняется после срока")
+    void schedule_FiresAfterDeadline() throws InterruptedException {
+        CountDownLatch fired = new CountDownLatch(1);
+        long start = System.nanoTime();
+
+        wheel.schedule(fired::countDown, Duration.ofMillis(150));
+
+        assertTrue(fired.await(2, TimeUnit.SECONDS));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 140);
+    }
+
+    @Test
+    @DisplayName("cancel - Отменённая задача не выполняется")
+    void cancel_PreventsExecution() throws InterruptedException {
+        AtomicInteger cancelledRuns = new AtomicInteger();
+        CountDownLatch marker = new CountDownLatch(1);
+
+        wheel.schedule(cancelledRuns::incrementAndGet, Duration.ofMillis(30)).cancel();
+        wheel.schedule(marker::countDown, Duration.ofMillis(60));
+
+        assertTrue(marker.await(2, TimeUnit.SECONDS));
+        assertEquals(0, cancelledRuns.get());
+    }
+}
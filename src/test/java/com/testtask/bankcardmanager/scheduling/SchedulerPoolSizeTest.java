@@ -0,0 +1,43 @@
+package com.testtask.bankcardmanager.scheduling;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Every {@code @Scheduled} method needs its own scheduler thread, otherwise a long batch job holds up
+ * the relay and heartbeat ticks queued behind it.
+ */
+class SchedulerPoolSizeTest {
+
+    @Test
+    @DisplayName("Пул планировщика не меньше числа запланированных методов")
+    void schedulerPool_CoversEveryScheduledMethod() throws Exception {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter(new AnnotationTypeFilter(Component.class));
+        int scheduled = 0;
+        for (BeanDefinition component : scanner.findCandidateComponents("com.testtask.bankcardmanager")) {
+            for (Method method : Class.forName(component.getBeanClassName()).getDeclaredMethods()) {
+                if (method.isAnnotationPresent(Scheduled.class)) {
+                    scheduled++;
+                }
+            }
+        }
+        assertTrue(scheduled > 0);
+
+        Properties properties = PropertiesLoaderUtils.loadProperties(new ClassPathResource("application.properties"));
+        int poolSize = Integer.parseInt(properties.getProperty("spring.task.scheduling.pool.size", "1"));
+        assertTrue(poolSize >= scheduled, "spring.task.scheduling.pool.size=" + poolSize + " but " + scheduled + " methods are scheduled");
+    }
+}
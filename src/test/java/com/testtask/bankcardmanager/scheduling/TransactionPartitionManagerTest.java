@@ -0,0 +1,78 @@
+package com.testtask.bankcardmanager.scheduling;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.InOrder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.Date;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionPartitionManagerTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final Clock clock = Clock.fixed(Instant.parse("2026-10-19T12:00:00Z"), ZoneOffset.UTC);
+
+    @Test
+    @DisplayName("maintainPartitions - Создает только недостающие будущие партиции")
+    void maintainPartitions_CreatesMissingPartitions() {
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class)))
+                .thenReturn(List.of("transaction_p2026_10", "transaction_p2026_11"));
+
+        new TransactionPartitionManager(jdbcTemplate, transactionManager, clock, 2).maintainPartitions();
+
+        verify(jdbcTemplate).execute(
+                "CREATE TABLE transaction_p2026_12 PARTITION OF transaction FOR VALUES FROM ('2026-12-01') TO ('2027-01-01')");
+        verify(jdbcTemplate, times(1)).execute(anyString());
+    }
+
+    @Test
+    @DisplayName("maintainPartitions - Старые партиции не отсоединяются, их удаляет архиватор")
+    void maintainPartitions_KeepsOldPartitions() {
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class)))
+                .thenReturn(List.of("transaction_p2024_01", "transaction_p2026_10"));
+
+        new TransactionPartitionManager(jdbcTemplate, transactionManager, clock, 0).maintainPartitions();
+
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    @Test
+    @DisplayName("maintainPartitions - Переносит строки месяца из партиции по умолчанию в новую партицию")
+    void maintainPartitions_SplitsMonthOutOfDefaultPartition() {
+        when(jdbcTemplate.queryForList(startsWith("SELECT c.relname"), eq(String.class))).thenReturn(List.of("transaction_p2026_10"));
+        when(jdbcTemplate.queryForList(startsWith("SELECT DISTINCT"), eq(Date.class))).thenReturn(List.of(Date.valueOf("2025-01-01")));
+        when(jdbcTemplate.update(startsWith("WITH moved"), eq(LocalDate.of(2025, 1, 1)), eq(LocalDate.of(2025, 2, 1)))).thenReturn(3);
+
+        new TransactionPartitionManager(jdbcTemplate, transactionManager, clock, 0).maintainPartitions();
+
+        InOrder inOrder = inOrder(jdbcTemplate, transactionManager);
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(jdbcTemplate).execute("ALTER TABLE transaction DETACH PARTITION transaction_default");
+        inOrder.verify(jdbcTemplate).execute(
+                "CREATE TABLE transaction_p2025_01 PARTITION OF transaction FOR VALUES FROM ('2025-01-01') TO ('2025-02-01')");
+        inOrder.verify(jdbcTemplate).update(startsWith("WITH moved"), eq(LocalDate.of(2025, 1, 1)), eq(LocalDate.of(2025, 2, 1)));
+        inOrder.verify(jdbcTemplate).execute("ALTER TABLE transaction ATTACH PARTITION transaction_default DEFAULT");
+        inOrder.verify(transactionManager).commit(any());
+        verify(jdbcTemplate, times(3)).execute(anyString());
+    }
+}
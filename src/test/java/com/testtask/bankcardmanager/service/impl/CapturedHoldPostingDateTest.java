@@ -0,0 +1,104 @@
+package com.testtask.bankcardmanager.service.impl;
+
+import com.testtask.bankcardmanager.repository.CardDailySummaryRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * A hold placed on the last evening of June and captured after midnight belongs to July, both in the
+ * rebuilt daily summaries and in the monthly statement. Runs only against a database migrated by
+ * Liquibase, given by {@code PLAN_TEST_DB_URL}, {@code PLAN_TEST_DB_USER} and {@code PLAN_TEST_DB_PASSWORD};
+ * the seed data lives in a transaction that is rolled back at the end.
+ */
+@EnabledIfEnvironmentVariable(named = "PLAN_TEST_DB_URL", matches = ".+")
+class CapturedHoldPostingDateTest {
+
+    private static final LocalDateTime PLACED_AT = LocalDateTime.of(2024, 6, 30, 23, 40);
+    private static final LocalDateTime CAPTURED_AT = LocalDateTime.of(2024, 7, 1, 0, 5);
+
+    private static Connection connection;
+    private static JdbcTemplate jdbcTemplate;
+    private static long cardId;
+
+    @BeforeAll
+    static void seed() throws SQLException {
+        connection = DriverManager.getConnection(System.getenv("PLAN_TEST_DB_URL"),
+                System.getenv("PLAN_TEST_DB_USER"), System.getenv("PLAN_TEST_DB_PASSWORD"));
+        connection.setAutoCommit(false);
+        jdbcTemplate = new JdbcTemplate(new SingleConnectionDataSource(connection, true));
+        Long userId = jdbcTemplate.queryForObject("INSERT INTO users (email, password, role) " +
+                "VALUES ('capture-boundary@test.local', 'x', 'ROLE_USER') RETURNING id", Long.class);
+        cardId = jdbcTemplate.queryForObject("INSERT INTO bank_cards (user_id, card_number_encrypt, card_holder, expiry_date, " +
+                "status, balance, available_balance, daily_withdrawal_limit) " +
+                "VALUES (?, 'capture-boundary', 'CAPTURE TEST', '2030-12-01', 'ACTIVE', 0, 0, 0) RETURNING id", Long.class, userId);
+        jdbcTemplate.update("INSERT INTO transaction (card_id, amount, transaction_date, status, created_at, captured_at) " +
+                "VALUES (?, -50.00, ?, 'COMPLETED', ?, ?)", cardId, Timestamp.valueOf(PLACED_AT),
+                Timestamp.valueOf(PLACED_AT), Timestamp.valueOf(CAPTURED_AT));
+    }
+
+    @AfterAll
+    static void rollback() throws SQLException {
+        if (connection != null) {
+            connection.rollback();
+            connection.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Пересчёт сводки относит захват холда ко дню захвата, а не ко дню блокировки")
+    void rebuild_CountsCaptureOnCaptureDay() throws NoSuchMethodException {
+        String sql = CardDailySummaryRepository.class
+                .getMethod("insertDayFromTransactions", LocalDate.class, LocalDateTime.class, LocalDateTime.class)
+                .getAnnotation(Query.class).value();
+        NamedParameterJdbcTemplate named = new NamedParameterJdbcTemplate(jdbcTemplate);
+
+        for (LocalDate day : List.of(PLACED_AT.toLocalDate(), CAPTURED_AT.toLocalDate())) {
+            named.update(sql, new MapSqlParameterSource()
+                    .addValue("day", day)
+                    .addValue("start", day.atStartOfDay())
+                    .addValue("end", day.plusDays(1).atStartOfDay()));
+        }
+
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT summary_date, debit_total FROM card_daily_summary WHERE card_id = ?", cardId);
+        assertEquals(1, rows.size());
+        assertEquals(Date.valueOf(CAPTURED_AT.toLocalDate()), rows.get(0).get("summary_date"));
+        assertEquals(0, new BigDecimal("50.00").compareTo((BigDecimal) rows.get(0).get("debit_total")));
+    }
+
+    @Test
+    @DisplayName("Выписка показывает захват холда в месяце захвата с датой захвата")
+    void statement_ListsCaptureInCaptureMonth() {
+        assertEquals(List.of(), statementDates(LocalDate.of(2024, 6, 1)));
+        assertEquals(List.of(Timestamp.valueOf(CAPTURED_AT)), statementDates(LocalDate.of(2024, 7, 1)));
+    }
+
+    private static List<Timestamp> statementDates(LocalDate monthStart) {
+        Timestamp from = Timestamp.valueOf(monthStart.atTime(LocalTime.MIDNIGHT));
+        Timestamp to = Timestamp.valueOf(monthStart.plusMonths(1).atTime(LocalTime.MIDNIGHT));
+        return jdbcTemplate.query(StatementServiceImpl.TRANSACTIONS_FIRST_PAGE_SQL,
+                (rs, rowNum) -> rs.getTimestamp("transaction_date"), new Long[]{cardId}, from, to, to, 10);
+    }
+}
@@ -0,0 +1,155 @@
+package com.testtask.bankcardmanager.service.impl;
+
+import com.testtask.bankcardmanager.dto.request.PlaceHoldRequest;
+import com.testtask.bankcardmanager.dto.request.WithdrawalRequest;
+import com.testtask.bankcardmanager.model.Card;
+import com.testtask.bankcardmanager.model.Money;
+import com.testtask.bankcardmanager.model.User;
+import com.testtask.bankcardmanager.model.enums.CardStatus;
+import com.testtask.bankcardmanager.repository.CardRepository;
+import com.testtask.bankcardmanager.repository.UserRepository;
+import com.testtask.bankcardmanager.service.CardService;
+import com.testtask.bankcardmanager.service.HoldService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Places a hold and withdraws from the same card at the same moment and checks that both balance
+ * changes survive. Runs only against a database migrated by Liquibase, given by {@code PLAN_TEST_DB_URL},
+ * {@code PLAN_TEST_DB_USER} and {@code PLAN_TEST_DB_PASSWORD}; the user and cards it creates are deleted
+ * at the end.
+ */
+@EnabledIfEnvironmentVariable(named = "PLAN_TEST_DB_URL", matches = ".+")
+@SpringBootTest(properties = {
+        "JWT_SECRET=c2VjcmV0LWtleS1mb3ItdGhlLWNvbmN1cnJlbmN5LXRlc3Qtb25seQ==",
+        "JWT_EXPIRATION_MS=3600000",
+        "encryption.aes.key=MDEyMzQ1Njc4OWFiY2RlZg==",
+        "ledger.engine.enabled=false"
+})
+class CardBalanceConcurrencyTest {
+
+    private static final int ROUNDS = 50;
+    private static final BigDecimal INITIAL_BALANCE = new BigDecimal("100.00");
+    private static final BigDecimal HOLD_AMOUNT = new BigDecimal("30.00");
+    private static final BigDecimal WITHDRAWAL_AMOUNT = new BigDecimal("50.00");
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> System.getenv("PLAN_TEST_DB_URL"));
+        registry.add("spring.datasource.username", () -> System.getenv("PLAN_TEST_DB_USER"));
+        registry.add("spring.datasource.password", () -> System.getenv("PLAN_TEST_DB_PASSWORD"));
+    }
+
+    @Autowired
+    private CardService cardService;
+    @Autowired
+    private HoldService holdService;
+    @Autowired
+    private CardRepository cardRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+
+    @BeforeEach
+    void createUser() {
+        String email = "concurrency-" + System.nanoTime() + "@test.local";
+        jdbcTemplate.update("INSERT INTO users (email, password, role) VALUES (?, 'x', 'ROLE_USER')", email);
+        user = userRepository.findByEmail(email).orElseThrow();
+    }
+
+    @AfterEach
+    void deleteUser() {
+        jdbcTemplate.update("DELETE FROM ledger_outbox WHERE user_id = ?", user.getId());
+        jdbcTemplate.update("DELETE FROM card_daily_summary WHERE card_id IN (SELECT id FROM bank_cards WHERE user_id = ?)", user.getId());
+        jdbcTemplate.update("DELETE FROM transaction WHERE card_id IN (SELECT id FROM bank_cards WHERE user_id = ?)", user.getId());
+        jdbcTemplate.update("DELETE FROM bank_cards WHERE user_id = ?", user.getId());
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", user.getId());
+    }
+
+    @Test
+    @DisplayName("Одновременные холд и снятие не затирают изменения баланса друг друга")
+    void holdAndWithdrawal_BothBalanceChangesSurvive() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                Long cardId = createCard();
+                CyclicBarrier start = new CyclicBarrier(2);
+                Future<?> hold = executor.submit(asUser(start, () -> holdService.placeHold(cardId, holdRequest())));
+                Future<?> withdrawal = executor.submit(asUser(start, () -> cardService.withdrawFunds(cardId, withdrawalRequest())));
+                hold.get(10, TimeUnit.SECONDS);
+                withdrawal.get(10, TimeUnit.SECONDS);
+
+                Map<String, Object> balances = jdbcTemplate.queryForMap(
+                        "SELECT balance, available_balance FROM bank_cards WHERE id = ?", cardId);
+                assertEquals(0, INITIAL_BALANCE.subtract(WITHDRAWAL_AMOUNT).compareTo((BigDecimal) balances.get("balance")),
+                        "balance after round " + round + ": " + balances);
+                assertEquals(0, INITIAL_BALANCE.subtract(WITHDRAWAL_AMOUNT).subtract(HOLD_AMOUNT)
+                                .compareTo((BigDecimal) balances.get("available_balance")),
+                        "available balance after round " + round + ": " + balances);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Long createCard() {
+        String number = "4" + String.format("%015d", ThreadLocalRandom.current().nextLong(1_000_000_000_000_000L));
+        Card card = new Card(Money.of(INITIAL_BALANCE), CardStatus.ACTIVE, YearMonth.now().plusYears(2), "CONCURRENCY TEST", number);
+        card.setUser(user);
+        card.setDailyWithdrawalLimit(Money.of(new BigDecimal("1000.00")));
+        return cardRepository.save(card).getId();
+    }
+
+    private Callable<Object> asUser(CyclicBarrier start, Callable<Object> operation) {
+        return () -> {
+            SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                    user.getEmail(), null, List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+            try {
+                start.await();
+                return operation.call();
+            } finally {
+                SecurityContextHolder.clearContext();
+            }
+        };
+    }
+
+    private static PlaceHoldRequest holdRequest() {
+        PlaceHoldRequest request = new PlaceHoldRequest();
+        request.setAmount(HOLD_AMOUNT);
+        return request;
+    }
+
+    private static WithdrawalRequest withdrawalRequest() {
+        WithdrawalRequest request = new WithdrawalRequest();
+        request.setAmount(WITHDRAWAL_AMOUNT);
+        return request;
+    }
+}
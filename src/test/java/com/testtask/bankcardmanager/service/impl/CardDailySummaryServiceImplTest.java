@@ -0,0 +1,88 @@
+package com.testtask.bankcardmanager.service.impl;
+
+import com.testtask.bankcardmanager.archive.TransactionArchive;
+import com.testtask.bankcardmanager.exception.CardOperationException;
+import com.testtask.bankcardmanager.exception.ResourceNotFoundException;
+import com.testtask.bankcardmanager.repository.CardDailySummaryRepository;
+import com.testtask.bankcardmanager.repository.CardRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CardDailySummaryServiceImplTest {
+
+    @Mock
+    private CardDailySummaryRepository summaryRepository;
+    @Mock
+    private CardRepository cardRepository;
+    @Mock
+    private TransactionArchive transactionArchive;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private CardDailySummaryServiceImpl summaryService;
+
+    @BeforeEach
+    void setUp() {
+        summaryService = new CardDailySummaryServiceImpl(summaryRepository, cardRepository, transactionArchive, transactionManager);
+    }
+
+    @Test
+    @DisplayName("rebuildDailySummaries - Каждый день пересчитывается отдельно: удаление, затем вставка")
+    void rebuildDailySummaries_RebuildsEachDay() {
+        LocalDate from = LocalDate.of(2024, 7, 1);
+
+        int days = summaryService.rebuildDailySummaries(from, from.plusDays(2));
+
+        assertEquals(3, days);
+        InOrder inOrder = inOrder(summaryRepository);
+        for (int i = 0; i < 3; i++) {
+            LocalDate day = from.plusDays(i);
+            inOrder.verify(summaryRepository).deleteDay(day);
+            inOrder.verify(summaryRepository).insertDayFromTransactions(day, day.atStartOfDay(), day.plusDays(1).atStartOfDay());
+        }
+        verify(transactionManager, times(3)).commit(any());
+    }
+
+    @Test
+    @DisplayName("rebuildDailySummaries - Ошибка: месяц уже перенесён в архив")
+    void rebuildDailySummaries_ArchivedMonth() {
+        LocalDate from = LocalDate.of(2024, 6, 28);
+        when(transactionArchive.isArchived(YearMonth.of(2024, 6))).thenReturn(true);
+
+        assertThrows(CardOperationException.class, () -> summaryService.rebuildDailySummaries(from, from.plusDays(5)));
+        verifyNoInteractions(summaryRepository);
+    }
+
+    @Test
+    @DisplayName("getDailySummaries - Ошибка: конец диапазона раньше начала")
+    void getDailySummaries_InvalidRange() {
+        LocalDate from = LocalDate.of(2024, 7, 10);
+
+        assertThrows(CardOperationException.class, () -> summaryService.getDailySummaries(1L, from, from.minusDays(1)));
+        verifyNoInteractions(summaryRepository);
+    }
+
+    @Test
+    @DisplayName("getDailySummaries - Карта не найдена")
+    void getDailySummaries_CardNotFound() {
+        LocalDate from = LocalDate.of(2024, 7, 1);
+        when(cardRepository.existsById(99L)).thenReturn(false);
+
+        assertThrows(ResourceNotFoundException.class, () -> summaryService.getDailySummaries(99L, from, from.plusDays(30)));
+        verifyNoInteractions(summaryRepository);
+    }
+}
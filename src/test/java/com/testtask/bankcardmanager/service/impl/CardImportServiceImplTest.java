@@ -0,0 +1,159 @@
+package com.testtask.bankcardmanager.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.testtask.bankcardmanager.dto.request.ImportFormat;
+import com.testtask.bankcardmanager.dto.response.CardImportResponse;
+import com.testtask.bankcardmanager.exception.CardOperationException;
+import com.testtask.bankcardmanager.model.converter.CardNumberAttributeConverter;
+import com.testtask.bankcardmanager.repository.DashboardAggregates;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CardImportServiceImplTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private Connection connection;
+    @Mock
+    private PGConnection pgConnection;
+    @Mock
+    private CopyManager copyManager;
+    @Mock
+    private DashboardAggregates dashboardAggregates;
+
+    private final List<String> copied = new ArrayList<>();
+    private CardNumberAttributeConverter converter;
+    private CardImportServiceImpl importService;
+
+    @BeforeEach
+    void setUp() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("encryption.aes.key", Base64.getEncoder().encodeToString(new byte[16]));
+        converter = new CardNumberAttributeConverter(environment);
+        Clock clock = Clock.fixed(Instant.parse("2025-06-15T10:00:00Z"), ZoneOffset.UTC);
+        importService = new CardImportServiceImpl(jdbcTemplate, transactionManager, converter,
+                Validation.buildDefaultValidatorFactory().getValidator(), new ObjectMapper(), clock, dashboardAggregates, 2, 3, 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        importService.shutdown();
+    }
+
+    @Test
+    @DisplayName("CSV: корректные строки загружаются через COPY, ошибочные возвращаются с номерами строк")
+    void importCards_Csv_LoadsValidRowsAndReportsErrors() throws Exception {
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), any(Object[].class))).thenReturn(List.of(1L));
+        stubCopy();
+        String csv = """
+                user_id,card_number,card_holder,expiry_date,status,balance
+                1,4000000000000001,"DOE, JOHN",2028-12,ACTIVE,100.50
+                2,4000000000000002,JANE ROE,2028-12,ACTIVE,0
+                1,12345,IVAN IVANOV,2028-12,ACTIVE,10
+                1,4000000000000001,DUPLICATE,2028-12,ACTIVE,10
+
+                1,4000000000000005,PAST EXPIRY,2024-01,ACTIVE,10
+                1,4000000000000006,NOT A STATUS,2028-12,UNKNOWN,10
+                1,4000000000000007,ANNA SMITH,2029-01,BLOCKED,0
+                """;
+
+        CardImportResponse response = importService.importCards(stream(csv), ImportFormat.CSV);
+
+        assertEquals(7, response.getReceived());
+        assertEquals(2, response.getImported());
+        assertEquals(5, response.getFailed());
+        assertEquals(List.of(3L, 4L, 5L, 7L, 8L), response.getErrors().stream().map(e -> e.getLine()).toList());
+        assertEquals("User not found with ID: 2", response.getErrors().get(0).getMessage());
+        assertEquals("Card number must be 16 digits", response.getErrors().get(1).getMessage());
+        assertEquals("Duplicate card number in this import", response.getErrors().get(2).getMessage());
+        assertEquals("Expiry date cannot be in the past", response.getErrors().get(3).getMessage());
+
+        String data = String.join("", copied);
+        assertFalse(data.contains("4000000000000001"));
+        List<String> lines = data.lines().toList();
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(0).startsWith("1,\""));
+        assertTrue(lines.get(0).endsWith(",\"DOE, JOHN\",2028-12-01,ACTIVE,100.50,100.50,0"));
+        String encrypted = lines.get(0).substring(3, lines.get(0).indexOf('"', 3));
+        assertEquals("4000000000000001", converter.convertToEntityAttribute(encrypted));
+        verify(jdbcTemplate, times(1)).queryForList(anyString(), eq(Long.class), any(Object[].class));
+    }
+
+    @Test
+    @DisplayName("NDJSON: неразборчивые строки отклоняются, остальные загружаются")
+    void importCards_Ndjson_RejectsMalformedLines() throws Exception {
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), any(Object[].class))).thenReturn(List.of(3L));
+        stubCopy();
+        String ndjson = """
+                {"userId":3,"cardNumber":"4000000000000011","cardHolder":"OLGA PETROVA","expiryDate":"2027-05","status":"ACTIVE","balance":5}
+                {"userId":3,"cardNumber":
+                """;
+
+        CardImportResponse response = importService.importCards(stream(ndjson), ImportFormat.NDJSON);
+
+        assertEquals(2, response.getReceived());
+        assertEquals(1, response.getImported());
+        assertEquals(1, response.getFailed());
+        assertEquals(2L, response.getErrors().get(0).getLine());
+        assertTrue(response.getErrors().get(0).getMessage().startsWith("Malformed row"));
+    }
+
+    @Test
+    @DisplayName("CSV без заголовка отклоняется целиком")
+    void importCards_CsvWithoutHeader_Throws() {
+        assertThrows(CardOperationException.class,
+                () -> importService.importCards(stream("1,4000000000000001,JOHN DOE,2028-12,ACTIVE,1\n"), ImportFormat.CSV));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    private void stubCopy() throws Exception {
+        when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+        when(pgConnection.getCopyAPI()).thenReturn(copyManager);
+        when(copyManager.copyIn(anyString(), any(Reader.class))).thenAnswer(invocation -> {
+            StringWriter data = new StringWriter();
+            invocation.getArgument(1, Reader.class).transferTo(data);
+            copied.add(data.toString());
+            return data.toString().lines().count();
+        });
+        when(jdbcTemplate.execute(any(ConnectionCallback.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0, ConnectionCallback.class).doInConnection(connection));
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -2,29 +2,46 @@ package com.testtask.bankcardmanager.service.impl;
 
 import com.testtask.bankcardmanager.dto.request.CreateCardRequest;
 import com.testtask.bankcardmanager.dto.request.TransferRequest;
+import com.testtask.bankcardmanager.dto.request.WithdrawalRequest;
+import com.testtask.bankcardmanager.dto.response.AccountEventType;
 import com.testtask.bankcardmanager.dto.response.CardResponse;
+import com.testtask.bankcardmanager.dto.response.TransactionResponse;
+import com.testtask.bankcardmanager.event.AccountEvent;
 import com.testtask.bankcardmanager.exception.CardOperationException;
 import com.testtask.bankcardmanager.exception.InsufficientFundsException;
 import com.testtask.bankcardmanager.exception.ResourceNotFoundException;
+import com.testtask.bankcardmanager.ledger.LedgerEngine;
+import com.testtask.bankcardmanager.ledger.LedgerEntry;
+import com.testtask.bankcardmanager.ledger.LedgerEntryType;
 import com.testtask.bankcardmanager.model.Card;
+import com.testtask.bankcardmanager.model.Money;
 import com.testtask.bankcardmanager.model.Transaction;
 import com.testtask.bankcardmanager.model.User;
 import com.testtask.bankcardmanager.model.enums.CardStatus;
+import com.testtask.bankcardmanager.model.enums.LedgerEventType;
 import com.testtask.bankcardmanager.model.enums.Role;
 import com.testtask.bankcardmanager.model.enums.TransactionStatus;
+import com.testtask.bankcardmanager.repository.CardDailySummaryRepository;
 import com.testtask.bankcardmanager.repository.CardRepository;
+import com.testtask.bankcardmanager.repository.DashboardAggregates;
+import com.testtask.bankcardmanager.repository.OutboxEventRepository;
+import com.testtask.bankcardmanager.repository.TableStatistics;
 import com.testtask.bankcardmanager.repository.TransactionRepository;
 import com.testtask.bankcardmanager.repository.UserRepository;
+import com.testtask.bankcardmanager.repository.projection.CardProjection;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.math.BigDecimal;
 import java.time.Clock;
@@ -50,8 +67,20 @@ class CardServiceImplTest {
     @Mock
     private TransactionRepository transactionRepository;
     @Mock
+    private CardDailySummaryRepository cardDailySummaryRepository;
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+    @Mock
     private Clock clock;
     @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private TableStatistics tableStatistics;
+    @Mock
+    private DashboardAggregates dashboardAggregates;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
     private SecurityContext securityContext;
     @Mock
     private Authentication authentication;
@@ -71,15 +100,15 @@ class CardServiceImplTest {
         testUser = new User("user@example.com", "password", Role.ROLE_USER);
         testUser.setId(1L);
 
-        testCard1 = new Card(BigDecimal.valueOf(1000), CardStatus.ACTIVE, futureExpiry, "Test User", validCardNumber);
+        testCard1 = new Card(Money.of(BigDecimal.valueOf(1000)), CardStatus.ACTIVE, futureExpiry, "Test User", validCardNumber);
         testCard1.setId(10L);
         testCard1.setUser(testUser);
-        testCard1.setDailyWithdrawalLimit(BigDecimal.valueOf(500));
+        testCard1.setDailyWithdrawalLimit(Money.of(BigDecimal.valueOf(500)));
 
-        testCard2 = new Card(BigDecimal.valueOf(500), CardStatus.ACTIVE, futureExpiry, "Test User", "5555666677778888");
+        testCard2 = new Card(Money.of(BigDecimal.valueOf(500)), CardStatus.ACTIVE, futureExpiry, "Test User", "5555666677778888");
         testCard2.setId(20L);
         testCard2.setUser(testUser);
-        testCard2.setDailyWithdrawalLimit(BigDecimal.valueOf(200));
+        testCard2.setDailyWithdrawalLimit(Money.of(BigDecimal.valueOf(200)));
 
         Clock fixedClock = Clock.fixed(fixedTime.atZone(ZoneId.systemDefault()).toInstant(), ZoneId.systemDefault());
         lenient().when(clock.instant()).thenReturn(fixedClock.instant());
@@ -120,20 +149,20 @@ class CardServiceImplTest {
         assertEquals(11L, response.getId());
         assertEquals("New Card Holder", response.getCardHolder());
         assertEquals(CardStatus.ACTIVE, response.getStatus());
-        assertEquals(0, BigDecimal.TEN.compareTo(response.getBalance()));
+        assertEquals(Money.of(BigDecimal.TEN), response.getBalance());
         assertEquals(futureExpiry, response.getExpiryDate());
         assertEquals(testUser.getId(), response.getUserId());
         assertTrue(response.getCardNumberMasked().startsWith(validCardNumber.substring(0, 6)));
         assertTrue(response.getCardNumberMasked().endsWith(validCardNumber.substring(validCardNumber.length() - 4)));
         assertTrue(response.getCardNumberMasked().contains("******"));
-        assertEquals(BigDecimal.ZERO, response.getDailyWithdrawalLimit());
+        assertEquals(Money.ZERO, response.getDailyWithdrawalLimit());
 
         verify(userRepository).findById(testUser.getId());
         verify(cardRepository).save(argThat(card ->
                 card.getUser().equals(testUser) &&
                         card.getCardNumber().equals(validCardNumber) &&
                         card.getExpiryDate().equals(futureExpiry) &&
-                        card.getDailyWithdrawalLimit().compareTo(BigDecimal.ZERO) == 0
+                        card.getDailyWithdrawalLimit().equals(Money.ZERO)
         ));
     }
 
@@ -180,28 +209,42 @@ class CardServiceImplTest {
         request.setToCardId(testCard2.getId());
         request.setAmount(BigDecimal.valueOf(100));
 
-        when(cardRepository.findById(testCard1.getId())).thenReturn(Optional.of(testCard1));
-        when(cardRepository.findById(testCard2.getId())).thenReturn(Optional.of(testCard2));
+        when(cardRepository.findByIdForUpdate(testCard1.getId())).thenReturn(Optional.of(testCard1));
+        when(cardRepository.findByIdForUpdate(testCard2.getId())).thenReturn(Optional.of(testCard2));
 
         cardService.transferFunds(request);
 
-        assertEquals(0, BigDecimal.valueOf(900).compareTo(testCard1.getBalance()));
-        assertEquals(0, BigDecimal.valueOf(600).compareTo(testCard2.getBalance()));
+        InOrder lockOrder = inOrder(cardRepository);
+        lockOrder.verify(cardRepository).findByIdForUpdate(testCard1.getId());
+        lockOrder.verify(cardRepository).findByIdForUpdate(testCard2.getId());
+        assertEquals(Money.of(BigDecimal.valueOf(900)), testCard1.getBalance());
+        assertEquals(Money.of(BigDecimal.valueOf(600)), testCard2.getBalance());
 
         verify(transactionRepository, times(2)).save(any(Transaction.class));
         verify(transactionRepository).save(argThat(t ->
                 t.getCard().equals(testCard1) &&
-                        t.getAmount().compareTo(BigDecimal.valueOf(-100)) == 0 &&
+                        t.getAmount().equals(Money.of(BigDecimal.valueOf(-100))) &&
                         t.getStatus() == TransactionStatus.COMPLETED &&
                         t.getTransactionDate().equals(fixedTime)
         ));
         verify(transactionRepository).save(argThat(t ->
                 t.getCard().equals(testCard2) &&
-                        t.getAmount().compareTo(BigDecimal.valueOf(100)) == 0 &&
+                        t.getAmount().equals(Money.of(BigDecimal.valueOf(100))) &&
                         t.getStatus() == TransactionStatus.COMPLETED &&
                         t.getTransactionDate().equals(fixedTime)
         ));
+        verify(cardDailySummaryRepository).addEntry(testCard1.getId(), fixedTime, Money.of(BigDecimal.valueOf(-100)));
+        verify(cardDailySummaryRepository).addEntry(testCard2.getId(), fixedTime, Money.of(BigDecimal.valueOf(100)));
         verify(cardRepository, never()).save(any(Card.class));
+        verify(eventPublisher).publishEvent(argThat((Object e) -> e instanceof AccountEvent event
+                && event.getPayload().getType() == AccountEventType.BALANCE
+                && event.getPayload().getCardId().equals(testCard1.getId())
+                && event.getPayload().getBalance().equals(Money.of(BigDecimal.valueOf(900)))));
+        verify(eventPublisher, times(4)).publishEvent(any(AccountEvent.class));
+        verify(outboxEventRepository).save(argThat(e -> e.getEventType() == LedgerEventType.TRANSFER_DEBIT
+                && e.getCardId().equals(testCard1.getId()) && e.getAmount().equals(Money.of(BigDecimal.valueOf(-100)))));
+        verify(outboxEventRepository).save(argThat(e -> e.getEventType() == LedgerEventType.TRANSFER_CREDIT
+                && e.getCardId().equals(testCard2.getId()) && e.getUserId().equals(testUser.getId())));
     }
 
     @Test
@@ -212,12 +255,12 @@ class CardServiceImplTest {
         request.setToCardId(testCard2.getId());
         request.setAmount(BigDecimal.valueOf(2000));
 
-        when(cardRepository.findById(testCard1.getId())).thenReturn(Optional.of(testCard1));
-        when(cardRepository.findById(testCard2.getId())).thenReturn(Optional.of(testCard2));
+        when(cardRepository.findByIdForUpdate(testCard1.getId())).thenReturn(Optional.of(testCard1));
+        when(cardRepository.findByIdForUpdate(testCard2.getId())).thenReturn(Optional.of(testCard2));
 
         assertThrows(InsufficientFundsException.class, () -> cardService.transferFunds(request));
-        assertEquals(0, BigDecimal.valueOf(1000).compareTo(testCard1.getBalance()));
-        assertEquals(0, BigDecimal.valueOf(500).compareTo(testCard2.getBalance()));
+        assertEquals(Money.of(BigDecimal.valueOf(1000)), testCard1.getBalance());
+        assertEquals(Money.of(BigDecimal.valueOf(500)), testCard2.getBalance());
         verify(transactionRepository, never()).save(any(Transaction.class));
     }
 
@@ -230,8 +273,8 @@ class CardServiceImplTest {
         request.setToCardId(testCard2.getId());
         request.setAmount(BigDecimal.valueOf(100));
 
-        when(cardRepository.findById(testCard1.getId())).thenReturn(Optional.of(testCard1));
-        when(cardRepository.findById(testCard2.getId())).thenReturn(Optional.of(testCard2));
+        when(cardRepository.findByIdForUpdate(testCard1.getId())).thenReturn(Optional.of(testCard1));
+        when(cardRepository.findByIdForUpdate(testCard2.getId())).thenReturn(Optional.of(testCard2));
 
         assertThrows(CardOperationException.class, () -> cardService.transferFunds(request));
         verify(transactionRepository, never()).save(any(Transaction.class));
@@ -247,7 +290,7 @@ class CardServiceImplTest {
 
         CardOperationException exception = assertThrows(CardOperationException.class, () -> cardService.transferFunds(request));
         assertEquals("The source card and the destination card cannot be the same", exception.getMessage());
-        verify(cardRepository, never()).findById(anyLong());
+        verify(cardRepository, never()).findByIdForUpdate(anyLong());
         verify(transactionRepository, never()).save(any(Transaction.class));
     }
 
@@ -259,9 +302,59 @@ class CardServiceImplTest {
         request.setToCardId(testCard2.getId());
         request.setAmount(BigDecimal.valueOf(100));
 
-        when(cardRepository.findById(99L)).thenReturn(Optional.empty());
+        when(cardRepository.findByIdForUpdate(testCard2.getId())).thenReturn(Optional.of(testCard2));
+        when(cardRepository.findByIdForUpdate(99L)).thenReturn(Optional.empty());
 
-        assertThrows(ResourceNotFoundException.class, () -> cardService.transferFunds(request));
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> cardService.transferFunds(request));
+        assertEquals("Source card with ID 99 not found", exception.getMessage());
         verify(transactionRepository, never()).save(any(Transaction.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("transferFunds - Карты блокируются в порядке возрастания ID независимо от направления")
+    void transferFunds_LocksCardsInIdOrder() {
+        TransferRequest request = new TransferRequest();
+        request.setFromCardId(testCard2.getId());
+        request.setToCardId(testCard1.getId());
+        request.setAmount(BigDecimal.valueOf(50));
+
+        when(cardRepository.findByIdForUpdate(testCard1.getId())).thenReturn(Optional.of(testCard1));
+        when(cardRepository.findByIdForUpdate(testCard2.getId())).thenReturn(Optional.of(testCard2));
+
+        cardService.transferFunds(request);
+
+        InOrder lockOrder = inOrder(cardRepository);
+        lockOrder.verify(cardRepository).findByIdForUpdate(testCard1.getId());
+        lockOrder.verify(cardRepository).findByIdForUpdate(testCard2.getId());
+        assertEquals(Money.of(BigDecimal.valueOf(450)), testCard2.getBalance());
+        assertEquals(Money.of(BigDecimal.valueOf(1050)), testCard1.getBalance());
+    }
+
+    @Test
+    @DisplayName("withdrawFunds - С движком реестра карта не блокируется, ответ содержит заранее выделенный id")
+    void withdrawFunds_LedgerEngine_ReadsWithoutLockAndReturnsAllocatedId() {
+        LedgerEngine ledgerEngine = mock(LedgerEngine.class);
+        CardServiceImpl engineService = new CardServiceImpl(cardRepository, userRepository, transactionRepository,
+                cardDailySummaryRepository, outboxEventRepository, clock, ledgerEngine, eventPublisher, null, tableStatistics,
+                dashboardAggregates, transactionManager);
+        WithdrawalRequest request = new WithdrawalRequest();
+        request.setAmount(BigDecimal.valueOf(100));
+        Money amount = Money.of(BigDecimal.valueOf(100));
+        long entryTime = fixedTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+
+        when(cardRepository.findProjectionById(testCard1.getId())).thenReturn(Optional.of(new CardProjection(testCard1.getId(),
+                validCardNumber, "Test User", futureExpiry, CardStatus.ACTIVE, testCard1.getBalance(), testCard1.getAvailableBalance(),
+                testUser.getId(), testCard1.getDailyWithdrawalLimit())));
+        when(transactionRepository.nextTransactionId()).thenReturn(42L);
+        when(ledgerEngine.withdraw(testUser.getId(), testCard1.getId(), amount, 42L))
+                .thenReturn(new LedgerEntry(1L, LedgerEntryType.WITHDRAWAL, testCard1.getId(), 0L, 10_000L, entryTime, 42L));
+
+        TransactionResponse response = engineService.withdrawFunds(testCard1.getId(), request);
+
+        assertEquals(42L, response.getId());
+        assertEquals(amount.negate(), response.getAmount());
+        assertEquals(fixedTime, response.getTransactionDate());
+        verify(cardRepository, never()).findByIdForUpdate(anyLong());
+        verifyNoInteractions(transactionManager);
+    }
+}
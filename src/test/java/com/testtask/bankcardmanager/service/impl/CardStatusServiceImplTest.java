@@ -0,0 +1,112 @@
+package com.testtask.bankcardmanager.service.impl;
+
+import com.testtask.bankcardmanager.dto.request.BulkCardStatusRequest;
+import com.testtask.bankcardmanager.dto.response.BulkCardStatusResponse;
+import com.testtask.bankcardmanager.exception.CardOperationException;
+import com.testtask.bankcardmanager.model.enums.CardStatus;
+import com.testtask.bankcardmanager.repository.DashboardAggregates;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CardStatusServiceImplTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private DashboardAggregates dashboardAggregates;
+
+    private CardStatusServiceImpl statusService;
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(Instant.parse("2025-06-15T10:00:00Z"), ZoneOffset.UTC);
+        statusService = new CardStatusServiceImpl(jdbcTemplate, transactionManager, clock, dashboardAggregates, 2);
+    }
+
+    @Test
+    @DisplayName("Блокировка карт пользователя: пачки по ID до неполной, в ответе только реально изменённые карты")
+    void updateStatuses_WalksBatchesByKeyset() {
+        when(jdbcTemplate.queryForList(startsWith("SELECT"), eq(Long.class), any(Object[].class)))
+                .thenReturn(List.of(3L, 5L), List.of(8L));
+        when(jdbcTemplate.query(startsWith("UPDATE"), any(RowMapper.class), any(Object[].class)))
+                .thenAnswer(invocation -> updatedRows(invocation.getArgument(1), 5L, 3L))
+                .thenAnswer(invocation -> updatedRows(invocation.getArgument(1)));
+        BulkCardStatusRequest request = new BulkCardStatusRequest();
+        request.setTargetStatus(CardStatus.BLOCKED);
+        request.setUserId(7L);
+
+        BulkCardStatusResponse response = statusService.updateStatuses(request);
+
+        assertEquals(CardStatus.BLOCKED, response.getStatus());
+        assertEquals(2, response.getUpdated());
+        assertEquals(List.of(3L, 5L), response.getCardIds());
+
+        ArgumentCaptor<Object[]> selectArgs = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbcTemplate, times(2)).queryForList(startsWith("SELECT"), eq(Long.class), selectArgs.capture());
+        assertEquals(0L, selectArgs.getAllValues().get(0)[0]);
+        assertEquals(5L, selectArgs.getAllValues().get(1)[0]);
+        assertArrayEquals(new String[]{"ACTIVE"}, (String[]) selectArgs.getAllValues().get(1)[1]);
+        assertEquals(7L, selectArgs.getAllValues().get(1)[2]);
+        verify(dashboardAggregates, times(2)).apply(any(DashboardAggregates.CardTotalsDelta.class));
+    }
+
+    @Test
+    @DisplayName("Разблокировка с фильтром по статусу EXPIRED ничего не меняет: истекшие карты не реактивируются")
+    void updateStatuses_NeverReactivatesExpiredCards() {
+        BulkCardStatusRequest request = new BulkCardStatusRequest();
+        request.setTargetStatus(CardStatus.ACTIVE);
+        request.setCurrentStatus(CardStatus.EXPIRED);
+
+        BulkCardStatusResponse response = statusService.updateStatuses(request);
+
+        assertEquals(0, response.getUpdated());
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Запрос без фильтров отклоняется")
+    void updateStatuses_RequiresFilter() {
+        BulkCardStatusRequest request = new BulkCardStatusRequest();
+        request.setTargetStatus(CardStatus.EXPIRED);
+
+        assertThrows(CardOperationException.class, () -> statusService.updateStatuses(request));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    private static List<Long> updatedRows(RowMapper<Long> mapper, long... ids) throws Exception {
+        List<Long> rows = new ArrayList<>();
+        for (int i = 0; i < ids.length; i++) {
+            ResultSet rs = mock(ResultSet.class);
+            when(rs.getLong("id")).thenReturn(ids[i]);
+            when(rs.getString("previous_status")).thenReturn("ACTIVE");
+            when(rs.getBigDecimal("balance")).thenReturn(new BigDecimal("10.00"));
+            rows.add(mapper.mapRow(rs, i));
+        }
+        return rows;
+    }
+}
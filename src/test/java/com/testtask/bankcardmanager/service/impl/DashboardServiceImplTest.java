@@ -0,0 +1,107 @@
+package com.testtask.bankcardmanager.service.impl;
+
+import com.testtask.bankcardmanager.dto.response.DashboardResponse;
+import com.testtask.bankcardmanager.model.Money;
+import com.testtask.bankcardmanager.model.enums.CardStatus;
+import com.testtask.bankcardmanager.repository.DashboardAggregates;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DashboardServiceImplTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private DashboardAggregates dashboardAggregates;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private DashboardServiceImpl dashboardService;
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(Instant.parse("2026-10-19T12:00:00Z"), ZoneOffset.UTC);
+        dashboardService = new DashboardServiceImpl(jdbcTemplate, dashboardAggregates, transactionManager, clock);
+    }
+
+    @Test
+    @DisplayName("getDashboard - Суммирует слоты по статусам, отсутствующие статусы возвращаются с нулями")
+    void getDashboard_SumsStatusesAndReadsVolumeWindow() throws Exception {
+        stubTotals("dashboard_card_totals", new Object[]{"ACTIVE", 10L, "1500.00"}, new Object[]{"BLOCKED", 2L, "20.50"});
+        when(jdbcTemplate.query(startsWith("SELECT day"), any(RowMapper.class), any(Object[].class))).thenReturn(List.of());
+
+        DashboardResponse response = dashboardService.getDashboard(7);
+
+        assertEquals(12, response.getCardCount());
+        assertEquals(Money.of(new BigDecimal("1520.50")), response.getTotalBalance());
+        assertEquals(3, response.getCardsByStatus().size());
+        assertEquals(CardStatus.EXPIRED, response.getCardsByStatus().get(2).getStatus());
+        assertEquals(0, response.getCardsByStatus().get(2).getCardCount());
+        verify(jdbcTemplate).query(startsWith("SELECT day"), any(RowMapper.class),
+                eq(Date.valueOf("2026-10-13")), eq(Date.valueOf("2026-10-19")));
+    }
+
+    @Test
+    @DisplayName("verifyCardTotals - Расхождение с картами записывается разностью")
+    void verifyCardTotals_AppliesDrift() throws Exception {
+        stubTotals("bank_cards", new Object[]{"ACTIVE", 10L, "1500.00"}, new Object[]{"EXPIRED", 1L, "0.00"});
+        stubTotals("dashboard_card_totals", new Object[]{"ACTIVE", 11L, "1600.00"}, new Object[]{"EXPIRED", 1L, "0.00"});
+
+        int corrected = dashboardService.verifyCardTotals();
+
+        assertEquals(1, corrected);
+        ArgumentCaptor<DashboardAggregates.CardTotalsDelta> drift = ArgumentCaptor.forClass(DashboardAggregates.CardTotalsDelta.class);
+        verify(dashboardAggregates).apply(drift.capture());
+        assertEquals(-1, drift.getValue().count(CardStatus.ACTIVE));
+        assertEquals(0, drift.getValue().count(CardStatus.EXPIRED));
+    }
+
+    @Test
+    @DisplayName("verifyCardTotals - Совпадающие итоги не изменяются")
+    void verifyCardTotals_NoDrift() throws Exception {
+        stubTotals("bank_cards", new Object[]{"ACTIVE", 3L, "30.00"});
+        stubTotals("dashboard_card_totals", new Object[]{"ACTIVE", 3L, "30.00"});
+
+        assertEquals(0, dashboardService.verifyCardTotals());
+        verifyNoInteractions(dashboardAggregates);
+    }
+
+    private void stubTotals(String table, Object[]... rows) {
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (Object[] row : rows) {
+                ResultSet rs = mock(ResultSet.class);
+                when(rs.getString("status")).thenReturn((String) row[0]);
+                when(rs.getLong("card_count")).thenReturn((Long) row[1]);
+                when(rs.getBigDecimal("balance")).thenReturn(new BigDecimal((String) row[2]));
+                handler.processRow(rs);
+            }
+            return null;
+        }).when(jdbcTemplate).query(contains("FROM " + table), any(RowCallbackHandler.class));
+    }
+}
@@ -0,0 +1,160 @@
+package com.testtask.bankcardmanager.service.impl;
+
+import com.testtask.bankcardmanager.dto.request.PlaceHoldRequest;
+import com.testtask.bankcardmanager.dto.response.AccountEventType;
+import com.testtask.bankcardmanager.dto.response.HoldResponse;
+import com.testtask.bankcardmanager.event.AccountEvent;
+import com.testtask.bankcardmanager.exception.CardOperationException;
+import com.testtask.bankcardmanager.exception.InsufficientFundsException;
+import com.testtask.bankcardmanager.model.Card;
+import com.testtask.bankcardmanager.model.Money;
+import com.testtask.bankcardmanager.model.Transaction;
+import com.testtask.bankcardmanager.model.enums.CardStatus;
+import com.testtask.bankcardmanager.model.enums.LedgerEventType;
+import com.testtask.bankcardmanager.model.enums.TransactionStatus;
+import com.testtask.bankcardmanager.repository.CardDailySummaryRepository;
+import com.testtask.bankcardmanager.repository.CardRepository;
+import com.testtask.bankcardmanager.repository.DashboardAggregates;
+import com.testtask.bankcardmanager.repository.OutboxEventRepository;
+import com.testtask.bankcardmanager.repository.TransactionRepository;
+import com.testtask.bankcardmanager.scheduling.HashedTimingWheel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HoldServiceImplTest {
+
+    @Mock
+    private CardRepository cardRepository;
+    @Mock
+    private TransactionRepository transactionRepository;
+    @Mock
+    private CardDailySummaryRepository cardDailySummaryRepository;
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private DashboardAggregates dashboardAggregates;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private HashedTimingWheel expiryWheel;
+
+    private HoldServiceImpl holdService;
+
+    private final LocalDateTime fixedTime = LocalDateTime.of(2024, 1, 1, 10, 0, 0);
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(fixedTime.atZone(ZoneId.systemDefault()).toInstant(), ZoneId.systemDefault());
+        holdService = new HoldServiceImpl(cardRepository, transactionRepository, cardDailySummaryRepository, outboxEventRepository,
+                jdbcTemplate, dashboardAggregates, eventPublisher, expiryWheel, clock, null, 3600, 100);
+    }
+
+    @Test
+    @DisplayName("placeHold - Успешная установка холда и планирование его истечения")
+    void placeHold_Success() {
+        PlaceHoldRequest request = new PlaceHoldRequest();
+        request.setAmount(new BigDecimal("100.00"));
+        when(cardRepository.reserveAvailableBalance(10L, new BigDecimal("100.00"))).thenReturn(1);
+        when(cardRepository.getReferenceById(10L)).thenReturn(new Card());
+        when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        HoldResponse response = holdService.placeHold(10L, request);
+
+        assertEquals(TransactionStatus.PENDING, response.getStatus());
+        assertEquals(Money.of(new BigDecimal("-100.00")), response.getAmount());
+        assertEquals(fixedTime.plusHours(1), response.getExpiresAt());
+        verify(expiryWheel).schedule(any(Runnable.class), eq(Duration.ofHours(1)));
+    }
+
+    @Test
+    @DisplayName("placeHold - Ошибка: Недостаточно доступных средств")
+    void placeHold_InsufficientFunds() {
+        PlaceHoldRequest request = new PlaceHoldRequest();
+        request.setAmount(new BigDecimal("5000.00"));
+        Card card = new Card(Money.of(BigDecimal.TEN), CardStatus.ACTIVE, YearMonth.of(2028, 12), "Test User", "1111222233334444");
+        when(cardRepository.reserveAvailableBalance(eq(10L), any(BigDecimal.class))).thenReturn(0);
+        when(cardRepository.findById(10L)).thenReturn(Optional.of(card));
+
+        assertThrows(InsufficientFundsException.class, () -> holdService.placeHold(10L, request));
+        verify(transactionRepository, never()).save(any(Transaction.class));
+        verifyNoInteractions(expiryWheel);
+    }
+
+    @Test
+    @DisplayName("captureHold - Списание холда записывается в outbox и в агрегаты панели администратора")
+    @SuppressWarnings("unchecked")
+    void captureHold_Success_WritesOutboxEventAndDashboardDeltas() {
+        Card card = new Card();
+        card.setId(10L);
+        Transaction hold = new Transaction(card, Money.of(new BigDecimal("-100.00")), fixedTime.minusHours(1), TransactionStatus.PENDING, fixedTime.minusHours(1));
+        hold.setExpiresAt(fixedTime.plusHours(1));
+        when(transactionRepository.findById(7L)).thenReturn(Optional.of(hold));
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(), eq(7L), any(), any())).thenAnswer(invocation -> {
+            ResultSet rs = mock(ResultSet.class);
+            when(rs.getLong("user_id")).thenReturn(3L);
+            when(rs.getString("status")).thenReturn("ACTIVE");
+            when(rs.getBigDecimal("balance")).thenReturn(new BigDecimal("400.00"));
+            when(rs.getBigDecimal("available_balance")).thenReturn(new BigDecimal("400.00"));
+            return List.of(invocation.<RowMapper<?>>getArgument(1).mapRow(rs, 0));
+        });
+
+        HoldResponse response = holdService.captureHold(7L);
+
+        assertEquals(TransactionStatus.COMPLETED, response.getStatus());
+        verify(outboxEventRepository).save(argThat(e -> e.getEventType() == LedgerEventType.CAPTURE
+                && e.getTransactionId().equals(7L) && e.getCardId().equals(10L) && e.getUserId().equals(3L)
+                && e.getAmount().equals(Money.of(new BigDecimal("-100.00")))));
+        verify(dashboardAggregates).addBalance(CardStatus.ACTIVE, Money.of(new BigDecimal("-100.00")));
+        verify(dashboardAggregates).addWithdrawal(fixedTime.toLocalDate(), Money.of(new BigDecimal("100.00")));
+
+        ArgumentCaptor<AccountEvent> events = ArgumentCaptor.forClass(AccountEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(events.capture());
+        AccountEvent transaction = events.getAllValues().get(0);
+        assertEquals(3L, transaction.getUserId());
+        assertEquals(AccountEventType.TRANSACTION, transaction.getPayload().getType());
+        assertEquals(7L, transaction.getPayload().getTransaction().getId());
+        assertEquals(TransactionStatus.COMPLETED, transaction.getPayload().getTransaction().getStatus());
+        AccountEvent balance = events.getAllValues().get(1);
+        assertEquals(AccountEventType.BALANCE, balance.getPayload().getType());
+        assertEquals(10L, balance.getPayload().getCardId());
+        assertEquals(Money.of(new BigDecimal("400.00")), balance.getPayload().getBalance());
+    }
+
+    @Test
+    @DisplayName("captureHold - Ошибка: Срок холда истёк")
+    void captureHold_Expired() {
+        Transaction hold = new Transaction(new Card(), Money.of(new BigDecimal("-100.00")), fixedTime.minusHours(2), TransactionStatus.PENDING, fixedTime.minusHours(2));
+        hold.setExpiresAt(fixedTime.minusHours(1));
+        when(transactionRepository.findById(7L)).thenReturn(Optional.of(hold));
+
+        assertThrows(CardOperationException.class, () -> holdService.captureHold(7L));
+        verifyNoInteractions(jdbcTemplate);
+    }
+}
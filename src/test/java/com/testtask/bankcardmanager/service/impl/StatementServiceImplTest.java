@@ -0,0 +1,72 @@
+package com.testtask.bankcardmanager.service.impl;
+
+import com.testtask.bankcardmanager.exception.CardOperationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Path;
+import java.sql.Date;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StatementServiceImplTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    private Path outputDir;
+
+    private StatementServiceImpl statementService;
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(Instant.parse("2024-08-01T01:00:00Z"), ZoneOffset.UTC);
+        statementService = new StatementServiceImpl(jdbcTemplate, transactionManager, clock, 2, 1000, 100, outputDir.toString());
+    }
+
+    @Test
+    @DisplayName("generateStatements - Ошибка: месяц еще не завершен")
+    void generateStatements_CurrentMonth() {
+        assertThrows(CardOperationException.class, () -> statementService.generateStatements(YearMonth.of(2024, 8)));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("generateStatements - Партиции пользователей выровнены по размеру и покрывают весь диапазон id")
+    @SuppressWarnings("unchecked")
+    void generateStatements_PlansAlignedPartitions() {
+        when(jdbcTemplate.queryForObject(anyString(), any(RowMapper.class))).thenReturn(new long[]{1500L, 3200L});
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Date.class))).thenReturn(Collections.emptyList());
+
+        int completed = statementService.generateStatements(YearMonth.of(2024, 7));
+
+        assertEquals(0, completed);
+        ArgumentCaptor<List<Object[]>> partitions = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), partitions.capture());
+        List<Object[]> planned = partitions.getValue();
+        assertEquals(3, planned.size());
+        assertArrayEquals(new Object[]{Date.valueOf("2024-07-01"), 1000L, 1999L}, planned.get(0));
+        assertArrayEquals(new Object[]{Date.valueOf("2024-07-01"), 3000L, 3999L}, planned.get(2));
+    }
+}
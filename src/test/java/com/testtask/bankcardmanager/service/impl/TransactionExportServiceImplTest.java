@@ -0,0 +1,108 @@
+package com.testtask.bankcardmanager.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.testtask.bankcardmanager.archive.TransactionArchive;
+import com.testtask.bankcardmanager.dto.request.ExportFormat;
+import com.testtask.bankcardmanager.dto.response.TransactionResponse;
+import com.testtask.bankcardmanager.exception.ResourceNotFoundException;
+import com.testtask.bankcardmanager.model.Money;
+import com.testtask.bankcardmanager.model.enums.TransactionStatus;
+import com.testtask.bankcardmanager.repository.CardRepository;
+import com.testtask.bankcardmanager.repository.TransactionRepository;
+import com.testtask.bankcardmanager.repository.UserRepository;
+import com.testtask.bankcardmanager.repository.projection.TransactionProjection;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionExportServiceImplTest {
+
+    @Mock
+    private TransactionRepository transactionRepository;
+    @Mock
+    private CardRepository cardRepository;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private TransactionArchive transactionArchive;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionExportServiceImpl exportService;
+
+    private final LocalDateTime fixedTime = LocalDateTime.of(2024, 1, 1, 10, 0, 0);
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        exportService = new TransactionExportServiceImpl(transactionRepository, cardRepository, userRepository, transactionArchive,
+                objectMapper, transactionManager);
+    }
+
+    @Test
+    @DisplayName("exportCardTransactions - Выгрузка CSV с заголовком и строками")
+    void exportCardTransactions_Csv() throws Exception {
+        when(cardRepository.existsById(10L)).thenReturn(true);
+        when(transactionRepository.streamByCardId(10L)).thenReturn(Stream.of(
+                new TransactionProjection(2L, 10L, Money.of(new BigDecimal("-50.25")), fixedTime, TransactionStatus.COMPLETED, fixedTime),
+                new TransactionProjection(1L, 10L, Money.of(new BigDecimal("100.00")), fixedTime, TransactionStatus.COMPLETED, fixedTime)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.exportCardTransactions(10L, ExportFormat.CSV).writeTo(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, lines.length);
+        assertEquals("id,card_id,amount,transaction_date,status,created_at", lines[0]);
+        assertEquals("2,10,-50.25,2024-01-01T10:00,COMPLETED,2024-01-01T10:00", lines[1]);
+    }
+
+    @Test
+    @DisplayName("exportCardTransactions - После горячих строк выгружаются архивные месяцы")
+    void exportCardTransactions_AppendsArchivedRows() throws Exception {
+        LocalDateTime archivedTime = fixedTime.minusYears(2);
+        when(cardRepository.existsById(10L)).thenReturn(true);
+        when(transactionRepository.streamByCardId(10L)).thenReturn(Stream.of(
+                new TransactionProjection(2L, 10L, Money.of(new BigDecimal("-50.25")), fixedTime, TransactionStatus.COMPLETED, fixedTime)));
+        when(transactionArchive.hasArchivedMonths()).thenReturn(true);
+        when(transactionArchive.findHistory(eq(List.of(10L)), isNull(), anyInt())).thenReturn(List.of(
+                new TransactionResponse(1L, 10L, Money.of(new BigDecimal("100.00")), archivedTime, TransactionStatus.COMPLETED, archivedTime)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.exportCardTransactions(10L, ExportFormat.CSV).writeTo(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, lines.length);
+        assertEquals("2,10,-50.25,2024-01-01T10:00,COMPLETED,2024-01-01T10:00", lines[1]);
+        assertEquals("1,10,100.00,2022-01-01T10:00,COMPLETED,2022-01-01T10:00", lines[2]);
+        verify(transactionArchive, times(1)).findHistory(any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("exportCardTransactions - Ошибка: Карта не найдена до начала выгрузки")
+    void exportCardTransactions_CardNotFound() {
+        when(cardRepository.existsById(99L)).thenReturn(false);
+
+        assertThrows(ResourceNotFoundException.class, () -> exportService.exportCardTransactions(99L, ExportFormat.NDJSON));
+        verifyNoInteractions(transactionRepository);
+    }
+}
@@ -0,0 +1,250 @@
+package com.testtask.bankcardmanager.service.impl;
+
+import com.testtask.bankcardmanager.archive.TransactionArchive;
+import com.testtask.bankcardmanager.dto.request.BulkReversalRequest;
+import com.testtask.bankcardmanager.dto.request.TransactionSearchRequest;
+import com.testtask.bankcardmanager.dto.response.AccountEventType;
+import com.testtask.bankcardmanager.dto.response.BulkReversalResponse;
+import com.testtask.bankcardmanager.dto.response.CursorPage;
+import com.testtask.bankcardmanager.dto.response.TransactionResponse;
+import com.testtask.bankcardmanager.event.AccountEvent;
+import com.testtask.bankcardmanager.exception.CardOperationException;
+import com.testtask.bankcardmanager.exception.ResourceNotFoundException;
+import com.testtask.bankcardmanager.model.Card;
+import com.testtask.bankcardmanager.model.Money;
+import com.testtask.bankcardmanager.model.Transaction;
+import com.testtask.bankcardmanager.model.enums.CardStatus;
+import com.testtask.bankcardmanager.model.enums.TransactionStatus;
+import com.testtask.bankcardmanager.pagination.KeysetCursor;
+import com.testtask.bankcardmanager.repository.CardRepository;
+import com.testtask.bankcardmanager.repository.DashboardAggregates;
+import com.testtask.bankcardmanager.repository.TransactionRepository;
+import com.testtask.bankcardmanager.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalMatchers.aryEq;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionServiceImplTest {
+
+    private static final LocalDateTime TRANSFER_DAY = LocalDateTime.of(2024, 6, 30, 23, 0);
+
+    @Mock
+    private TransactionRepository transactionRepository;
+    @Mock
+    private CardRepository cardRepository;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private DashboardAggregates dashboardAggregates;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private TransactionArchive transactionArchive;
+
+    private TransactionServiceImpl transactionService;
+
+    @BeforeEach
+    void setUp() {
+        transactionService = new TransactionServiceImpl(transactionRepository, cardRepository, userRepository,
+                jdbcTemplate, transactionManager, dashboardAggregates, eventPublisher, Clock.systemDefaultZone(), null, transactionArchive, 500);
+    }
+
+    @Test
+    @DisplayName("reverseTransaction - Ошибка: Транзакция не найдена")
+    void reverseTransaction_NotFound() {
+        when(transactionRepository.findById(999L)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> transactionService.reverseTransaction(999L));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("reverseTransaction - Ошибка: Компенсирующую проводку нельзя отменить повторно")
+    void reverseTransaction_AlreadyCompensation() {
+        LocalDateTime now = LocalDateTime.now();
+        Transaction compensation = new Transaction(new Card(), Money.of(BigDecimal.TEN), now, TransactionStatus.COMPLETED, now);
+        compensation.setReversalOf(501L);
+        when(transactionRepository.findById(502L)).thenReturn(Optional.of(compensation));
+
+        assertThrows(CardOperationException.class, () -> transactionService.reverseTransaction(502L));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("reverseTransactions - Отмена одной ноги перевода отменяет и вторую и уведомляет владельцев карт")
+    @SuppressWarnings("unchecked")
+    void reverseTransactions_TransferLeg_ReversesBothLegs() throws Exception {
+        stubReversibleTransfer(new BigDecimal("50.00"));
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            handler.processRow(compensationRow(20L, 1L, 3L, "50.00"));
+            handler.processRow(compensationRow(21L, 2L, 4L, "-50.00"));
+            return null;
+        }).when(jdbcTemplate).query(startsWith("INSERT INTO ledger_outbox"), any(RowCallbackHandler.class),
+                aryEq(new Long[]{10L, 11L}), any(Timestamp.class));
+
+        BulkReversalResponse response = transactionService.reverseTransactions(reversalRequest(10L));
+
+        assertEquals(1, response.getReversed());
+        assertTrue(response.getSkippedTransactionIds().isEmpty());
+        ArgumentCaptor<List<Object[]>> marked = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(startsWith("UPDATE transaction SET status = 'REVERSED'"), marked.capture());
+        assertEquals(List.of(10L, 11L), marked.getValue().stream().map(args -> args[0]).toList());
+        verify(dashboardAggregates).apply(argThat(totals -> totals.size() == 1 && totals.count(CardStatus.ACTIVE) == 0));
+        verify(dashboardAggregates).addVolume(TRANSFER_DAY.toLocalDate(), -1, Money.of(new BigDecimal("-50.00")), 0, Money.ZERO);
+
+        ArgumentCaptor<AccountEvent> events = ArgumentCaptor.forClass(AccountEvent.class);
+        verify(eventPublisher, times(6)).publishEvent(events.capture());
+        List<AccountEvent> published = events.getAllValues();
+        assertEquals(TransactionStatus.REVERSED, published.get(0).getPayload().getTransaction().getStatus());
+        assertEquals(10L, published.get(0).getPayload().getTransaction().getId());
+        assertEquals(3L, published.get(0).getUserId());
+        assertEquals(20L, published.get(2).getPayload().getTransaction().getId());
+        assertEquals(TransactionStatus.COMPLETED, published.get(2).getPayload().getTransaction().getStatus());
+        AccountEvent senderBalance = published.get(4);
+        assertEquals(AccountEventType.BALANCE, senderBalance.getPayload().getType());
+        assertEquals(1L, senderBalance.getPayload().getCardId());
+        assertEquals(Money.of(new BigDecimal("150.00")), senderBalance.getPayload().getBalance());
+        assertEquals(Money.of(new BigDecimal("50.00")), senderBalance.getPayload().getAvailableBalance());
+        assertEquals(4L, published.get(5).getUserId());
+        assertEquals(Money.ZERO, published.get(5).getPayload().getAvailableBalance());
+    }
+
+    @Test
+    @DisplayName("reverseTransactions - Перевод пропускается целиком, если получателю не хватает средств")
+    void reverseTransactions_TransferLegUncovered_SkipsBothLegs() throws Exception {
+        stubReversibleTransfer(new BigDecimal("20.00"));
+
+        BulkReversalResponse response = transactionService.reverseTransactions(reversalRequest(10L));
+
+        assertEquals(0, response.getReversed());
+        assertEquals(List.of(10L), response.getSkippedTransactionIds());
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+        verifyNoInteractions(dashboardAggregates, eventPublisher);
+    }
+
+    @Test
+    @DisplayName("searchTransactions - Ошибка: Минимальная сумма больше максимальной")
+    void searchTransactions_InvalidAmountRange() {
+        TransactionSearchRequest request = new TransactionSearchRequest();
+        request.setMinAmount(BigDecimal.valueOf(100));
+        request.setMaxAmount(BigDecimal.TEN);
+
+        assertThrows(CardOperationException.class, () -> transactionService.searchTransactions(request, null, 20));
+        verifyNoInteractions(transactionRepository);
+    }
+
+    @Test
+    @DisplayName("searchTransactions - Лишняя строка превращается в курсор следующей страницы")
+    @SuppressWarnings("unchecked")
+    void searchTransactions_ReturnsNextCursor() {
+        LocalDateTime now = LocalDateTime.of(2024, 7, 1, 12, 0);
+        Card card = new Card();
+        card.setId(7L);
+        List<Transaction> rows = new ArrayList<>();
+        for (long id = 3; id >= 1; id--) {
+            Transaction transaction = new Transaction(card, Money.of(BigDecimal.TEN), now.minusMinutes(3 - id), TransactionStatus.COMPLETED, now);
+            ReflectionTestUtils.setField(transaction, "id", id);
+            rows.add(transaction);
+        }
+        when(transactionRepository.findBy(any(Specification.class), any(Function.class))).thenReturn(rows);
+
+        CursorPage<TransactionResponse> page = transactionService.searchTransactions(new TransactionSearchRequest(), null, 2);
+
+        assertEquals(2, page.getContent().size());
+        assertEquals(3L, page.getContent().get(0).getId());
+        KeysetCursor next = KeysetCursor.decode(page.getNextCursor());
+        assertEquals(2L, next.getId());
+        assertEquals(now.minusMinutes(1), next.getTimestamp());
+    }
+
+    /** Transfer 7: debit 10 takes 50.00 from card 1, credit 11 gives it to card 2, which now holds {@code recipientAvailable}. */
+    @SuppressWarnings("unchecked")
+    private void stubReversibleTransfer(BigDecimal recipientAvailable) throws Exception {
+        ResultSet debit = transactionRow(10L, 1L, "-50.00");
+        ResultSet credit = transactionRow(11L, 2L, "50.00");
+        when(jdbcTemplate.query(startsWith("SELECT id, card_id, amount, transfer_id"), any(RowMapper.class), any(), any()))
+                .thenAnswer(invocation -> {
+                    RowMapper<?> mapper = invocation.getArgument(1);
+                    return List.of(mapper.mapRow(debit, 0), mapper.mapRow(credit, 1));
+                });
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            handler.processRow(balanceRow(1L, "0.00"));
+            handler.processRow(balanceRow(2L, recipientAvailable.toPlainString()));
+            return null;
+        }).when(jdbcTemplate).query(startsWith("SELECT id, user_id, status, balance"), any(RowCallbackHandler.class), any(Object.class));
+    }
+
+    private static ResultSet transactionRow(long id, long cardId, String amount) throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getLong("id")).thenReturn(id);
+        when(rs.getLong("card_id")).thenReturn(cardId);
+        when(rs.getBigDecimal("amount")).thenReturn(new BigDecimal(amount));
+        when(rs.getObject("transfer_id", Long.class)).thenReturn(7L);
+        when(rs.getObject("transaction_date", LocalDateTime.class)).thenReturn(TRANSFER_DAY);
+        when(rs.getObject("created_at", LocalDateTime.class)).thenReturn(TRANSFER_DAY);
+        when(rs.getObject("posted_at", LocalDateTime.class)).thenReturn(TRANSFER_DAY);
+        return rs;
+    }
+
+    /** Card {@code cardId} belongs to user {@code cardId + 2} and holds 100.00 more than is available. */
+    private static ResultSet balanceRow(long cardId, String available) throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getLong("id")).thenReturn(cardId);
+        when(rs.getLong("user_id")).thenReturn(cardId + 2);
+        when(rs.getBigDecimal("available_balance")).thenReturn(new BigDecimal(available));
+        when(rs.getBigDecimal("balance")).thenReturn(new BigDecimal(available).add(new BigDecimal("100.00")));
+        when(rs.getString("status")).thenReturn("ACTIVE");
+        return rs;
+    }
+
+    private static ResultSet compensationRow(long id, long cardId, long userId, String amount) throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getLong("transaction_id")).thenReturn(id);
+        when(rs.getLong("card_id")).thenReturn(cardId);
+        when(rs.getLong("user_id")).thenReturn(userId);
+        when(rs.getBigDecimal("amount")).thenReturn(new BigDecimal(amount));
+        return rs;
+    }
+
+    private static BulkReversalRequest reversalRequest(Long... ids) {
+        BulkReversalRequest request = new BulkReversalRequest();
+        request.setTransactionIds(List.of(ids));
+        return request;
+    }
+}
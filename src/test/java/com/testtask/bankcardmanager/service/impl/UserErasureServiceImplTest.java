@@ -0,0 +1,178 @@
+package com.testtask.bankcardmanager.service.impl;
+
+import com.testtask.bankcardmanager.dto.response.UserErasureResponse;
+import com.testtask.bankcardmanager.exception.CardOperationException;
+import com.testtask.bankcardmanager.ledger.LedgerEngine;
+import com.testtask.bankcardmanager.model.User;
+import com.testtask.bankcardmanager.model.enums.CardStatus;
+import com.testtask.bankcardmanager.model.enums.Role;
+import com.testtask.bankcardmanager.model.enums.UserErasureStatus;
+import com.testtask.bankcardmanager.model.enums.UserErasureStep;
+import com.testtask.bankcardmanager.repository.DashboardAggregates;
+import com.testtask.bankcardmanager.repository.UserRepository;
+import jakarta.validation.ValidationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserErasureServiceImplTest {
+
+    private static final long USER_ID = 5L;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private DashboardAggregates dashboardAggregates;
+
+    private UserErasureServiceImpl userErasureService;
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(Instant.parse("2026-10-19T12:00:00Z"), ZoneOffset.UTC);
+        userErasureService = new UserErasureServiceImpl(jdbcTemplate, transactionManager, userRepository,
+                dashboardAggregates, clock, null, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        userErasureService.shutdown();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("eraseUser - Удаляет транзакции частями до неполной порции и сохраняет шаг после каждой")
+    void eraseUser_DeletesInChunksAndRecordsProgress() {
+        stubUser("user@example.com");
+        when(jdbcTemplate.query(startsWith("SELECT user_id"), any(RowMapper.class), eq(USER_ID)))
+                .thenReturn(List.of())
+                .thenReturn(List.of(erasure(UserErasureStatus.RUNNING, UserErasureStep.TRANSACTIONS)))
+                .thenReturn(List.of(erasure(UserErasureStatus.COMPLETED, UserErasureStep.DONE)));
+        when(jdbcTemplate.queryForList(startsWith("SELECT id FROM bank_cards"), eq(Long.class), eq(USER_ID)))
+                .thenReturn(List.of(1L, 2L));
+        lenient().when(jdbcTemplate.update(startsWith("DELETE FROM transaction "), any(), eq(2))).thenReturn(2, 1);
+
+        UserErasureResponse response = userErasureService.eraseUser(USER_ID);
+
+        assertEquals(UserErasureStatus.COMPLETED, response.getStatus());
+        verify(jdbcTemplate, times(2)).update(startsWith("DELETE FROM transaction "), any(), eq(2));
+        verify(jdbcTemplate).update(startsWith("UPDATE user_erasure SET step"), eq("TRANSACTIONS"), eq(2), any(), eq(USER_ID));
+        verify(jdbcTemplate).update(startsWith("UPDATE user_erasure SET step"), eq("DAILY_SUMMARIES"), eq(1), any(), eq(USER_ID));
+        verify(jdbcTemplate).update(startsWith("DELETE FROM users"), eq(USER_ID));
+        verify(jdbcTemplate).update(startsWith("UPDATE user_erasure SET status = 'COMPLETED'"), any(), any(), eq(USER_ID));
+    }
+
+    @Test
+    @DisplayName("eraseUser - Прерванное удаление продолжается с сохраненного шага")
+    void eraseUser_ResumesFromStoredStep() throws Exception {
+        stubUser("user@example.com");
+        when(jdbcTemplate.query(startsWith("SELECT user_id"), any(RowMapper.class), eq(USER_ID)))
+                .thenReturn(List.of(erasure(UserErasureStatus.FAILED, UserErasureStep.CARDS)))
+                .thenReturn(List.of(erasure(UserErasureStatus.RUNNING, UserErasureStep.CARDS)))
+                .thenReturn(List.of(erasure(UserErasureStatus.COMPLETED, UserErasureStep.DONE)));
+        lenient().doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            ResultSet rs = mock(ResultSet.class);
+            when(rs.getString("status")).thenReturn("BLOCKED");
+            when(rs.getBigDecimal("balance")).thenReturn(new BigDecimal("10.00"));
+            handler.processRow(rs);
+            return null;
+        }).when(jdbcTemplate).query(startsWith("DELETE FROM bank_cards"), any(RowCallbackHandler.class), eq(USER_ID));
+
+        userErasureService.eraseUser(USER_ID);
+
+        verify(jdbcTemplate, never()).update(startsWith("DELETE FROM transaction "), any(), anyInt());
+        verify(jdbcTemplate, never()).update(startsWith("DELETE FROM ledger_outbox"), any(), anyInt());
+        verify(jdbcTemplate).update(startsWith("DELETE FROM users"), eq(USER_ID));
+        ArgumentCaptor<DashboardAggregates.CardTotalsDelta> deltas = ArgumentCaptor.forClass(DashboardAggregates.CardTotalsDelta.class);
+        verify(dashboardAggregates, times(2)).apply(deltas.capture());
+        assertEquals(-1, deltas.getValue().count(CardStatus.BLOCKED));
+    }
+
+    @Test
+    @DisplayName("startErasure - Администратор не может удалить сам себя")
+    void startErasure_Self_ThrowsValidationException() {
+        stubUser("admin@example.com");
+        when(jdbcTemplate.query(startsWith("SELECT user_id"), any(RowMapper.class), eq(USER_ID))).thenReturn(List.of());
+        Authentication authentication = mock(Authentication.class);
+        when(authentication.getName()).thenReturn("admin@example.com");
+        SecurityContext securityContext = mock(SecurityContext.class);
+        when(securityContext.getAuthentication()).thenReturn(authentication);
+        SecurityContextHolder.setContext(securityContext);
+
+        assertThrows(ValidationException.class, () -> userErasureService.startErasure(USER_ID));
+        verify(jdbcTemplate, never()).update(startsWith("UPDATE users"), any(), any());
+        verifyNoInteractions(dashboardAggregates);
+    }
+
+    @Test
+    @DisplayName("startErasure - Ошибка: Удаление недоступно при включенном движке леджера")
+    void startErasure_LedgerEngineEnabled_ThrowsCardOperationException() {
+        Clock clock = Clock.fixed(Instant.parse("2026-10-19T12:00:00Z"), ZoneOffset.UTC);
+        UserErasureServiceImpl engineService = new UserErasureServiceImpl(jdbcTemplate, transactionManager, userRepository,
+                dashboardAggregates, clock, mock(LedgerEngine.class), 2);
+        when(jdbcTemplate.query(startsWith("SELECT user_id"), any(RowMapper.class), eq(USER_ID))).thenReturn(List.of());
+
+        try {
+            assertThrows(CardOperationException.class, () -> engineService.startErasure(USER_ID));
+            verify(jdbcTemplate, never()).update(startsWith("UPDATE users"), any(), any());
+            verifyNoInteractions(userRepository, dashboardAggregates);
+        } finally {
+            engineService.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("startErasure - Завершенное удаление возвращается без повторного запуска")
+    void startErasure_Completed_ReturnsExisting() {
+        when(jdbcTemplate.query(startsWith("SELECT user_id"), any(RowMapper.class), eq(USER_ID)))
+                .thenReturn(List.of(erasure(UserErasureStatus.COMPLETED, UserErasureStep.DONE)));
+
+        UserErasureResponse response = userErasureService.startErasure(USER_ID);
+
+        assertEquals(UserErasureStatus.COMPLETED, response.getStatus());
+        verifyNoInteractions(userRepository, dashboardAggregates);
+    }
+
+    private void stubUser(String email) {
+        User user = new User(email, "password", Role.ROLE_USER);
+        user.setId(USER_ID);
+        when(userRepository.findById(USER_ID)).thenReturn(Optional.of(user));
+    }
+
+    private static UserErasureResponse erasure(UserErasureStatus status, UserErasureStep step) {
+        return new UserErasureResponse(USER_ID, status, step, 0, LocalDateTime.of(2026, 10, 19, 12, 0), null, null);
+    }
+}
@@ -2,11 +2,14 @@ package com.testtask.bankcardmanager.service.impl;
 
 import com.testtask.bankcardmanager.dto.request.CreateUserRequest;
 import com.testtask.bankcardmanager.dto.request.GetUsersRequest;
+import com.testtask.bankcardmanager.dto.response.ScrollPage;
 import com.testtask.bankcardmanager.dto.response.UserResponse;
 import com.testtask.bankcardmanager.exception.DuplicateEmailException;
 import com.testtask.bankcardmanager.exception.ResourceNotFoundException;
 import com.testtask.bankcardmanager.model.User;
 import com.testtask.bankcardmanager.model.enums.Role;
+import com.testtask.bankcardmanager.pagination.IdCursor;
+import com.testtask.bankcardmanager.repository.TableStatistics;
 import com.testtask.bankcardmanager.repository.UserRepository;
 import jakarta.validation.ValidationException;
 import org.junit.jupiter.api.BeforeEach;
@@ -45,6 +48,9 @@ class UserServiceImplTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private TableStatistics tableStatistics;
+
     @Mock
     private SecurityContext securityContext;
 
@@ -160,6 +166,40 @@ class UserServiceImplTest {
         verify(userRepository).findAll(any(Specification.class), eq(pageable));
     }
 
+    @Test
+    @DisplayName("scrollUsers - Страница без COUNT: курсор по последнему ID и оценка количества без фильтров")
+    void scrollUsers_ReturnsCursorAndEstimate() {
+        List<User> users = List.of(new User("a@example.com", "p", Role.ROLE_USER),
+                new User("b@example.com", "p", Role.ROLE_USER), new User("c@example.com", "p", Role.ROLE_USER));
+        for (int i = 0; i < users.size(); i++) {
+            users.get(i).setId(10L + i);
+        }
+        doReturn(users).when(userRepository).findBy(any(Specification.class), any());
+        when(tableStatistics.estimateRowCount("users")).thenReturn(5000L);
+
+        ScrollPage<UserResponse> page = userService.scrollUsers(new GetUsersRequest(), null, 2, true);
+
+        assertEquals(2, page.getContent().size());
+        assertEquals(11L, IdCursor.decode(page.getNextCursor()).getId());
+        assertEquals(5000L, page.getApproximateTotal());
+        verify(userRepository, never()).count(any(Specification.class));
+    }
+
+    @Test
+    @DisplayName("scrollUsers - С фильтром оценка не возвращается, последняя страница без курсора")
+    void scrollUsers_FilteredLastPage() {
+        doReturn(List.of(testUser)).when(userRepository).findBy(any(Specification.class), any());
+        GetUsersRequest request = new GetUsersRequest();
+        request.setRole(Role.ROLE_USER);
+
+        ScrollPage<UserResponse> page = userService.scrollUsers(request, new IdCursor(5L).encode(), 20, true);
+
+        assertEquals(1, page.getContent().size());
+        assertNull(page.getNextCursor());
+        assertNull(page.getApproximateTotal());
+        verifyNoInteractions(tableStatistics);
+    }
+
     @Test
     @DisplayName("updateUserStatus - Успешная блокировка/разблокировка")
     void updateUserStatus_Success() {